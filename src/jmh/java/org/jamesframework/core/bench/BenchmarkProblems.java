@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.bench;
+
+import org.jamesframework.core.subset.SubsetProblem;
+
+/**
+ * Factory for the synthetic subset selection problems used in the benchmarks.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public final class BenchmarkProblems {
+
+    // score threshold and penalty of low score constraint
+    private static final double LOW_SCORE_THRESHOLD = 0.1;
+    private static final double LOW_SCORE_PENALTY = 0.5;
+
+    private BenchmarkProblems(){}
+
+    /**
+     * Create a problem where a subset of fixed size is selected from <code>n</code> items with random scores,
+     * maximizing the sum of scores of the selected items.
+     *
+     * @param n number of items
+     * @param subsetSize fixed subset size
+     * @return subset problem
+     */
+    public static SubsetProblem<ScoredBenchmarkData> sumOfScores(int n, int subsetSize){
+        return new SubsetProblem<>(new ScoredBenchmarkData(n), new SumOfScoresBenchmarkObjective(), subsetSize);
+    }
+
+    /**
+     * Create a sum of scores problem (see {@link #sumOfScores(int, int)}) where selecting
+     * items with a low score is penalized by a {@link LowScorePenalizingConstraint}.
+     *
+     * @param n number of items
+     * @param subsetSize fixed subset size
+     * @return penalized subset problem
+     */
+    public static SubsetProblem<ScoredBenchmarkData> penalizedSumOfScores(int n, int subsetSize){
+        SubsetProblem<ScoredBenchmarkData> problem = sumOfScores(n, subsetSize);
+        problem.addPenalizingConstraint(new LowScorePenalizingConstraint(LOW_SCORE_THRESHOLD, LOW_SCORE_PENALTY));
+        return problem;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.subset.SubsetProblem;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.SingleSwapNeighbourhood;
+import org.jamesframework.core.subset.neigh.moves.SubsetMove;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks full and delta evaluation of a generic problem with penalizing constraints. Penalties are included
+ * in the evaluation of a solution, so each evaluation also validates all penalizing constraints. Moves are sampled
+ * in advance so that move generation is not included in the measurements.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GenericProblemBenchmark {
+
+    // number of IDs
+    @Param({"1000", "100000"})
+    private int n;
+
+    // number of selected IDs
+    @Param({"20", "200"})
+    private int subsetSize;
+
+    // number of sampled moves
+    private static final int NUM_MOVES = 1024;
+
+    private SubsetProblem<ScoredBenchmarkData> problem;
+    private SubsetSolution solution;
+    private Evaluation evaluation;
+    private SubsetMove[] moves;
+    private int next;
+
+    @Setup
+    public void setUp(){
+        Random rg = new Random(42);
+        problem = BenchmarkProblems.penalizedSumOfScores(n, subsetSize);
+        solution = problem.createRandomSolution(rg);
+        evaluation = problem.evaluate(solution);
+        SingleSwapNeighbourhood neigh = new SingleSwapNeighbourhood();
+        moves = new SubsetMove[NUM_MOVES];
+        for(int i=0; i<NUM_MOVES; i++){
+            moves[i] = neigh.getRandomMove(solution, rg);
+        }
+        next = 0;
+    }
+
+    private SubsetMove nextMove(){
+        SubsetMove move = moves[next];
+        next = (next + 1) % NUM_MOVES;
+        return move;
+    }
+
+    @Benchmark
+    public Evaluation evaluate(){
+        return problem.evaluate(solution);
+    }
+
+    @Benchmark
+    public Evaluation evaluateMove(){
+        return problem.evaluate(nextMove(), solution, evaluation);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.bench;
+
+import org.jamesframework.core.exceptions.IncompatibleDeltaValidationException;
+import org.jamesframework.core.problems.constraints.PenalizingConstraint;
+import org.jamesframework.core.problems.constraints.validations.PenalizingValidation;
+import org.jamesframework.core.problems.constraints.validations.SimplePenalizingValidation;
+import org.jamesframework.core.problems.constraints.validations.Validation;
+import org.jamesframework.core.search.neigh.Move;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.moves.SubsetMove;
+
+/**
+ * Penalizes every selected item with a score below the given threshold. The penalty is proportional to the
+ * number of such items. Provides an efficient delta validation.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class LowScorePenalizingConstraint implements PenalizingConstraint<SubsetSolution, ScoredBenchmarkData> {
+
+    // score threshold
+    private final double threshold;
+    // penalty per selected item with a score below the threshold
+    private final double penalty;
+
+    /**
+     * Create constraint with given score threshold and penalty per violating item.
+     *
+     * @param threshold score threshold
+     * @param penalty penalty per selected item with a score below the threshold (&gt; 0)
+     */
+    public LowScorePenalizingConstraint(double threshold, double penalty){
+        this.threshold = threshold;
+        this.penalty = penalty;
+    }
+
+    @Override
+    public PenalizingValidation validate(SubsetSolution solution, ScoredBenchmarkData data) {
+        int violations = 0;
+        for(int ID : solution.getSelectedIDs()){
+            if(data.getScore(ID) < threshold){
+                violations++;
+            }
+        }
+        return new SimplePenalizingValidation(violations == 0, violations * penalty);
+    }
+
+    @Override
+    public <ActualSolutionType extends SubsetSolution> PenalizingValidation validate(Move<? super ActualSolutionType> move,
+                                                                                    ActualSolutionType curSolution,
+                                                                                    Validation curValidation,
+                                                                                    ScoredBenchmarkData data) {
+        if(!(move instanceof SubsetMove)){
+            throw new IncompatibleDeltaValidationException("Low score constraint should be used in combination "
+                                                        + "with neighbourhoods that generate moves of type SubsetMove.");
+        }
+        SubsetMove subsetMove = (SubsetMove) move;
+        // infer number of violating items from current penalty
+        int violations = (int) Math.round(((PenalizingValidation) curValidation).getPenalty() / penalty);
+        for(int ID : subsetMove.getAddedIDs()){
+            if(data.getScore(ID) < threshold){
+                violations++;
+            }
+        }
+        for(int ID : subsetMove.getDeletedIDs()){
+            if(data.getScore(ID) < threshold){
+                violations--;
+            }
+        }
+        return new SimplePenalizingValidation(violations == 0, violations * penalty);
+    }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.bench;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.jamesframework.core.problems.datatypes.IntegerIdentifiedData;
+
+/**
+ * Synthetic data used for benchmarking, assigning a random score in [0, 1) to every ID.
+ * IDs range from 0 to <code>n-1</code>. Scores are generated with a fixed seed so that
+ * benchmarks operate on the same instance across runs.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class ScoredBenchmarkData implements IntegerIdentifiedData {
+
+    // seed used to generate scores
+    private static final long SEED = 42;
+
+    // scores
+    private final double[] scores;
+    // IDs (unmodifiable)
+    private final Set<Integer> IDs;
+
+    /**
+     * Create synthetic data with the given number of items.
+     *
+     * @param n number of items
+     */
+    public ScoredBenchmarkData(int n){
+        Random rg = new Random(SEED);
+        scores = new double[n];
+        Set<Integer> ids = new HashSet<>();
+        for(int i=0; i<n; i++){
+            scores[i] = rg.nextDouble();
+            ids.add(i);
+        }
+        IDs = Collections.unmodifiableSet(ids);
+    }
+
+    @Override
+    public Set<Integer> getIDs() {
+        return IDs;
+    }
+
+    /**
+     * Get the score of the item with the given ID.
+     *
+     * @param ID item ID
+     * @return score of this item
+     */
+    public double getScore(int ID){
+        return scores[ID];
+    }
+
+}
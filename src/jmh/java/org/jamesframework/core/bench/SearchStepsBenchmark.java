@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.jamesframework.core.search.LocalSearch;
+import org.jamesframework.core.search.algo.MetropolisSearch;
+import org.jamesframework.core.search.algo.ParallelTempering;
+import org.jamesframework.core.search.algo.SteepestDescent;
+import org.jamesframework.core.search.stopcriteria.MaxSteps;
+import org.jamesframework.core.subset.SubsetProblem;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.SingleSwapNeighbourhood;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * End-to-end benchmark that reports the number of search steps per second for steepest descent,
+ * Metropolis search and parallel tempering applied to a synthetic subset selection problem with
+ * a penalizing constraint. Each benchmark invocation runs the search for a bounded number of steps,
+ * starting from a new random solution. The number of steps that have actually been performed is
+ * reported through the auxiliary <code>steps</code> counter (a steepest descent run may stop early
+ * when it reaches a local optimum). In case of parallel tempering, every step executes
+ * {@link #PT_REPLICA_STEPS} steps in each of the {@link #PT_REPLICAS} replicas.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SearchStepsBenchmark {
+
+    // number of IDs
+    @Param({"100", "1000", "10000"})
+    private int n;
+
+    // number of selected IDs
+    @Param({"20"})
+    private int subsetSize;
+
+    // maximum number of steps per run
+    private static final long STEPS_PER_RUN = 100;
+
+    // parallel tempering settings
+    private static final int PT_REPLICAS = 4;
+    private static final long PT_REPLICA_STEPS = 100;
+    private static final double PT_MIN_TEMP = 1e-8;
+    private static final double PT_MAX_TEMP = 0.6;
+
+    // Metropolis temperature
+    private static final double METROPOLIS_TEMP = 0.001;
+
+    /**
+     * Counts the number of performed search steps.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class StepCounter {
+
+        public long steps;
+
+        @Setup(Level.Iteration)
+        public void reset(){
+            steps = 0;
+        }
+
+    }
+
+    private SubsetProblem<ScoredBenchmarkData> problem;
+    private SteepestDescent<SubsetSolution> steepestDescent;
+    private MetropolisSearch<SubsetSolution> metropolis;
+    private ParallelTempering<SubsetSolution> parallelTempering;
+    private final Random rg = new Random(42);
+
+    @Setup
+    public void setUp(){
+        problem = BenchmarkProblems.penalizedSumOfScores(n, subsetSize);
+        SingleSwapNeighbourhood neigh = new SingleSwapNeighbourhood();
+        steepestDescent = new SteepestDescent<>(problem, neigh);
+        metropolis = new MetropolisSearch<>(problem, neigh, METROPOLIS_TEMP);
+        parallelTempering = new ParallelTempering<>(problem, neigh, PT_REPLICAS, PT_MIN_TEMP, PT_MAX_TEMP);
+        parallelTempering.setReplicaSteps(PT_REPLICA_STEPS);
+        steepestDescent.addStopCriterion(new MaxSteps(STEPS_PER_RUN));
+        metropolis.addStopCriterion(new MaxSteps(STEPS_PER_RUN));
+        parallelTempering.addStopCriterion(new MaxSteps(STEPS_PER_RUN));
+    }
+
+    @TearDown
+    public void tearDown(){
+        steepestDescent.dispose();
+        metropolis.dispose();
+        parallelTempering.dispose();
+    }
+
+    /**
+     * Run the given search from a new random solution and count the performed steps.
+     *
+     * @param search local search
+     * @param counter step counter
+     * @return best solution found during the run
+     */
+    private SubsetSolution run(LocalSearch<SubsetSolution> search, StepCounter counter){
+        search.setCurrentSolution(problem.createRandomSolution(rg));
+        search.start();
+        counter.steps += search.getSteps();
+        return search.getBestSolution();
+    }
+
+    @Benchmark
+    public SubsetSolution steepestDescent(StepCounter counter){
+        return run(steepestDescent, counter);
+    }
+
+    @Benchmark
+    public SubsetSolution metropolis(StepCounter counter){
+        return run(metropolis, counter);
+    }
+
+    @Benchmark
+    public SubsetSolution parallelTempering(StepCounter counter){
+        return run(parallelTempering, counter);
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.bench;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.SingleSwapNeighbourhood;
+import org.jamesframework.core.subset.neigh.moves.SubsetMove;
+import org.jamesframework.core.util.SetUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks move generation in a single swap neighbourhood: generating all moves at once,
+ * lazily iterating over all moves and sampling a random move.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SingleSwapNeighbourhoodBenchmark {
+
+    // number of IDs
+    @Param({"100", "1000", "10000"})
+    private int n;
+
+    // number of selected IDs
+    @Param({"20"})
+    private int subsetSize;
+
+    private final SingleSwapNeighbourhood neigh = new SingleSwapNeighbourhood();
+    private final Random rg = new Random(42);
+    private SubsetSolution solution;
+
+    @Setup
+    public void setUp(){
+        ScoredBenchmarkData data = new ScoredBenchmarkData(n);
+        solution = new SubsetSolution(data.getIDs(), SetUtilities.getRandomSubset(data.getIDs(), subsetSize, rg));
+    }
+
+    @Benchmark
+    public List<SubsetMove> getAllMoves(){
+        return neigh.getAllMoves(solution);
+    }
+
+    @Benchmark
+    public void getMoveIterator(Blackhole bh){
+        Iterator<SubsetMove> it = neigh.getMoveIterator(solution);
+        while(it.hasNext()){
+            bh.consume(it.next());
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public SubsetMove getRandomMove(){
+        return neigh.getRandomMove(solution, rg);
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.bench;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.jamesframework.core.util.SubsetIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks the throughput of a subset iterator, by generating all subsets
+ * of a fixed size from a set of items.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SubsetIteratorBenchmark {
+
+    // number of items
+    @Param({"20", "30"})
+    private int n;
+
+    // subset size
+    @Param({"3", "5"})
+    private int subsetSize;
+
+    private Set<Integer> items;
+
+    @Setup
+    public void setUp(){
+        items = new ScoredBenchmarkData(n).getIDs();
+    }
+
+    /**
+     * Generate all subsets.
+     *
+     * @param bh black hole consuming the generated subsets
+     * @return number of generated subsets
+     */
+    @Benchmark
+    public long iterate(Blackhole bh){
+        SubsetIterator<Integer> it = new SubsetIterator<>(items, subsetSize);
+        long count = 0;
+        while(it.hasNext()){
+            bh.consume(it.next());
+            count++;
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.bench;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.jamesframework.core.subset.BitSetSubsetSolution;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.util.SetUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks basic operations of subset solutions: selecting and deselecting an ID,
+ * copying a solution and computing its hash code. Compares the default hash set based
+ * implementation with the bit set based implementation.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SubsetSolutionBenchmark {
+
+    // number of IDs
+    @Param({"1000", "100000"})
+    private int n;
+
+    // solution implementation
+    @Param({"hash", "bitset"})
+    private String impl;
+
+    // selected fraction of IDs
+    private static final double SELECTED_FRACTION = 0.1;
+
+    private SubsetSolution solution;
+    private int[] unselected;
+    private int next;
+
+    @Setup
+    public void setUp(){
+        Random rg = new Random(42);
+        Set<Integer> all = new ScoredBenchmarkData(n).getIDs();
+        Set<Integer> selected = SetUtilities.getRandomSubset(all, (int) (SELECTED_FRACTION * n), rg);
+        solution = "bitset".equals(impl) ? new BitSetSubsetSolution(all, selected) : new SubsetSolution(all, selected);
+        unselected = solution.getUnselectedIDs().stream().mapToInt(Integer::intValue).toArray();
+        next = 0;
+    }
+
+    /**
+     * Select and immediately deselect a currently unselected ID.
+     *
+     * @return <code>true</code> if both operations succeeded
+     */
+    @Benchmark
+    public boolean selectDeselect(){
+        int ID = unselected[next];
+        next = (next + 1) % unselected.length;
+        return solution.select(ID) & solution.deselect(ID);
+    }
+
+    @Benchmark
+    public SubsetSolution copy(){
+        return solution.copy();
+    }
+
+    @Benchmark
+    public int hashCodeOf(){
+        return solution.hashCode();
+    }
+
+}
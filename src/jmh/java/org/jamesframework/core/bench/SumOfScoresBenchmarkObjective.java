@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.bench;
+
+import org.jamesframework.core.exceptions.IncompatibleDeltaEvaluationException;
+import org.jamesframework.core.problems.objectives.Objective;
+import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.problems.objectives.evaluations.SimpleEvaluation;
+import org.jamesframework.core.search.neigh.Move;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.moves.SubsetMove;
+
+/**
+ * Maximizes the sum of scores of the selected items. Provides an efficient delta evaluation.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class SumOfScoresBenchmarkObjective implements Objective<SubsetSolution, ScoredBenchmarkData> {
+
+    @Override
+    public Evaluation evaluate(SubsetSolution solution, ScoredBenchmarkData data) {
+        double sum = 0.0;
+        for(int ID : solution.getSelectedIDs()){
+            sum += data.getScore(ID);
+        }
+        return new SimpleEvaluation(sum);
+    }
+
+    @Override
+    public <ActualSolutionType extends SubsetSolution> Evaluation evaluate(Move<? super ActualSolutionType> move,
+                                                                          ActualSolutionType curSolution,
+                                                                          Evaluation curEvaluation,
+                                                                          ScoredBenchmarkData data) {
+        if(!(move instanceof SubsetMove)){
+            throw new IncompatibleDeltaEvaluationException("Sum of scores objective should be used in combination "
+                                                        + "with neighbourhoods that generate moves of type SubsetMove.");
+        }
+        SubsetMove subsetMove = (SubsetMove) move;
+        double sum = curEvaluation.getValue();
+        for(int ID : subsetMove.getAddedIDs()){
+            sum += data.getScore(ID);
+        }
+        for(int ID : subsetMove.getDeletedIDs()){
+            sum -= data.getScore(ID);
+        }
+        return new SimpleEvaluation(sum);
+    }
+
+    @Override
+    public boolean isMinimizing() {
+        return false;
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.jamesframework.core.problems.sol.Solution;
+import org.jamesframework.core.search.neigh.Move;
+
+/**
+ * <p>
+ * An evaluation workspace maintains a fixed number of replicas of a tracked solution, typically the current solution
+ * of a local search, so that moves can be evaluated concurrently without modifying the tracked solution itself (note
+ * that moves are usually evaluated by temporarily applying them to a solution). Each replica is intended to be used
+ * by a single worker at a time.
+ * </p>
+ * <p>
+ * Replicas are synchronized lazily. When the tracked solution is modified by applying a move, this move should be
+ * reported to the workspace (see {@link #moveApplied(Move)}). It is then recorded in a log and replayed on each
+ * replica when this replica is requested the next time (see {@link #getReplica(int)}), instead of copying the entire
+ * solution. Replicas are only (re)created by copying the tracked solution when they are first requested, when the
+ * workspace has been reset to a new solution (see {@link #reset(Solution)}) or when more than the maximum number
+ * of logged moves would have to be replayed.
+ * </p>
+ * <p>
+ * An evaluation workspace is not thread-safe: all of its methods should be called from the thread that owns the
+ * tracked solution, while the tracked solution is not being modified. Replicas obtained from the workspace can then
+ * be handed to other threads, as long as each replica is used by a single thread at a time and no longer used when
+ * the workspace is updated.
+ * </p>
+ *
+ * @param <SolutionType> solution type, required to extend {@link Solution}
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class EvaluationWorkspace<SolutionType extends Solution> {
+
+    // default maximum number of logged moves
+    private static final int DEFAULT_MAX_LOG_SIZE = 1000;
+
+    // tracked solution (null if not yet set)
+    private SolutionType solution;
+    // version of the tracked solution (incremented whenever a move is applied)
+    private long version;
+
+    // log of applied moves, where the first move transforms version logStart into logStart+1
+    private final List<Move<? super SolutionType>> log;
+    private long logStart;
+    // maximum number of logged moves
+    private final int maxLogSize;
+
+    // replicas and their versions (replicas are null until first requested)
+    private final List<SolutionType> replicas;
+    private final long[] replicaVersions;
+
+    /**
+     * Create an evaluation workspace with the given number of replicas. At most 1000 moves
+     * are logged; replicas that are more than 1000 moves behind are recreated by copying
+     * the tracked solution.
+     *
+     * @param numReplicas number of replicas (&gt; 0)
+     * @throws IllegalArgumentException if <code>numReplicas</code> is not strictly positive
+     */
+    public EvaluationWorkspace(int numReplicas){
+        this(numReplicas, DEFAULT_MAX_LOG_SIZE);
+    }
+
+    /**
+     * Create an evaluation workspace with the given number of replicas and maximum number of logged moves.
+     * Replicas that are more than <code>maxLogSize</code> moves behind are recreated by copying the tracked
+     * solution instead of replaying the applied moves.
+     *
+     * @param numReplicas number of replicas (&gt; 0)
+     * @param maxLogSize maximum number of logged moves (&ge; 0)
+     * @throws IllegalArgumentException if <code>numReplicas</code> is not strictly positive
+     *                                  or <code>maxLogSize</code> is negative
+     */
+    public EvaluationWorkspace(int numReplicas, int maxLogSize){
+        if(numReplicas <= 0){
+            throw new IllegalArgumentException("Error while creating evaluation workspace: number of replicas should be strictly positive.");
+        }
+        if(maxLogSize < 0){
+            throw new IllegalArgumentException("Error while creating evaluation workspace: maximum log size should be non-negative.");
+        }
+        this.maxLogSize = maxLogSize;
+        log = new ArrayList<>();
+        replicas = new ArrayList<>(numReplicas);
+        for(int i = 0; i < numReplicas; i++){
+            replicas.add(null);
+        }
+        replicaVersions = new long[numReplicas];
+        solution = null;
+        version = 0;
+        logStart = 0;
+    }
+
+    /**
+     * Get the number of replicas.
+     *
+     * @return number of replicas
+     */
+    public int getNumReplicas(){
+        return replicas.size();
+    }
+
+    /**
+     * Get the tracked solution. Returns <code>null</code> if no solution has been set.
+     *
+     * @return tracked solution, <code>null</code> if not set
+     */
+    public SolutionType getSolution(){
+        return solution;
+    }
+
+    /**
+     * Track a new solution. All replicas are discarded and will be recreated by
+     * copying the new solution when they are requested the next time.
+     *
+     * @param solution new tracked solution, may be <code>null</code>
+     */
+    public void reset(SolutionType solution){
+        this.solution = solution;
+        // discard log and replicas
+        log.clear();
+        version++;
+        logStart = version;
+        for(int i = 0; i < replicas.size(); i++){
+            replicas.set(i, null);
+        }
+    }
+
+    /**
+     * Report that the given move has been applied to the tracked solution. The move is logged so that it can be
+     * replayed on the replicas when they are requested. The move should not be modified afterwards.
+     *
+     * @param move move that has been applied to the tracked solution
+     */
+    public void moveApplied(Move<? super SolutionType> move){
+        log.add(move);
+        version++;
+        // drop moves that are no longer needed or exceed the maximum log size
+        trimLog();
+    }
+
+    /**
+     * Get the replica with the given index, synchronized with the tracked solution. If the replica is behind,
+     * the logged moves are replayed, or, if the required moves are no longer available, the replica is recreated
+     * by copying the tracked solution. The replica may be freely modified, as long as it is restored before it is
+     * requested again (e.g. by undoing any applied moves).
+     *
+     * @param i replica index
+     * @return replica of the tracked solution
+     * @throws IndexOutOfBoundsException if <code>i</code> is not a valid replica index
+     * @throws IllegalStateException if no solution is being tracked
+     */
+    public SolutionType getReplica(int i){
+        if(solution == null){
+            throw new IllegalStateException("Cannot get replica: evaluation workspace is not tracking any solution.");
+        }
+        SolutionType replica = replicas.get(i);
+        if(replica == null || replicaVersions[i] < logStart){
+            // (re)create replica
+            replica = Solution.checkedCopy(solution);
+            replicas.set(i, replica);
+        } else {
+            // replay missing moves
+            for(long v = replicaVersions[i]; v < version; v++){
+                log.get((int) (v - logStart)).apply(replica);
+            }
+        }
+        replicaVersions[i] = version;
+        trimLog();
+        return replica;
+    }
+
+    /**
+     * Drop logged moves that have been replayed on all existing replicas,
+     * and the oldest moves in case the log exceeds its maximum size.
+     */
+    private void trimLog(){
+        // find oldest version of any existing replica
+        long oldest = version;
+        for(int i = 0; i < replicas.size(); i++){
+            if(replicas.get(i) != null && replicaVersions[i] >= logStart){
+                oldest = Math.min(oldest, replicaVersions[i]);
+            }
+        }
+        // respect maximum log size
+        oldest = Math.max(oldest, version - maxLogSize);
+        // drop moves
+        if(oldest > logStart){
+            log.subList(0, (int) (oldest - logStart)).clear();
+            logStart = oldest;
+        }
+    }
+
+}
@@ -16,16 +16,23 @@
 
 package org.jamesframework.core.search;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import org.jamesframework.core.search.status.SearchStatus;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Predicate;
 import org.jamesframework.core.exceptions.SearchException;
 import org.jamesframework.core.problems.Problem;
 import org.jamesframework.core.problems.sol.Solution;
 import org.jamesframework.core.problems.constraints.validations.Validation;
 import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.search.cache.DependencyAwareDeltaCache;
 import org.jamesframework.core.search.cache.EvaluatedMoveCache;
 import org.jamesframework.core.search.cache.SingleEvaluatedMoveCache;
 import org.jamesframework.core.search.neigh.Move;
@@ -55,6 +62,20 @@ public abstract class NeighbourhoodSearch<SolutionType extends Solution> extends
     
     // evaluated move cache
     private EvaluatedMoveCache cache;
+    // delta cache that survives accepted moves (null if not used)
+    private DependencyAwareDeltaCache deltaCache;
+    
+    // number of threads used to evaluate moves in getBestMove(...)
+    private int moveEvaluationParallelism;
+    // thread pool for parallel move evaluation (null if parallelism is 1)
+    private ExecutorService moveEvaluationPool;
+    // replicas of the current solution for parallel move evaluation (null if parallelism is 1)
+    private EvaluationWorkspace<SolutionType> moveEvaluationWorkspace;
+    // move that is being accepted, if any (replayed on the replicas)
+    private Move<? super SolutionType> acceptedMove;
+    
+    // number of moves evaluated per thread in every batch of parallel move evaluation
+    private static final int PARALLEL_MOVE_EVALUATION_BATCH_SIZE = 256;
     
     /***************/
     /* CONSTRUCTOR */
@@ -85,6 +106,13 @@ public abstract class NeighbourhoodSearch<SolutionType extends Solution> extends
         numRejectedMoves = JamesConstants.INVALID_MOVE_COUNT;
         // set default (single) evaluated move cache
         cache = new SingleEvaluatedMoveCache();
+        // no delta cache by default
+        deltaCache = null;
+        // evaluate moves in the search thread by default
+        moveEvaluationParallelism = 1;
+        moveEvaluationPool = null;
+        moveEvaluationWorkspace = null;
+        acceptedMove = null;
     }
     
     /*********/
@@ -109,6 +137,111 @@ public abstract class NeighbourhoodSearch<SolutionType extends Solution> extends
         }
     }
     
+    /**
+     * Sets a dependency-aware delta cache, which stores the deltas computed when searching for the best move
+     * (see {@link #getBestMove(Iterator, boolean, boolean, Predicate...)}) and, in contrast to the evaluated
+     * move cache, is not cleared when a move is accepted. Instead, only those deltas that are affected by the
+     * accepted move are discarded, according to the dependencies declared in the cache. The remaining deltas
+     * are reused in subsequent steps, so that the corresponding moves are not evaluated again (they are still
+     * validated). Only the chosen move is then evaluated, if its delta was retrieved from the cache. By default,
+     * no delta cache is used. Note that this method may only be called when the search is idle. If the delta
+     * cache is set to <code>null</code>, no deltas will be cached.
+     * 
+     * @param deltaCache dependency-aware delta cache
+     * @throws SearchException if the search is not idle
+     */
+    public void setDeltaCache(DependencyAwareDeltaCache deltaCache){
+        // acquire status lock
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot set delta cache in neighbourhood search.");
+            // set delta cache (discard deltas computed for other searches or solutions)
+            if(deltaCache != null){
+                deltaCache.clear();
+            }
+            this.deltaCache = deltaCache;
+        }
+    }
+    
+    /****************************/
+    /* PARALLEL MOVE EVALUATION */
+    /****************************/
+    
+    /**
+     * <p>
+     * Sets the number of threads used to validate and evaluate moves when searching for the best move
+     * (see {@link #getBestMove(Iterator, boolean, boolean, Predicate...)}). By default, the parallelism is 1 and all
+     * moves are evaluated in the search thread. For a parallelism \(p \gt 1\), the inspected moves are processed in
+     * batches: the filters are applied in the search thread, after which the admissible moves of each batch are split
+     * into \(p\) contiguous parts that are validated and evaluated concurrently, each thread using its own replica of
+     * the current solution (see {@link EvaluationWorkspace}). Replicas are kept in sync by replaying accepted moves, so
+     * that they do not have to be copied in every step. The best move is then selected in the search thread, in the
+     * order in which the moves were generated, so that exactly the same move is returned as in case of sequential
+     * evaluation.
+     * </p>
+     * <p>
+     * Parallel evaluation requires that the problem supports concurrent validation and evaluation of moves
+     * applied to distinct solutions, which is the case for all problems that do not mutate any shared state
+     * during (delta) evaluation or validation. It pays off when evaluating a move is expensive compared
+     * to copying the current solution.
+     * </p>
+     * <p>
+     * A dedicated thread pool is used for parallel move evaluation, which is released when the search
+     * is disposed. Note that this method may only be called when the search is idle.
+     * </p>
+     * 
+     * @param parallelism number of threads used to evaluate moves (&ge; 1)
+     * @throws IllegalArgumentException if <code>parallelism</code> is smaller than 1
+     * @throws SearchException if the search is not idle
+     */
+    public void setMoveEvaluationParallelism(int parallelism){
+        // acquire status lock
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot set move evaluation parallelism in neighbourhood search.");
+            // check value
+            if(parallelism < 1){
+                throw new IllegalArgumentException("Move evaluation parallelism should be at least 1.");
+            }
+            // release previous thread pool and replicas, if any
+            if(moveEvaluationPool != null){
+                moveEvaluationPool.shutdown();
+                moveEvaluationPool = null;
+            }
+            moveEvaluationWorkspace = null;
+            // set parallelism and create thread pool and replicas if required (search thread also evaluates moves)
+            moveEvaluationParallelism = parallelism;
+            if(parallelism > 1){
+                moveEvaluationPool = Executors.newFixedThreadPool(parallelism - 1);
+                moveEvaluationWorkspace = new EvaluationWorkspace<>(parallelism);
+                moveEvaluationWorkspace.reset(getCurrentSolution());
+            }
+        }
+    }
+    
+    /**
+     * Get the number of threads used to validate and evaluate moves when searching for the best move.
+     * Defaults to 1.
+     * 
+     * @return move evaluation parallelism
+     */
+    public int getMoveEvaluationParallelism(){
+        return moveEvaluationParallelism;
+    }
+    
+    /**
+     * When disposing a neighbourhood search, the thread pool used for parallel move evaluation is released, if any.
+     */
+    @Override
+    protected void searchDisposed(){
+        // shut down thread pool
+        if(moveEvaluationPool != null){
+            moveEvaluationPool.shutdown();
+        }
+        // dispose super
+        super.searchDisposed();
+    }
+    
     /******************/
     /* INITIALIZATION */
     /******************/
@@ -211,7 +344,12 @@ public abstract class NeighbourhoodSearch<SolutionType extends Solution> extends
     
     /**
      * When updating the current solution in a neighbourhood search, the evaluated move cache is
-     * cleared because it is no longer valid for the new current solution.
+     * cleared because it is no longer valid for the new current solution. If a delta cache is used,
+     * only those deltas that are affected by the accepted move, if any, are discarded (all deltas
+     * are discarded if the update does not result from accepting a move). If moves are evaluated
+     * in parallel, the replicas of the current solution are synchronized lazily: if the update
+     * results from accepting a move (see {@link #accept(Move)}), this move is replayed on the
+     * replicas when they are used the next time, else, the replicas are recreated.
      * 
      * @param solution new current solution
      * @param evaluation evaluation of new current solution
@@ -219,12 +357,30 @@ public abstract class NeighbourhoodSearch<SolutionType extends Solution> extends
      */
     @Override
     protected void updateCurrentSolution(SolutionType solution, Evaluation evaluation, Validation validation){
+        // check whether the update results from accepting a move
+        boolean moveAccepted = acceptedMove != null && solution == getCurrentSolution();
         // call super
         super.updateCurrentSolution(solution, evaluation, validation);
         // clear evaluated move cache
         if(cache != null){
             cache.clear();
         }
+        // discard affected deltas, or all deltas if the current solution has been replaced
+        if(deltaCache != null){
+            if(moveAccepted){
+                deltaCache.moveApplied(acceptedMove);
+            } else {
+                deltaCache.clear();
+            }
+        }
+        // update replicas used for parallel move evaluation
+        if(moveEvaluationWorkspace != null){
+            if(moveAccepted && solution == moveEvaluationWorkspace.getSolution()){
+                moveEvaluationWorkspace.moveApplied(acceptedMove);
+            } else {
+                moveEvaluationWorkspace.reset(solution);
+            }
+        }
     }
     
     /**
@@ -337,6 +493,24 @@ public abstract class NeighbourhoodSearch<SolutionType extends Solution> extends
         return this.getBestMove(moves, requireImprovement, false, filters);
     }
     
+    /**
+     * Get the best valid move among all moves returned by the given iterator. Behaves exactly like
+     * {@link #getBestMove(Collection, boolean, Predicate...)}, but the moves do not have to be stored
+     * in a collection, so that they can be generated lazily (see e.g.
+     * {@link org.jamesframework.core.search.neigh.Neighbourhood#getMoveIterator(Solution)}).
+     * 
+     * @param moves iterator over possible moves
+     * @param requireImprovement if set to <code>true</code>, only improving moves are considered
+     * @param filters additional move filters
+     * @return best valid move, may be <code>null</code>
+     */
+    @SafeVarargs
+    protected final Move<? super SolutionType> getBestMove(Iterator<? extends Move<? super SolutionType>> moves,
+                                                           boolean requireImprovement,
+                                                           Predicate<? super Move<? super SolutionType>>... filters){
+        return this.getBestMove(moves, requireImprovement, false, filters);
+    }
+    
     /**
      * <p>
      * Get the best valid move among a collection of possible moves. The best move is the one yielding the
@@ -376,40 +550,89 @@ public abstract class NeighbourhoodSearch<SolutionType extends Solution> extends
     protected final Move<? super SolutionType> getBestMove(Collection<? extends Move<? super SolutionType>> moves,
                                                            boolean requireImprovement, boolean acceptFirstImprovement,
                                                            Predicate<? super Move<? super SolutionType>>... filters){
+        return this.getBestMove(moves.iterator(), requireImprovement, acceptFirstImprovement, filters);
+    }
+    
+    /**
+     * Get the best valid move among all moves returned by the given iterator. Behaves exactly like
+     * {@link #getBestMove(Collection, boolean, boolean, Predicate...)}, but the moves do not have to
+     * be stored in a collection, so that they can be generated lazily (see e.g.
+     * {@link org.jamesframework.core.search.neigh.Neighbourhood#getMoveIterator(Solution)}).
+     * Only the chosen move is retained, so that memory usage does not depend on the number
+     * of inspected moves.
+     * <p>
+     * If the move evaluation parallelism is larger than 1 (see {@link #setMoveEvaluationParallelism(int)}),
+     * moves are validated and evaluated concurrently in batches, and the same move is returned as in case
+     * of sequential evaluation. Filters are always applied in the search thread.
+     * 
+     * @param moves iterator over possible moves
+     * @param requireImprovement if set to <code>true</code>, only improving moves are considered
+     * @param acceptFirstImprovement if set to <code>true</code>, the first improvement is returned, if any
+     * @param filters additional move filters
+     * @return selected move, may be <code>null</code>
+     */
+    @SafeVarargs
+    protected final Move<? super SolutionType> getBestMove(Iterator<? extends Move<? super SolutionType>> moves,
+                                                           boolean requireImprovement, boolean acceptFirstImprovement,
+                                                           Predicate<? super Move<? super SolutionType>>... filters){
+        
+        // evaluate moves in parallel, if requested
+        if(moveEvaluationParallelism > 1){
+            return getBestMoveInParallel(moves, requireImprovement, acceptFirstImprovement, filters);
+        }
         
         // track the chosen move
         Move<? super SolutionType> chosenMove = null;
-        // track evaluation, validation and delta of chosen move
+        // track evaluation, validation and delta of chosen move, and whether it is an improvement
         double chosenMoveDelta = -Double.MAX_VALUE;
         Evaluation chosenMoveEvaluation = null;
         Validation chosenMoveValidation = null;
+        boolean chosenMoveImproves = false;
         // define variables for metadata of current move
         double curMoveDelta;
         Evaluation curMoveEvaluation;
         Validation curMoveValidation;
+        boolean curMoveImproves;
         // iterate over all moves
-        Iterator<? extends Move<? super SolutionType>> it = moves.iterator();
         while (
-            it.hasNext() // continue as long as there are more moves
-            && !(acceptFirstImprovement &&  isImprovement(chosenMove)) // if requested, accept first improvement
+            moves.hasNext() // continue as long as there are more moves
+            && !(acceptFirstImprovement && chosenMoveImproves) // if requested, accept first improvement
         ){ 
-            Move<? super SolutionType> curMove = it.next();
+            Move<? super SolutionType> curMove = moves.next();
             if (Arrays.stream(filters).allMatch(filter -> filter.test(curMove))) {
                 curMoveValidation = validate(curMove);
                 if (curMoveValidation.passed()) {
-                    curMoveEvaluation = evaluate(curMove);
-                    curMoveDelta = computeDelta(curMoveEvaluation, getCurrentSolutionEvaluation());
-                    if (curMoveDelta > chosenMoveDelta                      // found better move?
-                        && (!requireImprovement || isImprovement(curMove))  // if requested, ensure improvement
+                    // retrieve delta from delta cache, if available (then evaluation is postponed)
+                    Double cachedDelta = deltaCache != null ? deltaCache.getCachedDelta(curMove) : null;
+                    if(cachedDelta != null){
+                        curMoveEvaluation = null;
+                        curMoveDelta = cachedDelta;
+                    } else {
+                        curMoveEvaluation = evaluate(curMove);
+                        curMoveDelta = computeDelta(curMoveEvaluation, getCurrentSolutionEvaluation());
+                        if(deltaCache != null){
+                            deltaCache.cacheDelta(curMove, curMoveDelta);
+                        }
+                    }
+                    // valid move is an improvement if it has a positive delta or the current solution is invalid
+                    curMoveImproves = curMoveDelta > 0 || !getCurrentSolutionValidation().passed();
+                    if (curMoveDelta > chosenMoveDelta                  // found better move?
+                        && (!requireImprovement || curMoveImproves)     // if requested, ensure improvement
                     ) {
                         chosenMove = curMove;
                         chosenMoveDelta = curMoveDelta;
                         chosenMoveEvaluation = curMoveEvaluation;
                         chosenMoveValidation = curMoveValidation;
+                        chosenMoveImproves = curMoveImproves;
                     }
                 }
             }
         }
+        
+        // evaluate chosen move if its delta was retrieved from the delta cache
+        if(chosenMove != null && chosenMoveEvaluation == null){
+            chosenMoveEvaluation = evaluate(chosenMove);
+        }
 
         // re-cache the chosen move, if any
         if(cache != null && chosenMove != null){
@@ -421,6 +644,186 @@ public abstract class NeighbourhoodSearch<SolutionType extends Solution> extends
         return chosenMove;
     }
     
+    /**
+     * Get the best valid move among all moves returned by the given iterator, where moves are validated and
+     * evaluated concurrently in batches. Filters are applied in the search thread, before evaluation. The
+     * obtained values are inspected in the order in which the moves were generated, and offered to the
+     * evaluated move cache in this order, so that the chosen move is the same as in case of sequential
+     * evaluation.
+     * 
+     * @param moves iterator over possible moves
+     * @param requireImprovement if set to <code>true</code>, only improving moves are considered
+     * @param acceptFirstImprovement if set to <code>true</code>, the first improvement is returned, if any
+     * @param filters additional move filters
+     * @return selected move, may be <code>null</code>
+     */
+    private Move<? super SolutionType> getBestMoveInParallel(Iterator<? extends Move<? super SolutionType>> moves,
+                                                             boolean requireImprovement, boolean acceptFirstImprovement,
+                                                             Predicate<? super Move<? super SolutionType>>[] filters){
+        
+        // track the chosen move
+        Move<? super SolutionType> chosenMove = null;
+        // track evaluation, validation and delta of chosen move, and whether it is an improvement
+        double chosenMoveDelta = -Double.MAX_VALUE;
+        Evaluation chosenMoveEvaluation = null;
+        Validation chosenMoveValidation = null;
+        boolean chosenMoveImproves = false;
+        // current batch of admissible moves
+        int batchSize = moveEvaluationParallelism * PARALLEL_MOVE_EVALUATION_BATCH_SIZE;
+        List<Move<? super SolutionType>> batch = new ArrayList<>(batchSize);
+        // process all moves in batches
+        while (
+            moves.hasNext() // continue as long as there are more moves
+            && !(acceptFirstImprovement && chosenMoveImproves) // if requested, accept first improvement
+        ){
+            // collect next batch of moves that pass through all filters
+            batch.clear();
+            while(moves.hasNext() && batch.size() < batchSize){
+                Move<? super SolutionType> curMove = moves.next();
+                if (Arrays.stream(filters).allMatch(filter -> filter.test(curMove))) {
+                    batch.add(curMove);
+                }
+            }
+            // retrieve cached values, if available
+            Validation[] validations = new Validation[batch.size()];
+            Evaluation[] evaluations = new Evaluation[batch.size()];
+            Double[] deltas = new Double[batch.size()];
+            for(int i = 0; i < batch.size(); i++){
+                if(cache != null){
+                    validations[i] = cache.getCachedMoveValidation(batch.get(i));
+                    evaluations[i] = cache.getCachedMoveEvaluation(batch.get(i));
+                }
+                if(deltaCache != null && evaluations[i] == null){
+                    deltas[i] = deltaCache.getCachedDelta(batch.get(i));
+                }
+            }
+            // validate and evaluate remaining moves in parallel (moves with a cached delta are not evaluated)
+            evaluateInParallel(batch, validations, evaluations, deltas);
+            // inspect moves in order of generation
+            for(int i = 0; i < batch.size() && !(acceptFirstImprovement && chosenMoveImproves); i++){
+                Move<? super SolutionType> curMove = batch.get(i);
+                if(cache != null){
+                    cache.cacheMoveValidation(curMove, validations[i]);
+                }
+                if(validations[i].passed()){
+                    double curMoveDelta;
+                    if(deltas[i] != null){
+                        curMoveDelta = deltas[i];
+                    } else {
+                        if(cache != null){
+                            cache.cacheMoveEvaluation(curMove, evaluations[i]);
+                        }
+                        curMoveDelta = computeDelta(evaluations[i], getCurrentSolutionEvaluation());
+                        if(deltaCache != null){
+                            deltaCache.cacheDelta(curMove, curMoveDelta);
+                        }
+                    }
+                    // valid move is an improvement if it has a positive delta or the current solution is invalid
+                    boolean curMoveImproves = curMoveDelta > 0 || !getCurrentSolutionValidation().passed();
+                    if (curMoveDelta > chosenMoveDelta                   // found better move?
+                        && (!requireImprovement || curMoveImproves)      // if requested, ensure improvement
+                    ) {
+                        chosenMove = curMove;
+                        chosenMoveDelta = curMoveDelta;
+                        chosenMoveEvaluation = evaluations[i];
+                        chosenMoveValidation = validations[i];
+                        chosenMoveImproves = curMoveImproves;
+                    }
+                }
+            }
+        }
+        
+        // evaluate chosen move if its delta was retrieved from the delta cache
+        if(chosenMove != null && chosenMoveEvaluation == null){
+            chosenMoveEvaluation = evaluate(chosenMove);
+        }
+        
+        // re-cache the chosen move, if any
+        if(cache != null && chosenMove != null){
+            cache.cacheMoveEvaluation(chosenMove, chosenMoveEvaluation);
+            cache.cacheMoveValidation(chosenMove, chosenMoveValidation);
+        }
+        
+        // return the chosen move
+        return chosenMove;
+    }
+    
+    /**
+     * Validate and evaluate a batch of moves in parallel. The batch is split into contiguous parts, one for each
+     * thread, where the last part is processed in the search thread. Every thread applies the moves to its own
+     * replica of the current solution, obtained from the evaluation workspace. Missing validations and evaluations
+     * are stored in the given arrays, where moves that do not pass validation are not evaluated. Available values
+     * (retrieved from the cache) are not recomputed, and moves with a cached delta are not evaluated.
+     * 
+     * @param batch batch of moves
+     * @param validations validations of the moves (<code>null</code> if not yet computed)
+     * @param evaluations evaluations of the moves (<code>null</code> if not yet computed)
+     * @param deltas cached deltas of the moves (<code>null</code> if not available)
+     * @throws SearchException if an error occurs during concurrent evaluation
+     */
+    private void evaluateInParallel(List<Move<? super SolutionType>> batch,
+                                    Validation[] validations, Evaluation[] evaluations, Double[] deltas){
+        // determine number of parts (at least one move per part)
+        int numParts = Math.min(moveEvaluationParallelism, batch.size());
+        // synchronize replicas of the current solution (in the search thread)
+        List<SolutionType> replicas = new ArrayList<>(numParts);
+        for(int p = 0; p < numParts; p++){
+            replicas.add(moveEvaluationWorkspace.getReplica(p));
+        }
+        // submit all but the last part to the thread pool
+        List<Future<?>> futures = new ArrayList<>(numParts);
+        for(int p = 0; p < numParts - 1; p++){
+            int from = p * batch.size() / numParts;
+            int to = (p + 1) * batch.size() / numParts;
+            SolutionType replica = replicas.get(p);
+            futures.add(moveEvaluationPool.submit(
+                () -> evaluatePart(batch, from, to, replica, validations, evaluations, deltas)
+            ));
+        }
+        // process last part in the search thread
+        if(numParts > 0){
+            int from = (numParts - 1) * batch.size() / numParts;
+            evaluatePart(batch, from, batch.size(), replicas.get(numParts - 1), validations, evaluations, deltas);
+        }
+        // wait for the other parts
+        for(Future<?> future : futures){
+            try {
+                future.get();
+            } catch (InterruptedException | ExecutionException ex) {
+                throw new SearchException("An error occured during parallel move evaluation "
+                        + "in neighbourhood search.", ex);
+            }
+        }
+    }
+    
+    /**
+     * Validate and evaluate the moves at positions [from, to) in the given batch, applied to
+     * the given replica of the current solution. Values that are already available are skipped,
+     * and moves with a cached delta are not evaluated.
+     * 
+     * @param batch batch of moves
+     * @param from first position (inclusive)
+     * @param to last position (exclusive)
+     * @param replica replica of the current solution
+     * @param validations validations of the moves (<code>null</code> if not yet computed)
+     * @param evaluations evaluations of the moves (<code>null</code> if not yet computed)
+     * @param deltas cached deltas of the moves (<code>null</code> if not available)
+     */
+    private void evaluatePart(List<Move<? super SolutionType>> batch, int from, int to, SolutionType replica,
+                              Validation[] validations, Evaluation[] evaluations, Double[] deltas){
+        Validation curValidation = getCurrentSolutionValidation();
+        Evaluation curEvaluation = getCurrentSolutionEvaluation();
+        for(int i = from; i < to; i++){
+            Move<? super SolutionType> move = batch.get(i);
+            if(validations[i] == null){
+                validations[i] = getProblem().validate(move, replica, curValidation);
+            }
+            if(validations[i].passed() && evaluations[i] == null && deltas[i] == null){
+                evaluations[i] = getProblem().evaluate(move, replica, curEvaluation);
+            }
+        }
+    }
+    
     /**
      * Accept the given move by applying it to the current solution. Updates the evaluation and validation of
      * the current solution and checks whether a new best solution has been found. The updates only take place
@@ -444,8 +847,13 @@ public abstract class NeighbourhoodSearch<SolutionType extends Solution> extends
             Evaluation newEvaluation = evaluate(move);
             // apply move to current solution (IMPORTANT: after evaluation/validation of the move!)
             move.apply(getCurrentSolution());
-            // update current solution and best solution
-            updateCurrentAndBestSolution(getCurrentSolution(), newEvaluation, newValidation);
+            // update current solution and best solution (accepted move is replayed on replicas, if any)
+            acceptedMove = move;
+            try {
+                updateCurrentAndBestSolution(getCurrentSolution(), newEvaluation, newValidation);
+            } finally {
+                acceptedMove = null;
+            }
             // increase accepted move counter
             incNumAcceptedMoves(1);
             // update successful
@@ -21,6 +21,8 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -30,9 +32,11 @@ import org.jamesframework.core.problems.Problem;
 import org.jamesframework.core.problems.sol.Solution;
 import org.jamesframework.core.problems.constraints.validations.Validation;
 import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.search.LocalSearch;
 import org.jamesframework.core.search.Search;
 import org.jamesframework.core.search.status.SearchStatus;
 import org.jamesframework.core.search.listeners.SearchListener;
+import org.jamesframework.core.util.SearchExecutors;
 
 /**
  * <p>
@@ -42,6 +46,19 @@ import org.jamesframework.core.search.listeners.SearchListener;
  * main search itself terminates.
  * </p>
  * <p>
+ * Instead of creating a dedicated thread pool, a custom executor service can be set with
+ * {@link #setExecutorService(ExecutorService)}, e.g. the shared work-stealing pool from
+ * {@link SearchExecutors#getSharedPool()}, to avoid oversubscription when many parallel searches are executed
+ * in the same JVM. If such executor has fewer threads than the number of subsearches, it is advised to also set
+ * a step slice (see {@link #setStepSlice(long)}) so that subsearches run in turns and all of them make progress.
+ * </p>
+ * <p>
+ * By default, subsearches run independently and only report their best solutions to the main search. Alternatively,
+ * the parallel search can run in island model mode, where subsearches (islands) exchange good solutions whenever
+ * they complete a step slice, according to the specified {@link MigrationTopology} (see
+ * {@link #setMigrationTopology(MigrationTopology)}).
+ * </p>
+ * <p>
  * When a parallel search is requested to stop (see {@link Search#stop()}) it will propagate this request
  * to its subsearches and will wait for their termination. Similarly, when a parallel search is disposed
  * (see {@link Search#dispose()}) all subsearches are also disposed.
@@ -57,16 +74,32 @@ import org.jamesframework.core.search.listeners.SearchListener;
  */
 public class BasicParallelSearch<SolutionType extends Solution> extends Search<SolutionType> {
 
-    // thread pool for concurrent search execution
-    private final ExecutorService pool;
-    // futures of running searches
-    private final Queue<Future<?>> futures;
+    // thread pool for concurrent search execution (created on demand if no custom executor is set)
+    private ExecutorService pool;
+    // indicates whether the thread pool has been created by this search
+    private boolean ownPool;
+    // futures of running searches (return the respective search)
+    private final Queue<Future<Search<SolutionType>>> futures;
+
+    // maximum number of steps performed by a subsearch in a single run (0: unlimited)
+    private long stepSlice;
+    // subsearches that have been stopped because they completed their step slice
+    private final Set<Search<?>> slicedSearches;
+
+    // migration topology (null if island model is disabled)
+    private MigrationTopology migrationTopology;
+    // mailboxes holding the most recent immigrant for each island
+    private final List<BestSolutionHolder.Snapshot<SolutionType>> mailboxes;
+    // number of migrants adopted by an island during the current run
+    private long numMigrations;
 
     // searches to be executed in parallel (+ unmodifiable view)
     private final List<Search<SolutionType>> searches;
     private final List<Search<SolutionType>> searchesView;
     // subsearch listener
     private final SearchListener<SolutionType> subsearchListener;
+    // global best solution reported by any subsearch
+    private final BestSolutionHolder<SolutionType> globalBest;
 
     /**
      * Creates a new basic parallel search, specifying the problem to solve. The problem can not be <code>null</code>.
@@ -90,15 +123,25 @@ public class BasicParallelSearch<SolutionType extends Solution> extends Search<S
      */
     public BasicParallelSearch(String name, Problem<SolutionType> problem) {
         super(name != null ? name : "BasicParallelSearch", problem);
-        // create cached thread pool
-        pool = Executors.newCachedThreadPool();
+        // thread pool is created on demand
+        pool = null;
+        ownPool = false;
         // initialize futures queue
         futures = new LinkedList<>();
+        // no step slices by default
+        stepSlice = 0;
+        slicedSearches = ConcurrentHashMap.newKeySet();
+        // island model disabled by default
+        migrationTopology = null;
+        mailboxes = new ArrayList<>();
+        numMigrations = 0;
         // initialize search list and unmodifiable view
         searches = new ArrayList<>();
         searchesView = Collections.unmodifiableList(searches);
         // create subsearch listener
         subsearchListener = new SubsearchListener();
+        // create global best solution holder
+        globalBest = new BestSolutionHolder<>(this::computeDelta);
     }
 
     /**
@@ -168,12 +211,155 @@ public class BasicParallelSearch<SolutionType extends Solution> extends Search<S
         return searchesView;
     }
 
+    /**
+     * Set a custom executor service used to execute the subsearches. By default, a dedicated cached thread pool is
+     * created in which every subsearch runs in a separate thread. The given executor may be shared by several
+     * searches; it is not shut down when this search is disposed. If the executor has fewer threads than the number
+     * of subsearches, subsearches without their own stop criteria may never get a turn unless a step slice is set
+     * (see {@link #setStepSlice(long)}). A shared work-stealing pool is provided by
+     * {@link SearchExecutors#getSharedPool()}. On Java 21 or later, every subsearch can also be executed in a
+     * separate virtual thread using {@link SearchExecutors#getVirtualThreadExecutor()}. Note that this method
+     * may only be called when the search is idle.
+     *
+     * @param executor executor service used to execute the subsearches
+     * @throws NullPointerException if <code>executor</code> is <code>null</code>
+     * @throws SearchException if the search is not idle
+     */
+    public void setExecutorService(ExecutorService executor){
+        // synchronize with status updates
+        synchronized (getStatusLock()) {
+            // assert idle
+            assertIdle("Cannot set executor service of basic parallel search algorithm.");
+            // check not null
+            if(executor == null){
+                throw new NullPointerException("Cannot set executor service of basic parallel search algorithm: "
+                                                + "executor can not be null.");
+            }
+            // release own thread pool, if any
+            if(ownPool){
+                pool.shutdown();
+            }
+            pool = executor;
+            ownPool = false;
+        }
+    }
+
+    /**
+     * Get the executor service used to execute the subsearches. If no custom executor has been set, the
+     * dedicated cached thread pool of this search is returned, which is created when first needed.
+     *
+     * @return executor service used to execute the subsearches
+     */
+    public ExecutorService getExecutorService(){
+        synchronized (getStatusLock()) {
+            if(pool == null){
+                pool = Executors.newCachedThreadPool();
+                ownPool = true;
+            }
+            return pool;
+        }
+    }
+
+    /**
+     * <p>
+     * Set the maximum number of steps that a subsearch performs before yielding its thread. When a subsearch has
+     * completed such step slice, it is stopped and resubmitted for execution behind all other subsearches,
+     * so that more subsearches than available threads can share the processors fairly. A subsearch that
+     * terminates before completing its step slice, e.g. because it has come to its natural end, is not
+     * resubmitted. A value of zero (default) disables step slices so that every subsearch is executed
+     * in a single run. Note that this method may only be called when the search is idle.
+     * </p>
+     * <p>
+     * Every slice is executed as a separate run of the subsearch. Local searches continue from their current
+     * solution, but any stop criteria of a subsearch apply to each slice separately (e.g. maximum runtime)
+     * and subsearch listeners are informed about every slice. It is therefore advised to add stop criteria
+     * to the parallel search only.
+     * </p>
+     *
+     * @param steps maximum number of steps per slice (&gt; 0), or zero to disable step slices
+     * @throws IllegalArgumentException if <code>steps</code> is negative
+     * @throws SearchException if the search is not idle
+     */
+    public void setStepSlice(long steps){
+        // synchronize with status updates
+        synchronized (getStatusLock()) {
+            // assert idle
+            assertIdle("Cannot set step slice of basic parallel search algorithm.");
+            // check number of steps
+            if(steps < 0){
+                throw new IllegalArgumentException("Step slice of basic parallel search should be positive.");
+            }
+            stepSlice = steps;
+        }
+    }
+
+    /**
+     * Get the maximum number of steps that a subsearch performs before yielding its thread.
+     * Zero indicates that step slices are disabled (default).
+     *
+     * @return maximum number of steps per slice, zero if disabled
+     */
+    public long getStepSlice(){
+        return stepSlice;
+    }
+
+    /**
+     * <p>
+     * Set the migration topology to run this parallel search in island model mode. Whenever a subsearch (island)
+     * completes a step slice (see {@link #setStepSlice(long)}), it sends its best solution to other islands as
+     * specified by the given topology. Each island has a mailbox that holds the most recently received solution,
+     * overwriting any previous one that has not yet been picked up. Before an island continues with its next slice,
+     * it checks its mailbox, and adopts the received solution as its current solution if it improves over its own
+     * current solution. Islands therefore never wait for each other. The step slice acts as migration interval
+     * and should be set to a strictly positive value, or the search can not be started.
+     * </p>
+     * <p>
+     * Only local searches (see {@link LocalSearch}) can adopt received solutions; other subsearches only send
+     * their best solution to other islands. Received solutions are copied and evaluated once more by the island.
+     * Setting a topology of <code>null</code> (default) disables the island model. Note that this method may only
+     * be called when the search is idle.
+     * </p>
+     *
+     * @param topology migration topology, <code>null</code> to disable the island model
+     * @throws SearchException if the search is not idle
+     */
+    public void setMigrationTopology(MigrationTopology topology){
+        // synchronize with status updates
+        synchronized (getStatusLock()) {
+            // assert idle
+            assertIdle("Cannot set migration topology of basic parallel search algorithm.");
+            migrationTopology = topology;
+        }
+    }
+
+    /**
+     * Get the migration topology used in island model mode.
+     * Returns <code>null</code> if the island model is disabled (default).
+     *
+     * @return migration topology, <code>null</code> if disabled
+     */
+    public MigrationTopology getMigrationTopology(){
+        return migrationTopology;
+    }
+
+    /**
+     * Get the number of received solutions that have been adopted by an island during
+     * the current or last run. Always zero if the island model is disabled.
+     *
+     * @return number of adopted migrants
+     */
+    public long getNumMigrations(){
+        return numMigrations;
+    }
+
     /**
      * When the search is initialized, it is verified whether at least one subsearch
      * has been added and all subsearches are initialized as well (in parallel).
-     * An exception is thrown if no subsearches have been added.
+     * An exception is thrown if no subsearches have been added, or if the island
+     * model is enabled but no step slice has been set.
      *
-     * @throws SearchException if no searches have been added
+     * @throws SearchException if no searches have been added, or if a migration
+     *                         topology has been set without a step slice
      */
     @Override
     public void init() {
@@ -184,10 +370,27 @@ public class BasicParallelSearch<SolutionType extends Solution> extends Search<S
             throw new SearchException("Cannot initialize basic parallel search: "
                                     + "no subsearches added for concurrent execution.");
         }
+        // check: step slice set in island model mode
+        if (migrationTopology != null && stepSlice == 0) {
+            throw new SearchException("Cannot initialize basic parallel search: "
+                                    + "island model requires a step slice (migration interval).");
+        }
         // initialize subsearches
         searches.parallelStream().forEach(Search::init);
     }
 
+    /**
+     * When a basic parallel search is started, the global best solution tracked across subsearches
+     * is synchronized with the best solution of the main search, which is retained across runs.
+     */
+    @Override
+    protected void searchStarted() {
+        // call super
+        super.searchStarted();
+        // reset global best solution
+        globalBest.reset(getBestSolution(), getBestSolutionEvaluation(), getBestSolutionValidation());
+    }
+
     /**
      * When requesting to stop a basic parallel search, this request is propagated to each contained search.
      */
@@ -201,12 +404,15 @@ public class BasicParallelSearch<SolutionType extends Solution> extends Search<S
 
     /**
      * When disposing a basic parallel search, each of the searches that have been added to the parallel
-     * algorithm are disposed and the thread pool used for concurrent search execution is released.
+     * algorithm are disposed and the thread pool used for concurrent search execution is released,
+     * unless a custom executor service has been set.
      */
     @Override
     protected void searchDisposed() {
-        // release thread pool
-        pool.shutdown();        
+        // release own thread pool
+        if(ownPool){
+            pool.shutdown();
+        }
         // dispose contained searches
         searches.forEach(s -> s.dispose());
         // dispose super
@@ -217,16 +423,31 @@ public class BasicParallelSearch<SolutionType extends Solution> extends Search<S
      * This algorithm consists of a single search step only, in which (1) the contained subsearches are executed in
      * parallel, (2) the main search waits until they terminate and (3) the main search stops. A subsearch may terminate
      * because it has come to its natural end, because it has active stop criteria or because the main search was
-     * requested to stop and propagated this request to the subsearches.
+     * requested to stop and propagated this request to the subsearches. If a step slice has been set, subsearches
+     * that complete their slice are resubmitted until they terminate by themselves or the main search is stopped.
+     * In island model mode, solutions are exchanged before a subsearch is resubmitted.
      */
     @Override
     protected void searchStep() {
         // (1) execute subsearches in parallel
-        searches.forEach(s -> futures.add(pool.submit(s)));
+        ExecutorService executor = getExecutorService();
+        slicedSearches.clear();
+        mailboxes.clear();
+        searches.forEach(s -> mailboxes.add(null));
+        numMigrations = 0;
+        searches.forEach(s -> futures.add(executor.submit(s, s)));
         // (2) wait for termination of subsearches
         while (!futures.isEmpty()) {
             try {
-                futures.poll().get();
+                Search<SolutionType> s = futures.poll().get();
+                // resubmit subsearch that completed its step slice, if main search is still running
+                if(slicedSearches.remove(s) && getStatus() == SearchStatus.RUNNING){
+                    // exchange solutions in island model mode
+                    if(migrationTopology != null){
+                        migrate(searches.indexOf(s));
+                    }
+                    futures.add(executor.submit(s, s));
+                }
             } catch (InterruptedException | ExecutionException ex) {
                 throw new SearchException("An error occured during concurrent execution of searches "
                         + "in basic parallel search.", ex);
@@ -237,8 +458,65 @@ public class BasicParallelSearch<SolutionType extends Solution> extends Search<S
     }
 
     /**
-     * Private listener attached to each subsearch, to keep track of the global best solution and
-     * to abort a search that attempts to start when the main search is already terminating.
+     * Exchange solutions for the island with the given index, which has just completed a step slice: (1) its best
+     * solution is sent to the mailboxes of other islands according to the migration topology and (2) the solution
+     * in its own mailbox (or the global best solution) is adopted, if it improves over its current solution.
+     * Only called from within the main search thread, while the island is idle.
+     *
+     * @param i index of island that completed its step slice
+     */
+    private void migrate(int i){
+        Search<SolutionType> island = searches.get(i);
+        int n = searches.size();
+        // (1) emigration
+        if(island.getBestSolution() != null && n > 1){
+            // best solutions are never modified by the island so they can be shared without copying
+            BestSolutionHolder.Snapshot<SolutionType> emigrant = new BestSolutionHolder.Snapshot<>(
+                    island.getBestSolution(), island.getBestSolutionEvaluation(), island.getBestSolutionValidation()
+            );
+            switch(migrationTopology){
+                case RING:
+                    mailboxes.set((i + 1) % n, emigrant);
+                    break;
+                case BROADCAST:
+                    for(int j=0; j<n; j++){
+                        if(j != i){
+                            mailboxes.set(j, emigrant);
+                        }
+                    }
+                    break;
+                case RANDOM:
+                    int j = getRandom().nextInt(n - 1);
+                    mailboxes.set(j < i ? j : j + 1, emigrant);
+                    break;
+                default:
+                    // no emigration (global best)
+                    break;
+            }
+        }
+        // (2) immigration
+        BestSolutionHolder.Snapshot<SolutionType> immigrant;
+        if(migrationTopology == MigrationTopology.GLOBAL_BEST){
+            immigrant = globalBest.get();
+        } else {
+            immigrant = mailboxes.set(i, null);
+        }
+        if(immigrant != null && island instanceof LocalSearch){
+            LocalSearch<SolutionType> localIsland = (LocalSearch<SolutionType>) island;
+            // adopt immigrant if current solution is not set, invalid or worse
+            if(localIsland.getCurrentSolution() == null
+                    || !localIsland.getCurrentSolutionValidation().passed()
+                    || computeDelta(immigrant.getEvaluation(), localIsland.getCurrentSolutionEvaluation()) > 0){
+                localIsland.setCurrentSolution(Solution.checkedCopy(immigrant.getSolution()));
+                numMigrations++;
+            }
+        }
+    }
+
+    /**
+     * Private listener attached to each subsearch, to keep track of the global best solution,
+     * to abort a search that attempts to start when the main search is already terminating
+     * and to stop a search when it has completed its step slice.
      */
     private class SubsearchListener implements SearchListener<SolutionType> {
     
@@ -248,8 +526,10 @@ public class BasicParallelSearch<SolutionType extends Solution> extends Search<S
 
         /**
          * When a new best solution is found in any concurrently executed subsearch, it is picked up by the main search
-         * which updates the global best solution accordingly. This method is synchronized to avoid concurrent updates
-         * of the global best solution, as searches are running in separate threads.
+         * which updates the global best solution accordingly. The new solution is first compared with the global best
+         * solution without locking, so that subsearches that do not find a global improvement are never blocked. Only
+         * a subsearch that has published a global improvement updates (and copies) the best solution of the main search,
+         * while holding a lock, and only if it has not been superseded by another improvement in the meantime.
          *
          * @param search subsearch that found a new best solution
          * @param newBestSolution new best solution in subsearch
@@ -257,11 +537,22 @@ public class BasicParallelSearch<SolutionType extends Solution> extends Search<S
          * @param newBestSolutionValidation validation of new best solution
          */
         @Override
-        public synchronized void newBestSolution(Search<? extends SolutionType> search,
-                                                 SolutionType newBestSolution,
-                                                 Evaluation newBestSolutionEvaluation,
-                                                 Validation newBestSolutionValidation) {
-            updateBestSolution(newBestSolution, newBestSolutionEvaluation, newBestSolutionValidation);
+        public void newBestSolution(Search<? extends SolutionType> search,
+                                    SolutionType newBestSolution,
+                                    Evaluation newBestSolutionEvaluation,
+                                    Validation newBestSolutionValidation) {
+            // lock-free comparison with global best solution
+            BestSolutionHolder.Snapshot<SolutionType> snapshot = globalBest.offer(
+                    newBestSolution, newBestSolutionEvaluation, newBestSolutionValidation
+            );
+            if(snapshot != null){
+                // global improvement: update best solution of main search, unless superseded
+                synchronized (this) {
+                    if(globalBest.isCurrent(snapshot)){
+                        updateBestSolution(snapshot.getSolution(), snapshot.getEvaluation(), snapshot.getValidation());
+                    }
+                }
+            }
         }
 
         /**
@@ -276,6 +567,22 @@ public class BasicParallelSearch<SolutionType extends Solution> extends Search<S
                 search.stop();
             }
         }
+
+        /**
+         * When a subsearch has completed a step, it is verified whether it has completed its step slice, if any.
+         * If so, the subsearch is stopped, to be resubmitted by the main search.
+         *
+         * @param search subsearch that completed a step
+         * @param numSteps number of steps completed in the current run of the subsearch
+         */
+        @Override
+        public void stepCompleted(Search<? extends SolutionType> search, long numSteps) {
+            long slice = stepSlice;
+            if (slice > 0 && numSteps >= slice) {
+                slicedSearches.add(search);
+                search.stop();
+            }
+        }
         
     }
 
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.search.algo;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ToDoubleBiFunction;
+import org.jamesframework.core.problems.constraints.validations.Validation;
+import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.problems.sol.Solution;
+
+/**
+ * Lock-free holder of the global best solution reported by concurrently executed searches. Reported solutions
+ * are compared with the current global best solution without locking and published as immutable snapshots with
+ * an atomic compare-and-set operation. Only the thread that successfully publishes a new global best solution
+ * (the winner) has to take further action, e.g. update the best solution of the parent search. Reported solutions
+ * are not copied, so they should not be modified afterwards; this holds for the solutions that are passed to
+ * {@link org.jamesframework.core.search.listeners.SearchListener#newBestSolution} callbacks, which are
+ * copies owned by the reporting search.
+ *
+ * @param <SolutionType> solution type
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+class BestSolutionHolder<SolutionType extends Solution> {
+
+    // current global best solution (null if not set)
+    private final AtomicReference<Snapshot<SolutionType>> best;
+    // computes the improvement of a new evaluation over a previous one
+    private final ToDoubleBiFunction<Evaluation, Evaluation> deltaFunction;
+
+    /**
+     * Create an empty holder. The given function should compute the amount of improvement of its first
+     * argument (new evaluation) over its second argument (previous evaluation), taking into account
+     * whether evaluations are maximized or minimized.
+     *
+     * @param deltaFunction computes the improvement of a new evaluation over a previous one
+     */
+    BestSolutionHolder(ToDoubleBiFunction<Evaluation, Evaluation> deltaFunction){
+        this.best = new AtomicReference<>();
+        this.deltaFunction = deltaFunction;
+    }
+
+    /**
+     * Reset the holder to the given best solution. If the given solution is <code>null</code>, the holder is
+     * cleared. Should not be called concurrently with {@link #offer(Solution, Evaluation, Validation)}.
+     *
+     * @param solution best solution, may be <code>null</code>
+     * @param evaluation evaluation of best solution
+     * @param validation validation of best solution
+     */
+    void reset(SolutionType solution, Evaluation evaluation, Validation validation){
+        best.set(solution == null ? null : new Snapshot<>(solution, evaluation, validation));
+    }
+
+    /**
+     * Offer a valid solution. It is published as the new global best solution if it improves over the current
+     * global best solution, or if no global best solution has been set. Losing offers return without locking
+     * or allocating.
+     *
+     * @param solution offered solution (not copied)
+     * @param evaluation evaluation of offered solution
+     * @param validation validation of offered solution
+     * @return published snapshot if the offered solution has become the new global best solution,
+     *         <code>null</code> otherwise
+     */
+    Snapshot<SolutionType> offer(SolutionType solution, Evaluation evaluation, Validation validation){
+        Snapshot<SolutionType> cur, next = null;
+        do {
+            cur = best.get();
+            if(cur != null && deltaFunction.applyAsDouble(evaluation, cur.getEvaluation()) <= 0){
+                // no improvement
+                return null;
+            }
+            if(next == null){
+                next = new Snapshot<>(solution, evaluation, validation);
+            }
+        } while(!best.compareAndSet(cur, next));
+        return next;
+    }
+
+    /**
+     * Get the current global best solution.
+     *
+     * @return snapshot of global best solution, <code>null</code> if not set
+     */
+    Snapshot<SolutionType> get(){
+        return best.get();
+    }
+
+    /**
+     * Check whether the given snapshot is still the current global best solution.
+     *
+     * @param snapshot published snapshot
+     * @return <code>true</code> if the snapshot has not been superseded by a better solution
+     */
+    boolean isCurrent(Snapshot<SolutionType> snapshot){
+        return best.get() == snapshot;
+    }
+
+    /**
+     * Immutable snapshot of a best solution, with its evaluation and validation.
+     *
+     * @param <SolutionType> solution type
+     */
+    static class Snapshot<SolutionType extends Solution> {
+
+        private final SolutionType solution;
+        private final Evaluation evaluation;
+        private final Validation validation;
+
+        Snapshot(SolutionType solution, Evaluation evaluation, Validation validation) {
+            this.solution = solution;
+            this.evaluation = evaluation;
+            this.validation = validation;
+        }
+
+        SolutionType getSolution() {
+            return solution;
+        }
+
+        Evaluation getEvaluation() {
+            return evaluation;
+        }
+
+        Validation getValidation() {
+            return validation;
+        }
+
+    }
+
+}
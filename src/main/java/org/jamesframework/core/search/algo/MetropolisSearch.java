@@ -50,8 +50,8 @@ import org.jamesframework.core.search.neigh.Neighbourhood;
  */
 public class MetropolisSearch<SolutionType extends Solution> extends SingleNeighbourhoodSearch<SolutionType> {
 
-    // temperature
-    private double temperature;
+    // temperature (may be updated by another thread while running, e.g. by parallel tempering)
+    private volatile double temperature;
     
     /**
      * Creates a new Metropolis search, specifying the problem to solve, the applied neighbourhood and the temperature.
@@ -96,7 +96,8 @@ public class MetropolisSearch<SolutionType extends Solution> extends SingleNeigh
     }
     
     /**
-     * Set the temperature (\(T &gt; 0\)).
+     * Set the temperature (\(T &gt; 0\)). May also be called while the search is running,
+     * in which case the new temperature is applied from the next step onwards.
      * 
      * @param temperature new temperature
      * @throws IllegalArgumentException if <code>temperature</code> is not strictly positive
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.search.algo;
+
+/**
+ * Topologies that determine how solutions migrate between the subsearches (islands)
+ * of a basic parallel search that runs in island model mode (see
+ * {@link BasicParallelSearch#setMigrationTopology(MigrationTopology)}).
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public enum MigrationTopology {
+
+    /**
+     * Every island sends its best solution to the next island, in the order in which the subsearches
+     * have been added to the parallel search (the last island sends its best solution to the first one).
+     */
+    RING,
+
+    /**
+     * Every island sends its best solution to all other islands.
+     */
+    BROADCAST,
+
+    /**
+     * Every island sends its best solution to a randomly chosen other island.
+     */
+    RANDOM,
+
+    /**
+     * Islands do not send solutions to each other, but adopt the global best solution found
+     * by any island so far, if it improves over their own current solution.
+     */
+    GLOBAL_BEST
+
+}
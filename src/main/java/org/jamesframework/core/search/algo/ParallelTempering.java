@@ -17,13 +17,22 @@
 package org.jamesframework.core.search.algo;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.Random;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.jamesframework.core.exceptions.JamesRuntimeException;
 import org.jamesframework.core.exceptions.SearchException;
 import org.jamesframework.core.factory.MetropolisSearchFactory;
@@ -37,6 +46,8 @@ import org.jamesframework.core.search.SingleNeighbourhoodSearch;
 import org.jamesframework.core.search.listeners.SearchListener;
 import org.jamesframework.core.search.neigh.Neighbourhood;
 import org.jamesframework.core.search.stopcriteria.MaxSteps;
+import org.jamesframework.core.search.status.SearchStatus;
+import org.jamesframework.core.util.SearchExecutors;
 
 /**
  * <p>
@@ -64,6 +75,13 @@ import org.jamesframework.core.search.stopcriteria.MaxSteps;
  *  </li>
  * </ol>
  * <p>
+ * Rather than moving solutions between replicas, a swap is performed by exchanging the temperatures of
+ * both replicas and their positions in the temperature ladder, i.e. the order of the replicas by temperature.
+ * This is equivalent to swapping their current solutions, but takes constant time regardless of the size of
+ * the solutions, and the replicas retain their own current solution and any state derived from it (e.g. cached
+ * move evaluations). As a consequence, the temperature of a replica changes over time.
+ * </p>
+ * <p>
  * All replicas use the same neighbourhood, which is specified when creating the parallel tempering
  * search. By default, each replica starts from an independently generated random solution. A custom
  * initial solution can be set by calling {@link #setCurrentSolution(Solution)} on the parallel tempering
@@ -92,10 +110,64 @@ import org.jamesframework.core.search.stopcriteria.MaxSteps;
  * expensive objective function, a lower number of steps may be more appropriate.
  * </p>
  * <p>
- * Note that every replica runs in a separate thread so that they will be executed in parallel on
+ * Note that replicas are executed in separate threads so that they will be executed in parallel on
  * multi-core processors or multi-processor machines. Therefore, it is important that the problem
  * (including all of its components such as the objective, constraints, etc.) and neighbourhood
- * specified at construction are thread-safe.
+ * specified at construction are thread-safe. By default, a dedicated thread pool is created with
+ * one thread per replica. The number of replicas that are executed concurrently can be reduced with
+ * {@link #setParallelism(int)}, in which case the replicas are distributed over a fixed number of
+ * workers that each execute several replicas one after the other. A custom executor service can be
+ * set with {@link #setExecutorService(ExecutorService)}, e.g. the shared work-stealing pool from
+ * {@link SearchExecutors#getSharedPool()}, to avoid oversubscription when many searches are executed
+ * in the same JVM.
+ * </p>
+ * <p>
+ * By default, replicas are synchronized after every round of replica steps, so that the slowest replica
+ * determines the duration of each step of the parallel tempering algorithm. Alternatively, an asynchronous
+ * exchange mode can be enabled with {@link #setAsynchronousExchange(boolean)}. In this mode, replicas run
+ * continuously until the parallel tempering search is requested to stop, and every replica attempts an exchange with
+ * one of its neighbours (alternately the cooler and the hotter one) whenever it has completed the specified number of
+ * replica steps. An exchange takes place only if the neighbour has signalled that it is ready as well, i.e. if it has
+ * reached an exchange point since its last exchange. The decision is then handed over to the neighbour, which applies
+ * the same criterion as above when it completes its next step, using the evaluation of its own current solution and
+ * the evaluation of the other replica's solution at the exchange point. Exchanges are negotiated without blocking: if
+ * the neighbour is not ready, or is involved in another exchange, the replica simply continues its search. Note that in
+ * asynchronous mode, a run of the parallel tempering search consists of a single step, so that stop criteria based on
+ * the number of steps of the main search are only checked when the run completes.
+ * </p>
+ * <p>
+ * In synchronous exchange mode, every replica is restarted in each step of the parallel tempering algorithm, which
+ * involves some overhead (status updates, listener callbacks, stop criterion checking, ...) that may dominate when
+ * replicas perform only a few steps in every iteration. This overhead is avoided by enabling resident replicas with
+ * {@link #setResidentReplicas(boolean)}. Replicas are then started only once in every run of the parallel tempering
+ * search and are paused after every round of replica steps, using a {@link Phaser} shared with the main algorithm.
+ * Once all replicas are paused, the swap phase is executed, after which all replicas are resumed. Apart from the
+ * reduced overhead, the search behaves exactly the same. In this mode, the reported number of accepted and rejected
+ * moves is only updated when the run completes.
+ * </p>
+ * <p>
+ * The number of attempted and accepted swaps between every pair of adjacent positions in the temperature ladder
+ * is tracked during each run (see {@link #getNumSwapAttempts(int)}, {@link #getNumAcceptedSwaps(int)} and
+ * {@link #getSwapAcceptanceRate(int)}). An acceptance rate close to zero indicates that the temperatures at both
+ * positions are too far apart, while an acceptance rate close to one indicates that they are unnecessarily close.
+ * In synchronous exchange mode, the temperatures can also be adapted automatically during the search, by enabling
+ * an adaptive temperature ladder with {@link #setAdaptiveTemperatures(boolean)}. After every swap phase, the ratio
+ * between temperatures at adjacent positions is then increased for pairs with an (exponentially smoothed) acceptance
+ * rate above the target acceptance rate (see {@link #setTargetSwapAcceptance(double)}), and decreased for pairs with
+ * a lower acceptance rate, after which the ladder is geometrically rescaled so that the minimum and maximum
+ * temperature are retained.
+ * </p>
+ * <p>
+ * Every synchronization of the replicas in synchronous exchange mode involves some overhead: replicas have to be
+ * submitted and restarted, faster replicas wait for the slowest one and the swap phase is executed in a single thread.
+ * Instead of using a fixed number of replica steps, the number of steps can be adapted during the search to keep this
+ * overhead below a target fraction of the wall time, by calling {@link #setAdaptiveReplicaSteps(boolean)}. After every
+ * step of the parallel tempering algorithm, the overhead is measured as the wall time of the step minus the time spent
+ * on replica steps by the slowest worker (see {@link #setParallelism(int)}), and the number of replica steps is updated
+ * so that the (smoothed) overhead fraction approaches the target fraction (see
+ * {@link #setTargetExchangeOverhead(double)}). Because rarely accepted swaps are less valuable, the overhead budget is
+ * reduced proportionally when the average swap acceptance rate is below the target acceptance rate (see
+ * {@link #setTargetSwapAcceptance(double)}). The number of replica steps is at most doubled or halved in each step.
  * </p>
  * 
  * @param <SolutionType> solution type of the problems that may be solved using this search,
@@ -113,13 +185,81 @@ public class ParallelTempering<SolutionType extends Solution> extends SingleNeig
     // number of steps performed by each replica
     private long replicaSteps;
     
-    // thread pool for replica execution and corresponding queue of futures of submitted tasks
-    private final ExecutorService pool;
-    private final Queue<Future<Integer>> futures;
+    // thread pool for replica execution (created on demand if no custom executor is set),
+    // flag indicating whether the pool has been created by this search,
+    // and queue of futures of submitted tasks
+    private ExecutorService pool;
+    private boolean ownPool;
+    private final Queue<Future<?>> futures;
+    
+    // number of workers that concurrently execute replicas, index of next replica
+    // to be executed in the current step and worker that executed each replica
+    private int parallelism;
+    private final AtomicInteger nextReplica;
+    private final int[] replicaWorkers;
     
     // swap base: flipped (0/1) after every step for fair solution swaps
     private int swapBase;
     
+    // asynchronous exchange mode
+    private boolean asyncExchange;
+    
+    // resident replica mode, phaser used to pause and resume resident replicas (main algorithm
+    // and every running replica are registered parties), futures of running resident replicas
+    // (null if not launched) and number of steps of each replica at the start of the current round
+    private boolean residentReplicas;
+    private Phaser phaser;
+    private List<Future<?>> residentFutures;
+    private final long[] roundStartSteps;
+    
+    // index of each replica in the list of replicas
+    private final Map<Search<?>, Integer> replicaIndices;
+    
+    // temperature ladder: replica at each position (ordered by temperature),
+    // position of each replica, flags indicating which positions are
+    // involved in an ongoing exchange, flags indicating which replicas
+    // are ready for an asynchronous exchange, exchange requests handed
+    // over to replicas and number of attempted asynchronous exchanges
+    // per replica (to alternate neighbours)
+    private final AtomicReferenceArray<MetropolisSearch<SolutionType>> ladder;
+    private final AtomicIntegerArray positions;
+    private final AtomicIntegerArray exchanging;
+    private final AtomicIntegerArray offers;
+    private final AtomicReferenceArray<ExchangeRequest> requests;
+    private final long[] exchangeAttempts;
+    
+    // number of attempted and accepted swaps between adjacent positions (per lowest position)
+    private final AtomicLongArray numSwapAttempts;
+    private final AtomicLongArray numAcceptedSwaps;
+    
+    // adaptive temperature ladder: flag, target swap acceptance rate and
+    // smoothed acceptance rate between adjacent positions (per lowest position)
+    private boolean adaptiveTemperatures;
+    private double targetSwapAcceptance;
+    private final double[] smoothedSwapAcceptance;
+    
+    // adaptive replica steps: flag, target fraction of wall time spent on exchange
+    // overhead, smoothed overhead (ns) and most recently measured overhead fraction
+    private boolean adaptiveReplicaSteps;
+    private double targetExchangeOverhead;
+    private double smoothedOverhead;
+    private double exchangeOverhead;
+    
+    // start time and runtime (ns) of the current or last run of each replica
+    private final long[] replicaStartTimes;
+    private final long[] replicaRuntimes;
+    
+    // smoothing factor of swap acceptance rates and rate of temperature adaptation
+    private static final double ACCEPTANCE_SMOOTHING = 0.1;
+    private static final double ADAPTATION_RATE = 0.1;
+    
+    // smoothing factor of measured exchange overhead and minimum fraction of the overhead budget
+    private static final double OVERHEAD_SMOOTHING = 0.2;
+    private static final double MIN_OVERHEAD_BUDGET = 0.1;
+    
+    // global best solution reported by any replica
+    private final BestSolutionHolder<SolutionType> globalBest;
+    
     /**
      * <p>
      * Creates a new parallel tempering algorithm, specifying the problem to solve,
@@ -269,12 +409,53 @@ public class ParallelTempering<SolutionType extends Solution> extends SingleNeig
         }
         // set default replica steps
         replicaSteps = 500;
-        // create thread pool
-        pool = Executors.newFixedThreadPool(numReplicas);
+        // thread pool is created on demand
+        pool = null;
+        ownPool = false;
         // initialize (empty) futures queue
         futures = new LinkedList<>();
+        // one worker per replica by default
+        parallelism = numReplicas;
+        nextReplica = new AtomicInteger();
+        replicaWorkers = new int[numReplicas];
         // set initial swap base
         swapBase = 0;
+        // synchronous exchange by default
+        asyncExchange = false;
+        // replicas are restarted in every step by default
+        residentReplicas = false;
+        phaser = null;
+        residentFutures = null;
+        roundStartSteps = new long[numReplicas];
+        // initialize temperature ladder (ordered by construction)
+        replicaIndices = new IdentityHashMap<>();
+        ladder = new AtomicReferenceArray<>(numReplicas);
+        positions = new AtomicIntegerArray(numReplicas);
+        for(int i=0; i<numReplicas; i++){
+            replicaIndices.put(replicas.get(i), i);
+            ladder.set(i, replicas.get(i));
+            positions.set(i, i);
+        }
+        exchanging = new AtomicIntegerArray(numReplicas);
+        offers = new AtomicIntegerArray(numReplicas);
+        requests = new AtomicReferenceArray<>(numReplicas);
+        exchangeAttempts = new long[numReplicas];
+        // initialize swap statistics
+        numSwapAttempts = new AtomicLongArray(Math.max(numReplicas-1, 0));
+        numAcceptedSwaps = new AtomicLongArray(Math.max(numReplicas-1, 0));
+        // fixed temperatures by default
+        adaptiveTemperatures = false;
+        targetSwapAcceptance = 0.25;
+        smoothedSwapAcceptance = new double[Math.max(numReplicas-1, 0)];
+        // fixed number of replica steps by default
+        adaptiveReplicaSteps = false;
+        targetExchangeOverhead = 0.05;
+        smoothedOverhead = -1.0;
+        exchangeOverhead = 0.0;
+        replicaStartTimes = new long[numReplicas];
+        replicaRuntimes = new long[numReplicas];
+        // create global best solution holder
+        globalBest = new BestSolutionHolder<>(this::computeDelta);
         // listen to events fired by replicas
         ReplicaListener listener = new ReplicaListener();
         replicas.forEach(r -> r.addSearchListener(listener));
@@ -301,7 +482,8 @@ public class ParallelTempering<SolutionType extends Solution> extends SingleNeig
     /**
      * Get the number of steps performed by each replica in every iteration of the global parallel
      * tempering algorithm, before considering solution swaps. Defaults to 500 and can be changed
-     * using {@link #setReplicaSteps(long)}.
+     * using {@link #setReplicaSteps(long)}. If adaptive replica steps are enabled, the number of
+     * steps is updated during search (see {@link #setAdaptiveReplicaSteps(boolean)}).
      * 
      * @return number of steps performed by replicas in each iteration
      */
@@ -309,6 +491,359 @@ public class ParallelTempering<SolutionType extends Solution> extends SingleNeig
         return replicaSteps;
     }
     
+    /**
+     * Enable or disable asynchronous exchange mode. When enabled, replicas run continuously and negotiate
+     * exchanges with their neighbours whenever both are ready, without waiting for the other replicas.
+     * Accepted exchanges swap the temperatures of both replicas instead of their solutions. Disabled by
+     * default. Note that in asynchronous mode, all replicas have to be executed concurrently, so that the
+     * executor service (see {@link #setExecutorService(ExecutorService)}) should provide at least one
+     * thread per replica (as the default thread pool does) and that the parallelism should not be reduced
+     * (see {@link #setParallelism(int)}). Also, this method may only be called when
+     * the search is idle.
+     * 
+     * @param async <code>true</code> if exchanges should be performed asynchronously
+     * @throws SearchException if the search is not idle
+     */
+    public void setAsynchronousExchange(boolean async){
+        // synchronize with status updates
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot set asynchronous exchange mode of parallel tempering algorithm.");
+            // set mode
+            asyncExchange = async;
+        }
+    }
+    
+    /**
+     * Check whether asynchronous exchange mode is enabled. Disabled by default.
+     * 
+     * @return <code>true</code> if exchanges are performed asynchronously
+     */
+    public boolean isAsynchronousExchange(){
+        return asyncExchange;
+    }
+    
+    /**
+     * Enable or disable resident replicas. When enabled, replicas are started only once in every run and are paused
+     * and resumed after every round of replica steps, instead of being restarted in every step of the parallel tempering
+     * algorithm. Disabled by default. Resident replicas block their thread while being paused, so that all replicas have
+     * to be executed concurrently, i.e. the parallelism should be at least equal to the number of replicas (see
+     * {@link #setParallelism(int)}) and a custom executor service should provide at least one thread per replica.
+     * In asynchronous exchange mode (see {@link #setAsynchronousExchange(boolean)}), replicas are always resident
+     * and this setting has no effect. Note that this method may only be called when the search is idle.
+     * 
+     * @param resident <code>true</code> if replicas should be paused and resumed instead of restarted
+     * @throws SearchException if the search is not idle
+     */
+    public void setResidentReplicas(boolean resident){
+        // synchronize with status updates
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot enable or disable resident replicas of parallel tempering algorithm.");
+            // set flag
+            residentReplicas = resident;
+        }
+    }
+    
+    /**
+     * Check whether resident replicas are enabled. Disabled by default.
+     * 
+     * @return <code>true</code> if replicas are paused and resumed instead of restarted
+     */
+    public boolean isResidentReplicas(){
+        return residentReplicas;
+    }
+    
+    /**
+     * Enable or disable adaptive replica steps. When enabled, the number of steps performed by each replica
+     * in every iteration is updated after each iteration based on the measured replica step latency, exchange
+     * overhead and swap acceptance rates, to keep the fraction of wall time spent on exchange overhead close to
+     * the target fraction (see {@link #setTargetExchangeOverhead(double)}). The number of replica steps set with
+     * {@link #setReplicaSteps(long)} is used as the initial value. Disabled by default. The number of replica steps
+     * is only adapted in synchronous exchange mode; in asynchronous exchange mode (see
+     * {@link #setAsynchronousExchange(boolean)}) this setting has no effect. Note that this method may only be
+     * called when the search is idle.
+     * 
+     * @param adaptive <code>true</code> if the number of replica steps should be adapted during search
+     * @throws SearchException if the search is not idle
+     */
+    public void setAdaptiveReplicaSteps(boolean adaptive){
+        // synchronize with status updates
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot enable or disable adaptive replica steps of parallel tempering algorithm.");
+            // set flag
+            adaptiveReplicaSteps = adaptive;
+        }
+    }
+    
+    /**
+     * Check whether adaptive replica steps are enabled. Disabled by default.
+     * 
+     * @return <code>true</code> if the number of replica steps is adapted during search
+     */
+    public boolean isAdaptiveReplicaSteps(){
+        return adaptiveReplicaSteps;
+    }
+    
+    /**
+     * Set the target fraction of wall time spent on exchange overhead, used when adaptive replica steps are enabled
+     * (see {@link #setAdaptiveReplicaSteps(boolean)}). Defaults to 0.05. The target should be strictly between zero
+     * and one. Note that this method may only be called when the search is idle.
+     * 
+     * @param target target fraction of wall time spent on exchange overhead (\(0 \lt target \lt 1\))
+     * @throws IllegalArgumentException if <code>target</code> is not strictly between zero and one
+     * @throws SearchException if the search is not idle
+     */
+    public void setTargetExchangeOverhead(double target){
+        // synchronize with status updates
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot set target exchange overhead of parallel tempering algorithm.");
+            // check target
+            if(target <= 0.0 || target >= 1.0){
+                throw new IllegalArgumentException("Target exchange overhead of parallel tempering algorithm "
+                                                    + "should be strictly between 0.0 and 1.0.");
+            }
+            // set target
+            targetExchangeOverhead = target;
+        }
+    }
+    
+    /**
+     * Get the target fraction of wall time spent on exchange overhead. Defaults to 0.05 and can
+     * be changed using {@link #setTargetExchangeOverhead(double)}.
+     * 
+     * @return target fraction of wall time spent on exchange overhead
+     */
+    public double getTargetExchangeOverhead(){
+        return targetExchangeOverhead;
+    }
+    
+    /**
+     * Get the fraction of wall time spent on exchange overhead in the last completed step of the parallel
+     * tempering algorithm, i.e. the wall time of this step minus the time spent on replica steps by the slowest
+     * worker (see {@link #setParallelism(int)}), divided
+     * by the wall time of the step. Only measured when adaptive replica steps are enabled (see
+     * {@link #setAdaptiveReplicaSteps(boolean)}); else, zero is returned.
+     * 
+     * @return fraction of wall time spent on exchange overhead in the last step
+     */
+    public double getExchangeOverhead(){
+        return exchangeOverhead;
+    }
+    
+    /**
+     * Enable or disable the adaptive temperature ladder. When enabled, the temperatures of the replicas are
+     * adjusted after every swap phase to approach the target swap acceptance rate between adjacent positions
+     * in the temperature ladder (see {@link #setTargetSwapAcceptance(double)}), while retaining the minimum
+     * and maximum temperature. Disabled by default. Temperatures are only adapted in synchronous exchange mode;
+     * in asynchronous exchange mode (see {@link #setAsynchronousExchange(boolean)}) this setting has no effect.
+     * Note that this method may only be called when the search is idle.
+     * 
+     * @param adaptive <code>true</code> if temperatures should be adapted during search
+     * @throws SearchException if the search is not idle
+     */
+    public void setAdaptiveTemperatures(boolean adaptive){
+        // synchronize with status updates
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot enable or disable adaptive temperatures of parallel tempering algorithm.");
+            // set flag
+            adaptiveTemperatures = adaptive;
+        }
+    }
+    
+    /**
+     * Check whether the adaptive temperature ladder is enabled. Disabled by default.
+     * 
+     * @return <code>true</code> if temperatures are adapted during search
+     */
+    public boolean isAdaptiveTemperatures(){
+        return adaptiveTemperatures;
+    }
+    
+    /**
+     * Set the target acceptance rate of swaps between adjacent positions in the temperature ladder, used
+     * when the adaptive temperature ladder is enabled (see {@link #setAdaptiveTemperatures(boolean)}).
+     * Defaults to 0.25. The target should be strictly between zero and one. Note that this method may
+     * only be called when the search is idle.
+     * 
+     * @param target target swap acceptance rate (\(0 \lt target \lt 1\))
+     * @throws IllegalArgumentException if <code>target</code> is not strictly between zero and one
+     * @throws SearchException if the search is not idle
+     */
+    public void setTargetSwapAcceptance(double target){
+        // synchronize with status updates
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot set target swap acceptance rate of parallel tempering algorithm.");
+            // check target
+            if(target <= 0.0 || target >= 1.0){
+                throw new IllegalArgumentException("Target swap acceptance rate of parallel tempering algorithm "
+                                                    + "should be strictly between 0.0 and 1.0.");
+            }
+            // set target
+            targetSwapAcceptance = target;
+        }
+    }
+    
+    /**
+     * Get the target acceptance rate of swaps between adjacent positions in the temperature ladder.
+     * Defaults to 0.25 and can be changed using {@link #setTargetSwapAcceptance(double)}.
+     * 
+     * @return target swap acceptance rate
+     */
+    public double getTargetSwapAcceptance(){
+        return targetSwapAcceptance;
+    }
+    
+    /**
+     * Get the current temperatures of the replicas, ordered by position in the temperature ladder,
+     * i.e. in ascending order.
+     * 
+     * @return temperatures of all replicas, in ascending order
+     */
+    public double[] getTemperatures(){
+        double[] temperatures = new double[replicas.size()];
+        for(int i=0; i<temperatures.length; i++){
+            temperatures[i] = ladder.get(i).getTemperature();
+        }
+        return temperatures;
+    }
+    
+    /**
+     * Get the number of swaps that have been considered between the replicas at positions <code>pos</code> and
+     * <code>pos+1</code> in the temperature ladder, during the current or last run of the parallel tempering search.
+     * 
+     * @param pos lowest of both positions (\(0 \le pos \lt numReplicas - 1\))
+     * @return number of attempted swaps between both positions
+     * @throws IndexOutOfBoundsException if <code>pos</code> is not a valid position of a pair of replicas
+     */
+    public long getNumSwapAttempts(int pos){
+        return numSwapAttempts.get(pos);
+    }
+    
+    /**
+     * Get the number of accepted swaps between the replicas at positions <code>pos</code> and <code>pos+1</code>
+     * in the temperature ladder, during the current or last run of the parallel tempering search.
+     * 
+     * @param pos lowest of both positions (\(0 \le pos \lt numReplicas - 1\))
+     * @return number of accepted swaps between both positions
+     * @throws IndexOutOfBoundsException if <code>pos</code> is not a valid position of a pair of replicas
+     */
+    public long getNumAcceptedSwaps(int pos){
+        return numAcceptedSwaps.get(pos);
+    }
+    
+    /**
+     * Get the fraction of accepted swaps between the replicas at positions <code>pos</code> and <code>pos+1</code>
+     * in the temperature ladder, during the current or last run of the parallel tempering search. Returns zero if
+     * no swaps have been attempted between both positions.
+     * 
+     * @param pos lowest of both positions (\(0 \le pos \lt numReplicas - 1\))
+     * @return swap acceptance rate between both positions
+     * @throws IndexOutOfBoundsException if <code>pos</code> is not a valid position of a pair of replicas
+     */
+    public double getSwapAcceptanceRate(int pos){
+        long attempts = numSwapAttempts.get(pos);
+        return attempts == 0 ? 0.0 : (double) numAcceptedSwaps.get(pos) / attempts;
+    }
+    
+    /**
+     * Set the number of workers that concurrently execute the replicas. Defaults to the number of replicas, in which
+     * case every replica is executed by a separate worker. If fewer workers are used, replicas are distributed over
+     * the workers in every step: each worker repeatedly picks the next replica that has not yet been executed in
+     * the current step, until all replicas have been executed. The dedicated thread pool of this search (if any)
+     * contains one thread per worker. Apart from the level of parallelism, the search behaves exactly the same.
+     * Asynchronous exchange mode (see {@link #setAsynchronousExchange(boolean)}) requires that all replicas are
+     * executed concurrently, i.e. that the parallelism is at least equal to the number of replicas. The specified
+     * parallelism should be strictly positive. Note that this method may only be called when the search is idle.
+     * 
+     * @param parallelism number of workers that concurrently execute the replicas
+     * @throws IllegalArgumentException if <code>parallelism</code> is not strictly positive
+     * @throws SearchException if the search is not idle
+     */
+    public void setParallelism(int parallelism){
+        // synchronize with status updates
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot set parallelism of parallel tempering algorithm.");
+            // check parallelism
+            if(parallelism <= 0){
+                throw new IllegalArgumentException("Parallelism of parallel tempering algorithm should be "
+                                                    + "strictly positive.");
+            }
+            // release own thread pool, if any (recreated with the new number of threads)
+            if(ownPool && parallelism != this.parallelism){
+                pool.shutdown();
+                pool = null;
+                ownPool = false;
+            }
+            this.parallelism = parallelism;
+        }
+    }
+    
+    /**
+     * Get the number of workers that concurrently execute the replicas. Defaults to the number
+     * of replicas and can be changed using {@link #setParallelism(int)}.
+     * 
+     * @return number of workers that concurrently execute the replicas
+     */
+    public int getParallelism(){
+        return parallelism;
+    }
+    
+    /**
+     * Set a custom executor service used to execute the replicas. By default, a dedicated thread pool is created with
+     * one thread per worker (see {@link #setParallelism(int)}). The given executor may be shared by several searches;
+     * it is not shut down when this search is disposed. Since replicas always run for a fixed number of steps (see
+     * {@link #setReplicaSteps(long)}), they can safely be executed by an executor with fewer threads than replicas,
+     * unless asynchronous exchange mode is enabled (see {@link #setAsynchronousExchange(boolean)}). A shared
+     * work-stealing pool is provided by {@link SearchExecutors#getSharedPool()}. On Java 21 or later, every replica can
+     * also be executed in a separate virtual thread using {@link SearchExecutors#getVirtualThreadExecutor()}. Note that
+     * this method may only be called when the search is idle.
+     *
+     * @param executor executor service used to execute the replicas
+     * @throws NullPointerException if <code>executor</code> is <code>null</code>
+     * @throws SearchException if the search is not idle
+     */
+    public void setExecutorService(ExecutorService executor){
+        // synchronize with status updates
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot set executor service of parallel tempering algorithm.");
+            // check not null
+            if(executor == null){
+                throw new NullPointerException("Cannot set executor service of parallel tempering algorithm: "
+                                                + "executor can not be null.");
+            }
+            // release own thread pool, if any
+            if(ownPool){
+                pool.shutdown();
+            }
+            pool = executor;
+            ownPool = false;
+        }
+    }
+    
+    /**
+     * Get the executor service used to execute the replicas. If no custom executor has been set, the
+     * dedicated thread pool of this search is returned, which is created when first needed, with one
+     * thread per worker (see {@link #setParallelism(int)}).
+     * 
+     * @return executor service used to execute the replicas
+     */
+    public ExecutorService getExecutorService(){
+        synchronized(getStatusLock()){
+            if(pool == null){
+                pool = Executors.newFixedThreadPool(parallelism);
+                ownPool = true;
+            }
+            return pool;
+        }
+    }
+    
     /**
      * Set the same neighbourhood for each replica. Note that <code>neighbourhood</code> can not
      * be <code>null</code> and that this method may only be called when the search is idle.
@@ -350,18 +885,74 @@ public class ParallelTempering<SolutionType extends Solution> extends SingleNeig
     
     /**
      * When initializing a parallel tempering search, the replicas are initialized as well (in parallel).
+     * 
+     * @throws SearchException if asynchronous exchange mode or resident replicas are enabled and the
+     *                         parallelism is lower than the number of replicas
      */
     @Override
     public void init(){
+        // check parallelism in asynchronous exchange mode
+        if(asyncExchange && parallelism < replicas.size()){
+            throw new SearchException("Asynchronous exchange mode of parallel tempering algorithm requires "
+                                        + "that all replicas are executed concurrently (parallelism should "
+                                        + "be at least equal to the number of replicas).");
+        }
+        // check parallelism for resident replicas
+        if(residentReplicas && parallelism < replicas.size()){
+            throw new SearchException("Resident replicas of parallel tempering algorithm require "
+                                        + "that all replicas are executed concurrently (parallelism should "
+                                        + "be at least equal to the number of replicas).");
+        }
         // init super
         super.init();
         // initialize replicas
         replicas.parallelStream().forEach(Search::init);
     }
     
+    /**
+     * When a parallel tempering search is started, the global best solution tracked across replicas
+     * is synchronized with the best solution of the main search, which is retained across runs.
+     */
+    @Override
+    protected void searchStarted(){
+        // call super
+        super.searchStarted();
+        // reset global best solution
+        globalBest.reset(getBestSolution(), getBestSolutionEvaluation(), getBestSolutionValidation());
+        // discard exchange offers and unresolved exchanges from previous run
+        for(int i=0; i<replicas.size(); i++){
+            offers.set(i, 0);
+            requests.set(i, null);
+            exchanging.set(i, 0);
+        }
+        // reset swap statistics
+        for(int i=0; i<replicas.size()-1; i++){
+            numSwapAttempts.set(i, 0);
+            numAcceptedSwaps.set(i, 0);
+        }
+        Arrays.fill(smoothedSwapAcceptance, targetSwapAcceptance);
+        // reset measured exchange overhead
+        smoothedOverhead = -1.0;
+        exchangeOverhead = 0.0;
+    }
+    
+    /**
+     * When requesting to stop a parallel tempering search, this request is propagated to each replica.
+     * Replicas that have not yet started their current run are stopped as soon as they start.
+     */
+    @Override
+    public void stop(){
+        // stop this search (if running)
+        super.stop();
+        // propagate request to replicas
+        replicas.forEach(r -> r.stop());
+    }
+    
     /**
      * In each search step, every replica performs several steps after which solutions of adjacent
-     * replicas may be swapped.
+     * replicas may be swapped. In asynchronous exchange mode, replicas run until this search is
+     * requested to stop while exchanges are performed on the fly, so that the entire run consists
+     * of a single step.
      * 
      * @throws SearchException if an error occurs during concurrent execution of the Metropolis replicas
      * @throws JamesRuntimeException if depending on malfunctioning components (problem,
@@ -369,85 +960,461 @@ public class ParallelTempering<SolutionType extends Solution> extends SingleNeig
      */
     @Override
     protected void searchStep() {
-        // submit replicas for execution in thread pool
-        // (future returns index of respective replica)
-        for(int i=0; i < replicas.size(); i++){
-            futures.add(pool.submit(replicas.get(i), i));
-        }
-        // logger.debug("{}: started {} Metropolis replicas", this, futures.size());
-        // wait for completion of all replicas and remove corresponding future
-        while(!futures.isEmpty()){
-            // remove next future from queue and wait until it has completed
-            try{
-                int i = futures.poll().get();
-                // logger.debug("{}: {}/{} replicas finished", this, replicas.size()-futures.size(), replicas.size());
-                // update total number of accepted/rejected moves
-                incNumAcceptedMoves(replicas.get(i).getNumAcceptedMoves());
-                incNumRejectedMoves(replicas.get(i).getNumRejectedMoves());
-            } catch (InterruptedException | ExecutionException ex){
-                throw new SearchException("An error occured during concurrent execution of Metropolis replicas "
-                                            + "in the parallel tempering algorithm.", ex);
+        // register start time
+        long start = System.nanoTime();
+        boolean resident = residentReplicas && !asyncExchange;
+        if(resident){
+            // wait until all resident replicas have completed the current round
+            awaitResidentReplicas();
+        } else {
+            // submit workers for execution in thread pool
+            // (each worker executes replicas until all have been executed)
+            ExecutorService executor = getExecutorService();
+            nextReplica.set(0);
+            int numWorkers = Math.min(parallelism, replicas.size());
+            for(int w=0; w < numWorkers; w++){
+                final int worker = w;
+                futures.add(executor.submit(() -> executeReplicas(worker)));
             }
-        }
-        // consider swapping solutions of adjacent replicas
-        for(int i=swapBase; i<replicas.size()-1; i+=2){
-            MetropolisSearch<SolutionType> r1 = replicas.get(i);
-            MetropolisSearch<SolutionType> r2 = replicas.get(i+1);
-            // compute delta
-            double delta = computeDelta(r2.getCurrentSolutionEvaluation(), r1.getCurrentSolutionEvaluation());
-            // check if solutions should be swapped
-            boolean swap = false;
-            if(delta >= 0){
-                // always swap
-                swap = true;
-            } else {
-                // compute factor based on difference in temperature
-                double b1 = 1.0 / (r1.getTemperature());
-                double b2 = 1.0 / (r2.getTemperature());
-                double diffb = b1 - b2;
-                // randomized swap (with probability p)
-                double p = Math.exp(diffb * delta);
-                // generate random number
-                double r = getRandom().nextDouble();
-                // swap with probability p
-                if(r < p){
-                    swap = true;
+            // logger.debug("{}: started {} Metropolis replicas", this, futures.size());
+            // wait for completion of all workers and remove corresponding future
+            while(!futures.isEmpty()){
+                // remove next future from queue and wait until it has completed
+                try{
+                    futures.poll().get();
+                } catch (InterruptedException | ExecutionException ex){
+                    throw new SearchException("An error occured during concurrent execution of Metropolis replicas "
+                                                + "in the parallel tempering algorithm.", ex);
                 }
             }
-            // swap solutions
-            if(swap){
-                SolutionType r1Sol = r1.getCurrentSolution();
-                Evaluation r1Eval = r1.getCurrentSolutionEvaluation();
-                Validation r1Val = r1.getCurrentSolutionValidation();
-                r1.setCurrentSolution(
-                        r2.getCurrentSolution(),
-                        r2.getCurrentSolutionEvaluation(),
-                        r2.getCurrentSolutionValidation()
-                );
-                r2.setCurrentSolution(r1Sol, r1Eval, r1Val);
+            // update total number of accepted/rejected moves
+            replicas.forEach(r -> {
+                incNumAcceptedMoves(r.getNumAcceptedMoves());
+                incNumRejectedMoves(r.getNumRejectedMoves());
+            });
+            // asynchronous mode: exchanges have been performed by the replicas
+            if(asyncExchange){
+                return;
             }
         }
+        // consider swapping solutions of replicas at adjacent positions in the temperature ladder
+        for(int i=swapBase; i<replicas.size()-1; i+=2){
+            MetropolisSearch<SolutionType> r1 = ladder.get(i);
+            MetropolisSearch<SolutionType> r2 = ladder.get(i+1);
+            // swap solutions (by swapping temperatures)
+            boolean swapped = considerSwap(i, r1.getCurrentSolutionEvaluation(),
+                                              r2.getCurrentSolutionEvaluation(), getRandom());
+            // update smoothed acceptance rate
+            smoothedSwapAcceptance[i] += ACCEPTANCE_SMOOTHING * ((swapped ? 1.0 : 0.0) - smoothedSwapAcceptance[i]);
+        }
         // flip swap base
         swapBase = 1 - swapBase;
+        // adapt temperatures
+        if(adaptiveTemperatures){
+            adaptTemperatures();
+        }
+        // adapt number of replica steps (unless requested to stop during this step)
+        if(adaptiveReplicaSteps && getStatus() == SearchStatus.RUNNING){
+            adaptReplicaSteps(System.nanoTime() - start);
+        }
+        // resume resident replicas
+        if(resident){
+            resumeResidentReplicas();
+        }
+    }
+    
+    /**
+     * Launch a resident replica: the replica is registered with the phaser and submitted for execution.
+     * When the replica's run completes (normally or exceptionally) it is deregistered from the phaser.
+     * 
+     * @param r index of the replica
+     */
+    private void launchResidentReplica(int r){
+        MetropolisSearch<SolutionType> replica = replicas.get(r);
+        phaser.register();
+        replicaWorkers[r] = r;
+        residentFutures.set(r, getExecutorService().submit(() -> {
+            try {
+                replica.run();
+            } finally {
+                phaser.arriveAndDeregister();
+            }
+        }));
+    }
+    
+    /**
+     * Wait until all resident replicas have completed the current round. Replicas are launched if this is the first
+     * step of the current run. If any replica has terminated with an exception, all resident replicas are stopped.
+     * 
+     * @throws SearchException if an error occurred during execution of a resident replica
+     */
+    private void awaitResidentReplicas(){
+        // launch replicas at first step of run
+        if(residentFutures == null){
+            phaser = new Phaser(1);
+            residentFutures = new ArrayList<>(replicas.size());
+            for(int r=0; r<replicas.size(); r++){
+                residentFutures.add(null);
+                launchResidentReplica(r);
+            }
+        }
+        // wait until all replicas are paused (or have terminated)
+        phaser.arriveAndAwaitAdvance();
+        // check for errors
+        for(Future<?> f : residentFutures){
+            if(f.isDone()){
+                try {
+                    f.get();
+                } catch (InterruptedException | ExecutionException ex){
+                    // stop and release all replicas
+                    stop();
+                    stopResidentReplicas();
+                    throw new SearchException("An error occured during concurrent execution of Metropolis replicas "
+                                                + "in the parallel tempering algorithm.", ex);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Resume all resident replicas after the swap phase. Replicas that have terminated on their own account
+     * (i.e. not because the main algorithm has been requested to stop) are relaunched.
+     */
+    private void resumeResidentReplicas(){
+        // release paused replicas
+        phaser.arriveAndAwaitAdvance();
+        // relaunch terminated replicas
+        if(getStatus() == SearchStatus.RUNNING){
+            for(int r=0; r<replicas.size(); r++){
+                if(residentFutures.get(r).isDone()){
+                    incNumAcceptedMoves(replicas.get(r).getNumAcceptedMoves());
+                    incNumRejectedMoves(replicas.get(r).getNumRejectedMoves());
+                    launchResidentReplica(r);
+                }
+            }
+        }
+    }
+    
+    /**
+     * Stop and release all resident replicas (if launched), wait until they have terminated
+     * and update the total number of accepted and rejected moves.
+     * 
+     * @return first error that occurred during execution of a resident replica, if any
+     */
+    private Exception stopResidentReplicas(){
+        if(residentFutures == null){
+            return null;
+        }
+        // stop replicas and release paused replicas
+        replicas.forEach(r -> r.stop());
+        phaser.arriveAndDeregister();
+        // wait for termination
+        Exception error = null;
+        for(int r=0; r<replicas.size(); r++){
+            try {
+                residentFutures.get(r).get();
+            } catch (InterruptedException | ExecutionException ex){
+                if(error == null){
+                    error = ex;
+                }
+            }
+            // update total number of accepted/rejected moves
+            incNumAcceptedMoves(replicas.get(r).getNumAcceptedMoves());
+            incNumRejectedMoves(replicas.get(r).getNumRejectedMoves());
+        }
+        residentFutures = null;
+        phaser = null;
+        return error;
+    }
+    
+    /**
+     * When a parallel tempering search with resident replicas stops, all resident replicas are stopped and
+     * released, and the total number of accepted and rejected moves is updated when they have terminated.
+     * 
+     * @throws SearchException if an error occurred during execution of a resident replica
+     */
+    @Override
+    protected void searchStopped(){
+        // stop resident replicas
+        Exception error = stopResidentReplicas();
+        // call super
+        super.searchStopped();
+        if(error != null){
+            throw new SearchException("An error occured during concurrent execution of Metropolis replicas "
+                                        + "in the parallel tempering algorithm.", error);
+        }
+    }
+    
+    /**
+     * Executed by each worker in every step: repeatedly picks and runs the next replica that has not yet been
+     * executed in the current step, until all replicas have been executed.
+     * 
+     * @param worker index of the worker
+     */
+    private void executeReplicas(int worker){
+        int r;
+        while((r = nextReplica.getAndIncrement()) < replicas.size()){
+            replicaWorkers[r] = worker;
+            replicas.get(r).run();
+        }
+    }
+    
+    /**
+     * Adapt the number of replica steps based on the measured wall time of the last step. The exchange overhead is
+     * computed as the wall time minus the total runtime of the replicas executed by the slowest worker. The new
+     * number of replica steps is chosen so that the smoothed overhead takes up the target fraction of wall time (see
+     * {@link #computeReplicaSteps(double, double, double, long)}), where this target is scaled down if the average
+     * smoothed swap acceptance rate is below the target acceptance rate. The number of replica steps is at most
+     * doubled or halved.
+     * 
+     * @param wallTime wall time of the last step (ns)
+     */
+    private void adaptReplicaSteps(long wallTime){
+        // sum runtimes of replicas executed by each worker
+        int numWorkers = Math.min(parallelism, replicas.size());
+        long[] workerRuntimes = new long[numWorkers];
+        for(int r=0; r<replicas.size(); r++){
+            workerRuntimes[replicaWorkers[r]] += replicaRuntimes[r];
+        }
+        // measure overhead (slowest worker)
+        int slowest = 0;
+        for(int w=1; w<numWorkers; w++){
+            if(workerRuntimes[w] > workerRuntimes[slowest]){
+                slowest = w;
+            }
+        }
+        double overhead = Math.max(wallTime - workerRuntimes[slowest], 0);
+        exchangeOverhead = wallTime > 0 ? overhead / wallTime : 0.0;
+        if(workerRuntimes[slowest] <= 0){
+            return;
+        }
+        smoothedOverhead = smoothedOverhead < 0 ? overhead
+                                                : smoothedOverhead + OVERHEAD_SMOOTHING * (overhead - smoothedOverhead);
+        // scale overhead budget based on swap acceptance
+        double budget = targetExchangeOverhead;
+        if(smoothedSwapAcceptance.length > 0){
+            double acceptance = Arrays.stream(smoothedSwapAcceptance).average().getAsDouble();
+            budget *= Math.max(Math.min(acceptance / targetSwapAcceptance, 1.0), MIN_OVERHEAD_BUDGET);
+        }
+        double steps = computeReplicaSteps(smoothedOverhead, workerRuntimes[slowest], budget, replicaSteps);
+        // at most double or halve number of steps
+        steps = Math.min(Math.max(steps, replicaSteps / 2.0), replicaSteps * 2.0);
+        replicaSteps = Math.max(Math.round(steps), 1);
+    }
+    
+    /**
+     * Compute the number of replica steps for which the given exchange overhead takes up the given fraction of the
+     * wall time of a step. The compute time of a step is the runtime of the slowest worker, which executes all of its
+     * replicas one after the other, and is assumed to be proportional to the number of replica steps. The latency is
+     * therefore measured as the runtime of the slowest worker divided by the current number of replica steps, i.e.
+     * the time needed to advance each of its replicas by a single step.
+     * 
+     * @param overhead exchange overhead per step (ns)
+     * @param workerRuntime runtime of the slowest worker in the last step (ns)
+     * @param budget target fraction of wall time spent on exchange overhead
+     * @param curSteps number of replica steps performed in the last step
+     * @return number of replica steps for which the overhead takes up the target fraction of wall time
+     */
+    static double computeReplicaSteps(double overhead, double workerRuntime, double budget, long curSteps){
+        double latency = workerRuntime / curSteps;
+        // overhead / (overhead + steps * latency) = budget
+        return overhead * (1.0 - budget) / (budget * latency);
+    }
+    
+    /**
+     * Adapt the temperature ladder based on the smoothed swap acceptance rates. The logarithm of the ratio
+     * between the temperatures at every pair of adjacent positions is multiplied with a factor that exceeds
+     * one if the acceptance rate is above the target, and is below one if the acceptance rate is below the
+     * target. The resulting ratios are rescaled so that the minimum and maximum temperature are retained.
+     */
+    private void adaptTemperatures(){
+        int n = replicas.size();
+        // minimum and maximum temperature are fixed
+        if(n < 3){
+            return;
+        }
+        double[] temperatures = getTemperatures();
+        // adjust (logarithmic) gaps between adjacent temperatures
+        double[] gaps = new double[n-1];
+        double total = 0.0;
+        for(int i=0; i<n-1; i++){
+            double gap = Math.log(temperatures[i+1] / temperatures[i]);
+            gaps[i] = gap * Math.exp(ADAPTATION_RATE * (smoothedSwapAcceptance[i] - targetSwapAcceptance));
+            total += gaps[i];
+        }
+        // rescale to retain minimum and maximum temperature
+        double span = Math.log(temperatures[n-1] / temperatures[0]);
+        double t = temperatures[0];
+        for(int i=0; i<n-2; i++){
+            t *= Math.exp(gaps[i] * span / total);
+            ladder.get(i+1).setTemperature(t);
+        }
+    }
+    
+    /**
+     * Decide whether the solutions of two adjacent replicas \(R_1\) and \(R_2\) with temperatures
+     * \(T_1 \lt T_2\) should be swapped, given the evaluations \(E_1\) and \(E_2\) of their current
+     * solutions. The swap is always accepted if \(E_2\) is not worse than \(E_1\). Else, it is
+     * accepted with probability \(e^{(\frac{1}{T_1}-\frac{1}{T_2})\Delta E}\).
+     * 
+     * @param r1 coolest replica
+     * @param e1 evaluation of current solution of coolest replica
+     * @param r2 hottest replica
+     * @param e2 evaluation of current solution of hottest replica
+     * @param rnd random generator
+     * @return <code>true</code> if the solutions should be swapped
+     */
+    private boolean acceptSwap(MetropolisSearch<SolutionType> r1, Evaluation e1,
+                               MetropolisSearch<SolutionType> r2, Evaluation e2,
+                               Random rnd){
+        // compute delta
+        double delta = computeDelta(e2, e1);
+        if(delta >= 0){
+            // always swap
+            return true;
+        }
+        // compute factor based on difference in temperature
+        double b1 = 1.0 / (r1.getTemperature());
+        double b2 = 1.0 / (r2.getTemperature());
+        double diffb = b1 - b2;
+        // randomized swap (with probability p)
+        double p = Math.exp(diffb * delta);
+        return rnd.nextDouble() < p;
+    }
+    
+    /**
+     * Consider swapping the solutions of the replicas at positions <code>lo</code> and <code>lo+1</code> in the
+     * temperature ladder, given the evaluations of their current solutions, and update the swap statistics.
+     * If accepted, the swap is performed by swapping temperatures (see {@link #swapTemperatures(int, int)}).
+     * 
+     * @param lo lowest position
+     * @param coolEval evaluation of current solution of replica at lowest position
+     * @param hotEval evaluation of current solution of replica at highest position
+     * @param rnd random generator
+     * @return <code>true</code> if the solutions have been swapped
+     */
+    private boolean considerSwap(int lo, Evaluation coolEval, Evaluation hotEval, Random rnd){
+        numSwapAttempts.incrementAndGet(lo);
+        if(acceptSwap(ladder.get(lo), coolEval, ladder.get(lo+1), hotEval, rnd)){
+            numAcceptedSwaps.incrementAndGet(lo);
+            swapTemperatures(lo, lo+1);
+            return true;
+        }
+        return false;
+    }
+    
+    /**
+     * Swap the temperatures of the replicas at the given adjacent positions in the temperature ladder,
+     * and swap their positions accordingly. This has the same effect as swapping their current solutions.
+     * 
+     * @param lo lowest position
+     * @param hi highest position
+     */
+    private void swapTemperatures(int lo, int hi){
+        MetropolisSearch<SolutionType> cool = ladder.get(lo);
+        MetropolisSearch<SolutionType> hot = ladder.get(hi);
+        double coolTemp = cool.getTemperature();
+        cool.setTemperature(hot.getTemperature());
+        hot.setTemperature(coolTemp);
+        ladder.set(lo, hot);
+        ladder.set(hi, cool);
+        positions.set(replicaIndices.get(hot), lo);
+        positions.set(replicaIndices.get(cool), hi);
+    }
+    
+    /**
+     * Attempt an asynchronous exchange of the given replica with one of its neighbours in the temperature
+     * ladder, alternating between the cooler and the hotter neighbour. Called from the thread that executes
+     * the replica, between two of its steps. The exchange is only considered if the neighbour has made an offer,
+     * i.e. if it is ready for an exchange as well. Both ladder positions are then claimed without blocking; if any
+     * of them is already involved in another exchange, the attempt is abandoned. Else, the offer is consumed and
+     * the evaluation of the given replica's current solution is handed over to the neighbour, which decides about
+     * the exchange after its next step (see {@link #resolveExchange(int, ExchangeRequest)}), so that the decision
+     * is never based on an outdated evaluation of the neighbour's solution. Both positions remain claimed until
+     * then. Finally, the given replica offers to take part in a subsequent exchange.
+     * 
+     * @param r index of the replica
+     */
+    private void exchangeAsync(int r){
+        MetropolisSearch<SolutionType> replica = replicas.get(r);
+        int n = replicas.size();
+        // select neighbour position (alternately cooler and hotter)
+        int pos = positions.get(r);
+        int other = (exchangeAttempts[r]++ % 2 == 0) ? pos+1 : pos-1;
+        if(other < 0 || other >= n){
+            other = 2*pos - other;
+        }
+        if(other >= 0 && other < n){
+            MetropolisSearch<SolutionType> neighbour = ladder.get(other);
+            int nr = replicaIndices.get(neighbour);
+            // neighbour ready?
+            if(offers.get(nr) == 1){
+                int lo = Math.min(pos, other);
+                int hi = Math.max(pos, other);
+                // claim both positions (lowest first)
+                if(exchanging.compareAndSet(lo, 0, 1)){
+                    if(exchanging.compareAndSet(hi, 0, 1)){
+                        // verify that both replicas are still at the expected positions and consume offer
+                        if(ladder.get(pos) == replica && ladder.get(other) == neighbour
+                                && offers.compareAndSet(nr, 1, 0)){
+                            // hand over decision to neighbour (positions are released when resolved)
+                            requests.set(nr, new ExchangeRequest(lo, replica.getCurrentSolutionEvaluation()));
+                        } else {
+                            exchanging.set(hi, 0);
+                            exchanging.set(lo, 0);
+                        }
+                    } else {
+                        exchanging.set(lo, 0);
+                    }
+                }
+            }
+        }
+        // ready for next exchange
+        offers.set(r, 1);
+    }
+    
+    /**
+     * Decide about an exchange that has been handed over to the given replica by one of its neighbours (see
+     * {@link #exchangeAsync(int)}). Called from the thread that executes the replica, between two of its steps.
+     * The evaluation of the replica's current solution is compared with the evaluation handed over by the
+     * neighbour, using the same criterion as in synchronous mode. Finally, the claimed ladder positions
+     * of both replicas are released.
+     * 
+     * @param r index of the replica
+     * @param request exchange request handed over by the neighbour
+     */
+    private void resolveExchange(int r, ExchangeRequest request){
+        MetropolisSearch<SolutionType> replica = replicas.get(r);
+        int lo = request.getLowestPosition();
+        Evaluation own = replica.getCurrentSolutionEvaluation();
+        Evaluation other = request.getEvaluation();
+        boolean cool = (ladder.get(lo) == replica);
+        considerSwap(lo, cool ? own : other, cool ? other : own, replica.getRandom());
+        exchanging.set(lo+1, 0);
+        exchanging.set(lo, 0);
     }
     
     /**
      * When disposing a parallel tempering search, it will dispose each contained Metropolis replica and will
-     * shut down the thread pool used for concurrent execution of replicas.
+     * shut down the thread pool used for concurrent execution of replicas, unless a custom executor service
+     * has been set.
      */
     @Override
     protected void searchDisposed(){
         // dispose replicas
         replicas.forEach(r -> r.dispose());
-        // shut down thread pool
-        pool.shutdown();
+        // shut down own thread pool
+        if(ownPool){
+            pool.shutdown();
+        }
         // dispose super
         super.searchDisposed();
     }
 
     /**
      * Private listener attached to each replica, to keep track of the global best solution and aggregated number of
-     * accepted and rejected moves, and to terminate a replica when it has performed the desired number of steps.
+     * accepted and rejected moves, and to terminate a replica when it has performed the desired number of steps
+     * (or to attempt an asynchronous exchange, in asynchronous exchange mode).
      */
     private class ReplicaListener implements SearchListener<SolutionType>{
     
@@ -458,8 +1425,10 @@ public class ParallelTempering<SolutionType extends Solution> extends SingleNeig
         /**
          * Whenever a new best solution is reported inside a replica, it is verified whether this is also a global
          * improvement. If so, the main algorithm's current and best solution are both updated to refer to this new
-         * global best solution. This method is synchronized to avoid conflicting updates by replicas running in
-         * separate threads.
+         * global best solution. The comparison with the global best solution does not require any locking, so that
+         * replicas that do not find a global improvement are never blocked. Only a replica that has published a
+         * global improvement updates (and copies) the solutions of the main algorithm, while holding a lock, and
+         * only if it has not been superseded by another improvement in the meantime.
          * 
          * @param replica Metropolis replica that has found a (local) best solution
          * @param newBestSolution new best solution found in replica
@@ -467,30 +1436,108 @@ public class ParallelTempering<SolutionType extends Solution> extends SingleNeig
          * @param newBestSolutionValidation validation of new best solution
          */
         @Override
-        public synchronized void newBestSolution(Search<? extends SolutionType> replica,
-                                                 SolutionType newBestSolution,
-                                                 Evaluation newBestSolutionEvaluation,
-                                                 Validation newBestSolutionValidation) {
-            // update main algorithm's current and best solution
-            updateCurrentAndBestSolution(newBestSolution, newBestSolutionEvaluation, newBestSolutionValidation);
+        public void newBestSolution(Search<? extends SolutionType> replica,
+                                    SolutionType newBestSolution,
+                                    Evaluation newBestSolutionEvaluation,
+                                    Validation newBestSolutionValidation) {
+            // lock-free comparison with global best solution
+            BestSolutionHolder.Snapshot<SolutionType> snapshot = globalBest.offer(
+                    newBestSolution, newBestSolutionEvaluation, newBestSolutionValidation
+            );
+            if(snapshot != null){
+                // global improvement: update main algorithm's current and best solution, unless superseded
+                synchronized(this){
+                    if(globalBest.isCurrent(snapshot)){
+                        updateCurrentAndBestSolution(snapshot.getSolution(),
+                                                     snapshot.getEvaluation(),
+                                                     snapshot.getValidation());
+                    }
+                }
+            }
         }
 
+        /**
+         * When a replica has started, it is verified that the main algorithm has not yet been requested
+         * to stop in the meantime. Else, the replica is stopped before executing any search steps. The
+         * start time of the replica is registered to measure its runtime.
+         * 
+         * @param replica Metropolis replica which is starting
+         */
+        @Override
+        public void searchStarted(Search<? extends SolutionType> replica) {
+            if (getStatus() == SearchStatus.TERMINATING) {
+                replica.stop();
+            }
+            int r = replicaIndices.get(replica);
+            replicaStartTimes[r] = System.nanoTime();
+            roundStartSteps[r] = 0;
+        }
+        
         /**
          * Whenever a replica has completed a step it is verified whether the desired number of steps have been
-         * performed and, if so, the replica is stopped. This approach is favoured here over attaching a generic
-         * maximum steps stop criterion (see {@link MaxSteps}) to each replica because it involves less overhead
-         * (the stop criterion checker is never activated).
+         * performed and, if so, the replica is stopped. In asynchronous exchange mode, the replica instead decides
+         * about any exchange that has been handed over to it by a neighbour, and attempts an exchange with one of its
+         * neighbours every time it has performed the desired number of steps. This approach is favoured
+         * here over attaching a generic maximum steps stop criterion (see {@link MaxSteps}) to each replica because it
+         * involves less overhead (the stop criterion checker is never activated).
          * 
          * @param replica Metropolis replica that completed a search step
          * @param numSteps number of steps completed so far
          */
         @Override
         public void stepCompleted(Search<? extends SolutionType> replica, long numSteps) {
-            if (numSteps >= replicaSteps){
+            if(asyncExchange){
+                int r = replicaIndices.get(replica);
+                // decide about exchange handed over by neighbour, if any
+                ExchangeRequest request = requests.getAndSet(r, null);
+                if(request != null){
+                    resolveExchange(r, request);
+                }
+                if(numSteps % replicaSteps == 0){
+                    exchangeAsync(r);
+                }
+            } else if(residentReplicas){
+                int r = replicaIndices.get(replica);
+                if(numSteps - roundStartSteps[r] >= replicaSteps){
+                    replicaRuntimes[r] = System.nanoTime() - replicaStartTimes[r];
+                    // pause until all replicas have completed the round and swaps have been performed
+                    phaser.arriveAndAwaitAdvance();
+                    phaser.arriveAndAwaitAdvance();
+                    // start next round
+                    roundStartSteps[r] = numSteps;
+                    replicaStartTimes[r] = System.nanoTime();
+                }
+            } else if (numSteps >= replicaSteps){
+                int r = replicaIndices.get(replica);
+                replicaRuntimes[r] = System.nanoTime() - replicaStartTimes[r];
                 replica.stop();
             }
         }
         
     }
+    
+    /**
+     * Exchange handed over to a replica in asynchronous exchange mode: the lowest of both claimed ladder positions
+     * and the evaluation of the current solution of the replica that requested the exchange.
+     */
+    private static final class ExchangeRequest {
+        
+        private final int lo;
+        private final Evaluation evaluation;
+        
+        private ExchangeRequest(int lo, Evaluation evaluation){
+            this.lo = lo;
+            this.evaluation = evaluation;
+        }
+        
+        private int getLowestPosition(){
+            return lo;
+        }
+        
+        private Evaluation getEvaluation(){
+            return evaluation;
+        }
+        
+    }
 
 }
@@ -72,8 +72,8 @@ public class SteepestDescent<SolutionType extends Solution> extends SingleNeighb
     protected void searchStep() {
         // get best valid move with positive delta
         Move<? super SolutionType> move = getBestMove(
-                                            getNeighbourhood().getAllMoves(getCurrentSolution()),   // generate all moves
-                                            true);                                                  // only improvements
+                                            getNeighbourhood().getMoveIterator(getCurrentSolution()),   // generate all moves
+                                            true);                                                     // only improvements
         // found improvement ?
         if(move != null){
             // accept move
@@ -29,6 +29,19 @@ import org.jamesframework.core.search.Search;
  * When all solutions have been generated and evaluated, the search stops. If the search is stopped before that time, and
  * subsequently restarted, it will <b>not</b> revisited the part of the solution space that had already been explored before,
  * given that its solution iterator has not been modified externally in between both runs.
+ * <p>
+ * An exhaustive search is inherently sequential, but large solution spaces can be partitioned by creating several
+ * searches, each with a solution iterator that generates a disjoint part of the solution space, and retaining the
+ * best of all solutions found by these searches. For subset selection problems, such a deterministic partitioning
+ * into rank ranges is provided by {@link org.jamesframework.core.subset.algo.exh.SubsetSolutionIterator#shard
+ * SubsetSolutionIterator.shard(...)}. A parallel exhaustive search for subset selection problems that applies
+ * such partitioning on a fork-join pool is provided by {@link org.jamesframework.core.subset.algo.exh.ParallelExhaustiveSearch
+ * ParallelExhaustiveSearch}.
+ * <p>
+ * Every generated solution is fully validated and evaluated. For subset selection problems, a
+ * {@link org.jamesframework.core.subset.algo.exh.SubsetExhaustiveSearch SubsetExhaustiveSearch} may be used
+ * instead, which transforms a single solution into each subsequent solution by applying a move that is
+ * validated and evaluated using the problem's delta validation and evaluation.
  * 
  * @param <SolutionType> solution type of the problems that may be solved using this search, required to extend {@link Solution}
  * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
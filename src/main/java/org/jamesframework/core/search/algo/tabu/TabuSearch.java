@@ -199,7 +199,7 @@ public class TabuSearch<SolutionType extends Solution> extends SingleNeighbourho
         // get best valid, non tabu move
         Move<? super SolutionType> move = getBestMove(
             // inspect all moves
-            getNeighbourhood().getAllMoves(getCurrentSolution()),
+            getNeighbourhood().getMoveIterator(getCurrentSolution()),
             // not necessarily an improvement
             false,
             // filter tabu moves (with aspiration criterion)
@@ -99,8 +99,8 @@ public class VariableNeighbourhoodDescent<SolutionType extends Solution> extends
             // use k-th neighbourhood to get best valid move with positive delta, if any
             Neighbourhood<? super SolutionType> neigh = getNeighbourhoods().get(k);
             Move<? super SolutionType> move = getBestMove(
-                                                neigh.getAllMoves(getCurrentSolution()),    // generate all moves
-                                                true);                                      // only improvements
+                                                neigh.getMoveIterator(getCurrentSolution()),    // generate all moves
+                                                true);                                         // only improvements
             // found improvement ?
             if(move != null){
                 // improvement: accept move and reset k
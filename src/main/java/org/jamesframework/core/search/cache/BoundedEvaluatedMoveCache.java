@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.search.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.jamesframework.core.problems.constraints.validations.Validation;
+import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.search.neigh.Move;
+
+/**
+ * A bounded move cache stores up to a given number of evaluations and (separately) validations. When the cache
+ * is full, the least recently used value is discarded to make room for a new value. Moves are used as keys, so
+ * cache hits rely on the implementation of {@link Object#equals(Object)} and {@link Object#hashCode()} in the
+ * applied moves. This cache is useful for searches that repeatedly inspect the same moves within a single step,
+ * e.g. a tabu search where the aspiration criterion evaluates tabu moves before the best move is selected.
+ * <p>
+ * The number of cache hits and misses is tracked (see {@link #getNumHits()} and {@link #getNumMisses()}) to
+ * help choosing an appropriate capacity. These counters are not reset when the cache is cleared, but only
+ * when calling {@link #resetStatistics()}.
+ * <p>
+ * Note that this cache is not thread-safe.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class BoundedEvaluatedMoveCache implements EvaluatedMoveCache {
+
+    // maximum number of cached evaluations and validations
+    private final int capacity;
+
+    // cached move evaluations and validations (in access order)
+    private final Map<Move<?>, Evaluation> evaluations;
+    private final Map<Move<?>, Validation> validations;
+
+    // number of cache hits and misses
+    private long numHits;
+    private long numMisses;
+
+    /**
+     * Create an empty bounded evaluated move cache that stores up to the given number
+     * of evaluations and up to the given number of validations.
+     *
+     * @param capacity maximum number of cached evaluations and validations (&gt; 0)
+     * @throws IllegalArgumentException if <code>capacity</code> is not strictly positive
+     */
+    public BoundedEvaluatedMoveCache(int capacity){
+        if(capacity <= 0){
+            throw new IllegalArgumentException("Error while creating bounded evaluated move cache: capacity should be strictly positive.");
+        }
+        this.capacity = capacity;
+        evaluations = createLRUMap();
+        validations = createLRUMap();
+        resetStatistics();
+    }
+
+    /**
+     * Create a map in access order that discards the least recently used
+     * entry when more entries than the capacity of this cache are stored.
+     *
+     * @param <V> type of cached values
+     * @return empty LRU map
+     */
+    private <V> Map<Move<?>, V> createLRUMap(){
+        return new LinkedHashMap<Move<?>, V>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Move<?>, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Get the maximum number of cached evaluations and validations.
+     *
+     * @return capacity
+     */
+    public int getCapacity(){
+        return capacity;
+    }
+
+    /**
+     * Cache the given evaluation. If the cache is full, the least recently used evaluation is discarded.
+     *
+     * @param move move applied to the current solution
+     * @param evaluation evaluation of obtained neighbour
+     */
+    @Override
+    public final void cacheMoveEvaluation(Move<?> move, Evaluation evaluation) {
+        evaluations.put(move, evaluation);
+    }
+
+    /**
+     * Retrieve a cached evaluation, if still available.
+     *
+     * @param move move applied to the current solution
+     * @return cached evaluation of the obtained neighbour, if available, <code>null</code> if not
+     */
+    @Override
+    public final Evaluation getCachedMoveEvaluation(Move<?> move) {
+        return registerRequest(evaluations.get(move));
+    }
+
+    /**
+     * Cache the given validation. If the cache is full, the least recently used validation is discarded.
+     *
+     * @param move move applied to the current solution
+     * @param validation validation of obtained neighbour
+     */
+    @Override
+    public final void cacheMoveValidation(Move<?> move, Validation validation) {
+        validations.put(move, validation);
+    }
+
+    /**
+     * Retrieve a cached validation, if still available.
+     *
+     * @param move move applied to the current solution
+     * @return cached validation of the obtained neighbour, if available, <code>null</code> if not
+     */
+    @Override
+    public final Validation getCachedMoveValidation(Move<?> move) {
+        return registerRequest(validations.get(move));
+    }
+
+    /**
+     * Update hit and miss counters for a cache request.
+     *
+     * @param <V> type of requested value
+     * @param value retrieved value, <code>null</code> in case of a cache miss
+     * @return the given value
+     */
+    private <V> V registerRequest(V value){
+        if(value == null){
+            numMisses++;
+        } else {
+            numHits++;
+        }
+        return value;
+    }
+
+    /**
+     * Clear all cached values. Does not reset the hit and miss counters.
+     */
+    @Override
+    public final void clear() {
+        evaluations.clear();
+        validations.clear();
+    }
+
+    /**
+     * Get the number of requests (for both evaluations and validations) for which
+     * a cached value was returned, since creation or since the last call of
+     * {@link #resetStatistics()}.
+     *
+     * @return number of cache hits
+     */
+    public long getNumHits(){
+        return numHits;
+    }
+
+    /**
+     * Get the number of requests (for both evaluations and validations) for which
+     * no cached value was available, since creation or since the last call of
+     * {@link #resetStatistics()}.
+     *
+     * @return number of cache misses
+     */
+    public long getNumMisses(){
+        return numMisses;
+    }
+
+    /**
+     * Reset the number of cache hits and misses to zero.
+     */
+    public final void resetStatistics(){
+        numHits = 0;
+        numMisses = 0;
+    }
+
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.search.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.jamesframework.core.search.neigh.Move;
+
+/**
+ * <p>
+ * A delta cache stores the deltas of moves, i.e. the difference in evaluation between the neighbour obtained by
+ * applying a move to the current solution and the current solution itself, as computed by a neighbourhood search.
+ * In contrast to an {@link EvaluatedMoveCache}, which is cleared whenever the current solution is modified, a
+ * dependency-aware delta cache survives accepted moves: when a move is applied to the current solution, only
+ * those cached deltas that are declared to be affected by this move are discarded (see {@link MoveDependencies}).
+ * All other deltas can be reused in subsequent steps, so that the corresponding moves do not have to be evaluated
+ * again. This is particularly useful for steepest descent style searches applied to problems with a separable
+ * objective, where most deltas are unaffected by a move that touches only a few items. The cache is cleared when
+ * the current solution is replaced in any other way than by applying a move.
+ * </p>
+ * <p>
+ * Cached moves are indexed by their dependency keys, if available (see {@link MoveDependencies#getDependencyKeys(Move)}),
+ * so that only the cached moves sharing a key with an applied move have to be checked for invalidation. Else, an
+ * applied move is compared with all cached moves.
+ * </p>
+ * <p>
+ * The cache stores up to a maximum number of deltas (by default {@value #DEFAULT_CAPACITY}); when the cache is full,
+ * the least recently used delta is discarded. The number of cache hits and misses is tracked (see {@link #getNumHits()}
+ * and {@link #getNumMisses()}).
+ * </p>
+ * <p>
+ * Note that this cache is not thread-safe.
+ * </p>
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class DependencyAwareDeltaCache {
+
+    /**
+     * Default maximum number of cached deltas.
+     */
+    public static final int DEFAULT_CAPACITY = 10000;
+
+    // declared dependencies between moves
+    private final MoveDependencies dependencies;
+
+    // maximum number of cached deltas
+    private final int capacity;
+
+    // cached deltas (in access order)
+    private final Map<Move<?>, Double> deltas;
+    // cached moves indexed by dependency key
+    private final Map<Object, Set<Move<?>>> index;
+    // cached moves without dependency keys
+    private final Set<Move<?>> unindexed;
+
+    // number of cache hits and misses
+    private long numHits;
+    private long numMisses;
+
+    /**
+     * Create a delta cache with the given move dependencies, storing up to {@value #DEFAULT_CAPACITY} deltas.
+     *
+     * @param dependencies declared dependencies between moves
+     * @throws NullPointerException if <code>dependencies</code> is <code>null</code>
+     */
+    public DependencyAwareDeltaCache(MoveDependencies dependencies){
+        this(dependencies, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create a delta cache with the given move dependencies, storing up to the given number of deltas.
+     *
+     * @param dependencies declared dependencies between moves
+     * @param capacity maximum number of cached deltas (&gt; 0)
+     * @throws NullPointerException if <code>dependencies</code> is <code>null</code>
+     * @throws IllegalArgumentException if <code>capacity</code> is not strictly positive
+     */
+    public DependencyAwareDeltaCache(MoveDependencies dependencies, int capacity){
+        if(dependencies == null){
+            throw new NullPointerException("Error while creating dependency-aware delta cache: move dependencies can not be null.");
+        }
+        if(capacity <= 0){
+            throw new IllegalArgumentException("Error while creating dependency-aware delta cache: capacity should be strictly positive.");
+        }
+        this.dependencies = dependencies;
+        this.capacity = capacity;
+        deltas = new LinkedHashMap<Move<?>, Double>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Move<?>, Double> eldest) {
+                if(size() > DependencyAwareDeltaCache.this.capacity){
+                    removeFromIndex(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+        index = new HashMap<>();
+        unindexed = new HashSet<>();
+        numHits = 0;
+        numMisses = 0;
+    }
+
+    /**
+     * Get the declared move dependencies.
+     *
+     * @return move dependencies
+     */
+    public MoveDependencies getDependencies(){
+        return dependencies;
+    }
+
+    /**
+     * Get the maximum number of cached deltas.
+     *
+     * @return capacity
+     */
+    public int getCapacity(){
+        return capacity;
+    }
+
+    /**
+     * Get the number of currently cached deltas.
+     *
+     * @return number of cached deltas
+     */
+    public int size(){
+        return deltas.size();
+    }
+
+    /**
+     * Cache the delta of the given move with respect to the current solution.
+     *
+     * @param move move applied to the current solution
+     * @param delta delta of the move
+     */
+    public void cacheDelta(Move<?> move, double delta){
+        if(deltas.put(move, delta) == null){
+            addToIndex(move);
+        }
+    }
+
+    /**
+     * Retrieve the cached delta of the given move, if available.
+     *
+     * @param move move applied to the current solution
+     * @return cached delta, <code>null</code> if not available
+     */
+    public Double getCachedDelta(Move<?> move){
+        Double delta = deltas.get(move);
+        if(delta == null){
+            numMisses++;
+        } else {
+            numHits++;
+        }
+        return delta;
+    }
+
+    /**
+     * Inform the cache that the given move has been applied to the current solution. The delta of this move
+     * and all deltas that are declared to be affected by the move (see {@link MoveDependencies}) are discarded.
+     * If the applied move has dependency keys, only cached moves that share a key with the applied move or that
+     * have no keys are inspected. Else, all cached moves are inspected.
+     *
+     * @param move move that has been applied to the current solution
+     */
+    public void moveApplied(Move<?> move){
+        removeDelta(move);
+        // collect candidates
+        Collection<?> keys = dependencies.getDependencyKeys(move);
+        List<Move<?>> candidates;
+        if(keys == null){
+            candidates = new ArrayList<>(deltas.keySet());
+        } else {
+            candidates = new ArrayList<>(unindexed);
+            for(Object key : keys){
+                Set<Move<?>> moves = index.get(key);
+                if(moves != null){
+                    candidates.addAll(moves);
+                }
+            }
+        }
+        // discard invalidated deltas (candidates may occur more than once)
+        for(Move<?> cached : candidates){
+            if(deltas.containsKey(cached) && dependencies.invalidates(move, cached)){
+                removeDelta(cached);
+            }
+        }
+    }
+
+    /**
+     * Clear all cached deltas. Does not reset the hit and miss counters.
+     */
+    public void clear(){
+        deltas.clear();
+        index.clear();
+        unindexed.clear();
+    }
+
+    /**
+     * Discard the cached delta of the given move, if any.
+     *
+     * @param move cached move
+     */
+    private void removeDelta(Move<?> move){
+        if(deltas.remove(move) != null){
+            removeFromIndex(move);
+        }
+    }
+
+    /**
+     * Register a newly cached move in the index.
+     *
+     * @param move cached move
+     */
+    private void addToIndex(Move<?> move){
+        Collection<?> keys = dependencies.getDependencyKeys(move);
+        if(keys == null){
+            unindexed.add(move);
+        } else {
+            for(Object key : keys){
+                index.computeIfAbsent(key, k -> new HashSet<>()).add(move);
+            }
+        }
+    }
+
+    /**
+     * Remove a discarded move from the index.
+     *
+     * @param move discarded move
+     */
+    private void removeFromIndex(Move<?> move){
+        Collection<?> keys = dependencies.getDependencyKeys(move);
+        if(keys == null){
+            unindexed.remove(move);
+        } else {
+            for(Object key : keys){
+                Set<Move<?>> moves = index.get(key);
+                if(moves != null){
+                    moves.remove(move);
+                    if(moves.isEmpty()){
+                        index.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the number of requests for which a cached delta was returned.
+     *
+     * @return number of cache hits
+     */
+    public long getNumHits(){
+        return numHits;
+    }
+
+    /**
+     * Get the number of requests for which no cached delta was available.
+     *
+     * @return number of cache misses
+     */
+    public long getNumMisses(){
+        return numMisses;
+    }
+
+}
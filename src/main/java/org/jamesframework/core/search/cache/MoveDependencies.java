@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.search.cache;
+
+import java.util.Collection;
+import org.jamesframework.core.search.neigh.Move;
+
+/**
+ * Declares dependencies between moves with respect to their delta, i.e. the difference in evaluation between the
+ * neighbour obtained by applying a move to the current solution and the current solution itself. Applying a move to
+ * the current solution may change the delta of other moves, but for many objectives, such as separable objectives,
+ * most deltas are not affected. For example, when the value of a subset is the sum of independent contributions of
+ * the selected items, the delta of a swap move only depends on the swapped items and is not affected by any other
+ * move, as long as both moves remain applicable.
+ * <p>
+ * This interface is typically implemented by an objective, or by a dedicated object that knows the structure of
+ * the objective, and is used by a {@link DependencyAwareDeltaCache} to determine which cached deltas remain valid
+ * after a move has been accepted. Implementations should be conservative: if in doubt, a move should be considered
+ * to affect the delta of another move. Note that the declaration should cover the entire evaluation, including
+ * penalties assigned by penalizing constraints, if any.
+ * <p>
+ * Optionally, dependency keys can be assigned to moves (see {@link #getDependencyKeys(Move)}), e.g. the items touched
+ * by a move, so that a delta cache only has to inspect those cached moves that share a key with an applied move,
+ * instead of all cached moves.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+@FunctionalInterface
+public interface MoveDependencies {
+
+    /**
+     * Check whether applying <code>appliedMove</code> to the current solution may change the delta of
+     * <code>cachedMove</code>, or make this move inapplicable to the modified current solution. Both
+     * moves are applicable to the current solution before <code>appliedMove</code> is applied.
+     *
+     * @param appliedMove move that has been applied to the current solution
+     * @param cachedMove move of which the delta has been cached
+     * @return <code>true</code> if the cached delta is no longer valid after applying <code>appliedMove</code>
+     */
+    public boolean invalidates(Move<?> appliedMove, Move<?> cachedMove);
+
+    /**
+     * Get the dependency keys of the given move. If keys are returned, a move may only invalidate the delta of
+     * another move (see {@link #invalidates(Move, Move)}) if both moves have a common key. Keys are compared using
+     * {@link Object#equals(Object)} and {@link Object#hashCode()}. The default implementation returns
+     * <code>null</code>, which indicates that no keys are available for the given move, so that it has to be
+     * compared with all other moves.
+     *
+     * @param move move
+     * @return dependency keys of the move, <code>null</code> if not available
+     */
+    default public Collection<?> getDependencyKeys(Move<?> move){
+        return null;
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package org.jamesframework.core.search.neigh;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
@@ -65,4 +66,24 @@ public interface Neighbourhood<SolutionType extends Solution> {
      */
     public List<? extends Move<? super SolutionType>> getAllMoves(SolutionType solution);
     
+    /**
+     * Get an iterator over all moves that can be applied to the given solution to transform it into each of
+     * the neighbouring solutions contained in this specific neighbourhood. The iterator generates the same
+     * moves as {@link #getAllMoves(Solution)}, in the same order, but implementations may create the moves
+     * lazily so that the entire neighbourhood never has to be stored in memory at once. This is particularly
+     * useful for searches that inspect each move only once, e.g. to find the best neighbour. The returned
+     * iterator may not have any elements, in case the given solution does not have any neighbours.
+     * <p>
+     * The iterator is not affected by modifications of the given solution that occur after it has been created,
+     * e.g. when moves are temporarily applied to evaluate them. Removal of moves is not required to be supported.
+     * The default implementation simply iterates over the list returned by {@link #getAllMoves(Solution)}.
+     * 
+     * @param solution solution to which the moves are to be applied
+     * @return iterator over all moves for this neighbourhood, may be empty if
+     *         the given solution does not have any neighbours
+     */
+    default public Iterator<? extends Move<? super SolutionType>> getMoveIterator(SolutionType solution){
+        return getAllMoves(solution).iterator();
+    }
+    
 }
@@ -0,0 +1,723 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import org.jamesframework.core.exceptions.SolutionModificationException;
+
+/**
+ * <p>
+ * Subset solution that stores the selection as a bit set. Every ID is mapped to a dense integer index in
+ * [0, n-1], where n is the total number of IDs, and membership of the selection is tracked with one bit per
+ * ID packed into <code>long</code> words. Selecting and deselecting an ID runs in constant time without boxing
+ * and without rehashing. The mapping from IDs to indices is immutable and shared between a solution and all of its
+ * copies.
+ * </p>
+ * <p>
+ * The words are grouped in chunks which are shared between a solution and its copies in a copy-on-write
+ * fashion. Creating a copy (see {@link #copy()}) takes constant time, as the copy simply refers to the same
+ * chunks as the original solution. When either solution is subsequently modified, only the chunk containing
+ * the (de)selected ID is duplicated, together with the table of references to the chunks. This makes it cheap
+ * to take frequent snapshots of a solution, e.g. when a search registers a new best solution. Copying does not
+ * modify the original solution: the copy only marks the table of chunks as shared (through a volatile flag held
+ * by the table), and each solution decides from this flag and from the chunks it owns itself whether a chunk has
+ * to be duplicated before it is modified.
+ * </p>
+ * <p>
+ * The sets returned by {@link #getSelectedIDs()}, {@link #getUnselectedIDs()} and {@link #getAllIDs()} are
+ * unmodifiable views backed by the bit set, so that they can be used by any objective, constraint or neighbourhood
+ * designed for a regular {@link SubsetSolution}. These views iterate over the IDs in the same order in which they
+ * were encountered when iterating over the set of all IDs given at construction. No comparator is used to order the
+ * IDs so that {@link #getOrderOfIDs()} always returns <code>null</code>; to obtain sorted views, pass a sorted set
+ * of all IDs to the constructor.
+ * </p>
+ * <p>
+ * A bit set subset solution is only considered equal to other bit set subset solutions with exactly the same
+ * selected and unselected IDs (see {@link SubsetSolution#equals(Object)}).
+ * </p>
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class BitSetSubsetSolution extends SubsetSolution {
+
+    // number of bits per word
+    private static final int WORD_SIZE = 64;
+    // number of words per chunk
+    private static final int CHUNK_SIZE = 16;
+
+    // dense index of all IDs (shared with copies)
+    private final IDIndex index;
+    // bit set of selected IDs: chunks of words (possibly shared with copies)
+    private long[][] chunks;
+    // table holding the chunks (possibly shared with copies)
+    private ChunkTable table;
+    // indicates which chunks are exclusively owned by this solution
+    private boolean[] owned;
+    // number of selected IDs
+    private int numSelected;
+    // fingerprint of selected IDs
+    private long fingerprint;
+
+    // unmodifiable views
+    private final Set<Integer> selectedView, unselectedView, allView;
+
+    /**
+     * Creates a new bit set subset solution given the set of all IDs, each corresponding to an underlying entity,
+     * from which a subset is to be selected. Initially, no IDs are selected. Note: IDs are copied to the internal
+     * index of the subset solution; no reference is stored to the set given at construction.
+     *
+     * @param allIDs set of all IDs from which a subset is to be selected
+     * @throws NullPointerException if <code>allIDs</code> is <code>null</code>
+     *                              or contains any <code>null</code> elements
+     * @throws IllegalArgumentException if <code>allIDs</code> is empty
+     */
+    public BitSetSubsetSolution(Set<Integer> allIDs){
+        this(allIDs, Collections.emptySet());
+    }
+
+    /**
+     * Creates a new bit set subset solution given the set of all IDs, and the set of currently selected IDs.
+     * Note: IDs are copied to the internal data structures of the subset solution; no reference is stored to
+     * the sets given at construction.
+     *
+     * @param allIDs set of all IDs from which a subset is to be selected
+     * @param selectedIDs set of currently selected IDs (subset of all IDs)
+     * @throws NullPointerException if <code>allIDs</code> or <code>selectedIDs</code> are <code>null</code>
+     *                              or contain any <code>null</code> elements
+     * @throws IllegalArgumentException if <code>allIDs</code> is empty or <code>selectedIDs</code>
+     *                                  is not a subset of <code>allIDs</code>
+     */
+    public BitSetSubsetSolution(Set<Integer> allIDs, Set<Integer> selectedIDs){
+        // check input
+        if(allIDs == null){
+            throw new NullPointerException("Error when creating subset solution: set of all IDs can not be null.");
+        }
+        if(allIDs.stream().anyMatch(Objects::isNull)){
+            throw new NullPointerException("Error when creating subset solution: set of all IDs can not contain any null elements.");
+        }
+        if(allIDs.isEmpty()){
+            throw new IllegalArgumentException("Error when creating subset solution: set of all IDs can not be empty.");
+        }
+        if(selectedIDs == null){
+            throw new NullPointerException("Error when creating subset solution: set of selected IDs can not be null.");
+        }
+        if(selectedIDs.stream().anyMatch(Objects::isNull)){
+            throw new NullPointerException("Error when creating subset solution: set of selected IDs can not contain any null elements.");
+        }
+        // create index and empty bit set
+        index = new IDIndex(allIDs);
+        initChunks();
+        numSelected = 0;
+        // select specified IDs
+        for(int ID : selectedIDs){
+            int i = index.indexOf(ID);
+            if(i < 0){
+                throw new IllegalArgumentException("Error while creating subset solution: "
+                                + "set of selected IDs should be a subset of set of all IDs.");
+            }
+            if(!isSet(i)){
+                setBit(i);
+                numSelected++;
+                fingerprint ^= fingerprint(ID);
+            }
+        }
+        // create views
+        selectedView = new View(View.SELECTED);
+        unselectedView = new View(View.UNSELECTED);
+        allView = new View(View.ALL);
+    }
+
+    /**
+     * Copy constructor. Creates a new bit set subset solution which is identical to the given solution.
+     * The immutable index of IDs is shared with the given solution, as well as the chunks of the bit set
+     * which are copied on write by either solution. The given solution itself is not modified; only the
+     * table of chunks is marked as shared. Runs in constant time.
+     *
+     * @param sol solution to copy
+     */
+    public BitSetSubsetSolution(BitSetSubsetSolution sol){
+        index = sol.index;
+        // share chunks (copy on write)
+        table = sol.table;
+        chunks = table.chunks;
+        owned = null;
+        table.markShared();
+        numSelected = sol.numSelected;
+        fingerprint = sol.fingerprint;
+        // create views
+        selectedView = new View(View.SELECTED);
+        unselectedView = new View(View.UNSELECTED);
+        allView = new View(View.ALL);
+    }
+
+    /**
+     * Create a copy of this bit set subset solution, obtained through the copy constructor.
+     * Runs in constant time; the chunks of the bit set are copied on write.
+     *
+     * @return copy of this bit set subset solution
+     */
+    @Override
+    public BitSetSubsetSolution copy(){
+        return new BitSetSubsetSolution(this);
+    }
+
+    /**
+     * Select the given ID. If there is no entity with the given ID, a {@link SolutionModificationException} is thrown.
+     * If the ID is currently already selected, the subset solution is not modified and false is returned. Finally,
+     * true is returned if the ID has been successfully selected. Runs in constant time.
+     *
+     * @param ID ID to be selected
+     * @throws SolutionModificationException if there is no entity with this ID
+     * @return true if the ID has been successfully selected, false if it was already selected
+     */
+    @Override
+    public boolean select(int ID){
+        int i = index.indexOf(ID);
+        // verify that the ID occurs
+        if(i < 0){
+            throw new SolutionModificationException("Error while modifying subset solution: "
+                                + "unable to select ID " +  ID + " (no entity with this ID).", this);
+        }
+        // verify that ID is currently not selected
+        if(isSet(i)){
+            return false;
+        }
+        // select ID
+        setBit(i);
+        numSelected++;
+        fingerprint ^= fingerprint(ID);
+        return true;
+    }
+
+    /**
+     * Deselect the given ID. If there is no entity with the given ID, a {@link SolutionModificationException} is thrown.
+     * If the ID is currently not selected, the subset solution is not modified and false is returned. Finally,
+     * true is returned if the ID has been successfully deselected. Runs in constant time.
+     *
+     * @param ID ID to be deselected
+     * @throws SolutionModificationException if there is no entity with this ID
+     * @return true if the ID has been successfully deselected, false if it is currently not selected
+     */
+    @Override
+    public boolean deselect(int ID){
+        int i = index.indexOf(ID);
+        // verify that the ID occurs
+        if(i < 0){
+            throw new SolutionModificationException("Error while modifying subset solution: "
+                                + "unable to deselect ID " +  ID + " (no entity with this ID).", this);
+        }
+        // verify that ID is currently selected
+        if(!isSet(i)){
+            return false;
+        }
+        // deselect ID
+        clearBit(i);
+        numSelected--;
+        fingerprint ^= fingerprint(ID);
+        return true;
+    }
+
+    /**
+     * Select all IDs. Runs in time linear in the number of words of the bit set.
+     */
+    @Override
+    public void selectAll(){
+        int n = index.size();
+        initChunks();
+        for(long[] chunk : chunks){
+            Arrays.fill(chunk, -1L);
+        }
+        // clear unused bits in last word
+        int r = n % WORD_SIZE;
+        if(r != 0){
+            long[] last = chunks[chunks.length-1];
+            last[last.length-1] = (1L << r) - 1;
+        }
+        numSelected = n;
+        fingerprint = index.getFingerprint();
+    }
+
+    /**
+     * Deselect all IDs. Runs in time linear in the number of words of the bit set.
+     */
+    @Override
+    public void deselectAll(){
+        initChunks();
+        numSelected = 0;
+        fingerprint = 0;
+    }
+
+    /**
+     * Returns an unmodifiable view of the set of currently selected IDs, backed by the bit set.
+     * Any attempt to modify the returned set will result in an {@link UnsupportedOperationException}.
+     *
+     * @return unmodifiable view of currently selected IDs
+     */
+    @Override
+    public Set<Integer> getSelectedIDs(){
+        return selectedView;
+    }
+
+    /**
+     * Returns an unmodifiable view of the set of currently non selected IDs, backed by the bit set.
+     * Any attempt to modify the returned set will result in an {@link UnsupportedOperationException}.
+     *
+     * @return unmodifiable view of currently non selected IDs
+     */
+    @Override
+    public Set<Integer> getUnselectedIDs(){
+        return unselectedView;
+    }
+
+    /**
+     * Returns an unmodifiable view of the set of all IDs. Any attempt to modify the returned
+     * set will result in an {@link UnsupportedOperationException}.
+     *
+     * @return unmodifiable view of all IDs
+     */
+    @Override
+    public Set<Integer> getAllIDs(){
+        return allView;
+    }
+
+    /**
+     * Sample a random ID from the set of currently selected IDs (uniformly distributed). If at least one out of
+     * every eight IDs is selected, random positions are drawn until a selected ID is found, which takes a constant
+     * expected number of attempts. Else, the selected ID at a random rank is located by counting bits, in time
+     * linear in the number of words of the bit set.
+     *
+     * @param rnd source of randomness
+     * @return random selected ID
+     * @throws NoSuchElementException if no IDs are currently selected
+     */
+    @Override
+    public int getRandomSelectedID(Random rnd){
+        return index.getID(randomBit(true, numSelected, rnd));
+    }
+
+    /**
+     * Sample a random ID from the set of currently unselected IDs (uniformly distributed). If at least one out of
+     * every eight IDs is unselected, random positions are drawn until an unselected ID is found, which takes a
+     * constant expected number of attempts. Else, the unselected ID at a random rank is located by counting bits,
+     * in time linear in the number of words of the bit set.
+     *
+     * @param rnd source of randomness
+     * @return random unselected ID
+     * @throws NoSuchElementException if all IDs are currently selected
+     */
+    @Override
+    public int getRandomUnselectedID(Random rnd){
+        return index.getID(randomBit(false, index.size() - numSelected, rnd));
+    }
+
+    /**
+     * Get the number of IDs which are currently selected. Runs in constant time.
+     *
+     * @return number of selected IDs
+     */
+    @Override
+    public int getNumSelectedIDs(){
+        return numSelected;
+    }
+
+    /**
+     * Get the number of IDs which are currently unselected. Runs in constant time.
+     *
+     * @return number of unselected IDs
+     */
+    @Override
+    public int getNumUnselectedIDs(){
+        return index.size() - numSelected;
+    }
+
+    /**
+     * Get the total number of IDs. Runs in constant time.
+     *
+     * @return total number of IDs
+     */
+    @Override
+    public int getTotalNumIDs(){
+        return index.size();
+    }
+
+    /**
+     * Checks whether the given other object represents the same subset solution. In addition to the general
+     * contract from {@link SubsetSolution#equals(Object)}, bit set subset solutions that share the same index of IDs
+     * (i.e. that have been obtained by copying the same solution) are compared chunk by chunk, skipping
+     * chunks that are still shared between both solutions.
+     *
+     * @param other other object to check for equality
+     * @return <code>true</code> if the other object is also a bit set subset solution and contains exactly the same
+     *         selected and unselected IDs as this solution
+     */
+    @Override
+    public boolean equals(Object other){
+        if(other != null && getClass() == other.getClass()){
+            BitSetSubsetSolution otherSol = (BitSetSubsetSolution) other;
+            if(index == otherSol.index){
+                if(numSelected != otherSol.numSelected || fingerprint != otherSol.fingerprint){
+                    return false;
+                }
+                for(int c = 0; c < chunks.length; c++){
+                    if(chunks[c] != otherSol.chunks[c] && !Arrays.equals(chunks[c], otherSol.chunks[c])){
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return super.equals(other);
+    }
+
+    /**
+     * Get the fingerprint of the current selection, maintained incrementally (see {@link SubsetSolution#getFingerprint()}).
+     *
+     * @return fingerprint of the selected IDs
+     */
+    @Override
+    protected long getFingerprint(){
+        return fingerprint;
+    }
+
+    /* bit set operations */
+
+    private static int numWords(int numBits){
+        return (numBits + WORD_SIZE - 1) / WORD_SIZE;
+    }
+
+    /**
+     * Replace the bit set with new, exclusively owned chunks in which all bits are cleared.
+     */
+    private void initChunks(){
+        int numWords = numWords(index.size());
+        int numChunks = (numWords + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        chunks = new long[numChunks][];
+        owned = new boolean[numChunks];
+        for(int c = 0; c < numChunks; c++){
+            chunks[c] = new long[Math.min(CHUNK_SIZE, numWords - c * CHUNK_SIZE)];
+            owned[c] = true;
+        }
+        table = new ChunkTable(chunks);
+    }
+
+    private int numWords(){
+        return numWords(index.size());
+    }
+
+    private long word(int w){
+        return chunks[w / CHUNK_SIZE][w % CHUNK_SIZE];
+    }
+
+    /**
+     * Get the chunk containing the given word for modification. If this chunk is shared
+     * with a copy it is first duplicated, together with the table of chunks if required.
+     *
+     * @param w word index
+     * @return exclusively owned chunk containing the given word
+     */
+    private long[] writableChunk(int w){
+        int c = w / CHUNK_SIZE;
+        if(table.isShared()){
+            // copy table of chunks, none of which are owned
+            chunks = chunks.clone();
+            table = new ChunkTable(chunks);
+            owned = new boolean[chunks.length];
+        }
+        if(!owned[c]){
+            // copy chunk
+            chunks[c] = chunks[c].clone();
+            owned[c] = true;
+        }
+        return chunks[c];
+    }
+
+    private boolean isSet(int i){
+        return (word(i / WORD_SIZE) & (1L << i)) != 0;
+    }
+
+    private void setBit(int i){
+        int w = i / WORD_SIZE;
+        writableChunk(w)[w % CHUNK_SIZE] |= (1L << i);
+    }
+
+    private void clearBit(int i){
+        int w = i / WORD_SIZE;
+        writableChunk(w)[w % CHUNK_SIZE] &= ~(1L << i);
+    }
+
+    /**
+     * Find the index of the next bit at or after position <code>from</code>, that is either set
+     * or cleared. Returns -1 if there is no such bit within the range of indexed IDs.
+     *
+     * @param from position from which to start searching (inclusive)
+     * @param set if <code>true</code> the next set bit is found, else the next cleared bit
+     * @return index of next set or cleared bit, -1 if none
+     */
+    private int nextBit(int from, boolean set){
+        int n = index.size();
+        if(from >= n){
+            return -1;
+        }
+        int w = from / WORD_SIZE;
+        int numWords = numWords();
+        long word = (set ? word(w) : ~word(w)) & (-1L << from);
+        while(true){
+            if(word != 0){
+                int i = w * WORD_SIZE + Long.numberOfTrailingZeros(word);
+                return i < n ? i : -1;
+            }
+            if(++w == numWords){
+                return -1;
+            }
+            word = set ? word(w) : ~word(w);
+        }
+    }
+
+    /**
+     * Find the position of a random bit that is either set or cleared (uniformly distributed).
+     *
+     * @param set if <code>true</code> a random set bit is found, else a random cleared bit
+     * @param count number of set or cleared bits, respectively
+     * @param rnd source of randomness
+     * @return position of random set or cleared bit
+     * @throws NoSuchElementException if <code>count</code> is zero
+     */
+    private int randomBit(boolean set, int count, Random rnd){
+        if(count == 0){
+            throw new NoSuchElementException("Can not sample a random ID from an empty set.");
+        }
+        int n = index.size();
+        if(8L * count >= n){
+            // dense: rejection sampling
+            while(true){
+                int i = rnd.nextInt(n);
+                if(isSet(i) == set){
+                    return i;
+                }
+            }
+        } else {
+            // sparse: locate bit with random rank
+            int r = rnd.nextInt(count);
+            int numWords = numWords();
+            for(int w = 0; w < numWords; w++){
+                long word = set ? word(w) : ~word(w);
+                if(w == numWords - 1 && n % WORD_SIZE != 0){
+                    // discard unused bits in last word
+                    word &= (1L << n) - 1;
+                }
+                int c = Long.bitCount(word);
+                if(r < c){
+                    // drop r lowest bits
+                    for(int j = 0; j < r; j++){
+                        word &= word - 1;
+                    }
+                    return w * WORD_SIZE + Long.numberOfTrailingZeros(word);
+                }
+                r -= c;
+            }
+            throw new Error("This should never happen. If this exception is thrown, "
+                                + "there is a serious bug in BitSetSubsetSolution.");
+        }
+    }
+
+    /**
+     * Unmodifiable set view backed by the bit set.
+     */
+    private class View extends AbstractSet<Integer> {
+
+        // view types
+        private static final int SELECTED = 0;
+        private static final int UNSELECTED = 1;
+        private static final int ALL = 2;
+
+        // type of this view
+        private final int type;
+
+        private View(int type){
+            this.type = type;
+        }
+
+        @Override
+        public int size() {
+            switch(type){
+                case SELECTED: return getNumSelectedIDs();
+                case UNSELECTED: return getNumUnselectedIDs();
+                default: return getTotalNumIDs();
+            }
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if(!(o instanceof Integer)){
+                return false;
+            }
+            int i = index.indexOf((Integer) o);
+            if(i < 0){
+                return false;
+            }
+            switch(type){
+                case SELECTED: return isSet(i);
+                case UNSELECTED: return !isSet(i);
+                default: return true;
+            }
+        }
+
+        @Override
+        public Iterator<Integer> iterator() {
+            return new Iterator<Integer>() {
+
+                // index of next ID (-1 if none)
+                private int next = advance(0);
+
+                private int advance(int from){
+                    switch(type){
+                        case SELECTED: return nextBit(from, true);
+                        case UNSELECTED: return nextBit(from, false);
+                        default: return from < index.size() ? from : -1;
+                    }
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public Integer next() {
+                    if(next < 0){
+                        throw new NoSuchElementException();
+                    }
+                    int ID = index.getID(next);
+                    next = advance(next + 1);
+                    return ID;
+                }
+
+            };
+        }
+
+    }
+
+    /**
+     * Immutable dense index of IDs. If the IDs span a sufficiently compact range, the index of an ID is looked up
+     * in an array; else, a hash map is used.
+     */
+    private static final class IDIndex {
+
+        // maximum ratio of ID range to number of IDs for which an array lookup is used
+        private static final int MAX_RANGE_RATIO = 4;
+
+        // IDs in order of index
+        private final int[] IDs;
+        // smallest ID
+        private final int minID;
+        // array lookup: index of ID - minID, -1 if absent (null if hash map is used)
+        private final int[] lookup;
+        // hash map lookup (null if array is used)
+        private final Map<Integer, Integer> lookupMap;
+        // fingerprint of all IDs
+        private final long fingerprint;
+
+        private IDIndex(Set<Integer> allIDs){
+            int n = allIDs.size();
+            IDs = new int[n];
+            int i = 0;
+            int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+            long fp = 0;
+            for(int ID : allIDs){
+                IDs[i++] = ID;
+                fp ^= fingerprint(ID);
+                min = Math.min(min, ID);
+                max = Math.max(max, ID);
+            }
+            minID = min;
+            fingerprint = fp;
+            long range = (long) max - min + 1;
+            if(range <= (long) MAX_RANGE_RATIO * n){
+                lookup = new int[(int) range];
+                Arrays.fill(lookup, -1);
+                for(int j = 0; j < n; j++){
+                    lookup[IDs[j] - minID] = j;
+                }
+                lookupMap = null;
+            } else {
+                lookup = null;
+                lookupMap = new HashMap<>();
+                for(int j = 0; j < n; j++){
+                    lookupMap.put(IDs[j], j);
+                }
+            }
+        }
+
+        private int size(){
+            return IDs.length;
+        }
+
+        private long getFingerprint(){
+            return fingerprint;
+        }
+
+        private int getID(int i){
+            return IDs[i];
+        }
+
+        private int indexOf(int ID){
+            if(lookup != null){
+                long offset = (long) ID - minID;
+                return offset < 0 || offset >= lookup.length ? -1 : lookup[(int) offset];
+            } else {
+                Integer i = lookupMap.get(ID);
+                return i == null ? -1 : i;
+            }
+        }
+
+    }
+
+    /**
+     * Table of chunks that can be shared between a solution and its copies. Copying a solution marks the table
+     * as shared, after which every solution that refers to it creates its own table before any modification.
+     */
+    private static final class ChunkTable {
+
+        // chunks of words
+        private final long[][] chunks;
+        // indicates whether the table is referenced by a copy
+        private volatile boolean shared;
+
+        private ChunkTable(long[][] chunks){
+            this.chunks = chunks;
+        }
+
+        private void markShared(){
+            shared = true;
+        }
+
+        private boolean isShared(){
+            return shared;
+        }
+
+    }
+
+}
@@ -21,12 +21,16 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
 import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.stream.Collectors;
 import org.jamesframework.core.exceptions.SolutionModificationException;
 import org.jamesframework.core.problems.sol.Solution;
+import org.jamesframework.core.util.IndexedSet;
+import org.jamesframework.core.util.SetUtilities;
 
 /**
  * High-level subset solution modeled in terms of IDs of selected items. The subset is sampled from a
@@ -35,6 +39,10 @@ import org.jamesframework.core.problems.sol.Solution;
  * (ascending) or a custom comparator, by using an appropriate constructor. In the latter case, it is
  * safe to cast the views returned by {@link #getSelectedIDs()}, {@link #getUnselectedIDs()} and
  * {@link #getAllIDs()} to the {@link NavigableSet} subtype.
+ * <p>
+ * If no order is imposed, the selected and unselected IDs are stored in an {@link IndexedSet} so that a random
+ * selected or unselected ID can be sampled in constant time (see {@link #getRandomSelectedID(Random)} and
+ * {@link #getRandomUnselectedID(Random)}).
  * 
  * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
  */
@@ -49,6 +57,9 @@ public class SubsetSolution extends Solution {
     // comparator according to which IDs are sorted;
     // null in case no order has been imposed
     private Comparator<Integer> orderOfIDs;
+    // fingerprint of selected IDs, updated incrementally
+    // (XOR of fingerprints of all selected IDs)
+    private long fingerprint;
     
     /**
      * Creates a new subset solution given the set of all IDs, each corresponding to an underlying entity,
@@ -204,8 +215,8 @@ public class SubsetSolution extends Solution {
         if(orderOfIDs == null){
             // CASE 1: no order
             all = new LinkedHashSet<>(allIDs);                      // set with all IDs (copy)
-            selected = new LinkedHashSet<>();                       // set with selected IDs (empty)
-            unselected = new LinkedHashSet<>(allIDs);               // set with unselected IDs (all)
+            selected = new IndexedSet<>();                          // indexed set with selected IDs (empty)
+            unselected = new IndexedSet<>(allIDs);                  // indexed set with unselected IDs (all)
             // create views
             allView = Collections.unmodifiableSet(all);
             selectedView = Collections.unmodifiableSet(selected);
@@ -230,12 +241,28 @@ public class SubsetSolution extends Solution {
                 throw new IllegalArgumentException("Error while creating subset solution: "
                                 + "set of selected IDs should be a subset of set of all IDs.");
             }
-            selected.add(ID);
-            unselected.remove(ID);
+            if(selected.add(ID)){
+                unselected.remove(ID);
+                fingerprint ^= fingerprint(ID);
+            }
         }
         
     }
         
+    /**
+     * Constructor for subclasses that use an alternative representation of the selected, unselected and
+     * all IDs. No data structures are allocated. Subclasses using this constructor are required to override
+     * {@link #select(int)}, {@link #deselect(int)}, {@link #getSelectedIDs()}, {@link #getUnselectedIDs()},
+     * {@link #getAllIDs()} and {@link #copy()}. The order of IDs is set to <code>null</code>. To benefit
+     * from fast hashing and equality checks, subclasses should also override {@link #getFingerprint()}.
+     */
+    protected SubsetSolution(){
+        all = allView = null;
+        selected = selectedView = null;
+        unselected = unselectedView = null;
+        orderOfIDs = null;
+    }
+
     /**
      * Copy constructor. Creates a new subset solution which is identical to the given solution, but does not have
      * any reference to any data structures contained within the given solution (deep copy). The obtained subset
@@ -292,6 +319,7 @@ public class SubsetSolution extends Solution {
         // currently unselected, existing ID: select it
         selected.add(ID);
         unselected.remove(ID);
+        fingerprint ^= fingerprint(ID);
         return true;
     }
     
@@ -318,6 +346,7 @@ public class SubsetSolution extends Solution {
         // currently selected, existing ID: deselect it
         selected.remove(ID);
         unselected.add(ID);
+        fingerprint ^= fingerprint(ID);
         return true;
     }
     
@@ -410,6 +439,52 @@ public class SubsetSolution extends Solution {
         return allView;
     }
     
+    /**
+     * Sample a random ID from the set of currently selected IDs (uniformly distributed). If no order has been
+     * imposed on the IDs, this method runs in constant time. Else, the random ID is obtained with
+     * {@link SetUtilities#getRandomElement(Set, Random)} which has linear time complexity.
+     * 
+     * @param rnd source of randomness
+     * @return random selected ID
+     * @throws NoSuchElementException if no IDs are currently selected
+     */
+    public int getRandomSelectedID(Random rnd){
+        return getRandomID(selected, getSelectedIDs(), rnd);
+    }
+    
+    /**
+     * Sample a random ID from the set of currently unselected IDs (uniformly distributed). If no order has been
+     * imposed on the IDs, this method runs in constant time. Else, the random ID is obtained with
+     * {@link SetUtilities#getRandomElement(Set, Random)} which has linear time complexity.
+     * 
+     * @param rnd source of randomness
+     * @return random unselected ID
+     * @throws NoSuchElementException if all IDs are currently selected
+     */
+    public int getRandomUnselectedID(Random rnd){
+        return getRandomID(unselected, getUnselectedIDs(), rnd);
+    }
+    
+    /**
+     * Sample a random ID from the given set of IDs, in constant time if this is an indexed set.
+     * Else, the random ID is sampled from the given view using {@link SetUtilities#getRandomElement(Set, Random)}.
+     * 
+     * @param IDs set of IDs (may be <code>null</code> for subclasses with an alternative representation)
+     * @param view view of the same set of IDs
+     * @param rnd source of randomness
+     * @return random ID
+     * @throws NoSuchElementException if the set is empty
+     */
+    private static int getRandomID(Set<Integer> IDs, Set<Integer> view, Random rnd){
+        if(IDs instanceof IndexedSet){
+            return ((IndexedSet<Integer>) IDs).getRandomElement(rnd);
+        }
+        if(view.isEmpty()){
+            throw new NoSuchElementException("Can not sample a random ID from an empty set.");
+        }
+        return SetUtilities.getRandomElement(view, rnd);
+    }
+    
     /**
      * Get the number of IDs which are currently selected. Corresponds to the size of the selected subset.
      * 
@@ -438,10 +513,40 @@ public class SubsetSolution extends Solution {
         return getAllIDs().size();
     }
 
+    /**
+     * Get the fingerprint of the current selection. The fingerprint is the bitwise XOR of the fingerprints
+     * of all selected IDs (see {@link #fingerprint(int)}), and is updated incrementally whenever an ID is
+     * selected or deselected. Subset solutions with the same selected IDs always have the same fingerprint.
+     * 
+     * @return fingerprint of the selected IDs
+     */
+    protected long getFingerprint(){
+        return fingerprint;
+    }
+    
+    /**
+     * Computes the fingerprint of a single ID, which is a well dispersed 64-bit hash of the ID.
+     * The fingerprint of a selection is obtained by combining the fingerprints of all selected
+     * IDs with a bitwise XOR (see {@link #getFingerprint()}).
+     * 
+     * @param ID ID for which the fingerprint is computed
+     * @return fingerprint of the given ID
+     */
+    protected static long fingerprint(int ID){
+        // output function of the SplitMix64 generator
+        long z = ID + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
     /**
      * Checks whether the given other object represents the same subset solution.
      * Subset solutions are considered equal if and only if they contain exactly
-     * the same selected and unselected IDs.
+     * the same selected and unselected IDs. Before comparing the sets of IDs, the
+     * number of selected and total number of IDs as well as the fingerprints of
+     * both solutions (see {@link #getFingerprint()}) are compared, so that unequal
+     * solutions are usually rejected in constant time.
      * 
      * @param other other object to check for equality
      * @return <code>true</code> if the other object is also a subset solution and contains exactly the same
@@ -449,6 +554,10 @@ public class SubsetSolution extends Solution {
      */
     @Override
     public boolean equals(Object other) {
+        // check identity
+        if (this == other) {
+            return true;
+        }
         // check null
         if (other == null) {
             return false;
@@ -459,6 +568,12 @@ public class SubsetSolution extends Solution {
         }
         // cast to subset solution
         final SubsetSolution otherSubsetSolution = (SubsetSolution) other;
+        // check sizes and fingerprint
+        if (getNumSelectedIDs() != otherSubsetSolution.getNumSelectedIDs()
+                || getTotalNumIDs() != otherSubsetSolution.getTotalNumIDs()
+                || getFingerprint() != otherSubsetSolution.getFingerprint()) {
+            return false;
+        }
         // check selected and unselected IDs
         return Objects.equals(getSelectedIDs(), otherSubsetSolution.getSelectedIDs())
                 && Objects.equals(getUnselectedIDs(), otherSubsetSolution.getUnselectedIDs());
@@ -466,19 +581,15 @@ public class SubsetSolution extends Solution {
 
     /**
      * Computes a hash code that is consistent with the implementation of {@link #equals(Object)} meaning that
-     * the same hash code is returned for equal subset solutions. The computed hash code is a linear combination
-     * of the hash codes of both the set of selected and unselected IDs, added to a constant.
+     * the same hash code is returned for equal subset solutions. The hash code is derived from the fingerprint
+     * of the selected IDs (see {@link #getFingerprint()}), which is maintained incrementally, so that it is
+     * computed in constant time.
      * 
      * @return hash code of this subset solution
      */
     @Override
     public int hashCode() {
-        int hash = 7;
-        // account for selected IDs
-        hash = 23 * hash + Objects.hashCode(getSelectedIDs());
-        // account for unselected IDs
-        hash = 23 * hash + Objects.hashCode(getUnselectedIDs());
-        return hash;    
+        return Long.hashCode(getFingerprint());
     }
     
     /**
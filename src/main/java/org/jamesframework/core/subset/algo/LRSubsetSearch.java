@@ -16,6 +16,7 @@
 
 package org.jamesframework.core.subset.algo;
 
+import java.util.Iterator;
 import org.jamesframework.core.subset.SubsetProblem;
 import org.jamesframework.core.problems.sol.Solution;
 import org.jamesframework.core.subset.validations.SubsetValidation;
@@ -241,7 +242,9 @@ public class LRSubsetSearch extends LocalSearch<SubsetSolution> {
             double bestDelta = -Double.MAX_VALUE, delta;
             Evaluation newEvaluation, bestEvaluation = null;
             SubsetValidation newValidation, bestValidation = null;
-            for(Move<? super SubsetSolution> move : neigh.getAllMoves(getCurrentSolution())){
+            Iterator<? extends Move<? super SubsetSolution>> moves = neigh.getMoveIterator(getCurrentSolution());
+            while(moves.hasNext()){
+                Move<? super SubsetSolution> move = moves.next();
                 // validate move (IMPORTANT: ignore current subset size)
                 newValidation = getProblem().validate(move, getCurrentSolution(), getCurrentSolutionValidation());
                 if(newValidation.passed(false)){
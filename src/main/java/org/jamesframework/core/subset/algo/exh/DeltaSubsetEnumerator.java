@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset.algo.exh;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.jamesframework.core.problems.Problem;
+import org.jamesframework.core.problems.constraints.validations.Validation;
+import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.moves.AdditionMove;
+import org.jamesframework.core.subset.neigh.moves.DeletionMove;
+import org.jamesframework.core.subset.neigh.moves.GeneralSubsetMove;
+import org.jamesframework.core.subset.neigh.moves.SubsetMove;
+import org.jamesframework.core.subset.neigh.moves.SwapMove;
+
+/**
+ * Walks through the subsets generated by a subset solution iterator with a single current solution, which is
+ * transformed into each subsequent subset by applying a move that is validated and evaluated using the delta
+ * methods of the problem. A full validation and evaluation is only performed for the first generated subset,
+ * or if the solution iterator has been used externally in between. Used by the subset exhaustive searches.
+ * 
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+class DeltaSubsetEnumerator {
+
+    // problem to solve
+    private final Problem<SubsetSolution> problem;
+    // solution iterator
+    private final SubsetSolutionIterator solutionIterator;
+    
+    // current solution, its evaluation and validation
+    private SubsetSolution curSolution;
+    private Evaluation curSolutionEvaluation;
+    private Validation curSolutionValidation;
+    
+    // rank of the subset that follows the current solution
+    private long nextRank;
+    
+    // indices of items in generated subset
+    private final int[] indices;
+    
+    /**
+     * Create a delta subset enumerator.
+     * 
+     * @param problem problem used to validate and evaluate the generated subsets
+     * @param solutionIterator subset solution iterator used to generate subsets
+     */
+    DeltaSubsetEnumerator(Problem<SubsetSolution> problem, SubsetSolutionIterator solutionIterator){
+        this.problem = problem;
+        this.solutionIterator = solutionIterator;
+        indices = new int[solutionIterator.getIDs().size()];
+    }
+    
+    /**
+     * Check whether there are more subsets to be generated.
+     * 
+     * @return <code>true</code> if there are more subsets to be generated
+     */
+    boolean hasNext(){
+        return solutionIterator.hasNext();
+    }
+    
+    /**
+     * Get the rank of the next generated subset.
+     * 
+     * @return rank of the next generated subset
+     */
+    long getRank(){
+        return solutionIterator.getRank();
+    }
+    
+    /**
+     * Transform the current solution into the next generated subset, and validate and evaluate it.
+     * 
+     * @throws java.util.NoSuchElementException if there are no more subsets to be generated
+     */
+    void next(){
+        // check if current solution corresponds to the previously generated subset
+        boolean inSync = curSolution != null && solutionIterator.getRank() == nextRank;
+        // generate next subset
+        int k = solutionIterator.getSubsetIterator().nextIndices(indices);
+        if(inSync){
+            // apply corresponding move
+            SubsetMove move = getMove(k);
+            Validation validation = problem.validate(move, curSolution, curSolutionValidation);
+            Evaluation evaluation = problem.evaluate(move, curSolution, curSolutionEvaluation);
+            move.apply(curSolution);
+            curSolutionValidation = validation;
+            curSolutionEvaluation = evaluation;
+        } else {
+            // (re)initialize current solution and fully evaluate and validate
+            if(curSolution == null){
+                curSolution = new SubsetSolution(solutionIterator.getIDs());
+            } else {
+                curSolution.deselectAll();
+            }
+            for(int i=0; i<k; i++){
+                curSolution.select(getID(indices[i]));
+            }
+            curSolutionValidation = problem.validate(curSolution);
+            curSolutionEvaluation = problem.evaluate(curSolution);
+        }
+        nextRank = solutionIterator.getRank();
+    }
+    
+    /**
+     * Get the current solution, which is modified in place when advancing to the next subset.
+     * 
+     * @return current solution, <code>null</code> if no subset has been generated
+     */
+    SubsetSolution getCurrentSolution(){
+        return curSolution;
+    }
+    
+    /**
+     * Get the evaluation of the current solution.
+     * 
+     * @return evaluation of current solution
+     */
+    Evaluation getCurrentSolutionEvaluation(){
+        return curSolutionEvaluation;
+    }
+    
+    /**
+     * Get the validation of the current solution.
+     * 
+     * @return validation of current solution
+     */
+    Validation getCurrentSolutionValidation(){
+        return curSolutionValidation;
+    }
+    
+    /**
+     * Get the move that transforms the current solution into the generated subset of size \(k\).
+     * 
+     * @param k size of the generated subset
+     * @return move that transforms the current solution into the generated subset
+     */
+    private SubsetMove getMove(int k){
+        int removed = solutionIterator.getSubsetIterator().getLastRemovedIndex();
+        if(removed >= 0){
+            // single item swapped
+            int added = solutionIterator.getSubsetIterator().getLastAddedIndex();
+            return new SwapMove(getID(added), getID(removed));
+        }
+        // subset size changed: compare with current selection
+        Set<Integer> newSelection = new HashSet<>();
+        for(int i=0; i<k; i++){
+            newSelection.add(getID(indices[i]));
+        }
+        Set<Integer> add = new LinkedHashSet<>();
+        for(int ID : newSelection){
+            if(!curSolution.getSelectedIDs().contains(ID)){
+                add.add(ID);
+            }
+        }
+        Set<Integer> delete = new LinkedHashSet<>();
+        for(int ID : curSolution.getSelectedIDs()){
+            if(!newSelection.contains(ID)){
+                delete.add(ID);
+            }
+        }
+        if(add.size() == 1 && delete.isEmpty()){
+            return new AdditionMove(add.iterator().next());
+        } else if (add.isEmpty() && delete.size() == 1){
+            return new DeletionMove(delete.iterator().next());
+        } else if (add.size() == 1 && delete.size() == 1){
+            return new SwapMove(add.iterator().next(), delete.iterator().next());
+        } else {
+            return new GeneralSubsetMove(add, delete);
+        }
+    }
+    
+    private int getID(int index){
+        return solutionIterator.getSubsetIterator().getItem(index);
+    }
+
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset.algo.exh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import org.jamesframework.core.problems.Problem;
+import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.search.Search;
+import org.jamesframework.core.search.algo.exh.ExhaustiveSearch;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.util.SearchExecutors;
+
+/**
+ * <p>
+ * Parallel exhaustive search for subset selection problems. Evaluates every subset within a given size range,
+ * sampled from a given set of IDs, and selects the best one, as an {@link ExhaustiveSearch} with a
+ * {@link SubsetSolutionIterator}, but using all available processors. The solution space is partitioned into rank
+ * ranges of the subset enumeration (see {@link SubsetSolutionIterator#shard(Set, int, int, int, int)}) that are
+ * recursively split and executed on a fork-join pool, so that idle threads steal work from busy ones. Each range
+ * is enumerated with a single solution that is transformed into each subsequent subset by applying a move that
+ * is validated and evaluated using the problem's delta methods, as in a {@link SubsetExhaustiveSearch}. Best
+ * solutions found in any range are merged into the best solution of this search as soon as they are found.
+ * </p>
+ * <p>
+ * Every search step enumerates a batch of subsets in parallel (see {@link #setBatchSize(long)}). Stop criteria
+ * are checked in between steps, as for any other search, and stop criteria that are checked periodically (e.g.
+ * a maximum runtime) also interrupt the current batch. Listeners are informed about every new best solution and
+ * every completed batch. Note that, unlike for an {@link ExhaustiveSearch}, a search step therefore corresponds
+ * to an entire batch of subsets instead of a single subset: this deliberate adaptation applies to all step-based
+ * stop criteria (e.g. {@link org.jamesframework.core.search.stopcriteria.MaxSteps} and
+ * {@link org.jamesframework.core.search.stopcriteria.MaxStepsWithoutImprovement}), which should be set in terms
+ * of batches, and to the step counts reported to listeners. Setting the batch size to one reproduces the step
+ * semantics of the sequential search, at the cost of parallelism. When all subsets have been evaluated, the
+ * search stops. If the search is stopped before
+ * that time, and subsequently restarted, it will <b>not</b> revisit the part of the solution space that had
+ * already been explored before. If the total number of subsets within the size range exceeds
+ * {@link Long#MAX_VALUE}, only the first {@link Long#MAX_VALUE} subsets are considered.
+ * </p>
+ * <p>
+ * By default, the shared work-stealing pool from {@link SearchExecutors#getSharedPool()} is used. A custom pool
+ * can be set with {@link #setForkJoinPool(ForkJoinPool)}. Because subsets are evaluated in separate threads,
+ * the problem (objective, constraints, ...) should be thread-safe.
+ * </p>
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class ParallelExhaustiveSearch extends Search<SubsetSolution> {
+
+    // default number of subsets enumerated in a single search step
+    private static final long DEFAULT_BATCH_SIZE = 1 << 20;
+    // minimum number of subsets enumerated by a single task
+    private static final long MIN_TASK_SIZE = 1024;
+
+    // set of IDs to select from
+    private final Set<Integer> IDs;
+    // subset size range
+    private final int minSubsetSize, maxSubsetSize;
+    // total number of subsets
+    private final long numSubsets;
+
+    // rank of first subset that has not yet been included in a batch
+    private long nextRank;
+    // rank ranges of the last batch that have not been enumerated because the search was stopped
+    private final Queue<long[]> pendingRanges;
+
+    // number of subsets enumerated in a single search step
+    private long batchSize;
+    // fork-join pool (shared pool if null)
+    private ForkJoinPool pool;
+
+    // set when the search is requested to stop: running tasks abort
+    private volatile boolean abort;
+    // evaluation of best solution, read by tasks without locking (null if not set)
+    private volatile Evaluation bestEvaluation;
+    // lock held when updating the best solution
+    private final Object bestSolutionLock;
+
+    /**
+     * Create a parallel exhaustive search to solve the given problem, by evaluating all subsets of the given
+     * IDs within the given size range, with default search name "ParallelExhaustiveSearch".
+     *
+     * @param problem problem to solve
+     * @param IDs set of IDs to select from
+     * @param minSubsetSize minimum subset size (&ge; 0)
+     * @param maxSubsetSize maximum subset size (&ge; minimum size)
+     * @throws NullPointerException if <code>problem</code> or <code>IDs</code> are <code>null</code>
+     * @throws IllegalArgumentException if <code>IDs</code> is empty, or an invalid size range is
+     *                                  specified (see {@link SubsetSolutionIterator})
+     */
+    public ParallelExhaustiveSearch(Problem<SubsetSolution> problem, Set<Integer> IDs, int minSubsetSize, int maxSubsetSize){
+        this(null, problem, IDs, minSubsetSize, maxSubsetSize);
+    }
+
+    /**
+     * Create a parallel exhaustive search to solve the given problem, by evaluating all subsets of the given
+     * IDs within the given size range, with a custom search name. If the given name is <code>null</code>, the
+     * default name "ParallelExhaustiveSearch" will be assigned.
+     *
+     * @param name custom search name
+     * @param problem problem to solve
+     * @param IDs set of IDs to select from
+     * @param minSubsetSize minimum subset size (&ge; 0)
+     * @param maxSubsetSize maximum subset size (&ge; minimum size)
+     * @throws NullPointerException if <code>problem</code> or <code>IDs</code> are <code>null</code>
+     * @throws IllegalArgumentException if <code>IDs</code> is empty, or an invalid size range is
+     *                                  specified (see {@link SubsetSolutionIterator})
+     */
+    public ParallelExhaustiveSearch(String name, Problem<SubsetSolution> problem,
+                                    Set<Integer> IDs, int minSubsetSize, int maxSubsetSize){
+        // call super (checks that problem is not null)
+        super(name != null ? name : "ParallelExhaustiveSearch", problem);
+        // check arguments and count subsets
+        SubsetSolutionIterator it = new SubsetSolutionIterator(IDs, minSubsetSize, maxSubsetSize);
+        long num;
+        try {
+            num = it.getNumSubsets();
+        } catch (ArithmeticException ex){
+            // more subsets than any rank
+            num = Long.MAX_VALUE;
+        }
+        numSubsets = num;
+        this.IDs = IDs;
+        this.minSubsetSize = minSubsetSize;
+        this.maxSubsetSize = maxSubsetSize;
+        // start at first subset
+        nextRank = 0;
+        pendingRanges = new ConcurrentLinkedQueue<>();
+        // default settings
+        batchSize = DEFAULT_BATCH_SIZE;
+        pool = null;
+        // initialize best solution tracking
+        abort = false;
+        bestEvaluation = null;
+        bestSolutionLock = new Object();
+    }
+
+    /**
+     * Get the total number of subsets within the size range, or {@link Long#MAX_VALUE}
+     * if this number exceeds {@link Long#MAX_VALUE}.
+     *
+     * @return total number of subsets
+     */
+    public long getNumSubsets(){
+        return numSubsets;
+    }
+
+    /**
+     * Set the number of subsets enumerated (in parallel) in a single search step. Defaults to \(2^{20}\).
+     * Note that this method may only be called when the search is idle.
+     *
+     * @param batchSize number of subsets per search step (&gt; 0)
+     * @throws IllegalArgumentException if <code>batchSize</code> is not strictly positive
+     * @throws org.jamesframework.core.exceptions.SearchException if the search is not idle
+     */
+    public void setBatchSize(long batchSize){
+        // synchronize with status updates
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot set batch size of parallel exhaustive search.");
+            // check batch size
+            if(batchSize <= 0){
+                throw new IllegalArgumentException("Batch size of parallel exhaustive search should be strictly positive.");
+            }
+            this.batchSize = batchSize;
+        }
+    }
+
+    /**
+     * Get the number of subsets enumerated (in parallel) in a single search step.
+     *
+     * @return number of subsets per search step
+     */
+    public long getBatchSize(){
+        return batchSize;
+    }
+
+    /**
+     * Set a custom fork-join pool used to enumerate the subsets. The pool is not shut down when this search is
+     * disposed. Note that this method may only be called when the search is idle.
+     *
+     * @param pool fork-join pool used to enumerate the subsets
+     * @throws NullPointerException if <code>pool</code> is <code>null</code>
+     * @throws org.jamesframework.core.exceptions.SearchException if the search is not idle
+     */
+    public void setForkJoinPool(ForkJoinPool pool){
+        // synchronize with status updates
+        synchronized(getStatusLock()){
+            // assert idle
+            assertIdle("Cannot set fork-join pool of parallel exhaustive search.");
+            // check not null
+            if(pool == null){
+                throw new NullPointerException("Cannot set fork-join pool of parallel exhaustive search: pool can not be null.");
+            }
+            this.pool = pool;
+        }
+    }
+
+    /**
+     * Get the fork-join pool used to enumerate the subsets. If no custom pool has been set, the shared
+     * work-stealing pool from {@link SearchExecutors#getSharedPool()} is returned.
+     *
+     * @return fork-join pool used to enumerate the subsets
+     */
+    public ForkJoinPool getForkJoinPool(){
+        return pool != null ? pool : SearchExecutors.getSharedPool();
+    }
+
+    /**
+     * When the search is started, the evaluation of the best solution, which is retained across runs, is
+     * made available to the enumeration tasks.
+     */
+    @Override
+    protected void searchStarted() {
+        // call super
+        super.searchStarted();
+        // reset abort flag
+        abort = false;
+        // sync best evaluation
+        bestEvaluation = getBestSolutionEvaluation();
+    }
+
+    /**
+     * When requesting to stop a parallel exhaustive search, running enumeration tasks are aborted. The
+     * remaining part of their rank ranges is enumerated when the search is restarted.
+     */
+    @Override
+    public void stop() {
+        // stop this search (if running)
+        super.stop();
+        // abort running tasks
+        abort = true;
+    }
+
+    /**
+     * In every search step, the next batch of subsets is enumerated in parallel, after which the main search
+     * waits until all tasks have completed. Rank ranges that were not enumerated in the previous step, because
+     * the search was stopped, are completed first. When all subsets have been enumerated, the search stops.
+     */
+    @Override
+    protected void searchStep() {
+        // collect rank ranges to enumerate
+        List<long[]> ranges = new ArrayList<>();
+        long[] range;
+        while((range = pendingRanges.poll()) != null){
+            ranges.add(range);
+        }
+        if(ranges.isEmpty()){
+            if(nextRank >= numSubsets){
+                // done
+                stop();
+                return;
+            }
+            long to = nextRank + Math.min(batchSize, numSubsets - nextRank);
+            ranges.add(new long[]{nextRank, to});
+            nextRank = to;
+        }
+        // determine task size
+        long total = 0;
+        for(long[] r : ranges){
+            total += r[1] - r[0];
+        }
+        ForkJoinPool fjPool = getForkJoinPool();
+        long taskSize = Math.max(MIN_TASK_SIZE, total / (8L * fjPool.getParallelism()));
+        // enumerate ranges in parallel
+        List<RangeTask> tasks = new ArrayList<>();
+        ranges.forEach(r -> tasks.add(new RangeTask(r[0], r[1], taskSize)));
+        fjPool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * Enumerate and evaluate the subsets with a rank in the given range. If the search is requested to stop,
+     * the remaining part of the range is registered for enumeration in the next step.
+     *
+     * @param from rank of first subset (inclusive)
+     * @param to rank of last subset (exclusive)
+     */
+    private void enumerate(long from, long to){
+        DeltaSubsetEnumerator enumerator = new DeltaSubsetEnumerator(
+                getProblem(), new SubsetSolutionIterator(IDs, minSubsetSize, maxSubsetSize, from, to)
+        );
+        while(enumerator.hasNext()){
+            if(abort){
+                pendingRanges.add(new long[]{enumerator.getRank(), to});
+                return;
+            }
+            enumerator.next();
+            // check for improvement without locking
+            if(enumerator.getCurrentSolutionValidation().passed()){
+                Evaluation best = bestEvaluation;
+                if(best == null || computeDelta(enumerator.getCurrentSolutionEvaluation(), best) > 0){
+                    // update best solution (copied if improved)
+                    synchronized(bestSolutionLock){
+                        if(updateBestSolution(enumerator.getCurrentSolution(),
+                                              enumerator.getCurrentSolutionEvaluation(),
+                                              enumerator.getCurrentSolutionValidation())){
+                            bestEvaluation = getBestSolutionEvaluation();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Recursive task that enumerates a range of ranks, split in halves until the range
+     * does not exceed the specified task size.
+     */
+    private class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        // rank range [from, to)
+        private final long from, to;
+        // maximum number of subsets enumerated without splitting
+        private final long taskSize;
+
+        RangeTask(long from, long to, long taskSize) {
+            this.from = from;
+            this.to = to;
+            this.taskSize = taskSize;
+        }
+
+        @Override
+        protected void compute() {
+            if(abort){
+                // enumerate in next step
+                pendingRanges.add(new long[]{from, to});
+            } else if(to - from > taskSize){
+                // split in halves
+                long mid = from + (to - from)/2;
+                invokeAll(new RangeTask(from, mid, taskSize), new RangeTask(mid, to, taskSize));
+            } else {
+                enumerate(from, to);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset.algo.exh;
+
+import org.jamesframework.core.problems.Problem;
+import org.jamesframework.core.problems.constraints.validations.Validation;
+import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.search.Search;
+import org.jamesframework.core.search.algo.exh.ExhaustiveSearch;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.moves.AdditionMove;
+import org.jamesframework.core.subset.neigh.moves.DeletionMove;
+import org.jamesframework.core.subset.neigh.moves.GeneralSubsetMove;
+import org.jamesframework.core.subset.neigh.moves.SwapMove;
+
+/**
+ * Exhaustive search for subset selection problems that uses delta evaluation and validation. Like an
+ * {@link ExhaustiveSearch}, it considers every solution generated by a {@link SubsetSolutionIterator} and
+ * selects the best one. However, instead of fully evaluating and validating every generated solution, the
+ * search keeps track of a single current solution that is transformed into each subsequent solution by
+ * applying a move. Consecutive subsets of the same size differ in a single item only (revolving door
+ * ordering), so that almost every search step consists of a {@link SwapMove} which is evaluated and validated
+ * using the delta methods of the problem, {@link Problem#evaluate(org.jamesframework.core.search.neigh.Move,
+ * org.jamesframework.core.problems.sol.Solution, Evaluation)} and {@link Problem#validate(org.jamesframework.core.search.neigh.Move,
+ * org.jamesframework.core.problems.sol.Solution, Validation)}. When the subset size changes, the current solution is
+ * transformed using an {@link AdditionMove}, {@link DeletionMove} or {@link GeneralSubsetMove}. A full evaluation
+ * and validation is only performed for the first generated solution (or if the solution iterator has been used
+ * externally in between two search steps).
+ * <p>
+ * As the current solution moves through the entire solution space, it is also evaluated when it is invalid, so
+ * that the problem's delta evaluation should support invalid solutions. Note that accumulating many subsequent
+ * delta evaluations may introduce small rounding errors in the reported evaluations, depending on the objective.
+ * <p>
+ * When all solutions have been generated and evaluated, the search stops. If the search is stopped before that time,
+ * and subsequently restarted, it continues where it left off, given that its solution iterator has not been modified
+ * externally in between both runs.
+ * 
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class SubsetExhaustiveSearch extends Search<SubsetSolution> {
+
+    // solution iterator
+    private final SubsetSolutionIterator solutionIterator;
+    
+    // walks through generated subsets using delta evaluation
+    private final DeltaSubsetEnumerator enumerator;
+    
+    /**
+     * Create a subset exhaustive search to solve the given problem, using the given subset solution iterator to
+     * generate possible solutions, with default search name "SubsetExhaustiveSearch". Note that the problem and
+     * solution iterator can not be null, else, an exception will be thrown.
+     * 
+     * @param problem problem to solve
+     * @param solutionIterator subset solution iterator used to generate solutions
+     * @throws NullPointerException if <code>problem</code> or <code>solutionIterator</code> are <code>null</code>
+     */
+    public SubsetExhaustiveSearch(Problem<SubsetSolution> problem, SubsetSolutionIterator solutionIterator){
+        this(null, problem, solutionIterator);
+    }
+    
+    /**
+     * Create a subset exhaustive search to solve the given problem, using the given subset solution iterator to
+     * generate possible solutions, with a custom search name. If the given name is <code>null</code>, the default
+     * name "SubsetExhaustiveSearch" will be assigned. Note that the problem and solution iterator can not be null,
+     * else, an exception will be thrown.
+     * 
+     * @param name custom search name
+     * @param problem problem to solve
+     * @param solutionIterator subset solution iterator used to generate solutions
+     * @throws NullPointerException if <code>problem</code> or <code>solutionIterator</code> are <code>null</code>
+     */
+    public SubsetExhaustiveSearch(String name, Problem<SubsetSolution> problem, SubsetSolutionIterator solutionIterator){
+        // call super (checks that problem is not null)
+        super(name != null ? name : "SubsetExhaustiveSearch", problem);
+        // check iterator not null
+        if(solutionIterator == null){
+            throw new NullPointerException("Error while creating subset exhaustive search: solution iterator can not be null.");
+        }
+        // store reference to iterator
+        this.solutionIterator = solutionIterator;
+        // create enumerator
+        enumerator = new DeltaSubsetEnumerator(problem, solutionIterator);
+    }
+    
+    /**
+     * In every search step it is verified whether there are more solutions to be generated using the solution iterator.
+     * If so, the current solution is transformed into the next solution by applying the corresponding move, which is
+     * evaluated and validated using delta evaluation and validation. The modified current solution is then presented for
+     * comparison with the current best solution. Else, the search stops.
+     */
+    @Override
+    protected void searchStep() {
+        // more solutions to generate ?
+        if(enumerator.hasNext()){
+            // transform current solution into next solution
+            enumerator.next();
+            // update best solution (copied if improved)
+            updateBestSolution(enumerator.getCurrentSolution(),
+                               enumerator.getCurrentSolutionEvaluation(),
+                               enumerator.getCurrentSolutionValidation());
+        } else {
+            // done
+            stop();
+        }
+    }
+
+}
@@ -28,6 +28,20 @@ import org.jamesframework.core.util.SubsetIterator;
  * to generate and evaluate all possible subset solutions.
  * <p>
  * A {@link SubsetIterator} is used internally and selected items are wrapped in a subset solution.
+ * <p>
+ * Each subset has a unique rank, i.e. its position in the enumeration (see {@link SubsetIterator}). A subset
+ * solution iterator can be restricted to a range of ranks, so that the solution space can be partitioned into
+ * disjoint ranges that are explored separately, e.g. by running several exhaustive searches in parallel or on
+ * different machines. A balanced partitioning into a given number of shards is easily obtained with
+ * {@link #shard(Set, int, int, int, int)}. Ranks depend on the iteration order of the given set of IDs, so all
+ * shards should be created from sets with the same iteration order (e.g. a {@link java.util.TreeSet}).
+ * <p>
+ * Enumerating a huge number of subsets is often dominated by the allocation of the generated solutions. Two
+ * allocation-free alternatives are provided. Firstly, {@link #next(int[])} stores the IDs of the next subset
+ * in a given array. Secondly, the iterator can be configured to reuse a single solution (see
+ * {@link #setReuseSolution(boolean)}), which is then updated in place: as consecutive subsets of the same size
+ * differ in a single ID, this only requires a call of {@link SubsetSolution#deselect(int)} and
+ * {@link SubsetSolution#select(int)} per generated solution.
  * 
  * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
  */
@@ -39,6 +53,15 @@ public class SubsetSolutionIterator implements SolutionIterator<SubsetSolution>
     // subset iterator
     private final SubsetIterator<Integer> subsetIterator;
     
+    // reuse a single solution that is updated in place
+    private boolean reuseSolution;
+    // reused solution (null if not yet created)
+    private SubsetSolution solution;
+    // indicates whether the reused solution corresponds to the previously generated subset
+    private boolean inSync;
+    // indices of items in generated subset (for reused solution)
+    private int[] indices;
+    
     /**
      * Create a subset solution iterator that generates all subsets within the given size range,
      * sampled from the given set of IDs.
@@ -53,8 +76,30 @@ public class SubsetSolutionIterator implements SolutionIterator<SubsetSolution>
      *                                     or <code>minSubsetSize &gt; maxSubsetSize</code>
      */
     public SubsetSolutionIterator(Set<Integer> IDs, int minSubsetSize, int maxSubsetSize){
+        this(IDs, minSubsetSize, maxSubsetSize, 0, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Create a subset solution iterator that generates all subsets within the given size range, sampled from the
+     * given set of IDs, of which the rank is contained in \([from, to)\). The upper bound is reduced to the total
+     * number of subsets within the size range, if necessary.
+     * 
+     * @param IDs set of IDs to select from 
+     * @param minSubsetSize minimum subset size
+     * @param maxSubsetSize maximum subset size
+     * @param fromRank rank of the first generated subset (inclusive)
+     * @param toRank upper bound on the rank of generated subsets (exclusive)
+     * @throws NullPointerException if <code>IDs</code> is <code>null</code>
+     * @throws IllegalArgumentException if <code>IDs</code> is empty,
+     *                                     <code>minSubsetSize &lt; 0</code>,
+     *                                     <code>minSubsetSize &gt; |IDs|</code>,
+     *                                     <code>minSubsetSize &gt; maxSubsetSize</code>,
+     *                                     <code>fromRank &lt; 0</code>
+     *                                     or <code>fromRank &gt; toRank</code>
+     */
+    public SubsetSolutionIterator(Set<Integer> IDs, int minSubsetSize, int maxSubsetSize, long fromRank, long toRank){
         // create subset iterator (throws errors in case of invalid arguments)
-        this.subsetIterator = new SubsetIterator<>(IDs, minSubsetSize, maxSubsetSize);
+        this.subsetIterator = new SubsetIterator<>(IDs, minSubsetSize, maxSubsetSize, fromRank, toRank);
         // store set of IDs
         this.IDs = IDs;
     }
@@ -74,29 +119,179 @@ public class SubsetSolutionIterator implements SolutionIterator<SubsetSolution>
         this(IDs, fixedSubsetSize, fixedSubsetSize);
     }
     
+    /**
+     * Create a subset solution iterator that generates one of several shards that together make up the entire
+     * collection of subsets within the given size range, sampled from the given set of IDs. The subsets are
+     * partitioned into the given number of consecutive rank ranges of (almost) equal size. Shards with a
+     * different index generate disjoint collections of subsets.
+     * 
+     * @param IDs set of IDs to select from 
+     * @param minSubsetSize minimum subset size
+     * @param maxSubsetSize maximum subset size
+     * @param shardIndex index of the shard, in \([0, numShards)\)
+     * @param numShards total number of shards (&gt; 0)
+     * @return subset solution iterator over the requested shard
+     * @throws NullPointerException if <code>IDs</code> is <code>null</code>
+     * @throws IllegalArgumentException if <code>IDs</code> is empty,
+     *                                     <code>minSubsetSize &lt; 0</code>,
+     *                                     <code>minSubsetSize &gt; |IDs|</code>,
+     *                                     <code>minSubsetSize &gt; maxSubsetSize</code>,
+     *                                     <code>numShards &le; 0</code>
+     *                                     or <code>shardIndex</code> is not in \([0, numShards)\)
+     * @throws ArithmeticException if the number of subsets within the size range exceeds {@link Long#MAX_VALUE}
+     */
+    public static SubsetSolutionIterator shard(Set<Integer> IDs, int minSubsetSize, int maxSubsetSize,
+                                               int shardIndex, int numShards){
+        if(numShards <= 0){
+            throw new IllegalArgumentException("Error while creating subset solution iterator: number of shards "
+                                                + "should be strictly positive.");
+        }
+        if(shardIndex < 0 || shardIndex >= numShards){
+            throw new IllegalArgumentException("Error while creating subset solution iterator: shard index "
+                                                + "should be in [0," + numShards + ").");
+        }
+        // count subsets (also validates sizes)
+        long num = new SubsetIterator<>(IDs, minSubsetSize, maxSubsetSize).getNumSubsets();
+        // the first (num % numShards) shards contain one additional subset
+        long q = num / numShards, r = num % numShards;
+        long from = shardIndex * q + Math.min(shardIndex, r);
+        long to = from + q + (shardIndex < r ? 1 : 0);
+        return new SubsetSolutionIterator(IDs, minSubsetSize, maxSubsetSize, from, to);
+    }
+    
+    /**
+     * Get the total number of subsets within the imposed size range, regardless of any imposed rank range.
+     * 
+     * @return number of subsets within the size range
+     * @throws ArithmeticException if the number of subsets exceeds {@link Long#MAX_VALUE}
+     */
+    public long getNumSubsets(){
+        return subsetIterator.getNumSubsets();
+    }
+    
+    /**
+     * Get the rank of the next generated subset solution.
+     * 
+     * @return rank of the next generated subset solution
+     */
+    public long getRank(){
+        return subsetIterator.getRank();
+    }
+    
+    /**
+     * Get the set of IDs to select from.
+     * 
+     * @return set of IDs
+     */
+    Set<Integer> getIDs(){
+        return IDs;
+    }
+    
+    /**
+     * Get the underlying subset iterator. Generating subsets directly from this iterator also advances this
+     * subset solution iterator.
+     * 
+     * @return underlying subset iterator
+     */
+    SubsetIterator<Integer> getSubsetIterator(){
+        return subsetIterator;
+    }
+    
     /**
      * Checks whether more subset solutions are to be generated.
      * 
-     * @return <code>true</code> if not all possible subsets of all valid size have already been generated
+     * @return <code>true</code> if not all possible subsets of all valid size have already been generated,
+     *         and the upper bound of the imposed rank range (if any) has not yet been reached
      */
     @Override
     public boolean hasNext() {
         return subsetIterator.hasNext();
     }
 
+    /**
+     * Indicate whether a single solution should be reused. If enabled, {@link #next()} always returns the same
+     * solution object, which is updated in place, instead of a newly allocated solution. The returned solution
+     * should then not be modified by the caller and is only valid until the next solution is generated; a copy
+     * should be made to retain it. This is the case for an {@link org.jamesframework.core.search.algo.exh.ExhaustiveSearch
+     * ExhaustiveSearch}, which copies any new best solution. By default, a new solution is allocated every time.
+     * 
+     * @param reuseSolution <code>true</code> if a single solution should be reused
+     */
+    public void setReuseSolution(boolean reuseSolution){
+        this.reuseSolution = reuseSolution;
+        inSync = false;
+    }
+    
+    /**
+     * Check whether a single solution is reused (see {@link #setReuseSolution(boolean)}).
+     * 
+     * @return <code>true</code> if a single solution is reused
+     */
+    public boolean isReuseSolution(){
+        return reuseSolution;
+    }
+    
     /**
      * Generate the next subset solution. The returned subset will either have the same size as the previously generated solution,
-     * if any, or it will be a larger subset.
+     * if any, or it will be a larger subset. If a single solution is reused (see {@link #setReuseSolution(boolean)}), the same
+     * solution object is returned every time, updated in place.
      * 
      * @return next subset solution within the size bounds
      * @throws NoSuchElementException if there is no next solution to be generated
      */
     @Override
     public SubsetSolution next() {
-        // get next subset
-        Set<Integer> subset = subsetIterator.next();
-        // wrap in subset solution
-        return new SubsetSolution(IDs, subset);
+        if(!reuseSolution){
+            // get next subset
+            Set<Integer> subset = subsetIterator.next();
+            inSync = false;
+            // wrap in subset solution
+            return new SubsetSolution(IDs, subset);
+        }
+        // get indices of next subset
+        if(indices == null){
+            indices = new int[IDs.size()];
+        }
+        int k = subsetIterator.nextIndices(indices);
+        int removed = subsetIterator.getLastRemovedIndex();
+        if(inSync && removed >= 0){
+            // swap single ID
+            solution.deselect(subsetIterator.getItem(removed));
+            solution.select(subsetIterator.getItem(subsetIterator.getLastAddedIndex()));
+        } else {
+            // (re)initialize selection
+            if(solution == null){
+                solution = new SubsetSolution(IDs);
+            } else {
+                solution.deselectAll();
+            }
+            for(int i=0; i<k; i++){
+                solution.select(subsetIterator.getItem(indices[i]));
+            }
+            inSync = true;
+        }
+        return solution;
+    }
+    
+    /**
+     * Store the IDs of the next subset in the given array, without allocating any objects. The IDs are stored in
+     * the first \(k\) elements of the array, where \(k\) is the size of the next subset, which is returned. Other
+     * elements are not modified.
+     * 
+     * @param IDs array in which the IDs of the next subset are stored, of length at least equal to the
+     *            maximum subset size (bounded by the number of IDs)
+     * @return size of the next subset
+     * @throws NoSuchElementException if there is no next solution to be generated
+     * @throws ArrayIndexOutOfBoundsException if the array is too short to store the next subset
+     */
+    public int next(int[] IDs){
+        int k = subsetIterator.nextIndices(IDs);
+        for(int i=0; i<k; i++){
+            IDs[i] = subsetIterator.getItem(IDs[i]);
+        }
+        // reused solution no longer in sync
+        inSync = false;
+        return k;
     }
 
 }
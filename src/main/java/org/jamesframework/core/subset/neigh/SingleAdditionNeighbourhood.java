@@ -18,13 +18,13 @@ package org.jamesframework.core.subset.neigh;
 
 import org.jamesframework.core.subset.neigh.moves.SubsetMove;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.jamesframework.core.subset.SubsetSolution;
 import org.jamesframework.core.subset.neigh.moves.AdditionMove;
-import org.jamesframework.core.util.SetUtilities;
 
 /**
  * <p>
@@ -115,7 +115,7 @@ public class SingleAdditionNeighbourhood extends SubsetNeighbourhood {
             return null;
         }
         // select random ID to add to selection
-        int add = SetUtilities.getRandomElement(addCandidates, rnd);
+        int add = getRandomAddCandidate(solution, addCandidates, rnd);
         // create and return addition move
         return new AdditionMove(add);
     }
@@ -146,6 +146,22 @@ public class SingleAdditionNeighbourhood extends SubsetNeighbourhood {
                             .collect(Collectors.toList());
     }
     
+    /**
+     * Creates an iterator over all possible addition moves, in the same order as {@link #getAllMoves(SubsetSolution)}.
+     * Moves are generated lazily from a snapshot of the current add candidates.
+     * 
+     * @param solution solution for which all possible addition moves are generated
+     * @return iterator over all addition moves, may be empty
+     */
+    @Override
+    public Iterator<SubsetMove> getMoveIterator(SubsetSolution solution) {
+        // check size limit
+        if(maxSizeReached(solution)){
+            return Collections.emptyIterator();
+        }
+        return SingleMoveIterator.additions(getAddCandidates(solution));
+    }
+    
     /**
      * Check whether the maximum subset size has been reached (or exceeded).
      * 
@@ -18,13 +18,13 @@ package org.jamesframework.core.subset.neigh;
 
 import org.jamesframework.core.subset.neigh.moves.SubsetMove;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.jamesframework.core.subset.SubsetSolution;
 import org.jamesframework.core.subset.neigh.moves.DeletionMove;
-import org.jamesframework.core.util.SetUtilities;
 
 /**
  * <p>
@@ -115,7 +115,7 @@ public class SingleDeletionNeighbourhood extends SubsetNeighbourhood {
             return null;
         }
         // select random ID to remove from selection
-        int del = SetUtilities.getRandomElement(removeCandidates, rnd);
+        int del = getRandomRemoveCandidate(solution, removeCandidates, rnd);
         // create and return deletion move
         return new DeletionMove(del);
     }
@@ -146,6 +146,22 @@ public class SingleDeletionNeighbourhood extends SubsetNeighbourhood {
                                .collect(Collectors.toList());
     }
     
+    /**
+     * Creates an iterator over all possible deletion moves, in the same order as {@link #getAllMoves(SubsetSolution)}.
+     * Moves are generated lazily from a snapshot of the current remove candidates.
+     * 
+     * @param solution solution for which all possible deletion moves are generated
+     * @return iterator over all deletion moves, may be empty
+     */
+    @Override
+    public Iterator<SubsetMove> getMoveIterator(SubsetSolution solution) {
+        // check size limit
+        if(minSizeReached(solution)){
+            return Collections.emptyIterator();
+        }
+        return SingleMoveIterator.deletions(getRemoveCandidates(solution));
+    }
+    
     /**
      * Check whether the minimum subset size has been reached (or exceeded).
      * 
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset.neigh;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.jamesframework.core.subset.neigh.moves.AdditionMove;
+import org.jamesframework.core.subset.neigh.moves.DeletionMove;
+import org.jamesframework.core.subset.neigh.moves.SubsetMove;
+import org.jamesframework.core.subset.neigh.moves.SwapMove;
+
+/**
+ * Iterator that lazily generates single addition, deletion and swap moves from a snapshot of the candidate IDs
+ * to be added and removed. First, an addition move is generated for each add candidate (if additions are enabled),
+ * then a deletion move for each remove candidate (if deletions are enabled) and finally a swap move for each
+ * combination of an add and remove candidate (if swaps are enabled), where the outer loop runs over the add
+ * candidates. Candidates are copied to primitive arrays when creating the iterator, so that the iterator is
+ * not affected by subsequent modifications of the solution (e.g. when moves are temporarily applied to evaluate
+ * them) and only requires memory linear in the number of candidates, instead of storing all generated moves.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+class SingleMoveIterator implements Iterator<SubsetMove> {
+
+    // empty array of candidates
+    private static final int[] NONE = new int[0];
+
+    // candidate IDs for addition and removal
+    private final int[] add, del;
+    // number of additions and deletions (0 if disabled)
+    private final int numAdd, numDel;
+    // swaps enabled?
+    private final boolean swaps;
+
+    // number of generated additions and deletions
+    private int addCount = 0, delCount = 0;
+    // current position in swap loops (over add and remove candidates)
+    private int swapAdd = 0, swapDel = 0;
+
+    /**
+     * Create a move iterator.
+     *
+     * @param addCandidates candidate IDs for addition
+     * @param removeCandidates candidate IDs for removal
+     * @param additions if <code>true</code>, addition moves are generated
+     * @param deletions if <code>true</code>, deletion moves are generated
+     * @param swaps if <code>true</code>, swap moves are generated
+     */
+    SingleMoveIterator(Set<Integer> addCandidates, Set<Integer> removeCandidates,
+                       boolean additions, boolean deletions, boolean swaps){
+        boolean needAdd = additions || swaps;
+        boolean needDel = deletions || swaps;
+        add = needAdd ? toArray(addCandidates) : NONE;
+        del = needDel ? toArray(removeCandidates) : NONE;
+        numAdd = additions ? add.length : 0;
+        numDel = deletions ? del.length : 0;
+        this.swaps = swaps && add.length > 0 && del.length > 0;
+    }
+
+    /**
+     * Create an iterator that only generates addition moves.
+     *
+     * @param addCandidates candidate IDs for addition
+     * @return iterator over addition moves
+     */
+    static SingleMoveIterator additions(Set<Integer> addCandidates){
+        return new SingleMoveIterator(addCandidates, null, true, false, false);
+    }
+
+    /**
+     * Create an iterator that only generates deletion moves.
+     *
+     * @param removeCandidates candidate IDs for removal
+     * @return iterator over deletion moves
+     */
+    static SingleMoveIterator deletions(Set<Integer> removeCandidates){
+        return new SingleMoveIterator(null, removeCandidates, false, true, false);
+    }
+
+    /**
+     * Create an iterator that only generates swap moves.
+     *
+     * @param addCandidates candidate IDs for addition
+     * @param removeCandidates candidate IDs for removal
+     * @return iterator over swap moves
+     */
+    static SingleMoveIterator swaps(Set<Integer> addCandidates, Set<Integer> removeCandidates){
+        return new SingleMoveIterator(addCandidates, removeCandidates, false, false, true);
+    }
+
+    /**
+     * Copy the given set of IDs to a primitive array.
+     *
+     * @param IDs set of IDs
+     * @return array containing the IDs, in the order of the set's iterator
+     */
+    private static int[] toArray(Set<Integer> IDs){
+        int[] arr = new int[IDs.size()];
+        int i = 0;
+        for(int ID : IDs){
+            arr[i++] = ID;
+        }
+        return arr;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return addCount < numAdd || delCount < numDel || (swaps && swapAdd < add.length);
+    }
+
+    @Override
+    public SubsetMove next() {
+        if(addCount < numAdd){
+            return new AdditionMove(add[addCount++]);
+        }
+        if(delCount < numDel){
+            return new DeletionMove(del[delCount++]);
+        }
+        if(swaps && swapAdd < add.length){
+            SubsetMove move = new SwapMove(add[swapAdd], del[swapDel]);
+            // advance to next combination
+            if(++swapDel == del.length){
+                swapDel = 0;
+                swapAdd++;
+            }
+            return move;
+        }
+        throw new NoSuchElementException("No more moves.");
+    }
+
+}
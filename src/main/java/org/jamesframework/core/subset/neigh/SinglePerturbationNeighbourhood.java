@@ -22,12 +22,12 @@ import org.jamesframework.core.subset.neigh.moves.SwapMove;
 import org.jamesframework.core.subset.neigh.moves.AdditionMove;
 import org.jamesframework.core.subset.neigh.moves.DeletionMove;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import org.jamesframework.core.subset.SubsetSolution;
 import org.jamesframework.core.util.RouletteSelector;
-import org.jamesframework.core.util.SetUtilities;
 
 /**
  * <p>
@@ -160,11 +160,11 @@ public class SinglePerturbationNeighbourhood extends SubsetNeighbourhood {
         } else {
             // generate random move of chosen type
             switch(selectedMoveType){
-                case ADDITION : return new AdditionMove(SetUtilities.getRandomElement(addCandidates, rnd));
-                case DELETION : return new DeletionMove(SetUtilities.getRandomElement(removeCandidates, rnd));
+                case ADDITION : return new AdditionMove(getRandomAddCandidate(solution, addCandidates, rnd));
+                case DELETION : return new DeletionMove(getRandomRemoveCandidate(solution, removeCandidates, rnd));
                 case SWAP     : return new SwapMove(
-                                                    SetUtilities.getRandomElement(addCandidates, rnd),
-                                                    SetUtilities.getRandomElement(removeCandidates, rnd)
+                                                    getRandomAddCandidate(solution, addCandidates, rnd),
+                                                    getRandomRemoveCandidate(solution, removeCandidates, rnd)
                                                 );
                 default : throw new Error("This should never happen. If this exception is thrown, "
                                             + "there is a serious bug in SinglePerturbationNeighbourhood.");
@@ -211,6 +211,27 @@ public class SinglePerturbationNeighbourhood extends SubsetNeighbourhood {
         return moves;
     }
     
+    /**
+     * Creates an iterator over all valid addition, deletion and swap moves, in the same order as
+     * {@link #getAllMoves(SubsetSolution)}. Moves are generated lazily from a snapshot of the current
+     * add and remove candidates so that, in contrast to {@link #getAllMoves(SubsetSolution)}, memory
+     * usage is linear in the number of candidates instead of linear in the number of possible swaps.
+     * 
+     * @param solution solution for which all valid moves are generated
+     * @return iterator over all valid swap, deletion and addition moves
+     */
+    @Override
+    public Iterator<SubsetMove> getMoveIterator(SubsetSolution solution) {
+        // get set of candidate IDs for deletion and addition (fixed IDs are discarded)
+        Set<Integer> removeCandidates = getRemoveCandidates(solution);
+        Set<Integer> addCandidates = getAddCandidates(solution);
+        // generate moves of each valid type
+        return new SingleMoveIterator(addCandidates, removeCandidates,
+                                      canAdd(solution, addCandidates),
+                                      canRemove(solution, removeCandidates),
+                                      canSwap(solution, addCandidates, removeCandidates));
+    }
+    
     /**
      * Check if it is allowed to add one more item to the selection.
      * 
@@ -19,12 +19,12 @@ package org.jamesframework.core.subset.neigh;
 import org.jamesframework.core.subset.neigh.moves.SubsetMove;
 import org.jamesframework.core.subset.neigh.moves.SwapMove;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.jamesframework.core.subset.SubsetSolution;
-import org.jamesframework.core.util.SetUtilities;
 
 /**
  * <p>
@@ -79,9 +79,9 @@ public class SingleSwapNeighbourhood extends SubsetNeighbourhood {
             return null;
         }
         // select random ID to remove from selection
-        int del = SetUtilities.getRandomElement(removeCandidates, rnd);
+        int del = getRandomRemoveCandidate(solution, removeCandidates, rnd);
         // select random ID to add to selection
-        int add = SetUtilities.getRandomElement(addCandidates, rnd);
+        int add = getRandomAddCandidate(solution, addCandidates, rnd);
         // create and return swap move
         return new SwapMove(add, del);
     }
@@ -109,5 +109,19 @@ public class SingleSwapNeighbourhood extends SubsetNeighbourhood {
                             .flatMap(add -> removeCandidates.stream().map(remove -> new SwapMove(add, remove)))
                             .collect(Collectors.toList());
     }
+    
+    /**
+     * Creates an iterator over all possible swap moves, in the same order as {@link #getAllMoves(SubsetSolution)}.
+     * Moves are generated lazily from a snapshot of the current add and remove candidates so that, in contrast
+     * to {@link #getAllMoves(SubsetSolution)}, memory usage is linear in the number of candidates instead of
+     * linear in the number of possible swaps.
+     * 
+     * @param solution solution for which all possible swap moves are generated
+     * @return iterator over all swap moves, may be empty
+     */
+    @Override
+    public Iterator<SubsetMove> getMoveIterator(SubsetSolution solution) {
+        return SingleMoveIterator.swaps(getAddCandidates(solution), getRemoveCandidates(solution));
+    }
 
 }
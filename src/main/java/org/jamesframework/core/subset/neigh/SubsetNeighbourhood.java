@@ -17,14 +17,18 @@
 package org.jamesframework.core.subset.neigh;
 
 import java.util.LinkedHashSet;
+import java.util.Random;
 import java.util.Set;
 import org.jamesframework.core.search.neigh.Neighbourhood;
 import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.util.SetUtilities;
 
 /**
  * Abstract subset neighbourhood. Provides protected methods to infer the set of candidate IDs to be added to
  * or removed from the selection based on the currently (un)selected IDs and possibly a given set of fixed IDs
- * that are not allowed to be (de)selected.
+ * that are not allowed to be (de)selected. Also provides protected methods to sample random candidates,
+ * which benefit from constant time sampling in the subset solution (see {@link SubsetSolution#getRandomSelectedID(Random)}
+ * and {@link SubsetSolution#getRandomUnselectedID(Random)}) if no IDs are fixed.
  * 
  * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
  */
@@ -83,4 +87,88 @@ public abstract class SubsetNeighbourhood implements Neighbourhood<SubsetSolutio
         return removeCandidates;
     }
     
+    /**
+     * Sample a random ID from the given set of add candidates, as obtained from {@link #getAddCandidates(SubsetSolution)}.
+     * If no IDs are fixed, the candidates are the unselected IDs of the given solution and the random ID is obtained
+     * by calling {@link SubsetSolution#getRandomUnselectedID(Random)}. Else, it is sampled from the given candidates
+     * using {@link SetUtilities#getRandomElement(Set, Random)}.
+     * 
+     * @param currentSolution current subset solution
+     * @param addCandidates set of IDs that may be added (not empty)
+     * @param rnd source of randomness
+     * @return random add candidate
+     */
+    protected int getRandomAddCandidate(SubsetSolution currentSolution, Set<Integer> addCandidates, Random rnd){
+        if(addCandidates == currentSolution.getUnselectedIDs()){
+            return currentSolution.getRandomUnselectedID(rnd);
+        }
+        return SetUtilities.getRandomElement(addCandidates, rnd);
+    }
+    
+    /**
+     * Sample a random ID from the given set of remove candidates, as obtained from {@link #getRemoveCandidates(SubsetSolution)}.
+     * If no IDs are fixed, the candidates are the selected IDs of the given solution and the random ID is obtained
+     * by calling {@link SubsetSolution#getRandomSelectedID(Random)}. Else, it is sampled from the given candidates
+     * using {@link SetUtilities#getRandomElement(Set, Random)}.
+     * 
+     * @param currentSolution current subset solution
+     * @param removeCandidates set of IDs that may be removed (not empty)
+     * @param rnd source of randomness
+     * @return random remove candidate
+     */
+    protected int getRandomRemoveCandidate(SubsetSolution currentSolution, Set<Integer> removeCandidates, Random rnd){
+        if(removeCandidates == currentSolution.getSelectedIDs()){
+            return currentSolution.getRandomSelectedID(rnd);
+        }
+        return SetUtilities.getRandomElement(removeCandidates, rnd);
+    }
+    
+    /**
+     * Sample a random subset of the given size from the set of add candidates, as obtained from
+     * {@link #getAddCandidates(SubsetSolution)}. If no IDs are fixed and at most half of the candidates are
+     * to be sampled, the subset is composed by repeatedly calling {@link SubsetSolution#getRandomUnselectedID(Random)},
+     * discarding duplicates, which takes an expected number of attempts linear in the requested size. Else,
+     * {@link SetUtilities#getRandomSubset(Set, int, Random)} is used, which is linear in the number of candidates.
+     * 
+     * @param currentSolution current subset solution
+     * @param addCandidates set of IDs that may be added
+     * @param size desired subset size, in [0, |addCandidates|]
+     * @param rnd source of randomness
+     * @return random subset of add candidates
+     */
+    protected Set<Integer> getRandomAddCandidates(SubsetSolution currentSolution, Set<Integer> addCandidates, int size, Random rnd){
+        if(addCandidates == currentSolution.getUnselectedIDs() && 2*size <= addCandidates.size()){
+            Set<Integer> subset = new LinkedHashSet<>();
+            while(subset.size() < size){
+                subset.add(currentSolution.getRandomUnselectedID(rnd));
+            }
+            return subset;
+        }
+        return SetUtilities.getRandomSubset(addCandidates, size, rnd);
+    }
+    
+    /**
+     * Sample a random subset of the given size from the set of remove candidates, as obtained from
+     * {@link #getRemoveCandidates(SubsetSolution)}. If no IDs are fixed and at most half of the candidates are
+     * to be sampled, the subset is composed by repeatedly calling {@link SubsetSolution#getRandomSelectedID(Random)},
+     * discarding duplicates, which takes an expected number of attempts linear in the requested size. Else,
+     * {@link SetUtilities#getRandomSubset(Set, int, Random)} is used, which is linear in the number of candidates.
+     * 
+     * @param currentSolution current subset solution
+     * @param removeCandidates set of IDs that may be removed
+     * @param size desired subset size, in [0, |removeCandidates|]
+     * @param rnd source of randomness
+     * @return random subset of remove candidates
+     */
+    protected Set<Integer> getRandomRemoveCandidates(SubsetSolution currentSolution, Set<Integer> removeCandidates, int size, Random rnd){
+        if(removeCandidates == currentSolution.getSelectedIDs() && 2*size <= removeCandidates.size()){
+            Set<Integer> subset = new LinkedHashSet<>();
+            while(subset.size() < size){
+                subset.add(currentSolution.getRandomSelectedID(rnd));
+            }
+            return subset;
+        }
+        return SetUtilities.getRandomSubset(removeCandidates, size, rnd);
+    }
+    
 }
@@ -17,6 +17,7 @@
 package org.jamesframework.core.subset.neigh.adv;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.Collections;
 import org.jamesframework.core.subset.neigh.moves.GeneralSubsetMove;
 import java.util.List;
@@ -26,8 +27,6 @@ import org.jamesframework.core.subset.SubsetSolution;
 import org.jamesframework.core.subset.neigh.SingleAdditionNeighbourhood;
 import org.jamesframework.core.subset.neigh.moves.SubsetMove;
 import org.jamesframework.core.subset.neigh.SubsetNeighbourhood;
-import org.jamesframework.core.util.SetUtilities;
-import org.jamesframework.core.util.SubsetIterator;
 
 /**
  * <p>
@@ -155,7 +154,7 @@ public class DisjointMultiAdditionNeighbourhood extends SubsetNeighbourhood {
             return null;
         }
         // pick random IDs to add to selection
-        Set<Integer> add = SetUtilities.getRandomSubset(addCandidates, curNumAdd, rnd);
+        Set<Integer> add = getRandomAddCandidates(solution, addCandidates, curNumAdd, rnd);
         // create and return move
         return new GeneralSubsetMove(add, Collections.emptySet());
     }
@@ -175,26 +174,39 @@ public class DisjointMultiAdditionNeighbourhood extends SubsetNeighbourhood {
      */
     @Override
     public List<SubsetMove> getAllMoves(SubsetSolution solution) {
-        // create empty list to store generated moves
+        // create list containing all moves from the sequence
         List<SubsetMove> moves = new ArrayList<>();
+        getMoveSequence(solution).forEach(moves::add);
+        return moves;
+    }
+
+    /**
+     * Creates an iterator that lazily generates the same moves as {@link #getAllMoves(SubsetSolution)}, in the
+     * same order, without storing all moves in memory (see {@link #getMoveSequence(SubsetSolution)}).
+     * 
+     * @param solution solution for which all possible multi addition moves are generated
+     * @return iterator over all multi addition moves, may be empty
+     */
+    @Override
+    public Iterator<SubsetMove> getMoveIterator(SubsetSolution solution) {
+        return getMoveSequence(solution).iterator();
+    }
+
+    /**
+     * Creates an index-addressable sequence of the same moves as {@link #getAllMoves(SubsetSolution)}, in the
+     * same order. Moves are generated lazily from a snapshot of the current candidate IDs, so that the sequence
+     * can be enumerated in its entirety or in separate rank ranges, and random moves can be sampled uniformly
+     * from the entire neighbourhood, without storing all moves in memory.
+     * 
+     * @param solution solution for which all possible multi addition moves are generated
+     * @return sequence of all multi addition moves, may be empty
+     */
+    public SubsetMoveSequence getMoveSequence(SubsetSolution solution) {
         // get set of candidate IDs for addition (fixed IDs are discarded)
         Set<Integer> addCandidates = getAddCandidates(solution);
-        // compute number of additions
+        // create sequence of moves performing curNumAdd additions (empty if no additions can be performed)
         int curNumAdd = numAdditions(addCandidates, solution);
-        if(curNumAdd == 0){
-            // impossible: return empty set
-            return moves;
-        }
-        // create all moves that add curNumAdd items
-        Set<Integer> add;
-        SubsetIterator<Integer> itAdd = new SubsetIterator<>(addCandidates, curNumAdd);
-        while(itAdd.hasNext()){
-            add = itAdd.next();
-            // create and add move
-            moves.add(new GeneralSubsetMove(add, Collections.emptySet()));
-        }
-        // return all moves
-        return moves;
+        return SubsetMoveSequence.additions(addCandidates, Math.max(curNumAdd, 1), curNumAdd);
     }
     
     /**
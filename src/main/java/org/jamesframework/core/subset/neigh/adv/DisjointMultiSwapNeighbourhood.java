@@ -17,6 +17,7 @@
 package org.jamesframework.core.subset.neigh.adv;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import org.jamesframework.core.subset.neigh.moves.GeneralSubsetMove;
 import java.util.List;
 import java.util.Random;
@@ -25,8 +26,6 @@ import org.jamesframework.core.subset.SubsetSolution;
 import org.jamesframework.core.subset.neigh.SingleSwapNeighbourhood;
 import org.jamesframework.core.subset.neigh.moves.SubsetMove;
 import org.jamesframework.core.subset.neigh.SubsetNeighbourhood;
-import org.jamesframework.core.util.SetUtilities;
-import org.jamesframework.core.util.SubsetIterator;
 
 /**
  * <p>
@@ -130,9 +129,9 @@ public class DisjointMultiSwapNeighbourhood extends SubsetNeighbourhood {
             return null;
         }
         // pick random IDs to remove from selection
-        Set<Integer> del = SetUtilities.getRandomSubset(removeCandidates, curNumSwaps, rnd);
+        Set<Integer> del = getRandomRemoveCandidates(solution, removeCandidates, curNumSwaps, rnd);
         // pick random IDs to add to selection
-        Set<Integer> add = SetUtilities.getRandomSubset(addCandidates, curNumSwaps, rnd);
+        Set<Integer> add = getRandomAddCandidates(solution, addCandidates, curNumSwaps, rnd);
         // create and return move
         return new GeneralSubsetMove(add, del);
     }
@@ -149,32 +148,40 @@ public class DisjointMultiSwapNeighbourhood extends SubsetNeighbourhood {
      */
     @Override
     public List<SubsetMove> getAllMoves(SubsetSolution solution) {
-        // create empty list to store generated moves
+        // create list containing all moves from the sequence
         List<SubsetMove> moves = new ArrayList<>();
-        // get set of candidate IDs for deletion and addition
+        getMoveSequence(solution).forEach(moves::add);
+        return moves;
+    }
+
+    /**
+     * Creates an iterator that lazily generates the same moves as {@link #getAllMoves(SubsetSolution)}, in the
+     * same order, without storing all moves in memory (see {@link #getMoveSequence(SubsetSolution)}).
+     * 
+     * @param solution solution for which all possible multi swap moves are generated
+     * @return iterator over all multi swap moves, may be empty
+     */
+    @Override
+    public Iterator<SubsetMove> getMoveIterator(SubsetSolution solution) {
+        return getMoveSequence(solution).iterator();
+    }
+
+    /**
+     * Creates an index-addressable sequence of the same moves as {@link #getAllMoves(SubsetSolution)}, in the
+     * same order. Moves are generated lazily from a snapshot of the current candidate IDs, so that the sequence
+     * can be enumerated in its entirety or in separate rank ranges, and random moves can be sampled uniformly
+     * from the entire neighbourhood, without storing all moves in memory.
+     * 
+     * @param solution solution for which all possible multi swap moves are generated
+     * @return sequence of all multi swap moves, may be empty
+     */
+    public SubsetMoveSequence getMoveSequence(SubsetSolution solution) {
+        // get set of candidate IDs for deletion and addition (fixed IDs are discarded)
         Set<Integer> removeCandidates = getRemoveCandidates(solution);
         Set<Integer> addCandidates = getAddCandidates(solution);
-        // possible to perform desired number of swaps?
+        // create sequence of moves performing curNumSwaps swaps (empty if no swaps can be performed)
         int curNumSwaps = numSwaps(addCandidates, removeCandidates);
-        if(curNumSwaps == 0){
-            // impossible: return empty set
-            return moves;
-        }
-        // create all moves performing numSwaps swaps
-        SubsetIterator<Integer> itDel, itAdd;
-        Set<Integer> del, add;
-        itDel = new SubsetIterator<>(removeCandidates, curNumSwaps);
-        while(itDel.hasNext()){
-            del = itDel.next();
-            itAdd = new SubsetIterator<>(addCandidates, curNumSwaps);
-            while(itAdd.hasNext()){
-                add = itAdd.next();
-                // create and add move
-                moves.add(new GeneralSubsetMove(add, del));
-            }
-        }
-        // return all moves
-        return moves;
+        return SubsetMoveSequence.swaps(addCandidates, removeCandidates, Math.max(curNumSwaps, 1), curNumSwaps);
     }
     
     /**
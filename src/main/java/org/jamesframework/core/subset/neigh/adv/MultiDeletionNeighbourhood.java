@@ -17,6 +17,7 @@
 package org.jamesframework.core.subset.neigh.adv;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.Collections;
 import org.jamesframework.core.subset.neigh.moves.GeneralSubsetMove;
 import java.util.List;
@@ -26,8 +27,6 @@ import org.jamesframework.core.subset.SubsetSolution;
 import org.jamesframework.core.subset.neigh.SingleDeletionNeighbourhood;
 import org.jamesframework.core.subset.neigh.moves.SubsetMove;
 import org.jamesframework.core.subset.neigh.SubsetNeighbourhood;
-import org.jamesframework.core.util.SetUtilities;
-import org.jamesframework.core.util.SubsetIterator;
 
 /**
  * <p>
@@ -176,7 +175,7 @@ public class MultiDeletionNeighbourhood extends SubsetNeighbourhood {
         // pick number of deletions (in [1, curMaxDel])
         int numDel = rnd.nextInt(curMaxDel) + 1;
         // pick random IDs to remove from selection
-        Set<Integer> del = SetUtilities.getRandomSubset(delCandidates, numDel, rnd);
+        Set<Integer> del = getRandomRemoveCandidates(solution, delCandidates, numDel, rnd);
         // create and return move
         return new GeneralSubsetMove(Collections.emptySet(), del);
     }
@@ -196,26 +195,38 @@ public class MultiDeletionNeighbourhood extends SubsetNeighbourhood {
      */
     @Override
     public List<SubsetMove> getAllMoves(SubsetSolution solution) {
-        // create empty list to store generated moves
+        // create list containing all moves from the sequence
         List<SubsetMove> moves = new ArrayList<>();
+        getMoveSequence(solution).forEach(moves::add);
+        return moves;
+    }
+
+    /**
+     * Creates an iterator that lazily generates the same moves as {@link #getAllMoves(SubsetSolution)}, in the
+     * same order, without storing all moves in memory (see {@link #getMoveSequence(SubsetSolution)}).
+     * 
+     * @param solution solution for which all possible multi deletion moves are generated
+     * @return iterator over all multi deletion moves, may be empty
+     */
+    @Override
+    public Iterator<SubsetMove> getMoveIterator(SubsetSolution solution) {
+        return getMoveSequence(solution).iterator();
+    }
+
+    /**
+     * Creates an index-addressable sequence of the same moves as {@link #getAllMoves(SubsetSolution)}, in the
+     * same order. Moves are generated lazily from a snapshot of the current candidate IDs, so that the sequence
+     * can be enumerated in its entirety or in separate rank ranges, and random moves can be sampled uniformly
+     * from the entire neighbourhood, without storing all moves in memory.
+     * 
+     * @param solution solution for which all possible multi deletion moves are generated
+     * @return sequence of all multi deletion moves, may be empty
+     */
+    public SubsetMoveSequence getMoveSequence(SubsetSolution solution) {
         // get set of candidate IDs for removal (fixed IDs are discarded)
         Set<Integer> delCandidates = getRemoveCandidates(solution);
-        // compute maximum number of deletions
-        int curMaxDel = maxDeletions(delCandidates, solution);
-        // create all moves for each considered amount of deletions (in [1,curMaxDel])
-        SubsetIterator<Integer> itDel;
-        Set<Integer> del;
-        for(int d=1; d <= curMaxDel; d++){
-            // create all moves that perform d deletions
-            itDel = new SubsetIterator<>(delCandidates, d);
-            while(itDel.hasNext()){
-                del = itDel.next();
-                // create and add move
-                moves.add(new GeneralSubsetMove(Collections.emptySet(), del));
-            }
-        }
-        // return all moves
-        return moves;
+        // create sequence of moves performing 1 up to the maximum possible number of deletions
+        return SubsetMoveSequence.deletions(delCandidates, 1, maxDeletions(delCandidates, solution));
     }
     
     /**
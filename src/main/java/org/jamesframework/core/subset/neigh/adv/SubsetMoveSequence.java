@@ -0,0 +1,523 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset.neigh.adv;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import org.jamesframework.core.subset.neigh.moves.GeneralSubsetMove;
+import org.jamesframework.core.subset.neigh.moves.SubsetMove;
+import org.jamesframework.core.util.RevolvingDoor;
+import org.jamesframework.core.util.SubsetIterator;
+
+/**
+ * <p>
+ * Immutable, index-addressable sequence of multi-addition, multi-deletion or multi-swap moves, generated
+ * lazily from a snapshot of the candidate IDs to be added and removed. The sequence contains all moves that
+ * add and/or remove \(s\) candidates, for each \(s\) in a given range \([s_{min}, s_{max}]\). Moves are
+ * ordered by the number of added/removed IDs \(s\), then by the subset of removed IDs and finally by the
+ * subset of added IDs, where subsets of a fixed size are ordered as generated by a {@link SubsetIterator}.
+ * This is exactly the order in which the moves are listed by the multi-addition, multi-deletion and
+ * multi-swap neighbourhoods.
+ * </p>
+ * <p>
+ * Each move has a unique rank, i.e. its position in the sequence. The move with a given rank can be created
+ * directly with {@link #get(long)}, and the rank of a given move is obtained with {@link #rank(SubsetMove)},
+ * both without enumerating any preceding moves. This allows to sample moves uniformly from the entire sequence
+ * (see {@link #getRandomMove(Random)}) or to partition it into disjoint rank ranges that are enumerated
+ * separately (see {@link #iterator(long, long)}), e.g. in different threads. Iterators only require memory
+ * linear in the number of candidates and generate each next move in constant time on average (apart from
+ * creating the move itself).
+ * </p>
+ * <p>
+ * The candidate IDs are copied when creating the sequence, which is therefore not affected by subsequent
+ * modifications of the solution from which the candidates were obtained. The sequence itself is thread-safe,
+ * but the iterators it creates are not.
+ * </p>
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class SubsetMoveSequence implements Iterable<SubsetMove> {
+
+    // empty array of candidates
+    private static final int[] NONE = new int[0];
+
+    // candidate IDs for addition and removal
+    private final int[] add, del;
+    // IDs are added and/or removed?
+    private final boolean additions, deletions;
+    // range of numbers of added/removed IDs
+    private final int minSize, maxSize;
+
+    // position of candidate IDs in the arrays above (created when first needed)
+    private volatile Map<Integer, Integer> addIndices, delIndices;
+
+    /**
+     * Create a sequence of all moves that add \(s\) and/or remove \(s\) IDs, for each \(s\) in the given range.
+     * If both additions and deletions are enabled, each move performs \(s\) swaps. The maximum size is reduced
+     * to the number of available candidates, if necessary. If the (reduced) range is empty, so is the sequence.
+     *
+     * @param addCandidates candidate IDs for addition (ignored if additions are disabled)
+     * @param removeCandidates candidate IDs for removal (ignored if deletions are disabled)
+     * @param additions if <code>true</code>, moves add \(s\) IDs
+     * @param deletions if <code>true</code>, moves remove \(s\) IDs
+     * @param minSize minimum number of added/removed IDs
+     * @param maxSize maximum number of added/removed IDs
+     * @throws IllegalArgumentException if neither additions nor deletions are enabled, or if
+     *                                  <code>minSize</code> is not strictly positive
+     * @throws NullPointerException if additions (deletions) are enabled and the set of
+     *                              candidate IDs for addition (removal) is <code>null</code>
+     */
+    private SubsetMoveSequence(Set<Integer> addCandidates, Set<Integer> removeCandidates,
+                               boolean additions, boolean deletions, int minSize, int maxSize){
+        if(!additions && !deletions){
+            throw new IllegalArgumentException("Error while creating move sequence: moves should add and/or remove IDs.");
+        }
+        if(minSize <= 0){
+            throw new IllegalArgumentException("Error while creating move sequence: minimum number of added/removed IDs "
+                                                + "should be strictly positive.");
+        }
+        add = additions ? toArray(addCandidates) : NONE;
+        del = deletions ? toArray(removeCandidates) : NONE;
+        this.additions = additions;
+        this.deletions = deletions;
+        if(additions){
+            maxSize = Math.min(maxSize, add.length);
+        }
+        if(deletions){
+            maxSize = Math.min(maxSize, del.length);
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Create a sequence of all moves that add between <code>minAdd</code> and <code>maxAdd</code> of the
+     * given candidate IDs, and do not remove any IDs.
+     *
+     * @param addCandidates candidate IDs for addition
+     * @param minAdd minimum number of added IDs (&gt; 0)
+     * @param maxAdd maximum number of added IDs (reduced to the number of candidates, if necessary)
+     * @return sequence of multi-addition moves
+     * @throws NullPointerException if <code>addCandidates</code> is <code>null</code>
+     * @throws IllegalArgumentException if <code>minAdd</code> is not strictly positive
+     */
+    public static SubsetMoveSequence additions(Set<Integer> addCandidates, int minAdd, int maxAdd){
+        return new SubsetMoveSequence(addCandidates, null, true, false, minAdd, maxAdd);
+    }
+
+    /**
+     * Create a sequence of all moves that remove between <code>minDel</code> and <code>maxDel</code> of the
+     * given candidate IDs, and do not add any IDs.
+     *
+     * @param removeCandidates candidate IDs for removal
+     * @param minDel minimum number of removed IDs (&gt; 0)
+     * @param maxDel maximum number of removed IDs (reduced to the number of candidates, if necessary)
+     * @return sequence of multi-deletion moves
+     * @throws NullPointerException if <code>removeCandidates</code> is <code>null</code>
+     * @throws IllegalArgumentException if <code>minDel</code> is not strictly positive
+     */
+    public static SubsetMoveSequence deletions(Set<Integer> removeCandidates, int minDel, int maxDel){
+        return new SubsetMoveSequence(null, removeCandidates, false, true, minDel, maxDel);
+    }
+
+    /**
+     * Create a sequence of all moves that swap between <code>minSwaps</code> and <code>maxSwaps</code>
+     * of the given candidate IDs for addition and removal.
+     *
+     * @param addCandidates candidate IDs for addition
+     * @param removeCandidates candidate IDs for removal
+     * @param minSwaps minimum number of swaps (&gt; 0)
+     * @param maxSwaps maximum number of swaps (reduced to the number of candidates, if necessary)
+     * @return sequence of multi-swap moves
+     * @throws NullPointerException if any set of candidates is <code>null</code>
+     * @throws IllegalArgumentException if <code>minSwaps</code> is not strictly positive
+     */
+    public static SubsetMoveSequence swaps(Set<Integer> addCandidates, Set<Integer> removeCandidates,
+                                           int minSwaps, int maxSwaps){
+        return new SubsetMoveSequence(addCandidates, removeCandidates, true, true, minSwaps, maxSwaps);
+    }
+
+    /**
+     * Copy the given set of IDs to a primitive array.
+     *
+     * @param IDs set of IDs
+     * @return array containing the IDs, in the order of the set's iterator
+     */
+    private static int[] toArray(Set<Integer> IDs){
+        int[] arr = new int[IDs.size()];
+        int i = 0;
+        for(int ID : IDs){
+            arr[i++] = ID;
+        }
+        return arr;
+    }
+
+    /**
+     * Get the number of added IDs in the moves that add/remove \(s\) IDs.
+     *
+     * @param s number of added/removed IDs
+     * @return number of added IDs
+     */
+    private int numAdd(int s){
+        return additions ? s : 0;
+    }
+
+    /**
+     * Get the number of removed IDs in the moves that add/remove \(s\) IDs.
+     *
+     * @param s number of added/removed IDs
+     * @return number of removed IDs
+     */
+    private int numDel(int s){
+        return deletions ? s : 0;
+    }
+
+    /**
+     * Get the number of moves that add/remove \(s\) IDs.
+     *
+     * @param s number of added/removed IDs
+     * @return number of moves
+     * @throws ArithmeticException if the number of moves exceeds {@link Long#MAX_VALUE}
+     */
+    private long blockSize(int s){
+        return Math.multiplyExact(RevolvingDoor.numSubsets(add.length, numAdd(s)),
+                                  RevolvingDoor.numSubsets(del.length, numDel(s)));
+    }
+
+    /**
+     * Get the number of moves in this sequence.
+     *
+     * @return number of moves
+     * @throws ArithmeticException if the number of moves exceeds {@link Long#MAX_VALUE}, in which
+     *                             case the sequence can only be enumerated using {@link #iterator()}
+     */
+    public long size(){
+        long size = 0;
+        for(int s=minSize; s<=maxSize; s++){
+            size = Math.addExact(size, blockSize(s));
+        }
+        return size;
+    }
+
+    /**
+     * Check whether this sequence is empty.
+     *
+     * @return <code>true</code> if the sequence does not contain any moves
+     */
+    public boolean isEmpty(){
+        return minSize > maxSize;
+    }
+
+    /**
+     * Create the move with the given rank, i.e. the move at the given position in the sequence.
+     * Runs in time linear in the number of candidates and the maximum number of added/removed IDs.
+     *
+     * @param rank rank of the move, in \([0, size)\)
+     * @return move with the given rank
+     * @throws IndexOutOfBoundsException if the rank is negative or not smaller than the size of the sequence
+     * @throws ArithmeticException if the size of the sequence exceeds {@link Long#MAX_VALUE} and
+     *                             the move with the given rank can therefore not be located
+     */
+    public SubsetMove get(long rank){
+        Cursor cursor = new Cursor();
+        if(!cursor.seek(rank)){
+            throw new IndexOutOfBoundsException("Rank should be in [0," + size() + ") (got: " + rank + ").");
+        }
+        return cursor.move();
+    }
+
+    /**
+     * Generate a random move from this sequence. All moves are equally likely, regardless of the number of
+     * added/removed IDs. Returns <code>null</code> if the sequence is empty.
+     *
+     * @param rnd source of randomness
+     * @return random move, <code>null</code> if the sequence is empty
+     * @throws ArithmeticException if the size of the sequence exceeds {@link Long#MAX_VALUE}
+     */
+    public SubsetMove getRandomMove(Random rnd){
+        if(isEmpty()){
+            return null;
+        }
+        long size = size();
+        // uniform random rank in [0, size), rejecting values from an incomplete final range
+        long bits, rank;
+        do {
+            bits = rnd.nextLong() >>> 1;
+            rank = bits % size;
+        } while(bits - rank + (size-1) < 0);
+        return get(rank);
+    }
+
+    /**
+     * Compute the rank of the given move, i.e. its position in the sequence.
+     * Returns -1 if the move is not contained in this sequence.
+     *
+     * @param move subset move
+     * @return rank of the move, -1 if not contained in this sequence
+     * @throws ArithmeticException if the size of the sequence exceeds {@link Long#MAX_VALUE}
+     *                             and the rank of the given move can therefore not be computed
+     */
+    public long rank(SubsetMove move){
+        int s = Math.max(move.getNumAdded(), move.getNumDeleted());
+        if(s < minSize || s > maxSize || move.getNumAdded() != numAdd(s) || move.getNumDeleted() != numDel(s)){
+            return -1;
+        }
+        int[] addSubset = indices(move.getAddedIDs(), getAddIndices());
+        int[] delSubset = indices(move.getDeletedIDs(), getDelIndices());
+        if(addSubset == null || delSubset == null){
+            return -1;
+        }
+        long rank = 0;
+        for(int b=minSize; b<s; b++){
+            rank = Math.addExact(rank, blockSize(b));
+        }
+        long addRank = RevolvingDoor.rank(addSubset, addSubset.length);
+        long delRank = RevolvingDoor.rank(delSubset, delSubset.length);
+        long numAddSubsets = RevolvingDoor.numSubsets(add.length, numAdd(s));
+        return Math.addExact(rank, Math.addExact(Math.multiplyExact(delRank, numAddSubsets), addRank));
+    }
+
+    /**
+     * Get the sorted positions of the given IDs in the candidate array.
+     *
+     * @param IDs set of IDs
+     * @param indices position of each candidate ID
+     * @return sorted positions of the given IDs, <code>null</code> if any ID is not a candidate
+     */
+    private int[] indices(Set<Integer> IDs, Map<Integer, Integer> indices){
+        int[] subset = new int[IDs.size()];
+        int i = 0;
+        for(int ID : IDs){
+            Integer index = indices.get(ID);
+            if(index == null){
+                return null;
+            }
+            subset[i++] = index;
+        }
+        Arrays.sort(subset);
+        return subset;
+    }
+
+    private Map<Integer, Integer> getAddIndices(){
+        if(addIndices == null){
+            addIndices = indexMap(add);
+        }
+        return addIndices;
+    }
+
+    private Map<Integer, Integer> getDelIndices(){
+        if(delIndices == null){
+            delIndices = indexMap(del);
+        }
+        return delIndices;
+    }
+
+    private static Map<Integer, Integer> indexMap(int[] IDs){
+        Map<Integer, Integer> indices = new HashMap<>();
+        for(int i=0; i<IDs.length; i++){
+            indices.put(IDs[i], i);
+        }
+        return indices;
+    }
+
+    /**
+     * Create an iterator over all moves in this sequence, in order of increasing rank.
+     * The iterator does not require the size of the sequence to be representable as a long.
+     *
+     * @return iterator over all moves
+     */
+    @Override
+    public Iterator<SubsetMove> iterator(){
+        return new MoveIterator(new Cursor(), Long.MAX_VALUE);
+    }
+
+    /**
+     * Create an iterator over the moves with a rank in \([from, to)\), in order of increasing rank. The
+     * upper bound is reduced to the size of the sequence, if necessary. Disjoint rank ranges can be
+     * enumerated separately, e.g. in different threads.
+     *
+     * @param from rank of first generated move (inclusive)
+     * @param to upper bound on the rank of generated moves (exclusive)
+     * @return iterator over the moves in the given rank range
+     * @throws IllegalArgumentException if <code>from</code> is negative or larger than <code>to</code>
+     * @throws ArithmeticException if the size of the sequence exceeds {@link Long#MAX_VALUE} and
+     *                             the move with rank <code>from</code> can therefore not be located
+     */
+    public Iterator<SubsetMove> iterator(long from, long to){
+        if(from < 0 || from > to){
+            throw new IllegalArgumentException("Invalid rank range [" + from + "," + to + ").");
+        }
+        Cursor cursor = new Cursor();
+        if(from == to || !cursor.seek(from)){
+            return Collections.emptyIterator();
+        }
+        return new MoveIterator(cursor, to - from);
+    }
+
+    /**
+     * Points to a move in the sequence and advances to the next move in constant amortized time.
+     */
+    private class Cursor {
+
+        // current number of added/removed IDs
+        private int s;
+        // positions of currently added and removed candidates
+        private final int[] addSubset, delSubset;
+        // cursor points to a move?
+        private boolean valid;
+
+        /**
+         * Create a cursor that points to the first move, if any.
+         */
+        Cursor(){
+            addSubset = new int[Math.max(numAdd(maxSize), 0)];
+            delSubset = new int[Math.max(numDel(maxSize), 0)];
+            startBlock(minSize);
+        }
+
+        /**
+         * Point to the first move that adds/removes \(s\) IDs, if \(s\) does not exceed the maximum size.
+         *
+         * @param s number of added/removed IDs
+         */
+        private void startBlock(int s){
+            this.s = s;
+            valid = s <= maxSize;
+            if(valid){
+                for(int i=0; i<numAdd(s); i++){
+                    addSubset[i] = i;
+                }
+                for(int i=0; i<numDel(s); i++){
+                    delSubset[i] = i;
+                }
+            }
+        }
+
+        /**
+         * Point to the move with the given rank.
+         *
+         * @param rank rank of the move
+         * @return <code>false</code> if the rank is negative or not smaller than the size of the sequence
+         */
+        boolean seek(long rank){
+            if(rank < 0){
+                return false;
+            }
+            for(int b=minSize; b<=maxSize; b++){
+                long numAddSubsets = RevolvingDoor.numSubsets(add.length, numAdd(b));
+                long size = Math.multiplyExact(numAddSubsets, RevolvingDoor.numSubsets(del.length, numDel(b)));
+                if(rank < size){
+                    s = b;
+                    RevolvingDoor.unrank(rank % numAddSubsets, add.length, numAdd(b), addSubset);
+                    RevolvingDoor.unrank(rank / numAddSubsets, del.length, numDel(b), delSubset);
+                    valid = true;
+                    return true;
+                }
+                rank -= size;
+            }
+            valid = false;
+            return false;
+        }
+
+        /**
+         * Check whether the cursor points to a move.
+         *
+         * @return <code>true</code> if the cursor has not yet passed the last move
+         */
+        boolean valid(){
+            return valid;
+        }
+
+        /**
+         * Create the move to which the cursor currently points.
+         *
+         * @return current move
+         */
+        SubsetMove move(){
+            return new GeneralSubsetMove(toIDs(addSubset, add, numAdd(s)), toIDs(delSubset, del, numDel(s)));
+        }
+
+        private Set<Integer> toIDs(int[] subset, int[] candidates, int k){
+            if(k == 0){
+                return Collections.emptySet();
+            }
+            Set<Integer> IDs = new LinkedHashSet<>();
+            for(int i=0; i<k; i++){
+                IDs.add(candidates[subset[i]]);
+            }
+            return IDs;
+        }
+
+        /**
+         * Advance to the next move, if any: the next subset of added IDs, else the next subset of
+         * removed IDs (restarting from the first subset of added IDs), else the next number of
+         * added/removed IDs.
+         */
+        void advance(){
+            if(RevolvingDoor.successor(addSubset, add.length, numAdd(s))){
+                return;
+            }
+            for(int i=0; i<numAdd(s); i++){
+                addSubset[i] = i;
+            }
+            if(RevolvingDoor.successor(delSubset, del.length, numDel(s))){
+                return;
+            }
+            startBlock(s+1);
+        }
+
+    }
+
+    /**
+     * Generates a bounded number of moves, starting from the position of a given cursor.
+     */
+    private class MoveIterator implements Iterator<SubsetMove> {
+
+        private final Cursor cursor;
+        private long remaining;
+
+        MoveIterator(Cursor cursor, long remaining){
+            this.cursor = cursor;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0 && cursor.valid();
+        }
+
+        @Override
+        public SubsetMove next() {
+            if(!hasNext()){
+                throw new NoSuchElementException("No more moves.");
+            }
+            SubsetMove move = cursor.move();
+            cursor.advance();
+            remaining--;
+            return move;
+        }
+
+    }
+
+}
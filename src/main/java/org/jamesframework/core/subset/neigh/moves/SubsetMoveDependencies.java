@@ -0,0 +1,89 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset.neigh.moves;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.jamesframework.core.search.cache.DependencyAwareDeltaCache;
+import org.jamesframework.core.search.cache.MoveDependencies;
+import org.jamesframework.core.search.neigh.Move;
+
+/**
+ * Move dependencies for subset moves in case of a separable evaluation, where the delta of a subset move only
+ * depends on the IDs that are added and removed by this move (e.g. when the value of a subset is the sum of
+ * independent values of the selected items). A subset move then only affects the delta of another subset move
+ * if both moves touch a common ID, i.e. if any ID that is added or removed by one move is also added or removed
+ * by the other move (in which case the other move might also no longer be applicable). Moves that are not subset
+ * moves are always considered to be dependent. Can be used to create a {@link DependencyAwareDeltaCache}, which
+ * only inspects the cached moves that touch an ID touched by an applied move (see {@link #getDependencyKeys(Move)}).
+ * <p>
+ * Note that this declaration is not correct for evaluations that depend on the size of the selection, or on
+ * interactions between selected items, nor when penalizing constraints are imposed that depend on such
+ * properties.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class SubsetMoveDependencies implements MoveDependencies {
+
+    /**
+     * Check whether the given moves touch a common ID. Returns <code>true</code>
+     * if any of both moves is not a subset move.
+     *
+     * @param appliedMove move that has been applied to the current solution
+     * @param cachedMove move of which the delta has been cached
+     * @return <code>true</code> if both moves touch a common ID or if any of both moves is not a subset move
+     */
+    @Override
+    public boolean invalidates(Move<?> appliedMove, Move<?> cachedMove) {
+        if(!(appliedMove instanceof SubsetMove) || !(cachedMove instanceof SubsetMove)){
+            return true;
+        }
+        SubsetMove applied = (SubsetMove) appliedMove;
+        SubsetMove cached = (SubsetMove) cachedMove;
+        Set<Integer> appliedAdd = applied.getAddedIDs();
+        Set<Integer> appliedDel = applied.getDeletedIDs();
+        Set<Integer> cachedAdd = cached.getAddedIDs();
+        Set<Integer> cachedDel = cached.getDeletedIDs();
+        return !Collections.disjoint(appliedAdd, cachedAdd)
+                || !Collections.disjoint(appliedAdd, cachedDel)
+                || !Collections.disjoint(appliedDel, cachedAdd)
+                || !Collections.disjoint(appliedDel, cachedDel);
+    }
+
+    /**
+     * The dependency keys of a subset move are the IDs that are added or removed by this move.
+     * Returns <code>null</code> if the given move is not a subset move.
+     *
+     * @param move move
+     * @return IDs added or removed by the move, <code>null</code> if the move is not a subset move
+     */
+    @Override
+    public Collection<?> getDependencyKeys(Move<?> move){
+        if(!(move instanceof SubsetMove)){
+            return null;
+        }
+        SubsetMove sMove = (SubsetMove) move;
+        List<Integer> keys = new ArrayList<>(sMove.getNumAdded() + sMove.getNumDeleted());
+        keys.addAll(sMove.getAddedIDs());
+        keys.addAll(sMove.getDeletedIDs());
+        return keys;
+    }
+
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.util;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * A set that stores its elements in a dense array, together with a hash map that tracks the position of each
+ * element in this array. Elements are appended at the end of the array and removed by moving the last element
+ * into the position of the removed element. As a result, adding, removing and looking up elements runs in constant
+ * time, and so does retrieving the element at a given position (see {@link #get(int)}), which allows to sample a
+ * random element in constant time (see {@link #getRandomElement(Random)}). Iteration follows the order of the
+ * underlying array, which is not preserved when elements are removed. Null elements are not permitted.
+ *
+ * @param <E> type of contained elements
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class IndexedSet<E> extends AbstractSet<E> {
+
+    // dense array of elements
+    private final ArrayList<E> elements;
+    // position of each element in the array
+    private final HashMap<E, Integer> positions;
+    // number of structural modifications (used to detect concurrent modification)
+    private int modCount = 0;
+
+    /**
+     * Create an empty indexed set.
+     */
+    public IndexedSet(){
+        elements = new ArrayList<>();
+        positions = new HashMap<>();
+    }
+
+    /**
+     * Create an indexed set containing the elements of the given collection,
+     * in the order in which they are returned by the collection's iterator.
+     *
+     * @param c collection of elements to add
+     * @throws NullPointerException if the collection is <code>null</code> or contains <code>null</code> elements
+     */
+    public IndexedSet(Collection<? extends E> c){
+        elements = new ArrayList<>(c.size());
+        positions = new HashMap<>(Math.max(2*c.size(), 16));
+        addAll(c);
+    }
+
+    /**
+     * Get the element at the given position in the underlying array. Runs in constant time.
+     *
+     * @param i position in [0, size()-1]
+     * @return element at position <code>i</code>
+     * @throws IndexOutOfBoundsException if <code>i</code> is not a valid position
+     */
+    public E get(int i){
+        return elements.get(i);
+    }
+
+    /**
+     * Select a random element from this set (uniformly distributed). Runs in constant time.
+     *
+     * @param rnd random generator
+     * @return random element
+     * @throws NoSuchElementException if the set is empty
+     */
+    public E getRandomElement(Random rnd){
+        if(elements.isEmpty()){
+            throw new NoSuchElementException("Can not select a random element from an empty set.");
+        }
+        return elements.get(rnd.nextInt(elements.size()));
+    }
+
+    /**
+     * Add the given element, if not yet contained in the set. Runs in constant time,
+     * assuming the hash function disperses the elements properly.
+     *
+     * @param e element to add
+     * @return <code>true</code> if the element was not yet contained in the set
+     * @throws NullPointerException if <code>e</code> is <code>null</code>
+     */
+    @Override
+    public boolean add(E e) {
+        if(e == null){
+            throw new NullPointerException("Indexed set does not permit null elements.");
+        }
+        if(positions.containsKey(e)){
+            return false;
+        }
+        positions.put(e, elements.size());
+        elements.add(e);
+        modCount++;
+        return true;
+    }
+
+    /**
+     * Remove the given element, if contained in the set. The last element of the underlying array
+     * is moved into the position of the removed element. Runs in constant time, assuming the hash
+     * function disperses the elements properly.
+     *
+     * @param o element to remove
+     * @return <code>true</code> if the element was contained in the set
+     */
+    @Override
+    public boolean remove(Object o) {
+        Integer pos = positions.remove(o);
+        if(pos == null){
+            return false;
+        }
+        removeAt(pos);
+        return true;
+    }
+
+    /**
+     * Remove the element at the given position from the array, by moving
+     * the last element into this position. The hash map should already
+     * have been updated for the removed element.
+     *
+     * @param pos position of removed element
+     */
+    private void removeAt(int pos){
+        E last = elements.remove(elements.size()-1);
+        if(pos < elements.size()){
+            elements.set(pos, last);
+            positions.put(last, pos);
+        }
+        modCount++;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return positions.containsKey(o);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+        positions.clear();
+        modCount++;
+    }
+
+    /**
+     * Iterates over the elements in the order of the underlying array. The returned
+     * iterator supports removal and fails fast in case of concurrent modification.
+     *
+     * @return iterator over the elements
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+
+            // position of next element
+            private int next = 0;
+            // position of last returned element (-1 if none)
+            private int last = -1;
+            // expected modification count
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return next < elements.size();
+            }
+
+            @Override
+            public E next() {
+                checkForComodification();
+                if(next >= elements.size()){
+                    throw new NoSuchElementException();
+                }
+                last = next++;
+                return elements.get(last);
+            }
+
+            @Override
+            public void remove() {
+                if(last < 0){
+                    throw new IllegalStateException();
+                }
+                checkForComodification();
+                positions.remove(elements.get(last));
+                removeAt(last);
+                // last element has been moved into the position of the removed
+                // element and is visited next (if not already visited)
+                next = last;
+                last = -1;
+                expectedModCount = modCount;
+            }
+
+            private void checkForComodification(){
+                if(modCount != expectedModCount){
+                    throw new ConcurrentModificationException();
+                }
+            }
+
+        };
+    }
+
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.util;
+
+import java.math.BigInteger;
+
+/**
+ * <p>
+ * Contains utility functions to rank, unrank and enumerate \(k\)-subsets of \(\{0, 1, \dots, n-1\}\) in the
+ * revolving door ordering, which is also the ordering applied by a {@link SubsetIterator} (for a fixed subset
+ * size, where the items are indexed in the order of the set's iterator). Subsets are represented as arrays of
+ * indices, sorted in ascending order, of which only the first \(k\) elements are used. The rank of a subset is
+ * its (zero-based) position in the ordering, which allows to jump straight to any subset without enumerating
+ * all preceding subsets, e.g. to partition an enumeration into disjoint rank ranges or to sample subsets.
+ * </p>
+ * <p>
+ * The implemented algorithms are those from "Combinatorial Algorithms: Generation, Enumeration and Search",
+ * Donald Kreher and Douglas Stinson, CRC Press, 1999 (chapter 2, p. 43-52), with indices counted from 0.
+ * </p>
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public final class RevolvingDoor {
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private RevolvingDoor(){
+    }
+
+    /**
+     * Compute the number of subsets of size \(k\) of a set of size \(n\), i.e. the binomial coefficient
+     * \(\binom{n}{k}\). Returns zero if \(k &lt; 0\) or \(k &gt; n\).
+     *
+     * @param n size of the full set
+     * @param k subset size
+     * @return number of subsets of size \(k\)
+     * @throws ArithmeticException if the number of subsets exceeds {@link Long#MAX_VALUE}
+     */
+    public static long numSubsets(int n, int k){
+        long c = binomial(n, k);
+        if(c < 0){
+            throw new ArithmeticException("Number of subsets of size " + k + " out of " + n
+                                            + " items exceeds " + Long.MAX_VALUE + ".");
+        }
+        return c;
+    }
+
+    /**
+     * Compute the binomial coefficient \(\binom{n}{k}\), or -1 if the result exceeds {@link Long#MAX_VALUE}.
+     * Each intermediate value is itself a binomial coefficient (divided by a common factor) so that no
+     * spurious overflow occurs.
+     *
+     * @param n size of the full set
+     * @param k subset size
+     * @return binomial coefficient, -1 in case of overflow
+     */
+    private static long binomial(int n, int k){
+        if(k < 0 || k > n){
+            return 0;
+        }
+        k = Math.min(k, n-k);
+        long c = 1;
+        for(int i=1; i<=k; i++){
+            // c * (n-k+i) is divisible by i; divide by the common factor first
+            long g = gcd(c, i);
+            try {
+                c = Math.multiplyExact(c/g, (n-k+i)/(i/g));
+            } catch (ArithmeticException ex){
+                return -1;
+            }
+        }
+        return c;
+    }
+
+    /**
+     * Compute the binomial coefficient \(\binom{n}{k}\) without overflow.
+     *
+     * @param n size of the full set
+     * @param k subset size
+     * @return binomial coefficient
+     */
+    private static BigInteger bigBinomial(int n, int k){
+        if(k < 0 || k > n){
+            return BigInteger.ZERO;
+        }
+        k = Math.min(k, n-k);
+        BigInteger c = BigInteger.ONE;
+        for(int i=1; i<=k; i++){
+            c = c.multiply(BigInteger.valueOf(n-k+i)).divide(BigInteger.valueOf(i));
+        }
+        return c;
+    }
+
+    private static long gcd(long a, long b){
+        while(b != 0){
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    /**
+     * Compute the rank of the given \(k\)-subset in the revolving door ordering.
+     *
+     * @param subset array containing the indices of the selected items in ascending order (first \(k\) elements)
+     * @param k subset size
+     * @return rank of the subset, in \([0, \binom{n}{k}-1]\)
+     * @throws ArrayIndexOutOfBoundsException if the array contains less than \(k\) elements
+     * @throws ArithmeticException if the rank exceeds {@link Long#MAX_VALUE}
+     */
+    public static long rank(int[] subset, int k){
+        long r = -(k % 2);
+        int s = 1;
+        for(int i=k; i>=1; i--){
+            long c = binomial(subset[i-1]+1, i);
+            if(c < 0){
+                // intermediate overflow: the rank itself may still fit
+                return bigRank(subset, k);
+            }
+            r = Math.addExact(r, s * c);
+            s = -s;
+        }
+        return r;
+    }
+
+    /**
+     * Compute the rank of the given \(k\)-subset using arbitrary precision arithmetic.
+     *
+     * @param subset array containing the indices of the selected items in ascending order (first \(k\) elements)
+     * @param k subset size
+     * @return rank of the subset
+     * @throws ArithmeticException if the rank exceeds {@link Long#MAX_VALUE}
+     */
+    private static long bigRank(int[] subset, int k){
+        BigInteger r = BigInteger.valueOf(-(k % 2));
+        boolean add = true;
+        for(int i=k; i>=1; i--){
+            BigInteger c = bigBinomial(subset[i-1]+1, i);
+            r = add ? r.add(c) : r.subtract(c);
+            add = !add;
+        }
+        if(r.bitLength() > 63){
+            throw new ArithmeticException("Rank of subset exceeds " + Long.MAX_VALUE + ".");
+        }
+        return r.longValue();
+    }
+
+    /**
+     * Fill the first \(k\) elements of the given array with the indices of the \(k\)-subset of \(\{0, \dots, n-1\}\)
+     * that has the given rank in the revolving door ordering, sorted in ascending order.
+     *
+     * @param rank rank of the subset, in \([0, \binom{n}{k}-1]\)
+     * @param n size of the full set
+     * @param k subset size
+     * @param subset array in which the indices of the selected items are stored (length at least \(k\))
+     * @throws IllegalArgumentException if \(k &lt; 0\), \(k &gt; n\) or the rank is out of range
+     * @throws ArrayIndexOutOfBoundsException if the array contains less than \(k\) elements
+     */
+    public static void unrank(long rank, int n, int k, int[] subset){
+        if(k < 0 || k > n){
+            throw new IllegalArgumentException("Subset size should be in [0," + n + "] (got: " + k + ").");
+        }
+        long num = binomial(n, k);
+        if(rank < 0 || (num >= 0 && rank >= num)){
+            throw new IllegalArgumentException("Rank should be in [0," + num + ") (got: " + rank + ").");
+        }
+        long r = rank;
+        int x = n;
+        for(int i=k; i>=1; i--){
+            // find largest x with binom(x,i) <= r (overflow means larger than any rank)
+            long c = binomial(x, i);
+            while(c < 0 || c > r){
+                x--;
+                c = binomial(x, i);
+            }
+            subset[i-1] = x;
+            c = binomial(x+1, i);
+            if(c < 0){
+                // remaining ranks may not fit in a long: continue with arbitrary precision
+                bigUnrank(bigBinomial(x+1, i).subtract(BigInteger.valueOf(r).add(BigInteger.ONE)), x, i-1, subset);
+                return;
+            }
+            r = c - r - 1;
+        }
+    }
+
+    /**
+     * Continue unranking with arbitrary precision, for subset size \(k\) and largest candidate index \(x\).
+     *
+     * @param rank remaining rank
+     * @param x largest candidate index
+     * @param k remaining subset size
+     * @param subset array in which the indices of the selected items are stored
+     */
+    private static void bigUnrank(BigInteger rank, int x, int k, int[] subset){
+        BigInteger r = rank;
+        for(int i=k; i>=1; i--){
+            BigInteger c = bigBinomial(x, i);
+            while(c.compareTo(r) > 0){
+                x--;
+                c = bigBinomial(x, i);
+            }
+            subset[i-1] = x;
+            r = bigBinomial(x+1, i).subtract(r).subtract(BigInteger.ONE);
+        }
+    }
+
+    /**
+     * Replace the given \(k\)-subset of \(\{0, \dots, n-1\}\) with its successor in the revolving door ordering,
+     * if any. Consecutive subsets differ in exactly one element: one index is removed and another one is added.
+     * If the given subset is the last subset of size \(k\), the array is not modified and <code>false</code> is
+     * returned. Runs in constant time on average.
+     *
+     * @param subset array containing the indices of the selected items in ascending order (first \(k\) elements),
+     *               replaced with those of the successor
+     * @param n size of the full set
+     * @param k subset size
+     * @return <code>true</code> if the subset has been replaced with its successor, <code>false</code> if
+     *         the given subset is the last subset of size \(k\)
+     */
+    public static boolean successor(int[] subset, int n, int k){
+        return successor(subset, n, k, null);
+    }
+
+    /**
+     * Replace the given \(k\)-subset of \(\{0, \dots, n-1\}\) with its successor in the revolving door ordering,
+     * if any, and report the corresponding change. The index that is removed from the subset is stored at position
+     * 0 of the array <code>change</code> and the index that is added to the subset is stored at position 1. If the
+     * given subset is the last subset of size \(k\), neither array is modified and <code>false</code> is returned.
+     * Runs in constant time on average.
+     *
+     * @param subset array containing the indices of the selected items in ascending order (first \(k\) elements),
+     *               replaced with those of the successor
+     * @param n size of the full set
+     * @param k subset size
+     * @param change array of length at least 2 in which the removed and added index are stored,
+     *               ignored if <code>null</code>
+     * @return <code>true</code> if the subset has been replaced with its successor, <code>false</code> if
+     *         the given subset is the last subset of size \(k\)
+     */
+    public static boolean successor(int[] subset, int n, int k, int[] change){
+        int[] t = subset;
+        // search for first index j where t[j] is different from j
+        int j = 0;
+        while(j < k && t[j] == j){
+            j++;
+        }
+        // check whether all subsets of this size have been generated
+        if(j == k-1 && t[j] == n-1 || k == n || k == 0){
+            return false;
+        }
+        // successor according to kSubsetRevDoorSuccessor (t[k] is implicitly equal to n),
+        // where t[0..j-1] = {0,...,j-1} before the update
+        int removed, added;
+        if((k - (j+1)) % 2 != 0){
+            if(j == 0){
+                removed = t[0];
+                added = t[0]-1;
+                t[0] = added;
+            } else {
+                removed = j >= 2 ? j-2 : j-1;
+                added = j;
+                t[j-1] = j;
+                if(j-2 >= 0){
+                    t[j-2] = j-1;
+                }
+            }
+        } else {
+            int next = j+1 < k ? t[j+1] : n;
+            if(next != t[j]+1){
+                removed = j >= 1 ? j-1 : t[j];
+                added = t[j]+1;
+                if(j-1 >= 0){
+                    t[j-1] = t[j];
+                }
+                t[j] = t[j] + 1;
+            } else {
+                removed = t[j]+1;
+                added = j;
+                t[j+1] = t[j];
+                t[j] = j;
+            }
+        }
+        if(change != null){
+            change[0] = removed;
+            change[1] = added;
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Provides executors that can be shared by several parallel searches, e.g. by setting them in a
+ * {@link org.jamesframework.core.search.algo.BasicParallelSearch} or
+ * {@link org.jamesframework.core.search.algo.ParallelTempering} search. Sharing a single executor avoids
+ * creating a separate pool of threads for every parallel search, which leads to oversubscription of the
+ * available processors when many parallel searches are executed in the same JVM.
+ * <p>
+ * On Java 21 or later, an executor that runs every task in a new virtual thread is also provided
+ * (see {@link #getVirtualThreadExecutor()}). This makes it possible to run thousands of concurrent searches
+ * without tuning pool sizes. The framework itself still targets Java 8: virtual threads are accessed
+ * reflectively and are reported to be unsupported on older Java versions.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public final class SearchExecutors {
+
+    // lazily initialized holder of the shared pool
+    private static class SharedPoolHolder {
+        private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    // lazily initialized holder of the shared virtual thread executor (null if not supported)
+    private static class VirtualThreadExecutorHolder {
+        private static final ExecutorService EXECUTOR = createVirtualThreadExecutor();
+    }
+
+    private SearchExecutors(){}
+
+    /**
+     * Get the shared work-stealing pool, with a parallelism level equal to the number of available processors.
+     * The pool is created when this method is first called. It uses daemon threads and should not be shut down.
+     * A thread of the pool that waits for the completion of a task that was submitted to the same pool (e.g. a
+     * parallel tempering search nested in a basic parallel search) executes other pending tasks in the meantime,
+     * or temporarily activates an additional thread, so that nested parallel searches do not deadlock.
+     *
+     * @return shared work-stealing pool
+     */
+    public static ForkJoinPool getSharedPool(){
+        return SharedPoolHolder.POOL;
+    }
+
+    /**
+     * Check whether virtual threads are supported by the running Java version (Java 21 or later).
+     *
+     * @return <code>true</code> if virtual threads are supported
+     */
+    public static boolean virtualThreadsSupported(){
+        return VirtualThreadExecutorHolder.EXECUTOR != null;
+    }
+
+    /**
+     * Get the shared executor that runs every submitted task in a new virtual thread. The executor is created when
+     * first requested and should not be shut down. Because virtual threads are cheap to create and to block, every
+     * subsearch of a basic parallel search or replica of a parallel tempering search can be executed in a separate
+     * virtual thread, regardless of the number of concurrently executed searches. Note that a virtual thread that
+     * executes a long, CPU-bound task is not preempted, so that subsearches might still have to be executed in step
+     * slices to share the processors fairly (see
+     * {@link org.jamesframework.core.search.algo.BasicParallelSearch#setStepSlice(long)}).
+     *
+     * @return shared virtual thread executor
+     * @throws UnsupportedOperationException if virtual threads are not supported by the running Java version
+     */
+    public static ExecutorService getVirtualThreadExecutor(){
+        ExecutorService executor = VirtualThreadExecutorHolder.EXECUTOR;
+        if(executor == null){
+            throw new UnsupportedOperationException("Virtual threads are not supported by the running Java version "
+                                                    + "(requires Java 21 or later).");
+        }
+        return executor;
+    }
+
+    /**
+     * Reflectively create an executor that starts a new virtual thread for each task.
+     *
+     * @return virtual thread executor, <code>null</code> if not supported
+     */
+    private static ExecutorService createVirtualThreadExecutor(){
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException ex){
+            // not available (older Java version, or preview feature not enabled)
+            return null;
+        }
+    }
+
+}
@@ -16,9 +16,12 @@
 
 package org.jamesframework.core.util;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 
@@ -32,13 +35,23 @@ import java.util.Set;
  * and Douglas Stinson, CRC Press, 1999 (chapter 2, p. 43-52). This algorithm generates
  * k-subsets in a specific minimal change ordering called the revolving door ordering.
  * </p>
+ * <p>
+ * Subsets are generated in order of increasing size and each subset has a unique rank, i.e. its (zero-based)
+ * position in the entire enumeration. The iterator can jump straight to the subset with any given rank (see
+ * {@link #jumpTo(long)}) and can be restricted to a range of ranks \([from, to)\) when it is created, so that
+ * the enumeration can be partitioned into disjoint ranges that are explored separately, e.g. in different
+ * threads or on different machines (see {@link RevolvingDoor} for the underlying ranking algorithms). Ranks
+ * depend on the order in which the items are returned by the iterator of the given set, so all partial
+ * enumerations should be created from sets with the same iteration order (e.g. a {@link java.util.TreeSet}).
+ * </p>
  * 
  * @param <T> type of elements in set and generated subsets
  * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
  */
 public class SubsetIterator<T> implements Iterator<Set<T>>{
 
-    // maximum subset size
+    // minimum and maximum subset size
+    private final int minSubsetSize;
     private final int maxSubsetSize;
 
     // array containing all items to select from
@@ -48,6 +61,20 @@ public class SubsetIterator<T> implements Iterator<Set<T>>{
     // NOTE: last element of t is a dummy element set to |items|
     private int[] t;
     
+    // rank of next generated subset
+    private long rank;
+    // upper bound on the rank of generated subsets (exclusive)
+    private final long toRank;
+    
+    // position of each item in the item array (created when first needed)
+    private Map<T, Integer> itemIndices;
+    
+    // change (removed and added index) from the previously generated subset to the subset in t,
+    // and from the subset generated before to the most recently generated subset (-1 if unknown)
+    private final int[] change = new int[2];
+    private int nextRemoved = -1, nextAdded = -1;
+    private int lastRemoved = -1, lastAdded = -1;
+    
     /**
      * Create a subset iterator that generates all subsets of the given set, within the imposed size range.
      * 
@@ -60,8 +87,30 @@ public class SubsetIterator<T> implements Iterator<Set<T>>{
      *                                     <code>minSubsetSize &gt; |IDs|</code>,
      *                                     or <code>minSubsetSize &gt; maxSubsetSize</code>
      */
-    @SuppressWarnings("unchecked")
     public SubsetIterator(Set<T> items, int minSubsetSize, int maxSubsetSize){
+        this(items, minSubsetSize, maxSubsetSize, 0, Long.MAX_VALUE);
+    }
+    
+    /**
+     * Create a subset iterator that generates those subsets of the given set within the imposed size range of which
+     * the rank is contained in \([from, to)\). The upper bound is reduced to the total number of subsets within the
+     * size range, if necessary. Iterators created for disjoint rank ranges generate disjoint collections of subsets.
+     * 
+     * @param items set of items to select from 
+     * @param minSubsetSize minimum subset size
+     * @param maxSubsetSize maximum subset size
+     * @param fromRank rank of the first generated subset (inclusive)
+     * @param toRank upper bound on the rank of generated subsets (exclusive)
+     * @throws NullPointerException if <code>items</code> is <code>null</code>
+     * @throws IllegalArgumentException if <code>items</code> is empty,
+     *                                     <code>minSubsetSize &lt; 0</code>,
+     *                                     <code>minSubsetSize &gt; |IDs|</code>,
+     *                                     <code>minSubsetSize &gt; maxSubsetSize</code>,
+     *                                     <code>fromRank &lt; 0</code>
+     *                                     or <code>fromRank &gt; toRank</code>
+     */
+    @SuppressWarnings("unchecked")
+    public SubsetIterator(Set<T> items, int minSubsetSize, int maxSubsetSize, long fromRank, long toRank){
         // check collection of IDs
         if(items.isEmpty()){
             throw new IllegalArgumentException("Error while creating subset iterator: no items to select from.");
@@ -82,15 +131,17 @@ public class SubsetIterator<T> implements Iterator<Set<T>>{
             throw new IllegalArgumentException("Error while creating subset iterator: minimum subset size can not be "
                                                 + "larger than maximum subset size.");
         }
-        // set indices of selected items in first generated subset (t = {0,1,...,k-1}, with k = minimum subset size)
-        t = new int[minSubsetSize+1];
-        for(int i=0; i<minSubsetSize; i++){
-            t[i] = i;
+        // check rank range
+        if(fromRank < 0 || fromRank > toRank){
+            throw new IllegalArgumentException("Error while creating subset iterator: invalid rank range ["
+                                                + fromRank + "," + toRank + ").");
         }
-        // set dummy element
-        t[minSubsetSize] = items.size();
-        // store maximum size
+        // store minimum/maximum size and rank bound
+        this.minSubsetSize = minSubsetSize;
         this.maxSubsetSize = maxSubsetSize;
+        this.toRank = toRank;
+        // set indices of selected items in first generated subset
+        jumpTo(fromRank);
     }
     
     /**
@@ -110,12 +161,13 @@ public class SubsetIterator<T> implements Iterator<Set<T>>{
     /**
      * Checks whether more subsets are to be generated.
      * 
-     * @return <code>false</code> if all possible subsets of all valid
-     *         sizes have already been generated, else <code>true</code>
+     * @return <code>false</code> if all possible subsets of all valid sizes have already been
+     *         generated, or if the upper bound of the imposed rank range has been reached,
+     *         else <code>true</code>
      */
     @Override
     public boolean hasNext() {
-        return t != null;
+        return t != null && rank < toRank;
     }
 
     /**
@@ -142,79 +194,266 @@ public class SubsetIterator<T> implements Iterator<Set<T>>{
         for(int i=0; i<t.length-1; i++){ // skip last element (= dummy)
             subset.add(items[t[i]]);
         }
+        // advance to next subset
+        advance();
+        // return current subset
+        return subset;
+    }
+    
+    /**
+     * Generate the next subset in a newly allocated {@link LinkedHashSet}.
+     * 
+     * @return next subset stored in newly allocated {@link LinkedHashSet}.
+     * @throws NoSuchElementException if there is no next subset to be generated
+     */
+    @Override
+    public Set<T> next() {
+        Set<T> subset = new LinkedHashSet<>();
+        next(subset);
+        return subset;
+    }
+    
+    /**
+     * <p>
+     * Store the indices of the items from the next subset in the given array, without allocating any
+     * objects. Indices refer to the position of the items in the order of the iterator of the set from which
+     * this subset iterator selects; the item with a given index is obtained with {@link #getItem(int)}.
+     * The indices are stored in ascending order in the first \(k\) elements of the array, where \(k\)
+     * is the size of the next subset, which is returned. Other elements are not modified.
+     * </p>
+     * <p>
+     * Consecutive subsets of the same size differ in a single item. After generating a subset, the change
+     * with respect to the previously generated subset is reported by {@link #getLastRemovedIndex()} and
+     * {@link #getLastAddedIndex()}, so that a single data structure can also be updated incrementally.
+     * </p>
+     * 
+     * @param indices array in which the item indices of the next subset are stored, of length at least
+     *                equal to the maximum subset size (bounded by the number of items)
+     * @return size of the next subset
+     * @throws NoSuchElementException if there is no next subset to be generated
+     * @throws ArrayIndexOutOfBoundsException if the array is too short to store the next subset
+     */
+    public int nextIndices(int[] indices){
+        // check if there is a next subset to generate
+        if(!hasNext()){
+            throw new NoSuchElementException("No more subsets to be generated.");
+        }
+        // copy currently selected indices
+        int k = t.length-1;
+        System.arraycopy(t, 0, indices, 0, k);
+        // advance to next subset
+        advance();
+        return k;
+    }
+    
+    /**
+     * Get the item with the given index, i.e. its position in the order of the iterator of the set
+     * from which this subset iterator selects (see {@link #nextIndices(int[])}).
+     * 
+     * @param index index of the item, in \([0, n)\) where \(n\) is the number of items
+     * @return item with the given index
+     * @throws ArrayIndexOutOfBoundsException if the index is out of range
+     */
+    public T getItem(int index){
+        return items[index];
+    }
+    
+    /**
+     * Get the index of the item that was removed from the previously generated subset to obtain the most recently
+     * generated subset (see {@link #getItem(int)}). Returns -1 if no subset or only one subset has been generated,
+     * if the iterator jumped to another position in between, or if both subsets have a different size, in which
+     * case they differ in more than a single item.
+     * 
+     * @return index of the removed item, -1 if the last two generated subsets do not differ in a single item
+     */
+    public int getLastRemovedIndex(){
+        return lastRemoved;
+    }
+    
+    /**
+     * Get the index of the item that was added to the previously generated subset to obtain the most recently
+     * generated subset (see {@link #getItem(int)}). Returns -1 if no subset or only one subset has been generated,
+     * if the iterator jumped to another position in between, or if both subsets have a different size, in which
+     * case they differ in more than a single item.
+     * 
+     * @return index of the added item, -1 if the last two generated subsets do not differ in a single item
+     */
+    public int getLastAddedIndex(){
+        return lastAdded;
+    }
+    
+    /**
+     * Advance to the next subset after the current subset has been generated. Also tracks the change
+     * in between both subsets.
+     */
+    private void advance(){
+        // register change leading to the subset that has just been generated
+        lastRemoved = nextRemoved;
+        lastAdded = nextAdded;
         
         // set indices of items to be selected in next subset, if any, according to kSubsetRevDoorSuccessor
-        // algorithm by Kreher and Stinson (p. 52), modified so that
-        //  - it is detected when all subsets of the current size have been generated
-        //  - in the latter case, the generation continues with the next size, if still valid
-        //  - indices and values in t are counted from 0 to k-1 instead of 1 to k
-        //  - special cases (size 1 and full size) also work
+        // algorithm by Kreher and Stinson (p. 52, see RevolvingDoor), where the generation continues with
+        // the next size, if still valid, when all subsets of the current size have been generated
         
         // k indicates current subset size (account for dummy element!)
         int k = t.length-1;
         
-        // search for first index j where t[j] is different from j
-        int j=0;
-        while(j < k && t[j] == j){
-            j++;
-        }
-        
-        // if j = k-1 and t[j] = |items|-1, or k = |items| or k = 0, all subsets of the current size have been generated
-        if (j == k-1 && t[j] == items.length-1 || k == items.length || k == 0){
+        if(RevolvingDoor.successor(t, items.length, k, change)){
+            // next subset of same size: single item changed
+            nextRemoved = change[0];
+            nextAdded = change[1];
+        } else {
+            // no single change
+            nextRemoved = nextAdded = -1;
             // go to next size, if still within bounds
             int nextSize = k+1;
             if(nextSize <= maxSubsetSize && nextSize <= items.length){
                 // set first subset of next size (t = {0,1,...,nextSize-1})
-                t = new int[nextSize+1];
-                for(int i=0; i<nextSize; i++){
-                    t[i] = i;
-                }
-                // set dummy
-                t[nextSize] = items.length;
+                t = firstSubset(nextSize);
             } else {
                 // next size is no longer within bounds
                 t = null;
             }
-        } else {
-            // generate next subset of current size
-            // (according to revolving door successor algorithm)
-            if((k - (j+1)) % 2 != 0){
-                if(j == 0){
-                    t[0] = t[0]-1;
-                } else {
-                    t[j-1] = j;
-                    if(j-2 >= 0){
-                        t[j-2] = j-1;
-                    }
-                }
-            } else {
-                if(t[j+1] != t[j]+1){
-                    if(j-1 >= 0){
-                        t[j-1] = t[j];
-                    }
-                    t[j] = t[j] + 1;
-                } else {
-                    t[j+1] = t[j];
-                    t[j] = j;
-                }
+        }
+        rank++;
+    }
+    
+    /**
+     * Create the indices of the first subset of the given size (t = {0,1,...,size-1}), followed by a dummy element.
+     * 
+     * @param size subset size
+     * @return indices of the first subset of the given size, followed by a dummy element
+     */
+    private int[] firstSubset(int size){
+        int[] first = new int[size+1];
+        for(int i=0; i<size; i++){
+            first[i] = i;
+        }
+        // set dummy element
+        first[size] = items.length;
+        return first;
+    }
+    
+    /**
+     * Get the largest generated subset size, also bounded by the number of items.
+     * 
+     * @return largest generated subset size
+     */
+    private int largestSubsetSize(){
+        return Math.min(maxSubsetSize, items.length);
+    }
+    
+    /**
+     * Get the total number of subsets within the imposed size range, regardless of any imposed rank range.
+     * 
+     * @return number of subsets within the size range
+     * @throws ArithmeticException if the number of subsets exceeds {@link Long#MAX_VALUE}
+     */
+    public long getNumSubsets(){
+        long num = 0;
+        for(int size=minSubsetSize; size<=largestSubsetSize(); size++){
+            num = Math.addExact(num, RevolvingDoor.numSubsets(items.length, size));
+        }
+        return num;
+    }
+    
+    /**
+     * Get the rank of the next subset to be generated. Unless the iterator was created with a rank range or it
+     * jumped to another position, this is the number of subsets that have already been generated.
+     * 
+     * @return rank of the next generated subset
+     */
+    public long getRank(){
+        return rank;
+    }
+    
+    /**
+     * Get the upper bound on the rank of generated subsets (exclusive), as specified at construction.
+     * Returns {@link Long#MAX_VALUE} if no rank range has been imposed.
+     * 
+     * @return upper bound on the rank of generated subsets
+     */
+    public long getToRank(){
+        return toRank;
+    }
+    
+    /**
+     * Position the iterator so that the next generated subset is the one with the given rank, without generating
+     * any of the preceding subsets. It is allowed to jump both forward and backward. Runs in time linear in the
+     * number of items and the subset size. If the rank is not smaller than the total number of subsets or the
+     * upper bound of the imposed rank range, if any, no more subsets will be generated.
+     * 
+     * @param rank rank of the next generated subset
+     * @throws IllegalArgumentException if <code>rank</code> is negative
+     */
+    public final void jumpTo(long rank){
+        if(rank < 0){
+            throw new IllegalArgumentException("Rank can not be negative (got: " + rank + ").");
+        }
+        this.rank = rank;
+        // subset after jump does not differ in a single item from previously generated subset
+        nextRemoved = nextAdded = -1;
+        // locate size of requested subset and its rank among all subsets of this size
+        long r = rank;
+        for(int size=minSubsetSize; size<=largestSubsetSize(); size++){
+            long num;
+            try {
+                num = RevolvingDoor.numSubsets(items.length, size);
+            } catch (ArithmeticException ex){
+                // more subsets of this size than any rank
+                num = Long.MAX_VALUE;
+            }
+            if(r < num){
+                t = firstSubset(size);
+                RevolvingDoor.unrank(r, items.length, size, t);
+                return;
             }
+            r -= num;
         }
-        
-        // return current subset
-        return subset;
+        // no subset with given rank
+        t = null;
     }
     
     /**
-     * Generate the next subset in a newly allocated {@link LinkedHashSet}.
+     * Compute the rank of the given subset in the enumeration generated by this iterator, regardless of any
+     * imposed rank range.
      * 
-     * @return next subset stored in newly allocated {@link LinkedHashSet}.
-     * @throws NoSuchElementException if there is no next subset to be generated
+     * @param subset subset of the items from which this iterator selects
+     * @return rank of the given subset
+     * @throws IllegalArgumentException if the subset contains items that are not part of the set from which
+     *                                  this iterator selects, or if its size is outside the imposed range
+     * @throws ArithmeticException if the rank exceeds {@link Long#MAX_VALUE}
      */
-    @Override
-    public Set<T> next() {
-        Set<T> subset = new LinkedHashSet<>();
-        next(subset);
-        return subset;
+    public long rank(Collection<T> subset){
+        int size = subset.size();
+        if(size < minSubsetSize || size > largestSubsetSize()){
+            throw new IllegalArgumentException("Subset size should be in [" + minSubsetSize + ","
+                                                + largestSubsetSize() + "] (got: " + size + ").");
+        }
+        // map items to indices
+        if(itemIndices == null){
+            itemIndices = new HashMap<>();
+            for(int i=0; i<items.length; i++){
+                itemIndices.put(items[i], i);
+            }
+        }
+        int[] indices = new int[size];
+        int i = 0;
+        for(T item : subset){
+            Integer index = itemIndices.get(item);
+            if(index == null){
+                throw new IllegalArgumentException("Item " + item + " is not part of the set from which "
+                                                    + "this iterator selects.");
+            }
+            indices[i++] = index;
+        }
+        Arrays.sort(indices);
+        // add number of smaller subsets to rank among subsets of the same size
+        long r = RevolvingDoor.rank(indices, size);
+        for(int s=minSubsetSize; s<size; s++){
+            r = Math.addExact(r, RevolvingDoor.numSubsets(items.length, s));
+        }
+        return r;
     }
 
 }
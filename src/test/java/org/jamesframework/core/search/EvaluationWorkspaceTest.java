@@ -0,0 +1,149 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.search;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.jamesframework.core.search.neigh.Move;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.SinglePerturbationNeighbourhood;
+import org.jamesframework.core.util.SetUtilities;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test evaluation workspace.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class EvaluationWorkspaceTest {
+
+    // number of IDs
+    private static final int NUM_IDS = 100;
+
+    // random generator
+    private static final Random RG = new Random();
+
+    // set of all IDs
+    private static Set<Integer> IDs;
+
+    // neighbourhood used to generate random moves
+    private static final SinglePerturbationNeighbourhood NEIGH = new SinglePerturbationNeighbourhood();
+
+    /**
+     * Create set of IDs.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing EvaluationWorkspace ...");
+        IDs = new HashSet<>();
+        for(int i=0; i<NUM_IDS; i++){
+            IDs.add(i);
+        }
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing EvaluationWorkspace!");
+    }
+
+    @Test
+    public void testConstructor() {
+
+        System.out.println(" - test constructor");
+
+        boolean thrown = false;
+        try {
+            new EvaluationWorkspace<SubsetSolution>(0);
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        thrown = false;
+        try {
+            new EvaluationWorkspace<SubsetSolution>(2, -1);
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        EvaluationWorkspace<SubsetSolution> ws = new EvaluationWorkspace<>(3);
+        assertEquals(3, ws.getNumReplicas());
+        assertNull(ws.getSolution());
+
+        // no solution tracked
+        thrown = false;
+        try {
+            ws.getReplica(0);
+        } catch (IllegalStateException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+    }
+
+    @Test
+    public void testGetReplica() {
+
+        System.out.println(" - test getReplica");
+
+        // test with different maximum log sizes
+        for(int maxLogSize : new int[]{0, 3, 1000}){
+            SubsetSolution sol = new SubsetSolution(IDs, SetUtilities.getRandomSubset(IDs, NUM_IDS/2, RG));
+            EvaluationWorkspace<SubsetSolution> ws = new EvaluationWorkspace<>(3, maxLogSize);
+            ws.reset(sol);
+            assertSame(sol, ws.getSolution());
+            // replicas are copies
+            SubsetSolution replica = ws.getReplica(0);
+            assertEquals(sol, replica);
+            assertNotSame(sol, replica);
+            assertNotSame(replica, ws.getReplica(1));
+            for(int i=0; i<100; i++){
+                // apply random moves to tracked solution
+                int numMoves = RG.nextInt(6);
+                for(int m=0; m<numMoves; m++){
+                    Move<? super SubsetSolution> move = NEIGH.getRandomMove(sol, RG);
+                    move.apply(sol);
+                    ws.moveApplied(move);
+                }
+                // request random replica: should be in sync
+                int r = RG.nextInt(3);
+                replica = ws.getReplica(r);
+                assertEquals(sol, replica);
+                // temporarily modify replica (restored before next request)
+                Move<? super SubsetSolution> move = NEIGH.getRandomMove(replica, RG);
+                move.apply(replica);
+                move.undo(replica);
+            }
+            // reset to other solution
+            SubsetSolution other = new SubsetSolution(IDs);
+            ws.reset(other);
+            for(int r=0; r<3; r++){
+                assertEquals(other, ws.getReplica(r));
+            }
+        }
+
+    }
+
+}
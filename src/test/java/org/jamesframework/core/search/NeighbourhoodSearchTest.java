@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 
 import org.jamesframework.core.exceptions.SearchException;
 import org.jamesframework.core.problems.Problem;
@@ -572,6 +573,60 @@ public class NeighbourhoodSearchTest extends SearchTestTemplate {
         assertTrue(neighSearch.computeDelta(neighSearch.evaluate(maxImprovement), bestEval) >= 0);
     }
     
+    /**
+     * Test getBestMove method with parallel move evaluation.
+     */
+    @Test
+    public void testGetBestMoveInParallel() {
+        
+        System.out.println(" - test getBestMove with parallel move evaluation");
+        
+        // invalid parallelism
+        boolean thrown = false;
+        try {
+            neighSearch.setMoveEvaluationParallelism(0);
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        assertEquals(1, neighSearch.getMoveEvaluationParallelism());
+        
+        // create search with parallel move evaluation
+        NeighbourhoodSearch<SubsetSolution> parSearch = new NeighbourhoodSearchStub<>(problem);
+        parSearch.setMoveEvaluationParallelism(4);
+        assertEquals(4, parSearch.getMoveEvaluationParallelism());
+        
+        for(int r = 0; r < 10; r++){
+            // set same random current solution in both searches
+            SubsetSolution sol = problem.createRandomSolution();
+            neighSearch.setCurrentSolution(sol);
+            parSearch.setCurrentSolution(Solution.checkedCopy(sol));
+            List<SubsetMove> moves = neigh.getAllMoves(sol);
+            // filter that rejects some moves
+            int filtered = RG.nextInt(DATASET_SIZE);
+            Predicate<Move<? super SubsetSolution>> filter = m -> !((SubsetMove) m).getAddedIDs().contains(filtered);
+            // verify that same move is selected
+            for(boolean requireImprovement : new boolean[]{true, false}){
+                for(boolean acceptFirstImprovement : new boolean[]{true, false}){
+                    assertEquals(
+                        neighSearch.getBestMove(moves, requireImprovement, acceptFirstImprovement),
+                        parSearch.getBestMove(moves, requireImprovement, acceptFirstImprovement)
+                    );
+                    assertEquals(
+                        neighSearch.getBestMove(moves, requireImprovement, acceptFirstImprovement, filter),
+                        parSearch.getBestMove(moves, requireImprovement, acceptFirstImprovement, filter)
+                    );
+                }
+            }
+            // current solution is not modified
+            assertEquals(sol, parSearch.getCurrentSolution());
+        }
+        
+        // dispose search (releases thread pool)
+        parSearch.dispose();
+        
+    }
+    
     /**
      * Test of accept method, of class NeighbourhoodSearch
      */
@@ -18,6 +18,8 @@ package org.jamesframework.core.search.algo;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import org.jamesframework.core.exceptions.SearchException;
 import org.jamesframework.core.problems.Problem;
@@ -30,7 +32,9 @@ import org.jamesframework.core.search.status.SearchStatus;
 import org.jamesframework.core.search.SearchTestTemplate;
 import org.jamesframework.core.search.algo.exh.ExhaustiveSearch;
 import org.jamesframework.core.search.listeners.SearchListener;
+import org.jamesframework.core.search.stopcriteria.MaxRuntime;
 import org.jamesframework.core.subset.algo.exh.SubsetSolutionIterator;
+import org.jamesframework.core.util.SearchExecutors;
 import org.jamesframework.test.util.DoubleComparatorWithPrecision;
 import org.jamesframework.test.stubs.NeverSatisfiedConstraintStub;
 import org.jamesframework.test.stubs.NeverSatisfiedPenalizingConstraintStub;
@@ -59,6 +63,8 @@ public class BasicParallelSearchTest extends SearchTestTemplate {
     private final long SINGLE_RUN_RUNTIME = 1000;
     private final long MULTI_RUN_RUNTIME = 200;
     private final TimeUnit MAX_RUNTIME_TIME_UNIT = TimeUnit.MILLISECONDS;
+    // maximum runtime (in seconds) of tests that stop the search by other means
+    private final long SAFETY_RUNTIME = 60;
     
     // number of runs in multi run tests
     private final int NUM_RUNS = 5;
@@ -243,6 +249,168 @@ public class BasicParallelSearchTest extends SearchTestTemplate {
         }
     }
     
+    /**
+     * Test single run with shared pool and step slices.
+     */
+    @Test
+    public void testSingleRunWithStepSlices() {
+        System.out.println(" - test single run with shared pool and step slices");
+        
+        boolean thrown = false;
+        try {
+            parallelSearch.setExecutorService(null);
+        } catch (NullPointerException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        
+        thrown = false;
+        try {
+            parallelSearch.setStepSlice(-1);
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        
+        // share pool, possibly with fewer threads than subsearches
+        parallelSearch.setExecutorService(SearchExecutors.getSharedPool());
+        assertSame(SearchExecutors.getSharedPool(), parallelSearch.getExecutorService());
+        parallelSearch.setStepSlice(1);
+        assertEquals(1, parallelSearch.getStepSlice());
+        // run and verify
+        runUntilAllSubsearchesHadTurn();
+        // shared pool is not shut down when disposing the search
+        parallelSearch.dispose();
+        assertFalse(SearchExecutors.getSharedPool().isShutdown());
+    }
+    
+    /**
+     * Test single run with virtual threads (if supported).
+     */
+    @Test
+    public void testSingleRunWithVirtualThreads() {
+        System.out.println(" - test single run with virtual threads");
+        if(!SearchExecutors.virtualThreadsSupported()){
+            System.out.println("   >>> virtual threads not supported");
+            return;
+        }
+        // execute every subsearch in a separate virtual thread (in step slices,
+        // as virtual threads are not preempted when there are few processors)
+        parallelSearch.setExecutorService(SearchExecutors.getVirtualThreadExecutor());
+        parallelSearch.setStepSlice(1);
+        // run and verify
+        runUntilAllSubsearchesHadTurn();
+    }
+    
+    /**
+     * Run the parallel search until every subsearch has performed at least one step,
+     * and verify the best solutions of all subsearches.
+     */
+    private void runUntilAllSubsearchesHadTurn(){
+        // stop main search as soon as every subsearch has performed a step
+        Set<Search<?>> started = ConcurrentHashMap.newKeySet();
+        subsearches.forEach(s -> s.addSearchListener(new SearchListener<Solution>() {
+            @Override
+            public void stepCompleted(Search<? extends Solution> search, long numSteps){
+                started.add(search);
+                if(started.size() == subsearches.size()){
+                    parallelSearch.stop();
+                }
+            }
+        }));
+        // run (with maximum runtime as a safety net)
+        parallelSearch.addStopCriterion(new MaxRuntime(SAFETY_RUNTIME, TimeUnit.SECONDS));
+        parallelSearch.start();
+        // verify: all subsearches got a turn
+        assertEquals(subsearches.size(), started.size());
+        for(Search<SubsetSolution> s : subsearches){
+            assertTrue(DoubleComparatorWithPrecision.smallerThanOrEqual(
+                    s.getBestSolutionEvaluation().getValue(), 
+                    parallelSearch.getBestSolutionEvaluation().getValue(), 
+                    TestConstants.DOUBLE_COMPARISON_PRECISION)
+            );
+        }
+    }
+    
+    /**
+     * Test island model.
+     */
+    @Test
+    public void testIslandModel() {
+        System.out.println(" - test island model");
+        
+        // island model requires step slices
+        parallelSearch.setMigrationTopology(MigrationTopology.RING);
+        assertEquals(MigrationTopology.RING, parallelSearch.getMigrationTopology());
+        boolean thrown = false;
+        try {
+            parallelSearch.init();
+        } catch (SearchException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        
+        // single run with each topology
+        parallelSearch.setStepSlice(10);
+        for(MigrationTopology topology : MigrationTopology.values()){
+            parallelSearch.setMigrationTopology(topology);
+            singleRunWithMaxRuntime(parallelSearch, MULTI_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+            assertTrue(parallelSearch.getNumMigrations() >= 0);
+            for(Search<SubsetSolution> s : subsearches){
+                assertTrue(DoubleComparatorWithPrecision.smallerThanOrEqual(
+                        s.getBestSolutionEvaluation().getValue(), 
+                        parallelSearch.getBestSolutionEvaluation().getValue(), 
+                        TestConstants.DOUBLE_COMPARISON_PRECISION)
+                );
+            }
+        }
+        
+    }
+    
+    /**
+     * Test migration of an optimal solution to another island.
+     */
+    @Test
+    public void testMigration() {
+        System.out.println(" - test migration");
+        
+        // compute optimal solution (IDs with highest scores)
+        SubsetSolution opt = new SubsetSolution(data.getIDs());
+        data.getIDs().stream()
+                     .sorted((i, j) -> Double.compare(data.getScore(j), data.getScore(i)))
+                     .limit(SUBSET_SIZE)
+                     .forEach(opt::select);
+        double optValue = problem.evaluate(opt).getValue();
+        
+        // create parallel search with two islands, where the first island starts from the optimum
+        RandomDescent<SubsetSolution> island1 = new RandomDescent<>(problem, neigh);
+        RandomDescent<SubsetSolution> island2 = new RandomDescent<>(problem, neigh);
+        island1.setCurrentSolution(opt);
+        BasicParallelSearch<SubsetSolution> islands = new BasicParallelSearch<>(problem);
+        islands.addSearch(island1);
+        islands.addSearch(island2);
+        islands.setStepSlice(1);
+        islands.setMigrationTopology(MigrationTopology.RING);
+        // stop when second island has started three slices
+        island2.addSearchListener(new SearchListener<Solution>() {
+            private int numSlices = 0;
+            @Override
+            public void searchStarted(Search<? extends Solution> search){
+                if(++numSlices == 3){
+                    islands.stop();
+                }
+            }
+        });
+        islands.addStopCriterion(new MaxRuntime(SAFETY_RUNTIME, TimeUnit.SECONDS));
+        islands.start();
+        
+        // verify: optimum has migrated from first to second island
+        assertTrue(islands.getNumMigrations() > 0);
+        assertEquals(optValue, island2.getBestSolutionEvaluation().getValue(), TestConstants.DOUBLE_COMPARISON_PRECISION);
+        islands.dispose();
+        
+    }
+    
     /**
      * Test single run with unsatisfiable constraint.
      */
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.search.algo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jamesframework.core.problems.constraints.validations.SimpleValidation;
+import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.problems.objectives.evaluations.SimpleEvaluation;
+import org.jamesframework.test.fakes.IntegerSolution;
+import org.jamesframework.test.util.TestConstants;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test best solution holder.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class BestSolutionHolderTest {
+
+    // random generator
+    private static final Random RG = new Random();
+
+    /**
+     * Print message when starting tests.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing BestSolutionHolder ...");
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing BestSolutionHolder!");
+    }
+
+    /**
+     * Create holder for maximization or minimization.
+     */
+    private BestSolutionHolder<IntegerSolution> createHolder(boolean minimizing){
+        return new BestSolutionHolder<>((Evaluation cur, Evaluation prev) -> minimizing
+                                                                    ? prev.getValue() - cur.getValue()
+                                                                    : cur.getValue() - prev.getValue());
+    }
+
+    /**
+     * Offer solution with given value.
+     */
+    private BestSolutionHolder.Snapshot<IntegerSolution> offer(BestSolutionHolder<IntegerSolution> holder, int value){
+        return holder.offer(new IntegerSolution(value), new SimpleEvaluation(value), SimpleValidation.PASSED);
+    }
+
+    @Test
+    public void testOffer() {
+
+        System.out.println(" - test offer");
+
+        // maximizing
+        BestSolutionHolder<IntegerSolution> holder = createHolder(false);
+        assertNull(holder.get());
+        BestSolutionHolder.Snapshot<IntegerSolution> s1 = offer(holder, 5);
+        assertNotNull(s1);
+        assertSame(s1, holder.get());
+        assertTrue(holder.isCurrent(s1));
+        assertNull(offer(holder, 3));
+        assertNull(offer(holder, 5));
+        BestSolutionHolder.Snapshot<IntegerSolution> s2 = offer(holder, 8);
+        assertNotNull(s2);
+        assertFalse(holder.isCurrent(s1));
+        assertTrue(holder.isCurrent(s2));
+        assertEquals(8, s2.getEvaluation().getValue(), TestConstants.DOUBLE_COMPARISON_PRECISION);
+        assertEquals(8, s2.getSolution().getI());
+
+        // minimizing
+        holder = createHolder(true);
+        assertNotNull(offer(holder, 5));
+        assertNull(offer(holder, 8));
+        assertNotNull(offer(holder, 3));
+        assertEquals(3, holder.get().getSolution().getI());
+
+    }
+
+    @Test
+    public void testReset() {
+
+        System.out.println(" - test reset");
+
+        BestSolutionHolder<IntegerSolution> holder = createHolder(false);
+        holder.reset(new IntegerSolution(10), new SimpleEvaluation(10), SimpleValidation.PASSED);
+        assertNull(offer(holder, 7));
+        assertNotNull(offer(holder, 12));
+        holder.reset(null, null, null);
+        assertNull(holder.get());
+        assertNotNull(offer(holder, 1));
+
+    }
+
+    @Test
+    public void testConcurrentOffers() throws Exception {
+
+        System.out.println(" - test concurrent offers");
+
+        final int numThreads = 4;
+        final int numOffers = 10000;
+        BestSolutionHolder<IntegerSolution> holder = createHolder(false);
+        AtomicInteger maxOffered = new AtomicInteger(Integer.MIN_VALUE);
+        ExecutorService pool = Executors.newFixedThreadPool(numThreads);
+        List<Future<?>> futures = new ArrayList<>();
+        for(int t=0; t<numThreads; t++){
+            long seed = RG.nextLong();
+            futures.add(pool.submit(() -> {
+                Random rg = new Random(seed);
+                for(int i=0; i<numOffers; i++){
+                    int value = rg.nextInt();
+                    maxOffered.accumulateAndGet(value, Math::max);
+                    offer(holder, value);
+                }
+            }));
+        }
+        for(Future<?> f : futures){
+            f.get();
+        }
+        pool.shutdown();
+        // verify: best offered solution retained
+        assertEquals(maxOffered.get(), holder.get().getSolution().getI());
+
+    }
+
+}
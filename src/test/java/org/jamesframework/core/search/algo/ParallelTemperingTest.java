@@ -17,8 +17,10 @@
 package org.jamesframework.core.search.algo;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.jamesframework.core.exceptions.SearchException;
 import org.jamesframework.core.factory.MetropolisSearchFactory;
 import org.jamesframework.core.problems.Problem;
@@ -31,7 +33,9 @@ import static org.jamesframework.core.search.SearchTestTemplate.setRandomSeed;
 import org.jamesframework.core.search.listeners.SearchListener;
 import org.jamesframework.core.search.neigh.Neighbourhood;
 import org.jamesframework.core.search.status.SearchStatus;
+import org.jamesframework.core.search.stopcriteria.MaxSteps;
 import org.jamesframework.core.subset.neigh.SingleSwapNeighbourhood;
+import org.jamesframework.core.util.SearchExecutors;
 import org.jamesframework.test.stubs.NeverSatisfiedConstraintStub;
 import org.jamesframework.test.stubs.NeverSatisfiedPenalizingConstraintStub;
 import org.jamesframework.test.util.DelayedExecution;
@@ -300,6 +304,394 @@ public class ParallelTemperingTest extends SearchTestTemplate {
         singleRunWithMaxRuntime(search, SINGLE_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
     }
     
+    /**
+     * Test single run with shared pool.
+     */
+    @Test
+    public void testSingleRunWithSharedPool() {
+        System.out.println(" - test single run with shared pool");
+        
+        boolean thrown = false;
+        try {
+            search.setExecutorService(null);
+        } catch (NullPointerException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        
+        // share pool, possibly with fewer threads than replicas
+        search.setExecutorService(SearchExecutors.getSharedPool());
+        assertSame(SearchExecutors.getSharedPool(), search.getExecutorService());
+        // single run
+        singleRunWithMaxRuntime(search, SINGLE_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // verify: all replicas have been executed
+        for(MetropolisSearch<SubsetSolution> r : replicas){
+            assertNotNull(r.getBestSolution());
+        }
+        // shared pool is not shut down when disposing the search
+        search.dispose();
+        assertFalse(SearchExecutors.getSharedPool().isShutdown());
+    }
+    
+    /**
+     * Test single run with asynchronous exchange.
+     */
+    @Test
+    public void testSingleRunWithAsynchronousExchange() {
+        System.out.println(" - test single run with asynchronous exchange");
+        
+        assertFalse(search.isAsynchronousExchange());
+        search.setAsynchronousExchange(true);
+        assertTrue(search.isAsynchronousExchange());
+        
+        // store initial temperatures
+        List<Double> temperatures = new ArrayList<>();
+        replicas.forEach(r -> temperatures.add(r.getTemperature()));
+        // exchange frequently
+        search.setReplicaSteps(10);
+        // single run
+        singleRunWithMaxRuntime(search, SINGLE_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // verify: single step, all replicas stopped
+        assertEquals(1, search.getSteps());
+        replicas.forEach(r -> assertEquals(SearchStatus.IDLE, r.getStatus()));
+        // verify: temperatures have been exchanged (not copied)
+        List<Double> exchanged = new ArrayList<>();
+        replicas.forEach(r -> exchanged.add(r.getTemperature()));
+        assertNotEquals(temperatures, exchanged);
+        List<Double> sorted = new ArrayList<>(exchanged);
+        sorted.sort(null);
+        assertEquals(temperatures, sorted);
+        
+        // subsequent asynchronous run with default number of replica steps
+        search.setReplicaSteps(500);
+        singleRunWithMaxRuntime(search, SINGLE_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // verify: swaps are attempted at a reasonable fraction of the exchange points (conservative bound,
+        // as replicas that share a single processor reach many exchange points while their neighbours wait)
+        long exchangePoints = 0;
+        for(MetropolisSearch<SubsetSolution> r : replicas){
+            exchangePoints += r.getSteps() / 500;
+        }
+        long swapAttempts = 0;
+        for(int pos=0; pos<numReplicas-1; pos++){
+            swapAttempts += search.getNumSwapAttempts(pos);
+        }
+        System.out.println("   >>> swap attempts/exchange points: " + swapAttempts + "/" + exchangePoints);
+        assertTrue(exchangePoints > 0);
+        assertTrue(swapAttempts >= exchangePoints / 100);
+        
+        // subsequent synchronous run with permuted temperatures
+        search.setAsynchronousExchange(false);
+        singleRunWithMaxRuntime(search, MULTI_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // verify: temperatures still unique
+        List<Double> after = new ArrayList<>();
+        replicas.forEach(r -> after.add(r.getTemperature()));
+        after.sort(null);
+        assertEquals(temperatures, after);
+    }
+    
+    /**
+     * Test that swaps exchange temperatures instead of solutions.
+     */
+    @Test
+    public void testTemperatureSwaps() {
+        System.out.println(" - test temperature swaps");
+        
+        // store initial temperatures
+        List<Double> temperatures = new ArrayList<>();
+        replicas.forEach(r -> temperatures.add(r.getTemperature()));
+        // initialize replicas and store their current solutions
+        search.init();
+        List<SubsetSolution> solutions = new ArrayList<>();
+        replicas.forEach(r -> solutions.add(r.getCurrentSolution()));
+        // swap frequently
+        search.setReplicaSteps(1);
+        // single run
+        singleRunWithMaxRuntime(search, MULTI_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // verify: temperatures have been permuted
+        List<Double> swapped = new ArrayList<>();
+        replicas.forEach(r -> swapped.add(r.getTemperature()));
+        assertNotEquals(temperatures, swapped);
+        swapped.sort(null);
+        assertEquals(temperatures, swapped);
+        // verify: replicas retained their own current solution
+        for(int i=0; i<numReplicas; i++){
+            assertSame(solutions.get(i), replicas.get(i).getCurrentSolution());
+        }
+    }
+    
+    /**
+     * Test swap statistics.
+     */
+    @Test
+    public void testSwapStatistics() {
+        System.out.println(" - test swap statistics");
+        
+        // no swaps before first run
+        for(int i=0; i<numReplicas-1; i++){
+            assertEquals(0, search.getNumSwapAttempts(i));
+            assertEquals(0.0, search.getSwapAcceptanceRate(i), TestConstants.DOUBLE_COMPARISON_PRECISION);
+        }
+        boolean thrown = false;
+        try {
+            search.getNumSwapAttempts(numReplicas-1);
+        } catch (IndexOutOfBoundsException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        
+        // single run
+        search.setReplicaSteps(10);
+        singleRunWithMaxRuntime(search, MULTI_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // verify: every pair considered in alternating steps
+        long attempts = 0;
+        for(int i=0; i<numReplicas-1; i++){
+            attempts += search.getNumSwapAttempts(i);
+            assertTrue(search.getNumAcceptedSwaps(i) <= search.getNumSwapAttempts(i));
+            double rate = search.getSwapAcceptanceRate(i);
+            assertTrue(rate >= 0.0 && rate <= 1.0);
+            assertTrue(Math.abs(search.getNumSwapAttempts(i) - search.getSteps()/2) <= 1);
+        }
+        assertEquals((numReplicas/2) * search.getSteps() - (search.getSteps()/2), attempts);
+    }
+    
+    /**
+     * Test adaptive temperature ladder.
+     */
+    @Test
+    public void testAdaptiveTemperatures() {
+        System.out.println(" - test adaptive temperatures");
+        
+        assertFalse(search.isAdaptiveTemperatures());
+        assertEquals(0.25, search.getTargetSwapAcceptance(), TestConstants.DOUBLE_COMPARISON_PRECISION);
+        for(double target : new double[]{0.0, 1.0, -0.5, 1.5}){
+            boolean thrown = false;
+            try {
+                search.setTargetSwapAcceptance(target);
+            } catch (IllegalArgumentException ex){
+                thrown = true;
+            }
+            assertTrue(thrown);
+        }
+        search.setTargetSwapAcceptance(0.4);
+        assertEquals(0.4, search.getTargetSwapAcceptance(), TestConstants.DOUBLE_COMPARISON_PRECISION);
+        search.setAdaptiveTemperatures(true);
+        assertTrue(search.isAdaptiveTemperatures());
+        
+        // initial ladder: equally spaced temperatures
+        double[] initial = search.getTemperatures();
+        assertEquals(numReplicas, initial.length);
+        // single run
+        search.setReplicaSteps(10);
+        singleRunWithMaxRuntime(search, MULTI_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // verify: temperatures adapted, sorted, within original bounds
+        double[] adapted = search.getTemperatures();
+        assertFalse(Arrays.equals(initial, adapted));
+        assertEquals(MIN_TEMP, adapted[0], TestConstants.DOUBLE_COMPARISON_PRECISION);
+        assertEquals(MAX_TEMP, adapted[numReplicas-1], TestConstants.DOUBLE_COMPARISON_PRECISION);
+        for(int i=0; i<numReplicas-1; i++){
+            assertTrue(adapted[i] < adapted[i+1]);
+        }
+    }
+    
+    /**
+     * Test adaptive replica steps.
+     */
+    @Test
+    public void testAdaptiveReplicaSteps() {
+        System.out.println(" - test adaptive replica steps");
+        
+        assertFalse(search.isAdaptiveReplicaSteps());
+        assertEquals(0.05, search.getTargetExchangeOverhead(), TestConstants.DOUBLE_COMPARISON_PRECISION);
+        for(double target : new double[]{0.0, 1.0, -0.5, 1.5}){
+            boolean thrown = false;
+            try {
+                search.setTargetExchangeOverhead(target);
+            } catch (IllegalArgumentException ex){
+                thrown = true;
+            }
+            assertTrue(thrown);
+        }
+        search.setTargetExchangeOverhead(0.1);
+        assertEquals(0.1, search.getTargetExchangeOverhead(), TestConstants.DOUBLE_COMPARISON_PRECISION);
+        search.setAdaptiveReplicaSteps(true);
+        assertTrue(search.isAdaptiveReplicaSteps());
+        
+        // track number of steps performed by replicas in every iteration
+        List<Long> performedSteps = new ArrayList<>();
+        List<Long> steps = new ArrayList<>();
+        search.setReplicaSteps(1);
+        search.addSearchListener(new SearchListener<SubsetSolution>() {
+            @Override
+            public void stepCompleted(Search<? extends SubsetSolution> s, long numSteps) {
+                performedSteps.add(replicas.get(0).getSteps());
+                steps.add(search.getReplicaSteps());
+            }
+        });
+        // single run
+        singleRunWithMaxRuntime(search, MULTI_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // verify: overhead measured
+        double overhead = search.getExchangeOverhead();
+        assertTrue(overhead >= 0.0 && overhead <= 1.0);
+        // verify: replicas performed the number of steps set before every iteration
+        // (except for the last iteration, which might have been interrupted)
+        long prev = 1;
+        for(int i=0; i<steps.size()-1; i++){
+            assertEquals(prev, (long) performedSteps.get(i));
+            // number of steps at most doubled or halved
+            long cur = steps.get(i);
+            assertTrue(cur >= 1 && cur <= 2*prev && 2*cur >= prev);
+            prev = cur;
+        }
+    }
+    
+    /**
+     * Test adaptive replica steps with reduced parallelism.
+     */
+    @Test
+    public void testAdaptiveReplicaStepsWithReducedParallelism() {
+        System.out.println(" - test adaptive replica steps with reduced parallelism");
+        
+        // slowest worker executes k replicas, each taking 2000 ns per step
+        double overhead = 1e6;
+        double budget = 0.1;
+        for(int k : new int[]{1, 3, 10}){
+            long curSteps = 100;
+            double runtime = k * curSteps * 2000.0;
+            double steps = ParallelTempering.computeReplicaSteps(overhead, runtime, budget, curSteps);
+            // overhead takes up the target fraction of the wall time of the worker
+            assertEquals(budget, overhead / (overhead + k * steps * 2000.0), TestConstants.DOUBLE_COMPARISON_PRECISION);
+        }
+        
+        // execute replicas with three workers
+        search.setParallelism(3);
+        search.setAdaptiveReplicaSteps(true);
+        search.setReplicaSteps(1);
+        List<Long> steps = new ArrayList<>();
+        search.addSearchListener(new SearchListener<SubsetSolution>() {
+            @Override
+            public void stepCompleted(Search<? extends SubsetSolution> s, long numSteps) {
+                steps.add(search.getReplicaSteps());
+            }
+        });
+        singleRunWithMaxRuntime(search, MULTI_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // verify: overhead measured and number of steps at most doubled or halved
+        double measured = search.getExchangeOverhead();
+        assertTrue(measured >= 0.0 && measured <= 1.0);
+        long prev = 1;
+        for(long cur : steps){
+            assertTrue(cur >= 1 && cur <= 2*prev && 2*cur >= prev);
+            prev = cur;
+        }
+    }
+    
+    /**
+     * Test single run with reduced parallelism.
+     */
+    @Test
+    public void testSingleRunWithReducedParallelism() {
+        System.out.println(" - test single run with reduced parallelism");
+        
+        assertEquals(numReplicas, search.getParallelism());
+        boolean thrown = false;
+        try {
+            search.setParallelism(0);
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        
+        // execute replicas with three workers
+        search.setParallelism(3);
+        assertEquals(3, search.getParallelism());
+        // attach separate listener to each replica to count number of accepted/rejected moves
+        List<AcceptedRejectedMovesListener> listeners = new ArrayList<>();
+        replicas.forEach(r -> {
+            AcceptedRejectedMovesListener l = new AcceptedRejectedMovesListener();
+            listeners.add(l);
+            r.addSearchListener(l);
+        });
+        // single run
+        singleRunWithMaxRuntime(search, SINGLE_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // verify: all replicas have been executed
+        for(MetropolisSearch<SubsetSolution> r : replicas){
+            assertNotNull(r.getBestSolution());
+        }
+        assertEquals(listeners.stream().mapToLong(l -> l.getAccepted()).sum(), search.getNumAcceptedMoves());
+        assertEquals(listeners.stream().mapToLong(l -> l.getRejected()).sum(), search.getNumRejectedMoves());
+        
+        // asynchronous exchange requires all replicas to be executed concurrently
+        search.setAsynchronousExchange(true);
+        thrown = false;
+        try {
+            search.start();
+        } catch (SearchException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+    }
+    
+    /**
+     * Test subsequent runs with resident replicas.
+     */
+    @Test
+    public void testResidentReplicas() {
+        System.out.println(" - test resident replicas");
+        
+        assertFalse(search.isResidentReplicas());
+        search.setResidentReplicas(true);
+        assertTrue(search.isResidentReplicas());
+        
+        // count number of times each replica is started and number of steps of the main algorithm
+        List<AcceptedRejectedMovesListener> listeners = new ArrayList<>();
+        List<AtomicInteger> starts = new ArrayList<>();
+        replicas.forEach(r -> {
+            AcceptedRejectedMovesListener l = new AcceptedRejectedMovesListener();
+            listeners.add(l);
+            r.addSearchListener(l);
+            AtomicInteger count = new AtomicInteger();
+            starts.add(count);
+            r.addSearchListener(new SearchListener<SubsetSolution>() {
+                @Override
+                public void searchStarted(Search<? extends SubsetSolution> s) {
+                    count.incrementAndGet();
+                }
+            });
+        });
+        // swap after every replica step, fixed number of rounds per run
+        search.setReplicaSteps(1);
+        final int NUM_ROUNDS = 20;
+        search.addStopCriterion(new MaxSteps(NUM_ROUNDS));
+        long totalAccepted = 0, totalRejected = 0;
+        for(int run=1; run<=NUM_RUNS; run++){
+            singleRunWithMaxRuntime(search, 0, null);
+            totalAccepted += search.getNumAcceptedMoves();
+            totalRejected += search.getNumRejectedMoves();
+            // verify: several rounds, but replicas started once per run
+            assertEquals(NUM_ROUNDS, search.getSteps());
+            for(int i=0; i<numReplicas; i++){
+                assertEquals(run, starts.get(i).get());
+                assertEquals(SearchStatus.IDLE, replicas.get(i).getStatus());
+                // every round consists of a single replica step (last round might be interrupted,
+                // and replicas may have started an additional round before the run completed)
+                assertTrue(replicas.get(i).getSteps() <= search.getSteps() + 1);
+                assertTrue(replicas.get(i).getSteps() >= search.getSteps() - 1);
+            }
+        }
+        // verify number of accepted/rejected moves
+        assertEquals(listeners.stream().mapToLong(l -> l.getAccepted()).sum(), totalAccepted);
+        assertEquals(listeners.stream().mapToLong(l -> l.getRejected()).sum(), totalRejected);
+        
+        // resident replicas require all replicas to be executed concurrently
+        search.setParallelism(numReplicas - 1);
+        boolean thrown = false;
+        try {
+            search.start();
+        } catch (SearchException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+    }
+    
     /**
      * Test number of accepted/rejected moves.
      */
@@ -21,8 +21,11 @@ import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import org.jamesframework.core.problems.objectives.evaluations.PenalizedEvaluation;
+import org.jamesframework.core.problems.sol.Solution;
 import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.moves.SubsetMoveDependencies;
 import org.jamesframework.core.search.SearchTestTemplate;
+import org.jamesframework.core.search.cache.DependencyAwareDeltaCache;
 import org.jamesframework.core.search.neigh.Move;
 import org.jamesframework.core.search.neigh.Neighbourhood;
 import org.jamesframework.test.stubs.NeverSatisfiedConstraintStub;
@@ -119,6 +122,60 @@ public class SteepestDescentTest extends SearchTestTemplate {
         assertEquals(1, search.getSteps());
     }
     
+    /**
+     * Test parallel move evaluation.
+     */
+    @Test
+    public void testParallelMoveEvaluation() {
+        System.out.println(" - test parallel move evaluation");
+        // create search with parallel move evaluation
+        SteepestDescent<SubsetSolution> parSearch = new SteepestDescent<>(problem, neigh);
+        parSearch.setMoveEvaluationParallelism(3);
+        // start both searches from the same random initial solution
+        SubsetSolution initial = problem.createRandomSolution();
+        search.setCurrentSolution(Solution.checkedCopy(initial));
+        parSearch.setCurrentSolution(Solution.checkedCopy(initial));
+        // run both searches until a local optimum is reached
+        search.start();
+        parSearch.start();
+        // verify: same moves are applied
+        assertEquals(search.getSteps(), parSearch.getSteps());
+        assertEquals(search.getBestSolution(), parSearch.getBestSolution());
+        assertEquals(search.getCurrentSolution(), parSearch.getCurrentSolution());
+        // dispose search
+        parSearch.dispose();
+    }
+    
+    /**
+     * Test with dependency-aware delta cache.
+     */
+    @Test
+    public void testDeltaCache() {
+        System.out.println(" - test with dependency-aware delta cache");
+        // create search with delta cache (objective is separable)
+        SteepestDescent<SubsetSolution> cachedSearch = new SteepestDescent<>(problem, neigh);
+        DependencyAwareDeltaCache deltaCache = new DependencyAwareDeltaCache(new SubsetMoveDependencies());
+        cachedSearch.setDeltaCache(deltaCache);
+        // start both searches from the same random initial solution
+        SubsetSolution initial = problem.createRandomSolution();
+        search.setCurrentSolution(Solution.checkedCopy(initial));
+        cachedSearch.setCurrentSolution(Solution.checkedCopy(initial));
+        // run both searches until a local optimum is reached
+        search.start();
+        cachedSearch.start();
+        // verify: same local optimum (global optimum for separable objective)
+        assertEquals(search.getBestSolution(), cachedSearch.getBestSolution());
+        assertEquals(search.getBestSolutionEvaluation().getValue(),
+                     cachedSearch.getBestSolutionEvaluation().getValue(),
+                     TestConstants.DOUBLE_COMPARISON_PRECISION);
+        // verify: deltas have been reused
+        if(cachedSearch.getSteps() > 1){
+            assertTrue(deltaCache.getNumHits() > 0);
+        }
+        // dispose search
+        cachedSearch.dispose();
+    }
+    
     /**
      * Test single run with unsatisfiable constraint.
      */
@@ -154,6 +154,34 @@ public class ExhaustiveSearchTest extends SearchTestTemplate {
         System.out.format(" (runtime = %d ms)\n", searchSmall.getRuntime());
     }
     
+    /**
+     * Test sharded runs (small problem).
+     */
+    @Test
+    public void testShardedRunsSmall() {
+        System.out.println(" - test sharded runs (small problem)");
+        // select 3 items only so that all solutions are evaluated quickly
+        SubsetProblem<ScoredFakeSubsetData> problem3 = new SubsetProblem<>(dataSmall, objSmall, 3);
+        ExhaustiveSearch<SubsetSolution> full = new ExhaustiveSearch<>(
+                problem3, new SubsetSolutionIterator(dataSmall.getIDs(), 3)
+        );
+        full.run();
+        // run shards
+        final int NUM_SHARDS = 4;
+        double best = Double.NEGATIVE_INFINITY;
+        for(int s=0; s<NUM_SHARDS; s++){
+            ExhaustiveSearch<SubsetSolution> shard = new ExhaustiveSearch<>(
+                    problem3, SubsetSolutionIterator.shard(dataSmall.getIDs(), 3, 3, s, NUM_SHARDS)
+            );
+            shard.run();
+            best = Math.max(best, shard.getBestSolutionEvaluation().getValue());
+            shard.dispose();
+        }
+        // verify: same best solution found
+        assertEquals(full.getBestSolutionEvaluation().getValue(), best, TestConstants.DOUBLE_COMPARISON_PRECISION);
+        full.dispose();
+    }
+    
     /**
      * Test single run (large problem).
      */
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.search.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Random;
+import org.jamesframework.core.problems.constraints.validations.SimpleValidation;
+import org.jamesframework.core.problems.objectives.evaluations.SimpleEvaluation;
+import org.jamesframework.core.search.neigh.Move;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.moves.SwapMove;
+import org.jamesframework.test.util.TestConstants;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test bounded evaluated move cache.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class BoundedEvaluatedMoveCacheTest {
+
+    // capacity of cache
+    private static final int CAPACITY = 10;
+
+    // cache to work with in each test method
+    private BoundedEvaluatedMoveCache cache;
+
+    // random generator
+    private static final Random RG = new Random();
+
+    /**
+     * Print message when starting tests.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing BoundedEvaluatedMoveCache ...");
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing BoundedEvaluatedMoveCache!");
+    }
+
+    @Before
+    public void setUp(){
+        // create empty bounded evaluated move cache
+        cache = new BoundedEvaluatedMoveCache(CAPACITY);
+    }
+
+    @Test
+    public void testConstructor() {
+
+        System.out.println(" - test constructor");
+
+        boolean thrown = false;
+        try {
+            new BoundedEvaluatedMoveCache(0);
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        assertEquals(CAPACITY, cache.getCapacity());
+
+    }
+
+    @Test
+    public void testCacheMoveEvaluation() {
+
+        System.out.println(" - test cacheMoveEvaluation");
+
+        // fill cache
+        for(int i=0; i<CAPACITY; i++){
+            cache.cacheMoveEvaluation(new SwapMove(i, -i-1), new SimpleEvaluation(i));
+        }
+        // verify: all values available, also for equal moves (other objects)
+        for(int i=0; i<CAPACITY; i++){
+            assertEquals(i, cache.getCachedMoveEvaluation(new SwapMove(i, -i-1)).getValue(), TestConstants.DOUBLE_COMPARISON_PRECISION);
+        }
+
+        // use first move, then add new value: second move is least recently used and discarded
+        assertNotNull(cache.getCachedMoveEvaluation(new SwapMove(0, -1)));
+        cache.cacheMoveEvaluation(new SwapMove(CAPACITY, -CAPACITY-1), new SimpleEvaluation(CAPACITY));
+        assertNull(cache.getCachedMoveEvaluation(new SwapMove(1, -2)));
+        assertNotNull(cache.getCachedMoveEvaluation(new SwapMove(0, -1)));
+        assertNotNull(cache.getCachedMoveEvaluation(new SwapMove(CAPACITY, -CAPACITY-1)));
+
+        // evaluations and validations are cached separately
+        assertNull(cache.getCachedMoveValidation(new SwapMove(0, -1)));
+
+    }
+
+    @Test
+    public void testCacheMoveValidation() {
+
+        System.out.println(" - test cacheMoveValidation");
+
+        // cache more validations than capacity
+        for(int i=0; i<2*CAPACITY; i++){
+            cache.cacheMoveValidation(new SwapMove(i, -i-1), new SimpleValidation(i % 2 == 0));
+        }
+        // verify: only most recent values retained
+        for(int i=0; i<CAPACITY; i++){
+            assertNull(cache.getCachedMoveValidation(new SwapMove(i, -i-1)));
+        }
+        for(int i=CAPACITY; i<2*CAPACITY; i++){
+            assertEquals(i % 2 == 0, cache.getCachedMoveValidation(new SwapMove(i, -i-1)).passed());
+        }
+
+    }
+
+    @Test
+    public void testClear() {
+
+        System.out.println(" - test clear");
+
+        Collection<Move<SubsetSolution>> moves = new HashSet<>();
+        for(int i=0; i<100; i++){
+            // create random dummy swap move
+            SwapMove m = new SwapMove(RG.nextInt(), RG.nextInt());
+            moves.add(m);
+            // cache random values
+            cache.cacheMoveEvaluation(m, new SimpleEvaluation(RG.nextDouble()));
+            cache.cacheMoveValidation(m, new SimpleValidation(RG.nextBoolean()));
+        }
+
+        // clear cache
+        cache.clear();
+
+        // verify: no values available after clearing cache
+        moves.forEach(m -> {
+            assertNull(cache.getCachedMoveEvaluation(m));
+            assertNull(cache.getCachedMoveValidation(m));
+        });
+
+    }
+
+    @Test
+    public void testStatistics() {
+
+        System.out.println(" - test statistics");
+
+        SwapMove m1 = new SwapMove(1, 2);
+        SwapMove m2 = new SwapMove(3, 4);
+        cache.cacheMoveEvaluation(m1, new SimpleEvaluation(1.0));
+        cache.cacheMoveValidation(m2, new SimpleValidation(true));
+
+        cache.getCachedMoveEvaluation(m1);  // hit
+        cache.getCachedMoveEvaluation(m2);  // miss
+        cache.getCachedMoveValidation(m1);  // miss
+        cache.getCachedMoveValidation(m2);  // hit
+        cache.getCachedMoveValidation(m2);  // hit
+        assertEquals(3, cache.getNumHits());
+        assertEquals(2, cache.getNumMisses());
+
+        // clearing does not reset counters
+        cache.clear();
+        cache.getCachedMoveEvaluation(m1);  // miss
+        assertEquals(3, cache.getNumHits());
+        assertEquals(3, cache.getNumMisses());
+
+        cache.resetStatistics();
+        assertEquals(0, cache.getNumHits());
+        assertEquals(0, cache.getNumMisses());
+
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jamesframework.core.search.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jamesframework.core.search.neigh.Move;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.moves.AdditionMove;
+import org.jamesframework.core.subset.neigh.moves.SubsetMoveDependencies;
+import org.jamesframework.core.subset.neigh.moves.SwapMove;
+import org.jamesframework.test.util.TestConstants;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test dependency-aware delta cache.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class DependencyAwareDeltaCacheTest {
+
+    /**
+     * Print message when starting tests.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing DependencyAwareDeltaCache ...");
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing DependencyAwareDeltaCache!");
+    }
+
+    @Test
+    public void testConstructor() {
+
+        System.out.println(" - test constructor");
+
+        boolean thrown = false;
+        try {
+            new DependencyAwareDeltaCache(null);
+        } catch (NullPointerException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        thrown = false;
+        try {
+            new DependencyAwareDeltaCache(new SubsetMoveDependencies(), 0);
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        assertEquals(DependencyAwareDeltaCache.DEFAULT_CAPACITY,
+                     new DependencyAwareDeltaCache(new SubsetMoveDependencies()).getCapacity());
+
+    }
+
+    @Test
+    public void testCacheDelta() {
+
+        System.out.println(" - test cacheDelta");
+
+        DependencyAwareDeltaCache cache = new DependencyAwareDeltaCache(new SubsetMoveDependencies());
+        assertNull(cache.getCachedDelta(new SwapMove(1, 2)));
+        cache.cacheDelta(new SwapMove(1, 2), 1.5);
+        cache.cacheDelta(new SwapMove(3, 4), -2.5);
+        // equal moves (other objects) yield cache hit
+        assertEquals(1.5, cache.getCachedDelta(new SwapMove(1, 2)), TestConstants.DOUBLE_COMPARISON_PRECISION);
+        assertEquals(-2.5, cache.getCachedDelta(new SwapMove(3, 4)), TestConstants.DOUBLE_COMPARISON_PRECISION);
+        assertNull(cache.getCachedDelta(new SwapMove(2, 1)));
+        assertEquals(2, cache.getNumHits());
+        assertEquals(2, cache.getNumMisses());
+
+        // bounded cache discards least recently used delta
+        cache = new DependencyAwareDeltaCache(new SubsetMoveDependencies(), 2);
+        cache.cacheDelta(new SwapMove(1, 2), 1.0);
+        cache.cacheDelta(new SwapMove(3, 4), 2.0);
+        cache.getCachedDelta(new SwapMove(1, 2));
+        cache.cacheDelta(new SwapMove(5, 6), 3.0);
+        assertEquals(2, cache.size());
+        assertNull(cache.getCachedDelta(new SwapMove(3, 4)));
+        assertNotNull(cache.getCachedDelta(new SwapMove(1, 2)));
+
+    }
+
+    @Test
+    public void testMoveApplied() {
+
+        System.out.println(" - test moveApplied");
+
+        DependencyAwareDeltaCache cache = new DependencyAwareDeltaCache(new SubsetMoveDependencies());
+        for(int add = 0; add < 10; add++){
+            for(int del = 10; del < 20; del++){
+                cache.cacheDelta(new SwapMove(add, del), add - del);
+            }
+        }
+        assertEquals(100, cache.size());
+        // apply swap: all swaps touching ID 3 or 15 are discarded
+        Move<?> applied = new SwapMove(3, 15);
+        cache.moveApplied(applied);
+        assertEquals(81, cache.size());
+        assertNull(cache.getCachedDelta(applied));
+        assertNull(cache.getCachedDelta(new SwapMove(3, 12)));
+        assertNull(cache.getCachedDelta(new SwapMove(7, 15)));
+        assertEquals(7 - 12, cache.getCachedDelta(new SwapMove(7, 12)), TestConstants.DOUBLE_COMPARISON_PRECISION);
+
+        // custom dependencies: every move affects all moves
+        cache = new DependencyAwareDeltaCache((a, c) -> true);
+        cache.cacheDelta(new SwapMove(1, 2), 1.0);
+        cache.cacheDelta(new AdditionMove(3), 1.0);
+        cache.moveApplied(new AdditionMove(4));
+        assertEquals(0, cache.size());
+
+        // clear
+        cache.cacheDelta(new SwapMove(1, 2), 1.0);
+        cache.clear();
+        assertEquals(0, cache.size());
+
+    }
+
+    @Test
+    public void testIndex() {
+
+        System.out.println(" - test index");
+
+        // count number of inspected cached moves
+        final AtomicInteger numChecks = new AtomicInteger();
+        SubsetMoveDependencies deps = new SubsetMoveDependencies(){
+            @Override
+            public boolean invalidates(Move<?> appliedMove, Move<?> cachedMove) {
+                numChecks.incrementAndGet();
+                return super.invalidates(appliedMove, cachedMove);
+            }
+        };
+        DependencyAwareDeltaCache cache = new DependencyAwareDeltaCache(deps);
+        for(int add = 0; add < 10; add++){
+            for(int del = 10; del < 20; del++){
+                cache.cacheDelta(new SwapMove(add, del), add - del);
+            }
+        }
+        // only the 18 other cached swaps touching ID 3 or 15 are inspected
+        cache.moveApplied(new SwapMove(3, 15));
+        assertEquals(18, numChecks.get());
+        assertEquals(81, cache.size());
+        // no cached moves touch ID 3 or 15 anymore
+        numChecks.set(0);
+        cache.moveApplied(new SwapMove(3, 15));
+        assertEquals(0, numChecks.get());
+        assertEquals(81, cache.size());
+        // moves without dependency keys are always inspected
+        Move<SubsetSolution> other = new Move<SubsetSolution>() {
+            @Override
+            public void apply(SubsetSolution solution) {}
+            @Override
+            public void undo(SubsetSolution solution) {}
+        };
+        cache.cacheDelta(other, 1.0);
+        numChecks.set(0);
+        cache.moveApplied(new AdditionMove(100));
+        assertEquals(1, numChecks.get());
+        assertNull(cache.getCachedDelta(other));
+        assertEquals(81, cache.size());
+        // applied moves without dependency keys are compared with all cached moves
+        numChecks.set(0);
+        cache.moveApplied(other);
+        assertEquals(81, numChecks.get());
+        assertEquals(0, cache.size());
+
+        // evicted moves are removed from the index
+        cache = new DependencyAwareDeltaCache(deps, 2);
+        cache.cacheDelta(new SwapMove(1, 2), 1.0);
+        cache.cacheDelta(new SwapMove(3, 4), 1.0);
+        cache.cacheDelta(new SwapMove(5, 6), 1.0);
+        assertEquals(2, cache.size());
+        numChecks.set(0);
+        cache.moveApplied(new AdditionMove(1));
+        assertEquals(0, numChecks.get());
+        cache.moveApplied(new AdditionMove(3));
+        assertEquals(1, numChecks.get());
+        assertEquals(1, cache.size());
+
+    }
+
+}
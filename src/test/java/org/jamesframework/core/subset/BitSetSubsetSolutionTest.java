@@ -0,0 +1,385 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import org.jamesframework.core.exceptions.SolutionModificationException;
+import org.jamesframework.core.problems.sol.Solution;
+import org.jamesframework.core.util.SetUtilities;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test BitSetSubsetSolution.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class BitSetSubsetSolutionTest {
+
+    // number of IDs
+    private static final int NUM_IDS = 150;
+
+    // random generator
+    private static final Random RG = new Random();
+
+    // set of all IDs = {0 ... NUM_IDS-1}
+    private static Set<Integer> IDs;
+
+    /**
+     * Create set of IDs.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing BitSetSubsetSolution ...");
+        IDs = new LinkedHashSet<>();
+        for(int i=0; i < NUM_IDS; i++){
+            IDs.add(i);
+        }
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing BitSetSubsetSolution!");
+    }
+
+    @Test
+    public void testConstructor(){
+
+        System.out.println(" - test constructor");
+
+        boolean thrown;
+
+        thrown = false;
+        try {
+            Set<Integer> ids = null;
+            new BitSetSubsetSolution(ids);
+        } catch (NullPointerException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        thrown = false;
+        try {
+            Set<Integer> ids = new HashSet<>(Arrays.asList(1,null,3));
+            new BitSetSubsetSolution(ids);
+        } catch (NullPointerException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        thrown = false;
+        try {
+            new BitSetSubsetSolution(Collections.emptySet());
+        } catch (IllegalArgumentException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        thrown = false;
+        try {
+            new BitSetSubsetSolution(new HashSet<>(Arrays.asList(1,2,3)), new HashSet<>(Arrays.asList(3,4)));
+        } catch (IllegalArgumentException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        // sparse IDs (hash map lookup)
+        Set<Integer> sparse = new LinkedHashSet<>(Arrays.asList(-1000000, 7, 123456789, Integer.MAX_VALUE, Integer.MIN_VALUE));
+        BitSetSubsetSolution sol = new BitSetSubsetSolution(sparse, new HashSet<>(Arrays.asList(7, Integer.MIN_VALUE)));
+        assertEquals(sparse, sol.getAllIDs());
+        assertEquals(new HashSet<>(Arrays.asList(7, Integer.MIN_VALUE)), sol.getSelectedIDs());
+        assertEquals(new HashSet<>(Arrays.asList(-1000000, 123456789, Integer.MAX_VALUE)), sol.getUnselectedIDs());
+        assertNull(sol.getOrderOfIDs());
+
+    }
+
+    @Test
+    public void testSelectAndDeselect() {
+
+        System.out.println(" - test select and deselect");
+
+        BitSetSubsetSolution sol = new BitSetSubsetSolution(IDs);
+
+        // try to (de)select non existing ID, should throw error
+        boolean thrown = false;
+        try {
+            sol.select(NUM_IDS + 7);
+        } catch (SolutionModificationException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        thrown = false;
+        try {
+            sol.deselect(-1);
+        } catch (SolutionModificationException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        // compare with regular subset solution
+        SubsetSolution ref = new SubsetSolution(IDs);
+        for(int i=0; i<1000; i++){
+            int ID = RG.nextInt(NUM_IDS);
+            if(RG.nextBoolean()){
+                assertEquals(ref.select(ID), sol.select(ID));
+            } else {
+                assertEquals(ref.deselect(ID), sol.deselect(ID));
+            }
+            assertEquals(ref.getSelectedIDs(), sol.getSelectedIDs());
+            assertEquals(ref.getUnselectedIDs(), sol.getUnselectedIDs());
+            assertEquals(ref.getNumSelectedIDs(), sol.getNumSelectedIDs());
+            assertEquals(ref.getNumUnselectedIDs(), sol.getNumUnselectedIDs());
+            assertEquals(sol.getNumSelectedIDs(), sol.getSelectedIDs().size());
+        }
+        assertEquals(ref.getAllIDs(), sol.getAllIDs());
+        assertEquals(NUM_IDS, sol.getTotalNumIDs());
+
+        // select and deselect all
+        sol.selectAll();
+        assertEquals(IDs, sol.getSelectedIDs());
+        assertTrue(sol.getUnselectedIDs().isEmpty());
+        sol.deselectAll();
+        assertEquals(IDs, sol.getUnselectedIDs());
+        assertTrue(sol.getSelectedIDs().isEmpty());
+
+    }
+
+    @Test
+    public void testViews() {
+
+        System.out.println(" - test views");
+
+        BitSetSubsetSolution sol = new BitSetSubsetSolution(IDs);
+        sol.selectAll(SetUtilities.getRandomSubset(IDs, NUM_IDS/3, RG));
+
+        // iteration order follows order of all IDs
+        Iterator<Integer> it = sol.getAllIDs().iterator();
+        for(int ID : IDs){
+            assertEquals(ID, (int) it.next());
+        }
+        assertFalse(it.hasNext());
+        Integer prev = null;
+        for(int ID : sol.getSelectedIDs()){
+            assertTrue(prev == null || ID > prev);
+            prev = ID;
+        }
+
+        // contains
+        for(int ID : IDs){
+            assertNotEquals(sol.getSelectedIDs().contains(ID), sol.getUnselectedIDs().contains(ID));
+        }
+        assertFalse(sol.getSelectedIDs().contains(-1));
+        assertFalse(sol.getAllIDs().contains("Trudy"));
+
+        // views are unmodifiable
+        boolean thrown = false;
+        try {
+            sol.getSelectedIDs().add(sol.getUnselectedIDs().iterator().next());
+        } catch (UnsupportedOperationException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        thrown = false;
+        try {
+            sol.getUnselectedIDs().remove(sol.getUnselectedIDs().iterator().next());
+        } catch (UnsupportedOperationException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+    }
+
+    @Test
+    public void testCopy() {
+
+        System.out.println(" - test copy");
+
+        BitSetSubsetSolution sol = new BitSetSubsetSolution(IDs);
+        sol.selectAll(SetUtilities.getRandomSubset(IDs, NUM_IDS/2, RG));
+
+        BitSetSubsetSolution copy = Solution.checkedCopy(sol);
+        assertEquals(sol, copy);
+        assertEquals(sol.hashCode(), copy.hashCode());
+
+        // modify copy, original should not change
+        int ID = copy.getSelectedIDs().iterator().next();
+        copy.deselect(ID);
+        assertTrue(sol.getSelectedIDs().contains(ID));
+        assertNotEquals(sol, copy);
+
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+
+        System.out.println(" - test equals and hashCode");
+
+        for(int r=0; r<100; r++){
+            Set<Integer> s = SetUtilities.getRandomSubset(IDs, RG.nextInt(NUM_IDS) + 1, RG);
+            // independently created solutions
+            BitSetSubsetSolution sol1 = new BitSetSubsetSolution(IDs, s);
+            BitSetSubsetSolution sol2 = new BitSetSubsetSolution(new HashSet<>(IDs));
+            sol2.selectAll(s);
+            assertEquals(sol1, sol2);
+            assertEquals(sol1.hashCode(), sol2.hashCode());
+            // regular subset solutions are never equal to bit set subset solutions
+            assertNotEquals(sol1, new SubsetSolution(IDs, s));
+        }
+
+        BitSetSubsetSolution sol = new BitSetSubsetSolution(IDs);
+        assertFalse(sol.equals(null));
+        assertFalse(sol.equals("Trudy"));
+
+    }
+
+    @Test
+    public void testGetRandomIDs() {
+
+        System.out.println(" - test getRandomSelectedID and getRandomUnselectedID");
+
+        // test sparse and dense selections
+        for(int size : new int[]{1, 3, NUM_IDS/2, NUM_IDS-3, NUM_IDS-1}){
+            BitSetSubsetSolution sol = new BitSetSubsetSolution(IDs, SetUtilities.getRandomSubset(IDs, size, RG));
+            Set<Integer> sampledSel = new HashSet<>();
+            Set<Integer> sampledUnsel = new HashSet<>();
+            for(int i=0; i<10000; i++){
+                int sel = sol.getRandomSelectedID(RG);
+                int unsel = sol.getRandomUnselectedID(RG);
+                assertTrue(sol.getSelectedIDs().contains(sel));
+                assertTrue(sol.getUnselectedIDs().contains(unsel));
+                sampledSel.add(sel);
+                sampledUnsel.add(unsel);
+            }
+            // all IDs are eventually sampled
+            assertEquals(sol.getSelectedIDs(), sampledSel);
+            assertEquals(sol.getUnselectedIDs(), sampledUnsel);
+        }
+
+        // empty selection
+        boolean thrown = false;
+        try {
+            new BitSetSubsetSolution(IDs).getRandomSelectedID(RG);
+        } catch (NoSuchElementException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+
+        System.out.println(" - test copy on write");
+
+        // large set of IDs spanning several chunks
+        Set<Integer> all = new LinkedHashSet<>();
+        for(int i=0; i<5000; i++){
+            all.add(i);
+        }
+        BitSetSubsetSolution sol = new BitSetSubsetSolution(all, SetUtilities.getRandomSubset(all, 2500, RG));
+
+        Set<Integer> expectedOrig = new HashSet<>(sol.getSelectedIDs());
+
+        // create chain of copies, each modified after copying, and track expected selections
+        int numCopies = 50;
+        BitSetSubsetSolution[] copies = new BitSetSubsetSolution[numCopies];
+        Set<?>[] expected = new Set<?>[numCopies];
+        BitSetSubsetSolution cur = sol;
+        for(int c=0; c<numCopies; c++){
+            copies[c] = cur.copy();
+            assertEquals(cur, copies[c]);
+            // modify copy
+            for(int m=0; m<5; m++){
+                copies[c].select(RG.nextInt(5000));
+                copies[c].deselect(RG.nextInt(5000));
+            }
+            expected[c] = new HashSet<>(copies[c].getSelectedIDs());
+            cur = copies[c];
+        }
+        // modify original
+        for(int m=0; m<100; m++){
+            sol.deselect(RG.nextInt(5000));
+        }
+        // modify last copy with selectAll
+        cur.selectAll();
+        assertEquals(5000, cur.getNumSelectedIDs());
+        // earlier copies are unaffected by later modifications
+        for(int c=0; c<numCopies-1; c++){
+            assertTrue(expected[c].equals(copies[c].getSelectedIDs()));
+            assertEquals(expected[c].size(), copies[c].getNumSelectedIDs());
+        }
+        // original is unaffected by modifications of copies
+        assertTrue(expectedOrig.containsAll(sol.getSelectedIDs()));
+
+    }
+
+    @Test
+    public void testCopyInOtherThreads() throws InterruptedException {
+
+        System.out.println(" - test copy in other threads");
+
+        Set<Integer> all = new LinkedHashSet<>();
+        for(int i=0; i<5000; i++){
+            all.add(i);
+        }
+        BitSetSubsetSolution sol = new BitSetSubsetSolution(all, SetUtilities.getRandomSubset(all, 2500, RG));
+        Set<Integer> expected = new HashSet<>(sol.getSelectedIDs());
+
+        // copy solution concurrently in several threads
+        int numThreads = 4;
+        BitSetSubsetSolution[] copies = new BitSetSubsetSolution[numThreads];
+        Thread[] threads = new Thread[numThreads];
+        for(int t=0; t<numThreads; t++){
+            final int ft = t;
+            threads[t] = new Thread(() -> copies[ft] = sol.copy());
+            threads[t].start();
+        }
+        for(Thread thread : threads){
+            thread.join();
+        }
+        // modify original in every chunk: copies are unaffected
+        for(int i=0; i<5000; i+=7){
+            if(!sol.select(i)){
+                sol.deselect(i);
+            }
+        }
+        Set<Integer> expectedOrig = new HashSet<>(sol.getSelectedIDs());
+        assertNotEquals(expected, expectedOrig);
+        for(BitSetSubsetSolution copy : copies){
+            assertEquals(expected, copy.getSelectedIDs());
+        }
+        // modify copies: original is unaffected
+        for(BitSetSubsetSolution copy : copies){
+            copy.deselect(copy.getSelectedIDs().iterator().next());
+        }
+        assertEquals(expectedOrig, sol.getSelectedIDs());
+
+    }
+
+}
@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.Random;
 import java.util.Set;
 import org.jamesframework.core.exceptions.SolutionModificationException;
@@ -869,5 +870,101 @@ public class SubsetSolutionTest {
         ns = (NavigableSet<Integer>) s;
         
     }
+    
+    /**
+     * Test of getRandomSelectedID and getRandomUnselectedID methods, of class SubsetSolution.
+     */
+    @Test
+    public void testGetRandomIDs(){
+        
+        System.out.println(" - test getRandomSelectedID and getRandomUnselectedID");
+        
+        // unordered and sorted solutions
+        Set<Integer> all = new HashSet<>(subsetSolution.getAllIDs());
+        for(SubsetSolution sol : Arrays.asList(new SubsetSolution(all), new SubsetSolution(all, true))){
+            // empty selection
+            boolean thrown = false;
+            try {
+                sol.getRandomSelectedID(RG);
+            } catch (NoSuchElementException ex){
+                thrown = true;
+            }
+            assertTrue(thrown);
+            // select random IDs and deselect some of them again
+            sol.selectAll(SetUtilities.getRandomSubset(all, NUM_IDS/2, RG));
+            sol.deselectAll(SetUtilities.getRandomSubset(sol.getSelectedIDs(), NUM_IDS/4, RG));
+            // sample random IDs
+            Set<Integer> sampledSel = new HashSet<>();
+            Set<Integer> sampledUnsel = new HashSet<>();
+            for(int i=0; i<10000; i++){
+                int sel = sol.getRandomSelectedID(RG);
+                int unsel = sol.getRandomUnselectedID(RG);
+                assertTrue(sol.getSelectedIDs().contains(sel));
+                assertTrue(sol.getUnselectedIDs().contains(unsel));
+                sampledSel.add(sel);
+                sampledUnsel.add(unsel);
+            }
+            // all IDs are eventually sampled
+            assertEquals(sol.getSelectedIDs(), sampledSel);
+            assertEquals(sol.getUnselectedIDs(), sampledUnsel);
+            // full selection
+            sol.selectAll();
+            thrown = false;
+            try {
+                sol.getRandomUnselectedID(RG);
+            } catch (NoSuchElementException ex){
+                thrown = true;
+            }
+            assertTrue(thrown);
+        }
+        
+    }
+    
+    /**
+     * Test incremental fingerprint of subset solutions.
+     */
+    @Test
+    public void testFingerprint(){
+        
+        System.out.println(" - test fingerprint");
+        
+        Set<Integer> all = new HashSet<>(subsetSolution.getAllIDs());
+        SubsetSolution sol = new SubsetSolution(all);
+        BitSetSubsetSolution bitSetSol = new BitSetSubsetSolution(all);
+        assertEquals(0, sol.getFingerprint());
+        for(int i=0; i<1000; i++){
+            // randomly select or deselect an ID
+            int ID = SetUtilities.getRandomElement(all, RG);
+            if(RG.nextBoolean()){
+                sol.select(ID);
+                bitSetSol.select(ID);
+            } else {
+                sol.deselect(ID);
+                bitSetSol.deselect(ID);
+            }
+            // recompute fingerprint from scratch
+            long fp = 0;
+            for(int sel : sol.getSelectedIDs()){
+                fp ^= SubsetSolution.fingerprint(sel);
+            }
+            assertEquals(fp, sol.getFingerprint());
+            assertEquals(fp, bitSetSol.getFingerprint());
+            assertEquals(fp, sol.copy().getFingerprint());
+            assertEquals(fp, new SubsetSolution(all, sol.getSelectedIDs(), true).getFingerprint());
+        }
+        bitSetSol.selectAll();
+        sol.selectAll();
+        assertEquals(sol.getFingerprint(), bitSetSol.getFingerprint());
+        
+        // solutions with different selections are distinguished
+        Set<Integer> hashes = new HashSet<>();
+        sol.deselectAll();
+        for(int ID : all){
+            sol.select(ID);
+            hashes.add(sol.hashCode());
+        }
+        assertEquals(all.size(), hashes.size());
+        
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,297 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset.algo.exh;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.search.Search;
+import org.jamesframework.core.search.SearchTestTemplate;
+import org.jamesframework.core.search.algo.exh.ExhaustiveSearch;
+import org.jamesframework.core.search.neigh.Move;
+import org.jamesframework.core.search.stopcriteria.MaxSteps;
+import org.jamesframework.core.subset.SubsetProblem;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.test.fakes.ScoredFakeSubsetData;
+import org.jamesframework.test.fakes.SumOfScoresFakeSubsetObjective;
+import org.jamesframework.test.util.TestConstants;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test parallel exhaustive search.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class ParallelExhaustiveSearchTest extends SearchTestTemplate {
+
+    // parallel exhaustive search (large problem)
+    private ParallelExhaustiveSearch search;
+
+    // fork-join pool with more threads than processors
+    private static ForkJoinPool pool;
+
+    // maximum runtime
+    private final long SINGLE_RUN_RUNTIME = 1000;
+    private final long MULTI_RUN_RUNTIME = 250;
+    private final TimeUnit MAX_RUNTIME_TIME_UNIT = TimeUnit.MILLISECONDS;
+
+    // number of runs in multi-run tests
+    private static final int NUM_RUNS = 5;
+
+    // small data set
+    private static final int DATASET_SIZE_SMALL = 14;
+    private static double[] scoresSmall;
+    private ScoredFakeSubsetData dataSmall;
+
+    /**
+     * Print message when starting tests.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing ParallelExhaustiveSearch ...");
+        SearchTestTemplate.setUpClass();
+        scoresSmall = new double[DATASET_SIZE_SMALL];
+        for(int i=0; i<DATASET_SIZE_SMALL; i++){
+            scoresSmall[i] = RG.nextDouble();
+        }
+        pool = new ForkJoinPool(4);
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        pool.shutdown();
+        System.out.println("# Done testing ParallelExhaustiveSearch!");
+    }
+
+    @Override
+    @Before
+    public void setUp(){
+        // call super
+        super.setUp();
+        dataSmall = new ScoredFakeSubsetData(scoresSmall);
+        // create search
+        search = new ParallelExhaustiveSearch(problem, data.getIDs(), SUBSET_SIZE, SUBSET_SIZE);
+        search.setForkJoinPool(pool);
+        search.setBatchSize(100000);
+    }
+
+    @After
+    public void tearDown(){
+        // dispose search
+        search.dispose();
+    }
+
+    @Test
+    public void testConstructor(){
+
+        System.out.println(" - test constructor");
+
+        boolean thrown = false;
+        try {
+            new ParallelExhaustiveSearch(null, data.getIDs(), 1, 2);
+        } catch (NullPointerException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        thrown = false;
+        try {
+            new ParallelExhaustiveSearch(problem, null, 1, 2);
+        } catch (NullPointerException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        thrown = false;
+        try {
+            new ParallelExhaustiveSearch(problem, data.getIDs(), 3, 2);
+        } catch (IllegalArgumentException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        // number of solutions does not fit in a long
+        Set<Integer> many = new HashSet<>();
+        for(int i=0; i<200; i++){
+            many.add(i);
+        }
+        assertEquals(Long.MAX_VALUE, new ParallelExhaustiveSearch(problem, many, 0, 200).getNumSubsets());
+
+    }
+
+    @Test
+    public void testSettings(){
+
+        System.out.println(" - test settings");
+
+        assertEquals(100000, search.getBatchSize());
+        assertSame(pool, search.getForkJoinPool());
+
+        boolean thrown = false;
+        try {
+            search.setBatchSize(0);
+        } catch (IllegalArgumentException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        thrown = false;
+        try {
+            search.setForkJoinPool(null);
+        } catch (NullPointerException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+    }
+
+    /**
+     * Test single run (large problem).
+     */
+    @Test
+    public void testSingleRun() {
+        System.out.println(" - test single run");
+        singleRunWithMaxRuntime(search, SINGLE_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // evaluation of best solution obtained by delta evaluation
+        assertEquals(problem.evaluate(search.getBestSolution()).getValue(),
+                     search.getBestSolutionEvaluation().getValue(),
+                     TestConstants.DOUBLE_COMPARISON_PRECISION);
+    }
+
+    /**
+     * Test subsequent runs (large problem).
+     */
+    @Test
+    public void testSubsequentRuns() {
+        System.out.println(" - test subsequent runs");
+        multiRunWithMaximumRuntime(search, MULTI_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT, NUM_RUNS, true, true);
+    }
+
+    /**
+     * Compare with a regular exhaustive search, including invalid subset sizes and constraints.
+     */
+    @Test
+    public void testSameResultAsExhaustiveSearch() {
+        System.out.println(" - test same result as exhaustive search");
+        for(boolean minimizing : new boolean[]{false, true}){
+            for(boolean penalizing : new boolean[]{false, true}){
+                // subset sizes 0-9 are generated, of which 3-7 are valid
+                SumOfScoresFakeSubsetObjective objSmall = new SumOfScoresFakeSubsetObjective();
+                if(minimizing){
+                    objSmall.setMinimizing();
+                }
+                SubsetProblem<ScoredFakeSubsetData> problemSmall = new SubsetProblem<>(dataSmall, objSmall, 3, 7);
+                if(penalizing){
+                    problemSmall.addPenalizingConstraint(constraint);
+                } else {
+                    problemSmall.addMandatoryConstraint(constraint);
+                }
+                ExhaustiveSearch<SubsetSolution> exh = new ExhaustiveSearch<>(
+                        problemSmall, new SubsetSolutionIterator(dataSmall.getIDs(), 0, 9)
+                );
+                ParallelExhaustiveSearch parExh = new ParallelExhaustiveSearch(problemSmall, dataSmall.getIDs(), 0, 9);
+                parExh.setForkJoinPool(pool);
+                parExh.setBatchSize(5000);
+                exh.run();
+                parExh.run();
+                assertEquals(exh.getBestSolution(), parExh.getBestSolution());
+                assertEquals(exh.getBestSolutionEvaluation().getValue(),
+                             parExh.getBestSolutionEvaluation().getValue(),
+                             TestConstants.DOUBLE_COMPARISON_PRECISION);
+                // one step per batch + final step
+                long numBatches = (parExh.getNumSubsets() + 4999) / 5000;
+                assertEquals(numBatches + 1, parExh.getSteps());
+                exh.dispose();
+                parExh.dispose();
+            }
+        }
+    }
+
+    /**
+     * Verify that every subset is evaluated exactly once, also when the search is stopped
+     * during a batch and subsequently restarted.
+     */
+    @Test
+    public void testStopAndRestart() {
+        System.out.println(" - test stop and restart");
+        final AtomicLong numEvaluations = new AtomicLong();
+        final Search<?>[] toStop = new Search<?>[1];
+        SumOfScoresFakeSubsetObjective countingObj = new SumOfScoresFakeSubsetObjective(){
+            @Override
+            public Evaluation evaluate(SubsetSolution solution, ScoredFakeSubsetData data) {
+                count();
+                return super.evaluate(solution, data);
+            }
+            @Override
+            public Evaluation evaluate(Move move, SubsetSolution curSol, Evaluation curEval, ScoredFakeSubsetData data) {
+                count();
+                return super.evaluate(move, curSol, curEval, data);
+            }
+            private void count(){
+                // stop search at regular intervals
+                if(numEvaluations.incrementAndGet() % 777 == 0){
+                    toStop[0].stop();
+                }
+            }
+        };
+        SubsetProblem<ScoredFakeSubsetData> problemSmall = new SubsetProblem<>(dataSmall, countingObj, 2, 6);
+        ParallelExhaustiveSearch parExh = new ParallelExhaustiveSearch(problemSmall, dataSmall.getIDs(), 2, 6);
+        parExh.setForkJoinPool(pool);
+        parExh.setBatchSize(3000);
+        toStop[0] = parExh;
+        int runs = 0;
+        while(numEvaluations.get() < parExh.getNumSubsets() && runs < 10000){
+            parExh.run();
+            runs++;
+        }
+        assertEquals(parExh.getNumSubsets(), numEvaluations.get());
+        // nothing left to evaluate
+        parExh.run();
+        assertEquals(parExh.getNumSubsets(), numEvaluations.get());
+        assertEquals(1, parExh.getSteps());
+        // compare with sequential search
+        toStop[0] = new ParallelExhaustiveSearch(problemSmall, dataSmall.getIDs(), 2, 6);
+        ExhaustiveSearch<SubsetSolution> exh = new ExhaustiveSearch<>(
+                problemSmall, new SubsetSolutionIterator(dataSmall.getIDs(), 2, 6)
+        );
+        exh.run();
+        assertEquals(exh.getBestSolution(), parExh.getBestSolution());
+        // stop after given number of batches
+        numEvaluations.set(0);
+        ParallelExhaustiveSearch steps = new ParallelExhaustiveSearch(problemSmall, dataSmall.getIDs(), 2, 6);
+        steps.setForkJoinPool(pool);
+        steps.setBatchSize(100);
+        steps.addStopCriterion(new MaxSteps(3));
+        steps.run();
+        assertEquals(300, numEvaluations.get());
+        exh.dispose();
+        parExh.dispose();
+        steps.dispose();
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset.algo.exh;
+
+import java.util.concurrent.TimeUnit;
+import org.jamesframework.core.problems.objectives.evaluations.Evaluation;
+import org.jamesframework.core.search.Search;
+import org.jamesframework.core.search.SearchTestTemplate;
+import org.jamesframework.core.search.algo.exh.ExhaustiveSearch;
+import org.jamesframework.core.search.stopcriteria.MaxSteps;
+import org.jamesframework.core.subset.SubsetProblem;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.test.fakes.ScoredFakeSubsetData;
+import org.jamesframework.test.fakes.SumOfScoresFakeSubsetObjective;
+import org.jamesframework.test.util.TestConstants;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test subset exhaustive search.
+ * 
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class SubsetExhaustiveSearchTest extends SearchTestTemplate {
+
+    // subset exhaustive search (large problem)
+    private SubsetExhaustiveSearch search;
+    // subset solution iterator
+    private SubsetSolutionIterator solutionIterator;
+    
+    // maximum runtime
+    private final long SINGLE_RUN_RUNTIME = 1000;
+    private final long MULTI_RUN_RUNTIME = 250;
+    private final TimeUnit MAX_RUNTIME_TIME_UNIT = TimeUnit.MILLISECONDS;
+    
+    // number of runs in multi-run tests
+    private static final int NUM_RUNS = 5;
+    
+    // small data set
+    private static final int DATASET_SIZE_SMALL = 12;
+    private static double[] scoresSmall;
+    private ScoredFakeSubsetData dataSmall;
+    
+    /**
+     * Print message when starting tests.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing SubsetExhaustiveSearch ...");
+        SearchTestTemplate.setUpClass();
+        scoresSmall = new double[DATASET_SIZE_SMALL];
+        for(int i=0; i<DATASET_SIZE_SMALL; i++){
+            scoresSmall[i] = RG.nextDouble();
+        }
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing SubsetExhaustiveSearch!");
+    }
+    
+    @Override
+    @Before
+    public void setUp(){
+        // call super
+        super.setUp();
+        dataSmall = new ScoredFakeSubsetData(scoresSmall);
+        // create search
+        solutionIterator = new SubsetSolutionIterator(data.getIDs(), SUBSET_SIZE);
+        search = new SubsetExhaustiveSearch(problem, solutionIterator);
+    }
+    
+    @After
+    public void tearDown(){
+        // dispose search
+        search.dispose();
+    }
+    
+    @Test(expected = NullPointerException.class)
+    public void testConstructor(){
+        System.out.println(" - test constructor");
+        new SubsetExhaustiveSearch(problem, null);
+    }
+    
+    /**
+     * Test single run (large problem).
+     */
+    @Test
+    public void testSingleRun() {
+        System.out.println(" - test single run");
+        singleRunWithMaxRuntime(search, SINGLE_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT);
+        // evaluation of best solution obtained by delta evaluation
+        assertEquals(problem.evaluate(search.getBestSolution()).getValue(),
+                     search.getBestSolutionEvaluation().getValue(),
+                     TestConstants.DOUBLE_COMPARISON_PRECISION);
+    }
+    
+    /**
+     * Test subsequent runs (large problem).
+     */
+    @Test
+    public void testSubsequentRuns() {
+        System.out.println(" - test subsequent runs");
+        multiRunWithMaximumRuntime(search, MULTI_RUN_RUNTIME, MAX_RUNTIME_TIME_UNIT, NUM_RUNS, true, true);
+    }
+    
+    /**
+     * Compare with a regular exhaustive search, including invalid subset sizes and constraints.
+     */
+    @Test
+    public void testSameResultAsExhaustiveSearch() {
+        System.out.println(" - test same result as exhaustive search");
+        for(boolean minimizing : new boolean[]{false, true}){
+            for(boolean penalizing : new boolean[]{false, true}){
+                // subset sizes 0-8 are generated, of which 3-6 are valid
+                SumOfScoresFakeSubsetObjective objSmall = new SumOfScoresFakeSubsetObjective();
+                if(minimizing){
+                    objSmall.setMinimizing();
+                }
+                SubsetProblem<ScoredFakeSubsetData> problemSmall = new SubsetProblem<>(dataSmall, objSmall, 3, 6);
+                if(penalizing){
+                    problemSmall.addPenalizingConstraint(constraint);
+                } else {
+                    problemSmall.addMandatoryConstraint(constraint);
+                }
+                ExhaustiveSearch<SubsetSolution> exh = new ExhaustiveSearch<>(
+                        problemSmall, new SubsetSolutionIterator(dataSmall.getIDs(), 0, 8)
+                );
+                SubsetExhaustiveSearch subsetExh = new SubsetExhaustiveSearch(
+                        problemSmall, new SubsetSolutionIterator(dataSmall.getIDs(), 0, 8)
+                );
+                exh.run();
+                subsetExh.run();
+                assertEquals(exh.getSteps(), subsetExh.getSteps());
+                assertEquals(exh.getBestSolution(), subsetExh.getBestSolution());
+                assertEquals(exh.getBestSolutionEvaluation().getValue(),
+                             subsetExh.getBestSolutionEvaluation().getValue(),
+                             TestConstants.DOUBLE_COMPARISON_PRECISION);
+                assertEquals(exh.getBestSolutionValidation().passed(),
+                             subsetExh.getBestSolutionValidation().passed());
+                exh.dispose();
+                subsetExh.dispose();
+            }
+        }
+    }
+    
+    /**
+     * Verify that only a single full evaluation is performed, also when the search is stopped and restarted.
+     */
+    @Test
+    public void testDeltaEvaluation() {
+        System.out.println(" - test delta evaluation");
+        final int[] numFullEvaluations = new int[1];
+        SumOfScoresFakeSubsetObjective countingObj = new SumOfScoresFakeSubsetObjective(){
+            @Override
+            public Evaluation evaluate(SubsetSolution solution, ScoredFakeSubsetData data) {
+                numFullEvaluations[0]++;
+                return super.evaluate(solution, data);
+            }
+        };
+        SubsetProblem<ScoredFakeSubsetData> problemSmall = new SubsetProblem<>(dataSmall, countingObj, 2, 5);
+        SubsetSolutionIterator it = new SubsetSolutionIterator(dataSmall.getIDs(), 2, 5);
+        SubsetExhaustiveSearch subsetExh = new SubsetExhaustiveSearch(problemSmall, it);
+        subsetExh.addStopCriterion(new MaxSteps(100));
+        subsetExh.setStopCriterionCheckPeriod(1, TimeUnit.MILLISECONDS);
+        long steps = 0;
+        while(it.hasNext()){
+            subsetExh.run();
+            steps += subsetExh.getSteps();
+        }
+        assertEquals(it.getNumSubsets() + 1, steps);
+        assertEquals(1, numFullEvaluations[0]);
+        // compare with full evaluation
+        ExhaustiveSearch<SubsetSolution> exh = new ExhaustiveSearch<>(
+                problemSmall, new SubsetSolutionIterator(dataSmall.getIDs(), 2, 5)
+        );
+        exh.run();
+        assertEquals(exh.getBestSolution(), subsetExh.getBestSolution());
+        // solution iterator used externally: reinitialized
+        it = new SubsetSolutionIterator(dataSmall.getIDs(), 3);
+        Search<SubsetSolution> s = new SubsetExhaustiveSearch(problemSmall, it);
+        s.addStopCriterion(new MaxSteps(10));
+        s.setStopCriterionCheckPeriod(1, TimeUnit.MILLISECONDS);
+        numFullEvaluations[0] = 0;
+        s.run();
+        it.next();
+        s.run();
+        assertEquals(2, numFullEvaluations[0]);
+        subsetExh.dispose();
+        exh.dispose();
+        s.dispose();
+    }
+
+}
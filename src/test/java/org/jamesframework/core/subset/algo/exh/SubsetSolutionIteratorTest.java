@@ -16,8 +16,10 @@
 
 package org.jamesframework.core.subset.algo.exh;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import org.jamesframework.core.search.algo.exh.SolutionIterator;
@@ -364,5 +366,172 @@ public class SubsetSolutionIteratorTest {
         assertTrue(thrown);
         
     }
+    
+    /**
+     * Test SubsetSolutionIterator with rank range.
+     */
+    @Test
+    public void testRankRange() {
+        
+        System.out.println(" - test rank range");
+        
+        // enumerate all solutions
+        List<SubsetSolution> all = new ArrayList<>();
+        SubsetSolutionIterator it = new SubsetSolutionIterator(IDs, 1, 3);
+        assertEquals(25, it.getNumSubsets());
+        while(it.hasNext()){
+            all.add(it.next());
+        }
+        
+        // enumerate in two ranges
+        List<SubsetSolution> generated = new ArrayList<>();
+        it = new SubsetSolutionIterator(IDs, 1, 3, 0, 12);
+        while(it.hasNext()){
+            generated.add(it.next());
+        }
+        assertEquals(12, it.getRank());
+        it = new SubsetSolutionIterator(IDs, 1, 3, 12, 100);
+        while(it.hasNext()){
+            generated.add(it.next());
+        }
+        assertEquals(25, it.getRank());
+        assertEquals(all, generated);
+        
+        boolean thrown = false;
+        try {
+            new SubsetSolutionIterator(IDs, 1, 3, 12, 11);
+        } catch (IllegalArgumentException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+        
+    }
+    
+    /**
+     * Test sharded SubsetSolutionIterator.
+     */
+    @Test
+    public void testShard() {
+        
+        System.out.println(" - test shard");
+        
+        // enumerate all solutions
+        List<SubsetSolution> all = new ArrayList<>();
+        SubsetSolutionIterator it = new SubsetSolutionIterator(IDs, 0, NUM_IDS);
+        while(it.hasNext()){
+            all.add(it.next());
+        }
+        
+        // concatenate shards
+        for(int numShards : new int[]{1, 3, 7, 1 << NUM_IDS, 100}){
+            List<SubsetSolution> generated = new ArrayList<>();
+            int min = Integer.MAX_VALUE, max = 0;
+            for(int s=0; s<numShards; s++){
+                it = SubsetSolutionIterator.shard(IDs, 0, NUM_IDS, s, numShards);
+                int size = 0;
+                while(it.hasNext()){
+                    generated.add(it.next());
+                    size++;
+                }
+                min = Math.min(min, size);
+                max = Math.max(max, size);
+            }
+            assertEquals(all, generated);
+            // balanced shards
+            assertTrue(max - min <= 1);
+        }
+        
+        boolean thrown = false;
+        try {
+            SubsetSolutionIterator.shard(IDs, 0, NUM_IDS, 3, 3);
+        } catch (IllegalArgumentException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+        
+        thrown = false;
+        try {
+            SubsetSolutionIterator.shard(IDs, 0, NUM_IDS, 0, 0);
+        } catch (IllegalArgumentException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+        
+    }
+    
+    /**
+     * Test primitive enumeration of IDs.
+     */
+    @Test
+    public void testNextIDs() {
+        
+        System.out.println(" - test next IDs");
+        
+        SubsetSolutionIterator it = new SubsetSolutionIterator(IDs, 1, NUM_IDS-1);
+        SubsetSolutionIterator it2 = new SubsetSolutionIterator(IDs, 1, NUM_IDS-1);
+        int[] ids = new int[NUM_IDS];
+        while(it.hasNext()){
+            int k = it.next(ids);
+            Set<Integer> sel = new HashSet<>();
+            for(int i=0; i<k; i++){
+                sel.add(ids[i]);
+            }
+            assertEquals(it2.next(), new SubsetSolution(IDs, sel));
+        }
+        assertFalse(it2.hasNext());
+        
+        boolean thrown = false;
+        try {
+            it.next(ids);
+        } catch (NoSuchElementException ex) {
+            thrown = true;
+        }
+        assertTrue(thrown);
+        
+    }
+    
+    /**
+     * Test reuse of a single solution.
+     */
+    @Test
+    public void testReuseSolution() {
+        
+        System.out.println(" - test reuse solution");
+        
+        SubsetSolutionIterator it = new SubsetSolutionIterator(IDs, 0, NUM_IDS);
+        SubsetSolutionIterator it2 = new SubsetSolutionIterator(IDs, 0, NUM_IDS);
+        assertFalse(it.isReuseSolution());
+        it.setReuseSolution(true);
+        assertTrue(it.isReuseSolution());
+        SubsetSolution first = null;
+        int[] ids = new int[NUM_IDS];
+        int n = 0;
+        while(it.hasNext()){
+            // alternate with primitive enumeration and switching modes
+            if(n % 7 == 3){
+                it.next(ids);
+                it2.next();
+            } else if(n % 11 == 5) {
+                it.setReuseSolution(false);
+                SubsetSolution sol = it.next();
+                assertEquals(it2.next(), sol);
+                assertNotSame(first, sol);
+                it.setReuseSolution(true);
+                first = null;
+            } else {
+                SubsetSolution sol = it.next();
+                // same object, updated in place
+                if(first == null){
+                    first = sol;
+                } else {
+                    assertSame(first, sol);
+                }
+                assertEquals(it2.next(), sol);
+            }
+            n++;
+        }
+        assertFalse(it2.hasNext());
+        
+    }
 
-}
\ No newline at end of file
+}
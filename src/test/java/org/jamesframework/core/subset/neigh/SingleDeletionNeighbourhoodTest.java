@@ -16,6 +16,9 @@
 
 package org.jamesframework.core.subset.neigh;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import org.jamesframework.core.subset.neigh.moves.SubsetMove;
 import java.util.HashSet;
 import java.util.List;
@@ -189,6 +192,41 @@ public class SingleDeletionNeighbourhoodTest {
     /**
      * Test of getAllMoves method, of class SingleDeletionNeighbourhood.
      */
+    @Test
+    public void testGetMoveIterator() {
+        
+        System.out.println(" - test getMoveIterator");
+        
+        for(SubsetNeighbourhood n : new SubsetNeighbourhood[]{neighUnlimited, neighLimited}){
+            // test for different subset sizes
+            for(int size : new int[]{0, 1, 10, NUM_IDS/2, NUM_IDS-1, NUM_IDS}){
+                sol.deselectAll();
+                sol.selectAll(SetUtilities.getRandomSubset(sol.getAllIDs(), size, RG));
+                // iterator generates same moves as getAllMoves, in the same order
+                List<? extends Move<? super SubsetSolution>> moves = n.getAllMoves(sol);
+                Iterator<? extends Move<? super SubsetSolution>> it = n.getMoveIterator(sol);
+                // modify solution after creating iterator (should not affect iterator)
+                if(sol.getNumSelectedIDs() > 0){
+                    sol.deselect(sol.getSelectedIDs().iterator().next());
+                }
+                List<Move<? super SubsetSolution>> iterated = new ArrayList<>();
+                while(it.hasNext()){
+                    iterated.add(it.next());
+                }
+                assertEquals(moves, iterated);
+                // no more moves
+                boolean thrown = false;
+                try {
+                    it.next();
+                } catch (NoSuchElementException ex){
+                    thrown = true;
+                }
+                assertTrue(thrown);
+            }
+        }
+        
+    }
+    
     @Test
     public void testGetAllMoves() {
         
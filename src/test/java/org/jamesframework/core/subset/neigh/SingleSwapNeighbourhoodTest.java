@@ -16,6 +16,9 @@
 
 package org.jamesframework.core.subset.neigh;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import org.jamesframework.core.subset.neigh.moves.SubsetMove;
 import org.jamesframework.core.subset.neigh.moves.SwapMove;
 import java.util.HashSet;
@@ -126,6 +129,59 @@ public class SingleSwapNeighbourhoodTest {
     /**
      * Test of getAllMoves method, of class SingleSwapNeighbourhood.
      */
+    @Test
+    public void testGetMoveIterator() {
+        
+        System.out.println(" - test getMoveIterator");
+        
+        // test for different subset sizes
+        for(int size : new int[]{0, 1, 10, NUM_IDS/2, NUM_IDS-1, NUM_IDS}){
+            sol.deselectAll();
+            sol.selectAll(SetUtilities.getRandomSubset(sol.getAllIDs(), size, RG));
+            // iterator generates same moves as getAllMoves, in the same order
+            List<? extends Move<? super SubsetSolution>> moves = neigh.getAllMoves(sol);
+            Iterator<? extends Move<? super SubsetSolution>> it = neigh.getMoveIterator(sol);
+            // modify solution after creating iterator (should not affect iterator)
+            if(sol.getNumSelectedIDs() > 0){
+                sol.deselect(sol.getSelectedIDs().iterator().next());
+            }
+            List<Move<? super SubsetSolution>> iterated = new ArrayList<>();
+            while(it.hasNext()){
+                iterated.add(it.next());
+            }
+            assertEquals(moves, iterated);
+            // no more moves
+            boolean thrown = false;
+            try {
+                it.next();
+            } catch (NoSuchElementException ex){
+                thrown = true;
+            }
+            assertTrue(thrown);
+        }
+        
+        // moves are generated lazily: 10^10 swaps with 100000 selected and unselected IDs
+        Set<Integer> many = new HashSet<>();
+        for(int i=0; i<200000; i++){
+            many.add(i);
+        }
+        SubsetSolution large = new SubsetSolution(many);
+        large.selectAll(SetUtilities.getRandomSubset(many, 100000, RG));
+        Iterator<SubsetMove> it = neigh.getMoveIterator(large);
+        Set<SubsetMove> generated = new HashSet<>();
+        for(int i=0; i<1000; i++){
+            SubsetMove move = it.next();
+            assertTrue(move instanceof SwapMove);
+            assertTrue(large.getUnselectedIDs().containsAll(move.getAddedIDs()));
+            assertTrue(large.getSelectedIDs().containsAll(move.getDeletedIDs()));
+            generated.add(move);
+        }
+        // all distinct, more moves available after partial iteration
+        assertEquals(1000, generated.size());
+        assertTrue(it.hasNext());
+        
+    }
+    
     @Test
     public void testGetAllMoves() {
        
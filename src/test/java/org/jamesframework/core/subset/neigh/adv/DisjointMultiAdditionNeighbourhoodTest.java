@@ -18,6 +18,7 @@ package org.jamesframework.core.subset.neigh.adv;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
@@ -256,6 +257,26 @@ public class DisjointMultiAdditionNeighbourhoodTest {
         }
         
     }
+
+    @Test
+    public void testGetMoveSequence() {
+        
+        System.out.println(" - test getMoveSequence and getMoveIterator with maximum subset size");
+        
+        // 3 additions, maximum subset size 12
+        DisjointMultiAdditionNeighbourhood neigh = new DisjointMultiAdditionNeighbourhood(3, 12);
+        SubsetSolution sol = new SubsetSolution(IDs);
+        for(int size : new int[]{0, 1, 9, 10, 11, 12, NUM_IDS}){
+            sol.deselectAll();
+            sol.selectAll(SetUtilities.getRandomSubset(IDs, size, RG));
+            // exactly 3 additions, or as many as allowed by the maximum subset size
+            int k = Math.max(Math.min(3, 12 - size), 0);
+            Set<Integer> addCandidates = new LinkedHashSet<>(sol.getUnselectedIDs());
+            List<SubsetMove> expected = ReferenceMoves.generate(addCandidates, null, k, k);
+            ReferenceMoves.verify(sol, neigh.getMoveSequence(sol), neigh.getMoveIterator(sol), expected);
+        }
+        
+    }
     
     // compute number of possible subsets of size subsetSize taken from set of size setSize
     private int numSubsets(int setSize, int subsetSize){
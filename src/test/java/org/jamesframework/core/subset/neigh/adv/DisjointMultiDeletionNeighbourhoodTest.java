@@ -18,6 +18,7 @@ package org.jamesframework.core.subset.neigh.adv;
 
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
@@ -254,6 +255,25 @@ public class DisjointMultiDeletionNeighbourhoodTest {
         }
         
     }
+
+    @Test
+    public void testGetMoveSequence() {
+        
+        System.out.println(" - test getMoveSequence and getMoveIterator with minimum subset size");
+        
+        // 3 deletions, minimum subset size 8
+        DisjointMultiDeletionNeighbourhood neigh = new DisjointMultiDeletionNeighbourhood(3, 8);
+        SubsetSolution sol = new SubsetSolution(IDs);
+        for(int size : new int[]{0, 8, 9, 10, 11, NUM_IDS-1, NUM_IDS}){
+            sol.deselectAll();
+            sol.selectAll(SetUtilities.getRandomSubset(IDs, size, RG));
+            // exactly 3 deletions, or as many as allowed by the minimum subset size
+            int k = Math.max(Math.min(3, size - 8), 0);
+            List<SubsetMove> expected = ReferenceMoves.generate(null, new LinkedHashSet<>(sol.getSelectedIDs()), k, k);
+            ReferenceMoves.verify(sol, neigh.getMoveSequence(sol), neigh.getMoveIterator(sol), expected);
+        }
+        
+    }
     
     // compute number of possible subsets of size subsetSize taken from set of size setSize
     private int numSubsets(int setSize, int subsetSize){
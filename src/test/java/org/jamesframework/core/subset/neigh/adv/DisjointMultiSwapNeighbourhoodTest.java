@@ -172,6 +172,28 @@ public class DisjointMultiSwapNeighbourhoodTest {
         }
         
     }
+
+    @Test
+    public void testGetMoveSequence() {
+        
+        System.out.println(" - test getMoveSequence and getMoveIterator with fixed IDs");
+        
+        // 3 swaps, 5 fixed IDs
+        Set<Integer> fixedIDs = SetUtilities.getRandomSubset(IDs, 5, RG);
+        DisjointMultiSwapNeighbourhood neigh = new DisjointMultiSwapNeighbourhood(3, fixedIDs);
+        SubsetSolution sol = new SubsetSolution(IDs);
+        for(int size : new int[]{0, 1, 2, 3, NUM_IDS/2, NUM_IDS-3, NUM_IDS-1, NUM_IDS}){
+            sol.deselectAll();
+            sol.selectAll(SetUtilities.getRandomSubset(IDs, size, RG));
+            // exactly 3 swaps of unselected and selected, non-fixed IDs, or as many as possible
+            Set<Integer> addCandidates = ReferenceMoves.candidates(sol.getUnselectedIDs(), fixedIDs);
+            Set<Integer> delCandidates = ReferenceMoves.candidates(sol.getSelectedIDs(), fixedIDs);
+            int k = Math.min(3, Math.min(addCandidates.size(), delCandidates.size()));
+            List<SubsetMove> expected = ReferenceMoves.generate(addCandidates, delCandidates, k, k);
+            ReferenceMoves.verify(sol, neigh.getMoveSequence(sol), neigh.getMoveIterator(sol), expected);
+        }
+        
+    }
     
     // compute number of possible subsets of size subsetSize taken from set of size setSize
     private int numSubsets(int setSize, int subsetSize){
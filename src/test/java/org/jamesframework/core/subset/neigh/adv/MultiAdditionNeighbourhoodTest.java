@@ -271,6 +271,27 @@ public class MultiAdditionNeighbourhoodTest {
         }
         
     }
+
+    @Test
+    public void testGetMoveSequence() {
+        
+        System.out.println(" - test getMoveSequence and getMoveIterator with maximum subset size and fixed IDs");
+        
+        // at most 3 additions, maximum subset size 12, 5 fixed IDs
+        Set<Integer> fixedIDs = SetUtilities.getRandomSubset(IDs, 5, RG);
+        MultiAdditionNeighbourhood neigh = new MultiAdditionNeighbourhood(3, 12, fixedIDs);
+        SubsetSolution sol = new SubsetSolution(IDs);
+        for(int size : new int[]{0, 1, 9, 10, 11, 12, NUM_IDS}){
+            sol.deselectAll();
+            sol.selectAll(SetUtilities.getRandomSubset(IDs, size, RG));
+            // 1 up to 3 additions of unselected, non-fixed IDs, without exceeding the maximum subset size
+            List<SubsetMove> expected = ReferenceMoves.generate(
+                    ReferenceMoves.candidates(sol.getUnselectedIDs(), fixedIDs), null, 1, Math.min(3, 12 - size)
+            );
+            ReferenceMoves.verify(sol, neigh.getMoveSequence(sol), neigh.getMoveIterator(sol), expected);
+        }
+        
+    }
     
     // compute number of possible subsets of size subsetSize taken from set of size setSize
     private int numSubsets(int setSize, int subsetSize){
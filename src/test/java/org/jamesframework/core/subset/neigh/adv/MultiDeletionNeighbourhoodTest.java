@@ -267,6 +267,27 @@ public class MultiDeletionNeighbourhoodTest {
         }
         
     }
+
+    @Test
+    public void testGetMoveSequence() {
+        
+        System.out.println(" - test getMoveSequence and getMoveIterator with minimum subset size and fixed IDs");
+        
+        // at most 3 deletions, minimum subset size 8, 5 fixed IDs
+        Set<Integer> fixedIDs = SetUtilities.getRandomSubset(IDs, 5, RG);
+        MultiDeletionNeighbourhood neigh = new MultiDeletionNeighbourhood(3, 8, fixedIDs);
+        SubsetSolution sol = new SubsetSolution(IDs);
+        for(int size : new int[]{0, 8, 9, 10, 11, NUM_IDS-1, NUM_IDS}){
+            sol.deselectAll();
+            sol.selectAll(SetUtilities.getRandomSubset(IDs, size, RG));
+            // 1 up to 3 deletions of selected, non-fixed IDs, without going below the minimum subset size
+            List<SubsetMove> expected = ReferenceMoves.generate(
+                    null, ReferenceMoves.candidates(sol.getSelectedIDs(), fixedIDs), 1, Math.min(3, size - 8)
+            );
+            ReferenceMoves.verify(sol, neigh.getMoveSequence(sol), neigh.getMoveIterator(sol), expected);
+        }
+        
+    }
     
     // compute number of possible subsets of size subsetSize taken from set of size setSize
     private int numSubsets(int setSize, int subsetSize){
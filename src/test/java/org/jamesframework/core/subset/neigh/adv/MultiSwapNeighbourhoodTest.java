@@ -196,6 +196,29 @@ public class MultiSwapNeighbourhoodTest {
         }
         
     }
+
+    @Test
+    public void testGetMoveSequence() {
+        
+        System.out.println(" - test getMoveSequence and getMoveIterator with fixed IDs");
+        
+        // at most 3 swaps, 5 fixed IDs
+        Set<Integer> fixedIDs = SetUtilities.getRandomSubset(IDs, 5, RG);
+        MultiSwapNeighbourhood neigh = new MultiSwapNeighbourhood(3, fixedIDs);
+        SubsetSolution sol = new SubsetSolution(IDs);
+        for(int size : new int[]{0, 1, 2, NUM_IDS/2, NUM_IDS-2, NUM_IDS-1, NUM_IDS}){
+            sol.deselectAll();
+            sol.selectAll(SetUtilities.getRandomSubset(IDs, size, RG));
+            // 1 up to 3 swaps of unselected and selected, non-fixed IDs
+            List<SubsetMove> expected = ReferenceMoves.generate(
+                    ReferenceMoves.candidates(sol.getUnselectedIDs(), fixedIDs),
+                    ReferenceMoves.candidates(sol.getSelectedIDs(), fixedIDs),
+                    1, 3
+            );
+            ReferenceMoves.verify(sol, neigh.getMoveSequence(sol), neigh.getMoveIterator(sol), expected);
+        }
+        
+    }
     
     // compute number of possible subsets of size subsetSize taken from set of size setSize
     private int numSubsets(int setSize, int subsetSize){
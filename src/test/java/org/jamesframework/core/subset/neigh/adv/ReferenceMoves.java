@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset.neigh.adv;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.jamesframework.core.subset.neigh.moves.GeneralSubsetMove;
+import org.jamesframework.core.subset.neigh.moves.SubsetMove;
+import org.jamesframework.core.util.SubsetIterator;
+import static org.junit.Assert.*;
+
+/**
+ * Reference implementation used to verify the moves generated by a subset move sequence and by the
+ * advanced subset neighbourhoods. Moves are generated with nested subset iterators, as previously done
+ * by the multi addition, deletion and swap neighbourhoods, independent of {@link SubsetMoveSequence}.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+final class ReferenceMoves {
+
+    private ReferenceMoves(){
+    }
+
+    /**
+     * Generate all moves that add and/or remove between <code>min</code> and <code>max</code> IDs (at least one),
+     * in the expected order: by increasing number of added/removed IDs, then by set of removed IDs and finally by
+     * set of added IDs. If both candidate sets are given, swap moves are generated with the same number of added
+     * and removed IDs. The maximum is truncated to the number of available candidates.
+     *
+     * @param addCandidates candidate IDs for addition, <code>null</code> if no IDs are added
+     * @param removeCandidates candidate IDs for removal, <code>null</code> if no IDs are removed
+     * @param min minimum number of added/removed IDs
+     * @param max maximum number of added/removed IDs
+     * @return list of expected moves
+     */
+    static List<SubsetMove> generate(Set<Integer> addCandidates, Set<Integer> removeCandidates, int min, int max){
+        if(addCandidates != null){
+            max = Math.min(max, addCandidates.size());
+        }
+        if(removeCandidates != null){
+            max = Math.min(max, removeCandidates.size());
+        }
+        List<SubsetMove> moves = new ArrayList<>();
+        for(int s=Math.max(min, 1); s<=max; s++){
+            List<Set<Integer>> dels = removeCandidates != null ? subsets(removeCandidates, s)
+                                                               : Collections.singletonList(null);
+            List<Set<Integer>> adds = addCandidates != null ? subsets(addCandidates, s)
+                                                            : Collections.singletonList(null);
+            for(Set<Integer> del : dels){
+                for(Set<Integer> add : adds){
+                    moves.add(new GeneralSubsetMove(add, del));
+                }
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Verify that the given move sequence and move iterator, both created for the given solution, generate exactly
+     * the expected moves in the expected order. The solution is modified before any moves are generated, which
+     * should not affect the sequence or iterator.
+     *
+     * @param sol solution for which the sequence and iterator have been created
+     * @param seq move sequence
+     * @param it move iterator
+     * @param expected expected moves
+     */
+    static void verify(SubsetSolution sol, SubsetMoveSequence seq, Iterator<SubsetMove> it, List<SubsetMove> expected){
+        // modify solution after creating sequence and iterator
+        if(sol.getNumSelectedIDs() > 0){
+            sol.deselect(sol.getSelectedIDs().iterator().next());
+        } else {
+            sol.select(sol.getUnselectedIDs().iterator().next());
+        }
+        assertEquals(expected.size(), seq.size());
+        assertEquals(expected, collect(seq.iterator()));
+        assertEquals(expected, collect(it));
+        // no more moves
+        boolean thrown = false;
+        try {
+            it.next();
+        } catch (NoSuchElementException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+    }
+
+    /**
+     * Copy the given IDs, in the same order, excluding the given fixed IDs.
+     *
+     * @param IDs IDs to copy
+     * @param fixedIDs fixed IDs to exclude
+     * @return candidate IDs
+     */
+    static Set<Integer> candidates(Set<Integer> IDs, Set<Integer> fixedIDs){
+        Set<Integer> candidates = new LinkedHashSet<>(IDs);
+        candidates.removeAll(fixedIDs);
+        return candidates;
+    }
+
+    private static List<SubsetMove> collect(Iterator<SubsetMove> it){
+        List<SubsetMove> moves = new ArrayList<>();
+        while(it.hasNext()){
+            moves.add(it.next());
+        }
+        return moves;
+    }
+
+    private static List<Set<Integer>> subsets(Set<Integer> items, int size){
+        List<Set<Integer>> subsets = new ArrayList<>();
+        SubsetIterator<Integer> it = new SubsetIterator<>(items, size);
+        while(it.hasNext()){
+            subsets.add(it.next());
+        }
+        return subsets;
+    }
+
+}
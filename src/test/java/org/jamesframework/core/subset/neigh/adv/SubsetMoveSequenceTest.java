@@ -0,0 +1,282 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.subset.neigh.adv;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import org.jamesframework.core.subset.neigh.moves.GeneralSubsetMove;
+import org.jamesframework.core.subset.neigh.moves.SubsetMove;
+import org.jamesframework.core.subset.neigh.moves.SwapMove;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test subset move sequence.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class SubsetMoveSequenceTest {
+
+    // random generator
+    private static final Random RG = new Random();
+
+    // candidate IDs for addition and removal
+    private static Set<Integer> addCandidates, removeCandidates;
+
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing SubsetMoveSequence ...");
+        // arbitrary (unsorted) candidate IDs
+        addCandidates = new LinkedHashSet<>();
+        for(int i=0; i<9; i++){
+            addCandidates.add(100 - 7*i);
+        }
+        removeCandidates = new LinkedHashSet<>();
+        for(int i=0; i<6; i++){
+            removeCandidates.add(3*i + 1);
+        }
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing SubsetMoveSequence!");
+    }
+
+    @Test
+    public void testConstructor() {
+
+        System.out.println(" - test constructor");
+
+        boolean thrown = false;
+        try {
+            SubsetMoveSequence.swaps(addCandidates, removeCandidates, 0, 2);
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        // empty range
+        assertTrue(SubsetMoveSequence.additions(addCandidates, 2, 1).isEmpty());
+        assertTrue(SubsetMoveSequence.deletions(Collections.emptySet(), 1, 3).isEmpty());
+        assertTrue(SubsetMoveSequence.swaps(addCandidates, Collections.emptySet(), 1, 3).isEmpty());
+        assertEquals(0, SubsetMoveSequence.swaps(addCandidates, Collections.emptySet(), 1, 3).size());
+        assertFalse(SubsetMoveSequence.swaps(addCandidates, Collections.emptySet(), 1, 3).iterator().hasNext());
+
+    }
+
+    @Test
+    public void testIterator() {
+
+        System.out.println(" - test iterator");
+
+        for(int max=1; max<=7; max++){
+            for(SubsetMoveSequence seq : sequences(1, max)){
+                List<SubsetMove> expected = reference(seq, 1, max);
+                List<SubsetMove> generated = new ArrayList<>();
+                Iterator<SubsetMove> it = seq.iterator();
+                while(it.hasNext()){
+                    generated.add(it.next());
+                }
+                // same moves in same order as nested subset iterators
+                assertEquals(expected, generated);
+                assertEquals(expected.size(), seq.size());
+                // no more moves
+                boolean thrown = false;
+                try {
+                    it.next();
+                } catch (NoSuchElementException ex){
+                    thrown = true;
+                }
+                assertTrue(thrown);
+            }
+        }
+
+    }
+
+    @Test
+    public void testGetAndRank() {
+
+        System.out.println(" - test get and rank");
+
+        for(SubsetMoveSequence seq : sequences(2, 4)){
+            List<SubsetMove> expected = reference(seq, 2, 4);
+            for(int r=0; r<expected.size(); r++){
+                SubsetMove move = seq.get(r);
+                assertEquals(expected.get(r), move);
+                assertEquals(r, seq.rank(move));
+            }
+            // out of range
+            boolean thrown = false;
+            try {
+                seq.get(expected.size());
+            } catch (IndexOutOfBoundsException ex){
+                thrown = true;
+            }
+            assertTrue(thrown);
+            thrown = false;
+            try {
+                seq.get(-1);
+            } catch (IndexOutOfBoundsException ex){
+                thrown = true;
+            }
+            assertTrue(thrown);
+        }
+
+        SubsetMoveSequence seq = SubsetMoveSequence.swaps(addCandidates, removeCandidates, 2, 4);
+        // moves not contained in sequence
+        assertEquals(-1, seq.rank(new SwapMove(100, 1)));
+        Set<Integer> add = new LinkedHashSet<>();
+        add.add(100);
+        add.add(101);
+        Set<Integer> del = new LinkedHashSet<>();
+        del.add(1);
+        del.add(4);
+        assertEquals(-1, seq.rank(new GeneralSubsetMove(add, del)));
+        add.remove(101);
+        add.add(93);
+        assertTrue(seq.rank(new GeneralSubsetMove(add, del)) >= 0);
+        assertEquals(-1, seq.rank(new GeneralSubsetMove(add, null)));
+
+    }
+
+    @Test
+    public void testRangeIterator() {
+
+        System.out.println(" - test range iterator");
+
+        SubsetMoveSequence seq = SubsetMoveSequence.swaps(addCandidates, removeCandidates, 1, 3);
+        List<SubsetMove> expected = reference(seq, 1, 3);
+        long size = seq.size();
+        // split into random consecutive ranges
+        List<SubsetMove> generated = new ArrayList<>();
+        long from = 0;
+        while(from < size){
+            long to = from + RG.nextInt(200);
+            Iterator<SubsetMove> it = seq.iterator(from, to);
+            while(it.hasNext()){
+                generated.add(it.next());
+            }
+            from = to;
+        }
+        assertEquals(expected, generated);
+
+        // range beyond end of sequence
+        assertFalse(seq.iterator(size, size+10).hasNext());
+        // invalid range
+        boolean thrown = false;
+        try {
+            seq.iterator(5, 4);
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+    }
+
+    @Test
+    public void testGetRandomMove() {
+
+        System.out.println(" - test getRandomMove");
+
+        SubsetMoveSequence seq = SubsetMoveSequence.additions(addCandidates, 1, 3);
+        for(int i=0; i<100; i++){
+            assertTrue(seq.rank(seq.getRandomMove(RG)) >= 0);
+        }
+        assertNull(SubsetMoveSequence.additions(addCandidates, 3, 2).getRandomMove(RG));
+
+    }
+
+    @Test
+    public void testLargeSequence() {
+
+        System.out.println(" - test large sequence");
+
+        // 200 selected and 800 unselected IDs: about 8 billion moves with up to 2 swaps
+        Set<Integer> sel = new LinkedHashSet<>();
+        Set<Integer> unsel = new LinkedHashSet<>();
+        for(int i=0; i<1000; i++){
+            if(i < 200){
+                sel.add(i);
+            } else {
+                unsel.add(i);
+            }
+        }
+        SubsetMoveSequence seq = SubsetMoveSequence.swaps(unsel, sel, 1, 2);
+        long numSingle = 200L * 800L;
+        assertEquals(numSingle + 19900L * 319600L, seq.size());
+        // jump to arbitrary ranks
+        for(int i=0; i<100; i++){
+            long r = (long) (RG.nextDouble() * seq.size());
+            SubsetMove move = seq.get(r);
+            assertEquals(r < numSingle ? 1 : 2, move.getNumAdded());
+            assertEquals(r, seq.rank(move));
+        }
+        // enumerate range crossing boundary between single and double swaps
+        Iterator<SubsetMove> it = seq.iterator(numSingle - 5, numSingle + 5);
+        long r = numSingle - 5;
+        while(it.hasNext()){
+            assertEquals(seq.get(r++), it.next());
+        }
+        assertEquals(numSingle + 5, r);
+
+        // number of moves without limit on swaps does not fit in a long, but can still be enumerated
+        SubsetMoveSequence unlimited = SubsetMoveSequence.swaps(unsel, sel, 1, Integer.MAX_VALUE);
+        boolean thrown = false;
+        try {
+            unlimited.size();
+        } catch (ArithmeticException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        assertEquals(seq.get(0), unlimited.iterator().next());
+        assertEquals(seq.get(12345), unlimited.get(12345));
+
+    }
+
+    /**
+     * Create addition, deletion and swap sequences with the given range of sizes.
+     */
+    private List<SubsetMoveSequence> sequences(int min, int max){
+        List<SubsetMoveSequence> seqs = new ArrayList<>();
+        seqs.add(SubsetMoveSequence.additions(addCandidates, min, max));
+        seqs.add(SubsetMoveSequence.deletions(removeCandidates, min, max));
+        seqs.add(SubsetMoveSequence.swaps(addCandidates, removeCandidates, min, max));
+        return seqs;
+    }
+
+    /**
+     * Generate the expected moves of the given sequence (see {@link ReferenceMoves}).
+     */
+    private List<SubsetMove> reference(SubsetMoveSequence seq, int min, int max){
+        SubsetMove first = seq.iterator().next();
+        return ReferenceMoves.generate(first.getNumAdded() > 0 ? addCandidates : null,
+                                       first.getNumDeleted() > 0 ? removeCandidates : null,
+                                       min, max);
+    }
+
+}
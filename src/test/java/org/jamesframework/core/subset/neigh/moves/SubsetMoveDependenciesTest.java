@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.jamesframework.core.subset.neigh.moves;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import org.jamesframework.core.search.neigh.Move;
+import org.jamesframework.core.subset.SubsetSolution;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test SubsetMoveDependencies.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class SubsetMoveDependenciesTest {
+
+    /**
+     * Print message when starting tests.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing SubsetMoveDependencies ...");
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing SubsetMoveDependencies!");
+    }
+
+    @Test
+    public void testInvalidates() {
+
+        System.out.println(" - test invalidates");
+
+        SubsetMoveDependencies deps = new SubsetMoveDependencies();
+
+        // moves touching a common ID
+        assertTrue(deps.invalidates(new SwapMove(1, 2), new SwapMove(1, 3)));
+        assertTrue(deps.invalidates(new SwapMove(1, 2), new SwapMove(3, 2)));
+        assertTrue(deps.invalidates(new SwapMove(1, 2), new SwapMove(2, 1)));
+        assertTrue(deps.invalidates(new AdditionMove(1), new DeletionMove(1)));
+        assertTrue(deps.invalidates(
+            new GeneralSubsetMove(new HashSet<>(Arrays.asList(1, 2)), new HashSet<>(Arrays.asList(3, 4))),
+            new SwapMove(5, 4)
+        ));
+
+        // disjoint moves
+        assertFalse(deps.invalidates(new SwapMove(1, 2), new SwapMove(3, 4)));
+        assertFalse(deps.invalidates(new AdditionMove(1), new DeletionMove(2)));
+        assertFalse(deps.invalidates(
+            new GeneralSubsetMove(new HashSet<>(Arrays.asList(1, 2)), new HashSet<>(Arrays.asList(3, 4))),
+            new SwapMove(5, 6)
+        ));
+
+        // other moves
+        Move<SubsetSolution> other = new Move<SubsetSolution>() {
+            @Override
+            public void apply(SubsetSolution solution) {}
+            @Override
+            public void undo(SubsetSolution solution) {}
+        };
+        assertTrue(deps.invalidates(other, new SwapMove(1, 2)));
+        assertTrue(deps.invalidates(new SwapMove(1, 2), other));
+
+    }
+
+    @Test
+    public void testGetDependencyKeys() {
+
+        System.out.println(" - test getDependencyKeys");
+
+        SubsetMoveDependencies deps = new SubsetMoveDependencies();
+        assertEquals(new HashSet<>(Arrays.asList(1, 2)), new HashSet<>(deps.getDependencyKeys(new SwapMove(1, 2))));
+        assertEquals(new HashSet<>(Arrays.asList(3)), new HashSet<>(deps.getDependencyKeys(new AdditionMove(3))));
+        assertEquals(new HashSet<>(Arrays.asList(4)), new HashSet<>(deps.getDependencyKeys(new DeletionMove(4))));
+
+        // other moves
+        Move<SubsetSolution> other = new Move<SubsetSolution>() {
+            @Override
+            public void apply(SubsetSolution solution) {}
+            @Override
+            public void undo(SubsetSolution solution) {}
+        };
+        assertNull(deps.getDependencyKeys(other));
+
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.util;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test indexed set.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class IndexedSetTest {
+
+    // random generator
+    private static final Random RG = new Random();
+
+    /**
+     * Set up test class.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing IndexedSet ...");
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing IndexedSet!");
+    }
+
+    @Test
+    public void testAddRemove() {
+        System.out.println(" - test add and remove");
+
+        IndexedSet<Integer> set = new IndexedSet<>();
+        Set<Integer> ref = new HashSet<>();
+        for(int i=0; i<5000; i++){
+            int e = RG.nextInt(100);
+            if(RG.nextBoolean()){
+                assertEquals(ref.add(e), set.add(e));
+            } else {
+                assertEquals(ref.remove(e), set.remove(e));
+            }
+            assertEquals(ref.size(), set.size());
+        }
+        assertEquals(ref, set);
+        // positional access covers all elements
+        Set<Integer> fromPositions = new HashSet<>();
+        for(int i=0; i<set.size(); i++){
+            fromPositions.add(set.get(i));
+        }
+        assertEquals(ref, fromPositions);
+
+        // null elements not permitted
+        boolean thrown = false;
+        try {
+            set.add(null);
+        } catch (NullPointerException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        set.clear();
+        assertTrue(set.isEmpty());
+    }
+
+    @Test
+    public void testIterator() {
+        System.out.println(" - test iterator");
+
+        IndexedSet<Integer> set = new IndexedSet<>(Arrays.asList(0, 1, 2, 3, 4, 5, 6, 7, 8, 9));
+        // remove even elements through iterator
+        Iterator<Integer> it = set.iterator();
+        int visited = 0;
+        while(it.hasNext()){
+            int e = it.next();
+            visited++;
+            if(e % 2 == 0){
+                it.remove();
+            }
+        }
+        assertEquals(10, visited);
+        assertEquals(new HashSet<>(Arrays.asList(1, 3, 5, 7, 9)), set);
+
+        // concurrent modification
+        boolean thrown = false;
+        try {
+            for(int e : set){
+                set.remove(e);
+            }
+        } catch (ConcurrentModificationException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+    }
+
+    @Test
+    public void testGetRandomElement() {
+        System.out.println(" - test getRandomElement");
+
+        IndexedSet<Integer> set = new IndexedSet<>(Arrays.asList(0, 1, 2, 3));
+        int[] counts = new int[4];
+        for(int i=0; i<4000; i++){
+            counts[set.getRandomElement(RG)]++;
+        }
+        // every element is sampled
+        for(int c : counts){
+            assertTrue(c > 0);
+        }
+
+        boolean thrown = false;
+        try {
+            new IndexedSet<Integer>().getRandomElement(RG);
+        } catch (NoSuchElementException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+    }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test RevolvingDoor.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class RevolvingDoorTest {
+
+    // maximum size of full set
+    private static final int MAX_N = 10;
+
+    // random generator
+    private static final Random RG = new Random();
+
+    /**
+     * Print message when starting tests.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing RevolvingDoor ...");
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing RevolvingDoor!");
+    }
+
+    /**
+     * Test of numSubsets method, of class RevolvingDoor.
+     */
+    @Test
+    public void testNumSubsets() {
+
+        System.out.println(" - test numSubsets");
+
+        assertEquals(1, RevolvingDoor.numSubsets(0, 0));
+        assertEquals(1, RevolvingDoor.numSubsets(10, 0));
+        assertEquals(10, RevolvingDoor.numSubsets(10, 1));
+        assertEquals(45, RevolvingDoor.numSubsets(10, 8));
+        assertEquals(0, RevolvingDoor.numSubsets(10, 11));
+        assertEquals(0, RevolvingDoor.numSubsets(10, -1));
+        assertEquals(76904685L, RevolvingDoor.numSubsets(40, 8));
+        // largest central binomial coefficient that fits in a long
+        assertEquals(7219428434016265740L, RevolvingDoor.numSubsets(66, 33));
+
+        boolean thrown = false;
+        try {
+            RevolvingDoor.numSubsets(68, 34);
+        } catch (ArithmeticException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+    }
+
+    /**
+     * Test of successor method, of class RevolvingDoor.
+     */
+    @Test
+    public void testSuccessor() {
+
+        System.out.println(" - test successor");
+
+        for(int n=1; n<=MAX_N; n++){
+            for(int k=0; k<=n; k++){
+                // compare with subset iterator
+                List<List<Integer>> expected = enumerate(n, k);
+                List<List<Integer>> generated = new ArrayList<>();
+                int[] t = new int[k];
+                for(int i=0; i<k; i++){
+                    t[i] = i;
+                }
+                int[] change = new int[2];
+                do {
+                    generated.add(toList(t));
+                    // consecutive subsets differ in exactly one element, reported as change
+                    if(generated.size() > 1){
+                        List<Integer> cur = generated.get(generated.size()-1);
+                        Set<Integer> removed = new LinkedHashSet<>(generated.get(generated.size()-2));
+                        removed.removeAll(cur);
+                        Set<Integer> added = new LinkedHashSet<>(cur);
+                        added.removeAll(generated.get(generated.size()-2));
+                        assertEquals(1, removed.size());
+                        assertEquals(1, added.size());
+                        assertEquals(removed.iterator().next().intValue(), change[0]);
+                        assertEquals(added.iterator().next().intValue(), change[1]);
+                    }
+                } while (RevolvingDoor.successor(t, n, k, change));
+                assertEquals(expected, generated);
+                assertEquals(RevolvingDoor.numSubsets(n, k), generated.size());
+            }
+        }
+
+    }
+
+    /**
+     * Test of rank and unrank methods, of class RevolvingDoor.
+     */
+    @Test
+    public void testRankAndUnrank() {
+
+        System.out.println(" - test rank and unrank");
+
+        for(int n=1; n<=MAX_N; n++){
+            for(int k=0; k<=n; k++){
+                List<List<Integer>> expected = enumerate(n, k);
+                int[] t = new int[k];
+                for(int r=0; r<expected.size(); r++){
+                    RevolvingDoor.unrank(r, n, k, t);
+                    assertEquals(expected.get(r), toList(t));
+                    assertEquals(r, RevolvingDoor.rank(t, k));
+                }
+                // invalid ranks
+                boolean thrown = false;
+                try {
+                    RevolvingDoor.unrank(expected.size(), n, k, t);
+                } catch (IllegalArgumentException ex){
+                    thrown = true;
+                }
+                assertTrue(thrown);
+                thrown = false;
+                try {
+                    RevolvingDoor.unrank(-1, n, k, t);
+                } catch (IllegalArgumentException ex){
+                    thrown = true;
+                }
+                assertTrue(thrown);
+            }
+        }
+
+        // large set: total number of subsets does not fit in a long, but small ranks can still be unranked
+        int n = 1000, k = 10;
+        int[] t = new int[k];
+        for(int i=0; i<100; i++){
+            long r = RG.nextInt(Integer.MAX_VALUE);
+            RevolvingDoor.unrank(r, n, k, t);
+            assertEquals(r, RevolvingDoor.rank(t, k));
+        }
+
+        // ranks close to the maximum long value (intermediate binomials do not fit in a long)
+        n = 70;
+        k = 35;
+        t = new int[k];
+        for(long r : new long[]{Long.MAX_VALUE, Long.MAX_VALUE - 1, Long.MAX_VALUE - 12345, Long.MAX_VALUE / 2 + 1}){
+            RevolvingDoor.unrank(r, n, k, t);
+            for(int i=1; i<k; i++){
+                assertTrue(t[i-1] < t[i]);
+            }
+            assertEquals(r, RevolvingDoor.rank(t, k));
+        }
+
+        // rank does not fit in a long
+        for(int i=0; i<k; i++){
+            t[i] = 35 + i;
+        }
+        boolean thrown = false;
+        try {
+            RevolvingDoor.rank(t, k);
+        } catch (ArithmeticException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+    }
+
+    /**
+     * Enumerate all k-subsets of {0,...,n-1} using a subset iterator.
+     */
+    private List<List<Integer>> enumerate(int n, int k){
+        Set<Integer> items = new LinkedHashSet<>();
+        for(int i=0; i<n; i++){
+            items.add(i);
+        }
+        List<List<Integer>> subsets = new ArrayList<>();
+        SubsetIterator<Integer> it = new SubsetIterator<>(items, k);
+        while(it.hasNext()){
+            subsets.add(new ArrayList<>(it.next()));
+        }
+        return subsets;
+    }
+
+    private List<Integer> toList(int[] t){
+        List<Integer> list = new ArrayList<>();
+        for(int i : t){
+            list.add(i);
+        }
+        return list;
+    }
+
+}
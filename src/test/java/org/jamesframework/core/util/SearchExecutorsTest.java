@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test search executors.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class SearchExecutorsTest {
+
+    /**
+     * Print message when starting tests.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing SearchExecutors ...");
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing SearchExecutors!");
+    }
+
+    @Test
+    public void testGetSharedPool() {
+
+        System.out.println(" - test getSharedPool");
+
+        ForkJoinPool pool = SearchExecutors.getSharedPool();
+        assertSame(pool, SearchExecutors.getSharedPool());
+        assertEquals(Runtime.getRuntime().availableProcessors(), pool.getParallelism());
+        assertFalse(pool.isShutdown());
+
+    }
+
+    @Test
+    public void testGetVirtualThreadExecutor() throws Exception {
+
+        System.out.println(" - test getVirtualThreadExecutor");
+
+        if(SearchExecutors.virtualThreadsSupported()){
+            ExecutorService executor = SearchExecutors.getVirtualThreadExecutor();
+            assertSame(executor, SearchExecutors.getVirtualThreadExecutor());
+            // verify that tasks are executed in virtual threads
+            Method isVirtual = Thread.class.getMethod("isVirtual");
+            assertTrue((Boolean) executor.submit(() -> isVirtual.invoke(Thread.currentThread())).get());
+        } else {
+            System.out.println("   >>> virtual threads not supported");
+            boolean thrown = false;
+            try {
+                SearchExecutors.getVirtualThreadExecutor();
+            } catch (UnsupportedOperationException ex){
+                thrown = true;
+            }
+            assertTrue(thrown);
+        }
+
+    }
+
+}
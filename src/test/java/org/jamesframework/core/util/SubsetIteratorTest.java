@@ -0,0 +1,306 @@
+/*
+ * Copyright 2014 Ghent University, Bayer CropScience.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jamesframework.core.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Test SubsetIterator.
+ *
+ * @author <a href="mailto:herman.debeukelaer@ugent.be">Herman De Beukelaer</a>
+ */
+public class SubsetIteratorTest {
+
+    // set of items to select from
+    private static Set<String> items;
+    // number of items
+    private static final int NUM_ITEMS = 8;
+
+    // random generator
+    private static final Random RG = new Random();
+
+    /**
+     * Print message when starting tests.
+     */
+    @BeforeClass
+    public static void setUpClass() {
+        System.out.println("# Testing SubsetIterator ...");
+        items = new TreeSet<>();
+        for(int i=0; i<NUM_ITEMS; i++){
+            items.add("item-" + i);
+        }
+    }
+
+    /**
+     * Print message when tests are complete.
+     */
+    @AfterClass
+    public static void tearDownClass() {
+        System.out.println("# Done testing SubsetIterator!");
+    }
+
+    @Test
+    public void testConstructor() {
+
+        System.out.println(" - test constructor");
+
+        boolean thrown = false;
+        try {
+            new SubsetIterator<>(items, 2, 3, -1, 5);
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        thrown = false;
+        try {
+            new SubsetIterator<>(items, 2, 3, 6, 5);
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+        // empty range
+        assertFalse(new SubsetIterator<>(items, 2, 3, 5, 5).hasNext());
+        // range beyond end of enumeration
+        assertFalse(new SubsetIterator<>(items, 2, 3, 84, 100).hasNext());
+
+    }
+
+    @Test
+    public void testGetNumSubsets() {
+
+        System.out.println(" - test getNumSubsets");
+
+        assertEquals(1 << NUM_ITEMS, new SubsetIterator<>(items, 0, NUM_ITEMS).getNumSubsets());
+        assertEquals(28 + 56, new SubsetIterator<>(items, 2, 3).getNumSubsets());
+        assertEquals(1, new SubsetIterator<>(items, NUM_ITEMS, Integer.MAX_VALUE).getNumSubsets());
+
+    }
+
+    @Test
+    public void testRank() {
+
+        System.out.println(" - test rank");
+
+        SubsetIterator<String> it = new SubsetIterator<>(items, 1, 5);
+        SubsetIterator<String> ranker = new SubsetIterator<>(items, 1, 5);
+        long r = 0;
+        while(it.hasNext()){
+            assertEquals(r, it.getRank());
+            assertEquals(r, ranker.rank(it.next()));
+            r++;
+        }
+        assertEquals(it.getNumSubsets(), r);
+        assertEquals(r, it.getRank());
+
+        // invalid subsets
+        boolean thrown = false;
+        try {
+            ranker.rank(Collections.emptySet());
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        thrown = false;
+        try {
+            ranker.rank(Collections.singleton("foo"));
+        } catch (IllegalArgumentException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+    }
+
+    @Test
+    public void testJumpTo() {
+
+        System.out.println(" - test jumpTo");
+
+        List<Set<String>> all = enumerate(new SubsetIterator<>(items, 0, NUM_ITEMS));
+        SubsetIterator<String> it = new SubsetIterator<>(items, 0, NUM_ITEMS);
+        for(int i=0; i<100; i++){
+            int r = RG.nextInt(all.size());
+            it.jumpTo(r);
+            assertEquals(r, it.getRank());
+            // continue from requested subset (within and across sizes)
+            for(int j=r; j<Math.min(r+10, all.size()); j++){
+                assertEquals(all.get(j), it.next());
+            }
+        }
+        // jump beyond end of enumeration
+        it.jumpTo(all.size());
+        assertFalse(it.hasNext());
+        // jump back to start
+        it.jumpTo(0);
+        assertEquals(all, enumerate(it));
+
+        // large set: only small ranks can be reached, but iterator can still be created
+        Set<Integer> many = new TreeSet<>();
+        for(int i=0; i<1000; i++){
+            many.add(i);
+        }
+        SubsetIterator<Integer> large = new SubsetIterator<>(many, 10);
+        large.jumpTo(123456789);
+        Set<Integer> subset = large.next();
+        assertEquals(10, subset.size());
+        assertEquals(123456789, new SubsetIterator<>(many, 10).rank(subset));
+
+        // rank does not fit in a long
+        Set<Integer> seventy = new TreeSet<>();
+        for(int i=0; i<70; i++){
+            seventy.add(i);
+        }
+        SubsetIterator<Integer> huge = new SubsetIterator<>(seventy, 35);
+        Set<Integer> last = new TreeSet<>();
+        for(int i=35; i<70; i++){
+            last.add(i);
+        }
+        boolean thrown = false;
+        try {
+            huge.rank(last);
+        } catch (ArithmeticException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+        // jump close to maximum rank and rank generated subset
+        huge.jumpTo(Long.MAX_VALUE - 1);
+        assertEquals(Long.MAX_VALUE - 1, huge.rank(huge.next()));
+
+    }
+
+    @Test
+    public void testRankRange() {
+
+        System.out.println(" - test rank range");
+
+        List<Set<String>> all = enumerate(new SubsetIterator<>(items, 2, 6));
+        // partition into random consecutive ranges
+        List<Set<String>> generated = new ArrayList<>();
+        long from = 0;
+        while(from < all.size()){
+            long to = from + RG.nextInt(20);
+            SubsetIterator<String> it = new SubsetIterator<>(items, 2, 6, from, to);
+            assertEquals(from, it.getRank());
+            assertEquals(to, it.getToRank());
+            generated.addAll(enumerate(it));
+            // no more subsets
+            boolean thrown = false;
+            try {
+                it.next();
+            } catch (NoSuchElementException ex){
+                thrown = true;
+            }
+            assertTrue(thrown);
+            from = to;
+        }
+        assertEquals(all, generated);
+
+    }
+
+    @Test
+    public void testNextIndices() {
+
+        System.out.println(" - test nextIndices");
+
+        List<Set<String>> all = enumerate(new SubsetIterator<>(items, 1, 4));
+        SubsetIterator<String> it = new SubsetIterator<>(items, 1, 4);
+        int[] indices = new int[4];
+        for(Set<String> expected : all){
+            int k = it.nextIndices(indices);
+            assertEquals(expected.size(), k);
+            Set<String> subset = new TreeSet<>();
+            for(int i=0; i<k; i++){
+                subset.add(it.getItem(indices[i]));
+            }
+            assertEquals(expected, subset);
+        }
+        assertFalse(it.hasNext());
+
+        // array too short
+        it = new SubsetIterator<>(items, 3);
+        boolean thrown = false;
+        try {
+            it.nextIndices(new int[2]);
+        } catch (ArrayIndexOutOfBoundsException ex){
+            thrown = true;
+        }
+        assertTrue(thrown);
+
+    }
+
+    @Test
+    public void testLastChange() {
+
+        System.out.println(" - test last change");
+
+        SubsetIterator<String> it = new SubsetIterator<>(items, 0, NUM_ITEMS);
+        assertEquals(-1, it.getLastRemovedIndex());
+        assertEquals(-1, it.getLastAddedIndex());
+        Set<String> prev = null;
+        while(it.hasNext()){
+            Set<String> cur = it.next();
+            if(prev == null || prev.size() != cur.size()){
+                // first subset or size change
+                assertEquals(-1, it.getLastRemovedIndex());
+                assertEquals(-1, it.getLastAddedIndex());
+            } else {
+                // single item swapped
+                Set<String> removed = new TreeSet<>(prev);
+                removed.removeAll(cur);
+                Set<String> added = new TreeSet<>(cur);
+                added.removeAll(prev);
+                assertEquals(Collections.singleton(it.getItem(it.getLastRemovedIndex())), removed);
+                assertEquals(Collections.singleton(it.getItem(it.getLastAddedIndex())), added);
+            }
+            prev = cur;
+        }
+
+        // no change reported directly after jumping
+        it = new SubsetIterator<>(items, 3);
+        it.next();
+        it.next();
+        assertTrue(it.getLastRemovedIndex() >= 0);
+        it.jumpTo(10);
+        it.next();
+        assertEquals(-1, it.getLastRemovedIndex());
+        assertEquals(-1, it.getLastAddedIndex());
+        it.next();
+        assertTrue(it.getLastRemovedIndex() >= 0);
+        assertTrue(it.getLastAddedIndex() >= 0);
+
+    }
+
+    private <T> List<Set<T>> enumerate(SubsetIterator<T> it){
+        List<Set<T>> subsets = new ArrayList<>();
+        while(it.hasNext()){
+            subsets.add(it.next());
+        }
+        return subsets;
+    }
+
+}